@@ -17,9 +17,12 @@ package org.jbpm.process.svg;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
@@ -29,6 +32,7 @@ import org.jbpm.process.svg.processor.SVGProcessor;
 import org.jbpm.process.svg.processor.SVGProcessorFactory;
 import org.jbpm.process.svg.processor.StunnerSVGProcessor;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 import static org.jbpm.process.svg.processor.SVGProcessor.ACTIVE_BORDER_COLOR;
 import static org.jbpm.process.svg.processor.SVGProcessor.COMPLETED_BORDER_COLOR;
@@ -62,6 +66,23 @@ public class SVGImageProcessor {
         }
     }
 
+    /**
+     * Processes a copy of the given diagram, template itself is not modified.
+     */
+    public SVGImageProcessor(SVGTemplate template, Map<String, String> subProcessLinks, Map<String, Long> badges) {
+        List<Element> nodeElements = new ArrayList<>(template.getNumberOfNodes());
+        Document svgDocument = template.copy(nodeElements);
+
+        svgProcessor = new SVGProcessorFactory().create(svgDocument, true);
+        if (svgProcessor instanceof StunnerSVGProcessor) {
+            ((StunnerSVGProcessor) svgProcessor).setSubProcessLinks(subProcessLinks);
+            ((StunnerSVGProcessor) svgProcessor).setNodeBadges(badges);
+            ((StunnerSVGProcessor) svgProcessor).processNodes(nodeElements);
+        } else {
+            svgProcessor.processNodes(svgDocument.getChildNodes());
+        }
+    }
+
     public SVGImageProcessor(InputStream svg, boolean mapById) {
 
         try {
@@ -104,9 +125,26 @@ public class SVGImageProcessor {
                                    String completedNodeBorderColor, String activeNodeBorderColor,
                                    String activeAsyncNodeBorderColor, Map<String, Long> badges) {
         SVGProcessor processor = new SVGImageProcessor(svg, subProcessLinks, badges).getProcessor();
+        return transform(processor, completed, active, activeAsync, subProcessLinks, completedNodeColor,
+                         completedNodeBorderColor, activeNodeBorderColor, activeAsyncNodeBorderColor);
+    }
 
+    public static String transform(SVGTemplate template, List<String> completed, List<String> active, List<String> activeAsync,
+                                   Map<String, String> subProcessLinks, String completedNodeColor,
+                                   String completedNodeBorderColor, String activeNodeBorderColor,
+                                   String activeAsyncNodeBorderColor, Map<String, Long> badges) {
+        SVGProcessor processor = new SVGImageProcessor(template, subProcessLinks, badges).getProcessor();
+        return transform(processor, completed, active, activeAsync, subProcessLinks, completedNodeColor,
+                         completedNodeBorderColor, activeNodeBorderColor, activeAsyncNodeBorderColor);
+    }
+
+    private static String transform(SVGProcessor processor, List<String> completed, List<String> active, List<String> activeAsync,
+                                    Map<String, String> subProcessLinks, String completedNodeColor,
+                                    String completedNodeBorderColor, String activeNodeBorderColor,
+                                    String activeAsyncNodeBorderColor) {
+        Set<String> activeNodes = new HashSet<>(active);
         for (String nodeId : completed) {
-            if (!active.contains(nodeId)) {
+            if (!activeNodes.contains(nodeId)) {
                 processor.defaultCompletedTransformation(nodeId, completedNodeColor, completedNodeBorderColor);
             }
         }
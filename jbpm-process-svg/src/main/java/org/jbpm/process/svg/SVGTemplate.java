@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.svg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
+import org.apache.batik.anim.dom.SVGDOMImplementation;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Process diagram parsed once and kept as a read only DOM, so it can be copied for every image request instead of
+ * being parsed again. Elements representing bpmn2 nodes are indexed while parsing, so the copy of the document
+ * hands them over directly and processors do not need to search the whole tree for them.
+ * Template is never modified after construction and can be shared by multiple threads.
+ */
+public class SVGTemplate {
+
+    private final Document svgDocument;
+    private final Set<Node> bpmnNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public SVGTemplate(InputStream svg) {
+        try {
+            String parser = XMLResourceDescriptor.getXMLParserClassName();
+            SAXSVGDocumentFactory factory = new SAXSVGDocumentFactory(parser);
+            factory.setValidating(false);
+            svgDocument = factory.createDocument("http://jbpm.org", svg);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not parse svg", e);
+        }
+        index(svgDocument.getDocumentElement());
+    }
+
+    public int getNumberOfNodes() {
+        return bpmnNodes.size();
+    }
+
+    /**
+     * Creates a modifiable copy of the diagram.
+     * @param nodeElements list filled with the copied elements representing bpmn2 nodes, in document order
+     */
+    Document copy(List<Element> nodeElements) {
+        Element root = svgDocument.getDocumentElement();
+        Document copy = SVGDOMImplementation.getDOMImplementation().createDocument(root.getNamespaceURI(), root.getNodeName(), null);
+        copy.setDocumentURI(svgDocument.getDocumentURI());
+        Element copyRoot = copy.getDocumentElement();
+
+        boolean beforeRoot = true;
+        for (Node node = svgDocument.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node == root) {
+                beforeRoot = false;
+                NamedNodeMap attributes = root.getAttributes();
+                for (int i = 0; i < attributes.getLength(); i++) {
+                    copyRoot.setAttributeNodeNS((Attr) copy.importNode(attributes.item(i), true));
+                }
+                if (bpmnNodes.contains(root)) {
+                    nodeElements.add(copyRoot);
+                }
+                copyChildren(root, copyRoot, copy, nodeElements);
+            } else if (node.getNodeType() != Node.DOCUMENT_TYPE_NODE) {
+                Node nodeCopy = copy.importNode(node, true);
+                if (beforeRoot) {
+                    copy.insertBefore(nodeCopy, copyRoot);
+                } else {
+                    copy.appendChild(nodeCopy);
+                }
+            }
+        }
+        return copy;
+    }
+
+    private void copyChildren(Node parent, Node parentCopy, Document copy, List<Element> nodeElements) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            // appended before its children are copied, the same way the parser builds the tree
+            Node childCopy = parentCopy.appendChild(copy.importNode(child, false));
+            if (bpmnNodes.contains(child)) {
+                nodeElements.add((Element) childCopy);
+            }
+            copyChildren(child, childCopy, copy, nodeElements);
+        }
+    }
+
+    private void index(Node node) {
+        NamedNodeMap attributes = node.getAttributes();
+        if (attributes != null && attributes.getNamedItem("id") != null && attributes.getNamedItem("bpmn2nodeid") != null) {
+            bpmnNodes.add(node);
+        }
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            index(child);
+        }
+    }
+}
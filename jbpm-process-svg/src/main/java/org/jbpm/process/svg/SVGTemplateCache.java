@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.svg;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Parsed process diagrams per deployment and process id. Templates of a deployment are expected to be evicted
+ * when the deployment is removed or updated.
+ */
+public class SVGTemplateCache {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, SVGTemplate>> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param svg provides content of the diagram when it is not cached yet, might return null when there is none
+     * @return template of the diagram or null when there is no diagram for the process
+     */
+    public SVGTemplate getTemplate(String deploymentId, String processId, Supplier<byte[]> svg) {
+        ConcurrentMap<String, SVGTemplate> deploymentTemplates = templates.computeIfAbsent(deploymentId, id -> new ConcurrentHashMap<>());
+        SVGTemplate template = deploymentTemplates.get(processId);
+        if (template == null) {
+            byte[] content = svg.get();
+            if (content == null) {
+                return null;
+            }
+            template = new SVGTemplate(new ByteArrayInputStream(content));
+            SVGTemplate existing = deploymentTemplates.putIfAbsent(processId, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
+    public void evict(String deploymentId) {
+        templates.remove(deploymentId);
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+}
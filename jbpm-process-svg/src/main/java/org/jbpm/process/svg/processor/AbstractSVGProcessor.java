@@ -31,6 +31,9 @@ import org.w3c.dom.Element;
 
 public abstract class AbstractSVGProcessor implements SVGProcessor {
 
+    // looking up the factory implementation is far more expensive than creating a transformer from it
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
     protected Document svgDocument;
     protected SVGSummary summary = new SVGSummary();
     protected boolean mapById = true;
@@ -51,8 +54,10 @@ public abstract class AbstractSVGProcessor implements SVGProcessor {
             DOMSource domSource = new DOMSource(svgDocument.getFirstChild());
             StringWriter writer = new StringWriter();
             StreamResult result = new StreamResult(writer);
-            TransformerFactory tf = TransformerFactory.newInstance();
-            Transformer transformer = tf.newTransformer();
+            Transformer transformer;
+            synchronized (TRANSFORMER_FACTORY) {
+                transformer = TRANSFORMER_FACTORY.newTransformer();
+            }
             ((Element) svgDocument.getFirstChild()).setAttribute("viewBox", "0 0 " +
                     ((Element) svgDocument.getFirstChild()).getAttribute("width") + " " +
                     ((Element) svgDocument.getFirstChild()).getAttribute("height"));
@@ -2,6 +2,7 @@ package org.jbpm.process.svg.processor;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -172,21 +173,34 @@ public class StunnerSVGProcessor extends AbstractSVGProcessor {
                 if (svgIdNode != null) {
                     Node nodeIdNode = attributes.getNamedItem("bpmn2nodeid");
                     if (nodeIdNode != null) {
-                        String nodeId = nodeIdNode.getNodeValue();
-                        if (nodeBadges != null) {
-                            nodeBadges.computeIfPresent(nodeId, (key, value) -> {
-                                renderBadges(node, value);
-                                return null;
-                            });
-                        }
-                        if (nodeId != null) {
-                            //process bpmn2 node to parse the attributes
-                            processNode(node, nodeId);
-                        }
+                        processBpmnNode(node, nodeIdNode.getNodeValue());
                     }
                 }
             }
             processNodes(node.getChildNodes());
         }
     }
+
+    /**
+     * Processes already known elements representing bpmn2 nodes, in document order, instead of searching
+     * the whole document for them.
+     */
+    public void processNodes(List<Element> nodeElements) {
+        for (Element element : nodeElements) {
+            processBpmnNode(element, element.getAttribute("bpmn2nodeid"));
+        }
+    }
+
+    private void processBpmnNode(Node node, String nodeId) {
+        if (nodeBadges != null) {
+            nodeBadges.computeIfPresent(nodeId, (key, value) -> {
+                renderBadges(node, value);
+                return null;
+            });
+        }
+        if (nodeId != null) {
+            //process bpmn2 node to parse the attributes
+            processNode(node, nodeId);
+        }
+    }
 }
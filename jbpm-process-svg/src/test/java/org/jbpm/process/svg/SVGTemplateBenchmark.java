@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.svg;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.jbpm.process.svg.processor.SVGProcessor.ACTIVE_ASYNC_BORDER_COLOR;
+import static org.jbpm.process.svg.processor.SVGProcessor.ACTIVE_BORDER_COLOR;
+import static org.jbpm.process.svg.processor.SVGProcessor.COMPLETED_BORDER_COLOR;
+import static org.jbpm.process.svg.processor.SVGProcessor.COMPLETED_COLOR;
+
+/**
+ * Compares rendering of a process instance image from a cached template with parsing the diagram on every request,
+ * on generated Stunner diagram with the given number of nodes, half of them completed and every tenth one active.
+ * Not run as part of the build, run it with <code>main</code> from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SVGTemplateBenchmark {
+
+    @Param({"500"})
+    private int nodes;
+
+    private byte[] svg;
+    private SVGTemplate template;
+    private List<String> completed;
+    private List<String> active;
+
+    @Setup
+    public void setup() {
+        StringBuilder diagram = new StringBuilder("<svg version=\"1.1\" xmlns=\"http://www.w3.org/2000/svg\" ")
+                .append("xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"5000\" height=\"5000\"><g>");
+        completed = new ArrayList<>();
+        active = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            String nodeId = "_node-" + i;
+            diagram.append("<g id=\"").append(nodeId).append("\" bpmn2nodeid=\"").append(nodeId)
+                    .append("\" transform=\"matrix(1,0,0,1,").append(i % 25 * 200).append(",").append(i / 25 * 200).append(")\">")
+                    .append("<g><path fill=\"#fdfdfd\" id=\"").append(nodeId).append("?shapeType=BACKGROUND\" d=\" M 0 0 L 150 0 L 150 100 L 0 100 Z\"/></g>")
+                    .append("<g><path fill=\"none\" stroke=\"#000000\" id=\"").append(nodeId)
+                    .append("?shapeType=BORDER&amp;renderType=STROKE\" d=\" M 0 0 L 150 0 L 150 100 L 0 100 Z\"/></g>")
+                    .append("<g><text font-family=\"Open Sans\" font-size=\"12\">Task ").append(i).append("</text></g>")
+                    .append("</g>");
+            if (i % 10 == 0) {
+                active.add(nodeId);
+            } else if (i % 2 == 0) {
+                completed.add(nodeId);
+            }
+        }
+        svg = diagram.append("</g></svg>").toString().getBytes(StandardCharsets.UTF_8);
+        template = new SVGTemplate(new ByteArrayInputStream(svg));
+    }
+
+    @Benchmark
+    public String parse() {
+        return SVGImageProcessor.transform(new ByteArrayInputStream(svg), completed, active, Collections.emptyList(),
+                                           new HashMap<>(), COMPLETED_COLOR, COMPLETED_BORDER_COLOR,
+                                           ACTIVE_BORDER_COLOR, ACTIVE_ASYNC_BORDER_COLOR, badges());
+    }
+
+    @Benchmark
+    public String template() {
+        return SVGImageProcessor.transform(template, completed, active, Collections.emptyList(), new HashMap<>(),
+                                           COMPLETED_COLOR, COMPLETED_BORDER_COLOR, ACTIVE_BORDER_COLOR,
+                                           ACTIVE_ASYNC_BORDER_COLOR, badges());
+    }
+
+    private Map<String, Long> badges() {
+        // consumed by the processor, so created for every image
+        Map<String, Long> badges = new HashMap<>();
+        active.forEach(nodeId -> badges.put(nodeId, 1L));
+        return badges;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SVGTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
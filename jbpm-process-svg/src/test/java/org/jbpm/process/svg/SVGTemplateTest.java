@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.svg;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.jbpm.process.svg.processor.SVGProcessor.ACTIVE_ASYNC_BORDER_COLOR;
+import static org.jbpm.process.svg.processor.SVGProcessor.ACTIVE_BORDER_COLOR;
+import static org.jbpm.process.svg.processor.SVGProcessor.COMPLETED_BORDER_COLOR;
+import static org.jbpm.process.svg.processor.SVGProcessor.COMPLETED_COLOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SVGTemplateTest {
+
+    private static final String COMPLETED_NODE = "_FCDCAA8D-378C-4ADF-9A8C-053FF7363D67";
+    private static final String ACTIVE_NODE = "_D254259B-8C23-4498-9BE1-995E2DC66726";
+
+    @Test
+    public void testStunnerTemplateSameAsParsedImage() {
+        SVGTemplate template = new SVGTemplate(SVGTemplateTest.class.getResourceAsStream("/stunner.parentP-svg.svg"));
+
+        String expected = transformParsed("/stunner.parentP-svg.svg", COMPLETED_NODE, ACTIVE_NODE);
+        assertEquals(expected, transformTemplate(template, COMPLETED_NODE, ACTIVE_NODE));
+        // template is not modified by transformations of its copies
+        assertEquals(expected, transformTemplate(template, COMPLETED_NODE, ACTIVE_NODE));
+        assertEquals(transformParsed("/stunner.parentP-svg.svg", ACTIVE_NODE, COMPLETED_NODE),
+                     transformTemplate(template, ACTIVE_NODE, COMPLETED_NODE));
+    }
+
+    @Test
+    public void testDesignerTemplateSameAsParsedImage() {
+        SVGTemplate template = new SVGTemplate(SVGTemplateTest.class.getResourceAsStream("/evaluation-svg.svg"));
+        String completed = "_343B16DA-961A-49BF-8697-9A86DEAFBAF4";
+        String active = "_6063D302-9D81-4C86-920B-E808A45377C2";
+
+        String expected = transformParsed("/evaluation-svg.svg", completed, active);
+        assertEquals(expected, transformTemplate(template, completed, active));
+        assertEquals(expected, transformTemplate(template, completed, active));
+    }
+
+    @Test
+    public void testTemplateCache() {
+        SVGTemplateCache cache = new SVGTemplateCache();
+        AtomicInteger loaded = new AtomicInteger();
+
+        SVGTemplate template = cache.getTemplate("deployment", "process", () -> load(loaded));
+        assertSame(template, cache.getTemplate("deployment", "process", () -> load(loaded)));
+        assertEquals(1, loaded.get());
+
+        cache.evict("deployment");
+        cache.getTemplate("deployment", "process", () -> load(loaded));
+        assertEquals(2, loaded.get());
+
+        assertNull(cache.getTemplate("deployment", "missing", () -> null));
+    }
+
+    private byte[] load(AtomicInteger loaded) {
+        loaded.incrementAndGet();
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"10\" height=\"10\"/>".getBytes();
+    }
+
+    private String transformParsed(String svgFile, String completedNode, String activeNode) {
+        return SVGImageProcessor.transform(SVGTemplateTest.class.getResourceAsStream(svgFile), Arrays.asList(completedNode),
+                                           Arrays.asList(activeNode), Collections.emptyList(), links(activeNode),
+                                           COMPLETED_COLOR, COMPLETED_BORDER_COLOR, ACTIVE_BORDER_COLOR,
+                                           ACTIVE_ASYNC_BORDER_COLOR, badges(completedNode, activeNode));
+    }
+
+    private String transformTemplate(SVGTemplate template, String completedNode, String activeNode) {
+        return SVGImageProcessor.transform(template, Arrays.asList(completedNode), Arrays.asList(activeNode),
+                                           Collections.emptyList(), links(activeNode), COMPLETED_COLOR,
+                                           COMPLETED_BORDER_COLOR, ACTIVE_BORDER_COLOR, ACTIVE_ASYNC_BORDER_COLOR,
+                                           badges(completedNode, activeNode));
+    }
+
+    private Map<String, String> links(String nodeId) {
+        Map<String, String> links = new HashMap<>();
+        links.put(nodeId, "http://localhost/processes/1");
+        return links;
+    }
+
+    private Map<String, Long> badges(String... nodeIds) {
+        Map<String, Long> badges = new HashMap<>();
+        for (String nodeId : nodeIds) {
+            badges.put(nodeId, 1L);
+        }
+        return badges;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.commons.math3.random.RandomDataGenerator;
 import org.drools.core.time.SessionPseudoClock;
 import org.jbpm.simulation.impl.SimulationPath;
 import org.jbpm.simulation.impl.ht.StaffPoolManager;
@@ -38,6 +39,7 @@ public class SimulationContext {
     private List<String> executedNodes = new ArrayList<String>();
     private int loopLimit = 2;
     private long processInstanceId;
+    private RandomDataGenerator randomDataGenerator;
     
     public static SimulationContext getContext() {
         return simulationContextThreadLocal.get();
@@ -146,4 +148,12 @@ public class SimulationContext {
     public void incrementProcessInstanceId() {
         this.processInstanceId++;
     }
+
+    public RandomDataGenerator getRandomDataGenerator() {
+        return randomDataGenerator;
+    }
+
+    public void setRandomDataGenerator(RandomDataGenerator randomDataGenerator) {
+        this.randomDataGenerator = randomDataGenerator;
+    }
 }
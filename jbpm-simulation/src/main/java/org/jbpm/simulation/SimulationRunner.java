@@ -17,7 +17,16 @@ package org.jbpm.simulation;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.random.RandomDataGenerator;
 
 import org.drools.core.command.runtime.DisposeCommand;
 import org.drools.core.fluent.impl.BaseBatchFluent;
@@ -25,10 +34,14 @@ import org.drools.core.fluent.impl.PseudoClockRunner;
 import org.jbpm.process.core.validation.ProcessValidatorRegistry;
 import org.jbpm.simulation.converter.SimulationFilterPathFormatConverter;
 import org.jbpm.simulation.impl.BPMN2SimulationDataProvider;
+import org.jbpm.simulation.impl.InMemorySimulationRepository;
 import org.jbpm.simulation.impl.SimulateProcessPathCommand;
+import org.jbpm.simulation.impl.SimulationNodeInstanceFactoryRegistry;
 import org.jbpm.simulation.impl.SimulationPath;
 import org.jbpm.simulation.impl.SimulationProcessValidator;
+import org.jbpm.simulation.impl.StreamingSimulationRepository;
 import org.jbpm.simulation.impl.WorkingMemorySimulationRepository;
+import org.jbpm.simulation.impl.events.ProcessInstanceEndSimulationEvent;
 import org.kie.api.KieServices;
 import org.kie.api.builder.KieBuilder;
 import org.kie.api.builder.KieFileSystem;
@@ -70,7 +83,16 @@ public class SimulationRunner {
 
     public static SimulationRepository runSimulation(String processId, String bpmn2Container, int numberOfAllInstances, long interval, boolean runRules, Resource... rules) {
 
-        SimulationContext context = SimulationContextFactory.newContext(new BPMN2SimulationDataProvider(bpmn2Container), new WorkingMemorySimulationRepository(runRules, rules));
+        return runSimulation(processId, bpmn2Container, numberOfAllInstances, interval, new WorkingMemorySimulationRepository(runRules, rules));
+    }
+
+    /**
+     * Runs simulation storing events in given repository, e.g. {@link StreamingSimulationRepository} to aggregate
+     * results of large simulations in constant memory.
+     */
+    public static SimulationRepository runSimulation(String processId, String bpmn2Container, int numberOfAllInstances, long interval, SimulationRepository repository) {
+
+        SimulationContext context = SimulationContextFactory.newContext(new BPMN2SimulationDataProvider(bpmn2Container), repository);
         SimulationDataProvider provider = context.getDataProvider();
 
         PathFinder finder = PathFinderFactory.getInstance(bpmn2Container);
@@ -150,6 +172,166 @@ public class SimulationRunner {
         return context.getRepository();
     }
 
+    /**
+     * Runs simulation with instances partitioned across given number of worker threads. Every worker simulates its
+     * share of instances on its own pseudo clock, session and simulation context. Start times and random durations
+     * are derived from given seed per instance, so a run is reproducible for the same seed and parallelism. Staff
+     * pools are kept per worker, so human resource contention is only modelled among instances of the same worker
+     * and results of processes with human tasks depend on the parallelism; results of other processes do not. Events
+     * are merged into the returned repository ordered by start time and process instance.
+     */
+    public static SimulationRepository runSimulation(String processId, String bpmn2Container, int numberOfAllInstances, long interval, boolean runRules, long seed, int parallelism, Resource... rules) {
+        return runSimulation(processId, bpmn2Container, numberOfAllInstances, interval, seed, parallelism, new WorkingMemorySimulationRepository(runRules, rules));
+    }
+
+    /**
+     * Runs partitioned simulation storing events in given repository. When given repository is
+     * {@link StreamingSimulationRepository} every worker aggregates its events on its own, with the accuracy and
+     * spilling of the given repository, and the aggregates are merged, so events are never kept in memory.
+     */
+    public static SimulationRepository runSimulation(String processId, String bpmn2Container, int numberOfAllInstances, long interval, long seed, int parallelism, SimulationRepository repository) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero, got " + parallelism);
+        }
+        SimulationContext context = SimulationContextFactory.newContext(new BPMN2SimulationDataProvider(bpmn2Container), repository);
+        SimulationDataProvider provider = context.getDataProvider();
+
+        PathFinder finder = PathFinderFactory.getInstance(bpmn2Container);
+
+        List<SimulationPath> paths = finder.findPaths(new SimulationFilterPathFormatConverter(provider));
+
+        SimulationInfo simulationInfo = new SimulationInfo(System.currentTimeMillis(), processId, numberOfAllInstances, interval);
+        context.getRepository().setSimulationInfo(simulationInfo);
+
+        final ReleaseId releaseId = createKJarWithMultipleResources(processId,
+                                                                    new String[]{bpmn2Container}, new ResourceType[]{ResourceType.BPMN2});
+
+        List<ScheduledInstance> instances = scheduleInstances(paths, numberOfAllInstances, interval, seed);
+        // make sure shared node instance factory registry is created before workers start
+        SimulationNodeInstanceFactoryRegistry.getInstance();
+        int workers = Math.min(parallelism, Math.max(instances.size(), 1));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "jbpm-simulation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        boolean streaming = repository instanceof StreamingSimulationRepository;
+        List<SimulationEvent> events = new ArrayList<SimulationEvent>();
+        long endTime = -1;
+        try {
+            List<Future<SimulationRepository>> results = new ArrayList<Future<SimulationRepository>>();
+            for (int worker = 0; worker < workers; worker++) {
+                List<ScheduledInstance> share = new ArrayList<ScheduledInstance>();
+                for (int i = worker; i < instances.size(); i += workers) {
+                    share.add(instances.get(i));
+                }
+                final int partition = worker;
+                // workers aggregate with the settings (accuracy, spill file) of the given repository
+                SimulationRepository partitionRepository = streaming ? ((StreamingSimulationRepository) repository).newPartition(partition) : new InMemorySimulationRepository();
+                results.add(executor.submit(() -> simulatePartition(processId, bpmn2Container, releaseId, partition, share, simulationInfo, partitionRepository)));
+            }
+            for (Future<SimulationRepository> result : results) {
+                SimulationRepository partitionRepository = result.get();
+                if (streaming) {
+                    StreamingSimulationRepository streamingRepository = (StreamingSimulationRepository) partitionRepository;
+                    ((StreamingSimulationRepository) repository).merge(streamingRepository);
+                    endTime = Math.max(endTime, streamingRepository.getProcessEndTime());
+                } else {
+                    events.addAll(((InMemorySimulationRepository) partitionRepository).getEvents());
+                }
+                simulationInfo.setProcessName(partitionRepository.getSimulationInfo().getProcessName());
+                simulationInfo.setProcessVersion(partitionRepository.getSimulationInfo().getProcessVersion());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Simulation of process " + processId + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Simulation of process " + processId + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // events of single instance are all produced by one worker and keep their order
+        Collections.sort(events, Comparator.comparingLong(SimulationEvent::getStartTime).thenComparingLong(SimulationEvent::getProcessInstanceId));
+        for (SimulationEvent event : events) {
+            context.getRepository().storeEvent(event);
+            if (event instanceof ProcessInstanceEndSimulationEvent) {
+                endTime = Math.max(endTime, event.getEndTime());
+            }
+        }
+        simulationInfo.setEndTime(endTime);
+
+        return context.getRepository();
+    }
+
+    private static SimulationRepository simulatePartition(String processId, String bpmn2Container, ReleaseId releaseId, int partition, List<ScheduledInstance> instances, SimulationInfo simulationInfo, SimulationRepository repository) {
+        repository.setSimulationInfo(new SimulationInfo(simulationInfo.getStartTime(), processId, simulationInfo.getNumberOfExecutions(), simulationInfo.getInterval()));
+        SimulationContext context = SimulationContextFactory.newContext(new BPMN2SimulationDataProvider(bpmn2Container), repository);
+        context.setRandomDataGenerator(new RandomDataGenerator());
+
+        PseudoClockRunner runner = new PseudoClockRunner();
+        ExecutableBuilder f = ExecutableBuilder.create();
+        f.newApplicationContext("partition" + partition);
+        // @formatter:off
+        // single session per worker is created with the first instance and reused by the following ones, as simulated
+        // instances complete right away and leave nothing behind in the session
+        BaseBatchFluent batch = null;
+        for (ScheduledInstance instance : instances) {
+            if (batch == null) {
+                batch = (BaseBatchFluent) f.after(instance.startTime)
+                        .getKieContainer(releaseId)
+                        .newSession();
+            } else {
+                batch = (BaseBatchFluent) f.after(instance.startTime);
+            }
+            batch.addCommand(new SimulateProcessPathCommand(processId, context, instance.path, instance.number, instance.seed));
+        }
+        if (batch != null) {
+            batch.addCommand(new DisposeCommand());
+        }
+        runner.execute(f.getExecutable());
+        // @formatter:on
+        return repository;
+    }
+
+    /**
+     * Distributes instances among startable paths according to their probability and assigns them start times,
+     * numbers and seeds, all derived from given seed. Instances are returned ordered by start time.
+     */
+    protected static List<ScheduledInstance> scheduleInstances(List<SimulationPath> paths, int numberOfAllInstances, long interval, long seed) {
+        Random random = new Random(seed);
+        List<ScheduledInstance> instances = new ArrayList<ScheduledInstance>();
+        if (numberOfAllInstances > 1) {
+            List<Long> startTimes = generateStartTimes(interval, numberOfAllInstances, random);
+            int startIndex = 0;
+            for (SimulationPath path : paths) {
+                if (!path.isStartable()) {
+                    continue;
+                }
+                int instancesOfPath = Math.min((int) Math.round(numberOfAllInstances * path.getProbability()), numberOfAllInstances - startIndex);
+                for (int i = 0; i < instancesOfPath; i++) {
+                    instances.add(new ScheduledInstance(startTimes.get(startIndex + i), path));
+                }
+                startIndex += instancesOfPath;
+            }
+        } else {
+            for (SimulationPath path : paths) {
+                if (path.isStartable()) {
+                    instances.add(new ScheduledInstance(interval, path));
+                    break;
+                }
+            }
+        }
+        Collections.sort(instances, Comparator.comparingLong(instance -> instance.startTime));
+        for (int i = 0; i < instances.size(); i++) {
+            instances.get(i).number = i + 1;
+            instances.get(i).seed = random.nextLong();
+        }
+        return instances;
+    }
+
     protected static ReleaseId createKJarWithMultipleResources(String id, String[] resources, ResourceType[] types) {
         KieServices ks = KieServices.Factory.get();
         KieModuleModel kproj = ks.newKieModuleModel();
@@ -206,13 +388,46 @@ public class SimulationRunner {
     }
 
     protected static List<Long> generateStartTimes(long interval, int numberOfInstances) {
+        return generateStartTimes(interval, numberOfInstances, new Random());
+    }
+
+    protected static List<Long> generateStartTimes(long interval, int numberOfInstances, Random random) {
         List<Long> startTimes = new ArrayList<Long>();
 
         for (int i = 0; i < numberOfInstances; i++) {
             startTimes.add(interval * i);
         }
-        Collections.shuffle(startTimes);
+        Collections.shuffle(startTimes, random);
 
         return startTimes;
     }
+
+    protected static class ScheduledInstance {
+
+        private final long startTime;
+        private final SimulationPath path;
+        private long number;
+        private long seed;
+
+        ScheduledInstance(long startTime, SimulationPath path) {
+            this.startTime = startTime;
+            this.path = path;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public SimulationPath getPath() {
+            return path;
+        }
+
+        public long getNumber() {
+            return number;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+    }
 }
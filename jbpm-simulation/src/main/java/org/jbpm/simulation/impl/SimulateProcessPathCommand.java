@@ -24,6 +24,7 @@ import org.jbpm.simulation.SimulationContext;
 import org.jbpm.simulation.SimulationInfo;
 import org.jbpm.simulation.impl.events.ProcessInstanceEndSimulationEvent;
 import org.kie.api.command.ExecutableCommand;
+import org.kie.api.event.process.ProcessEventListener;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.runtime.Context;
 import org.kie.api.runtime.KieSession;
@@ -37,12 +38,24 @@ public class SimulateProcessPathCommand implements ExecutableCommand<KieSession>
     private String processId;
     private SimulationContext simContext;
     private SimulationPath path;
+    private Long instanceNumber;
+    private long seed;
     
     public SimulateProcessPathCommand(String processId, SimulationContext context, SimulationPath path) {
         this.processId = processId;
         this.simContext = context;
         this.path = path;
     }
+
+    /**
+     * Simulates instance with given number, reseeding random data generator of the context (if any) with given seed,
+     * so the outcome does not depend on the instances simulated before on the same context.
+     */
+    public SimulateProcessPathCommand(String processId, SimulationContext context, SimulationPath path, long instanceNumber, long seed) {
+        this(processId, context, path);
+        this.instanceNumber = instanceNumber;
+        this.seed = seed;
+    }
     
     public KieSession execute(Context context ) {
         
@@ -59,27 +72,40 @@ public class SimulateProcessPathCommand implements ExecutableCommand<KieSession>
         // reset max end time before starting new instance
         simContext.resetMaxEndTime();
         simContext.getExecutedNodes().clear();
-        simContext.incrementProcessInstanceId();
+        if (instanceNumber != null) {
+            simContext.setProcessInstanceId(instanceNumber);
+            if (simContext.getRandomDataGenerator() != null) {
+                simContext.getRandomDataGenerator().reSeed(seed);
+            }
+        } else {
+            simContext.incrementProcessInstanceId();
+        }
 
         long instanceId = -1;
         ProcessInstance pi = null;
         if (path.getSignalName() != null) {
             final List<ProcessInstance> instances = new ArrayList<ProcessInstance>();
-            session.addEventListener(new DefaultProcessEventListener() {
+            ProcessEventListener listener = new DefaultProcessEventListener() {
                 @Override
                 public void beforeProcessStarted(ProcessStartedEvent event) {
                     instances.add(event.getProcessInstance());
                 }
-            });
-            session.signalEvent(path.getSignalName(), null);
+            };
+            session.addEventListener(listener);
+            try {
+                session.signalEvent(path.getSignalName(), null);
+            } finally {
+                // session might be reused by following instances
+                session.removeEventListener(listener);
+            }
             if (!instances.isEmpty()) {
                 pi = instances.get(0);
-                instanceId = session.getIdentifier()+pi.getId();
+                instanceId = instanceNumber != null ? instanceNumber : session.getIdentifier()+pi.getId();
             }
 
         } else {
             pi = session.startProcess(processId);
-            instanceId = session.getIdentifier()+pi.getId();
+            instanceId = instanceNumber != null ? instanceNumber : session.getIdentifier()+pi.getId();
         }
 
         simContext.getRepository().storeEvent(new ProcessInstanceEndSimulationEvent(processId, instanceId,
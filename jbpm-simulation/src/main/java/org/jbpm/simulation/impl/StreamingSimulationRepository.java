@@ -0,0 +1,364 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation.impl;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.simulation.AggregatedSimulationEvent;
+import org.jbpm.simulation.SimulationEvent;
+import org.jbpm.simulation.SimulationInfo;
+import org.jbpm.simulation.SimulationRepository;
+import org.jbpm.simulation.impl.events.ActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedEndEventSimulationEvent;
+import org.jbpm.simulation.impl.events.AggregatedProcessSimulationEvent;
+import org.jbpm.simulation.impl.events.EndSimulationEvent;
+import org.jbpm.simulation.impl.events.HTAggregatedSimulationEvent;
+import org.jbpm.simulation.impl.events.HumanTaskActivitySimulationEvent;
+import org.jbpm.simulation.impl.events.ProcessInstanceEndSimulationEvent;
+
+/**
+ * Repository aggregating simulation events as they are stored instead of keeping them, so memory used does not grow
+ * with the number of simulated instances. Produces the same aggregated events as the default simulation rules
+ * (see <code>default.simulation.rules.drl</code>) and in addition percentiles of durations through
+ * {@link #getActivityStatistics(String)} and {@link #getProcessStatistics()}.
+ * <p>
+ * Raw events can optionally be spilled to a file, one event per line, for later inspection.
+ * <p>
+ * Repository is not thread safe, repositories filled concurrently can be combined with {@link #merge(StreamingSimulationRepository)}.
+ */
+public class StreamingSimulationRepository implements SimulationRepository {
+
+    private final double relativeAccuracy;
+
+    private final Map<String, ActivityStatistics> activities = new LinkedHashMap<String, ActivityStatistics>();
+    private final Map<String, HumanTaskStatistics> humanTasks = new LinkedHashMap<String, HumanTaskStatistics>();
+    private final Map<String, String> endEvents = new LinkedHashMap<String, String>();
+    private final StreamingStatistics endEventDurations;
+    private final StreamingStatistics processDurations;
+    private final Set<String> processInfo = new LinkedHashSet<String>();
+    private final Map<String, Integer> pathInstances = new HashMap<String, Integer>();
+    private long numberOfEvents;
+    private long processEndTime = -1;
+
+    private final File spillFile;
+    private Writer spillWriter;
+
+    private SimulationInfo simulationInfo;
+
+    public StreamingSimulationRepository() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY, null);
+    }
+
+    /**
+     * @param spillFile file raw events are appended to or null to discard them once aggregated
+     */
+    public StreamingSimulationRepository(File spillFile) {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY, spillFile);
+    }
+
+    /**
+     * @param relativeAccuracy relative accuracy of calculated percentiles, e.g. 0.01 for 1%
+     * @param spillFile file raw events are appended to or null to discard them once aggregated
+     */
+    public StreamingSimulationRepository(double relativeAccuracy, File spillFile) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.spillFile = spillFile;
+        this.endEventDurations = new StreamingStatistics(relativeAccuracy);
+        this.processDurations = new StreamingStatistics(relativeAccuracy);
+    }
+
+    public void storeEvent(SimulationEvent event) {
+        numberOfEvents++;
+        if (event instanceof ActivitySimulationEvent) {
+            ActivitySimulationEvent activityEvent = (ActivitySimulationEvent) event;
+            getActivity(activityEvent.getActivityName(), activityEvent.getActivityId()).duration.add(activityEvent.getDuration());
+        } else if (event instanceof HumanTaskActivitySimulationEvent) {
+            HumanTaskActivitySimulationEvent htEvent = (HumanTaskActivitySimulationEvent) event;
+            HumanTaskStatistics statistics = getHumanTask(htEvent.getActivityName(), htEvent.getActivityId());
+            statistics.duration.add(htEvent.getDuration());
+            statistics.waitTime.add(htEvent.getWaitTime());
+            statistics.resourceUtilization.add(htEvent.getResourceUtilization());
+            statistics.resourceCost.add(htEvent.getResourceCost());
+        } else if (event instanceof EndSimulationEvent) {
+            EndSimulationEvent endEvent = (EndSimulationEvent) event;
+            if (!endEvents.containsKey(endEvent.getActivityName())) {
+                endEvents.put(endEvent.getActivityName(), endEvent.getActivityId());
+            }
+            endEventDurations.add(endEvent.getProcessDuration());
+        } else if (event instanceof ProcessInstanceEndSimulationEvent) {
+            ProcessInstanceEndSimulationEvent processEvent = (ProcessInstanceEndSimulationEvent) event;
+            processDurations.add(processEvent.getProcessDuration());
+            processEndTime = Math.max(processEndTime, processEvent.getEndTime());
+            processInfo.add(processEvent.getProcessId() + "@" + processEvent.getProcessName() + "@" + processEvent.getProcessVersion());
+            addPathInstances(processEvent.getPathId(), 1);
+        }
+        spill(event);
+    }
+
+    /**
+     * Aggregates events the same way default simulation rules do: end events first, then human tasks, other
+     * activities and finally the process. Like the rules, every end event reports durations of all process
+     * instances that reached any end event.
+     */
+    public List<AggregatedSimulationEvent> getAggregatedEvents() {
+        List<AggregatedSimulationEvent> aggregated = new ArrayList<AggregatedSimulationEvent>();
+        for (Map.Entry<String, String> endEvent : endEvents.entrySet()) {
+            aggregated.add(new AggregatedEndEventSimulationEvent(endEvent.getKey(), endEvent.getValue(),
+                    endEventDurations.getMin(), endEventDurations.getMean(), endEventDurations.getMax(), endEventDurations.getCount(), "endEvent"));
+        }
+        for (Map.Entry<String, HumanTaskStatistics> entry : humanTasks.entrySet()) {
+            if (endEvents.containsKey(entry.getKey())) {
+                continue;
+            }
+            HumanTaskStatistics statistics = entry.getValue();
+            aggregated.add(new HTAggregatedSimulationEvent(entry.getKey(), statistics.id,
+                    statistics.duration.getMin(), statistics.duration.getMean(), statistics.duration.getMax(),
+                    statistics.waitTime.getMin(), statistics.waitTime.getMean(), statistics.waitTime.getMax(),
+                    statistics.resourceUtilization.getMin(), statistics.resourceUtilization.getMean(), statistics.resourceUtilization.getMax(),
+                    statistics.duration.getCount(),
+                    statistics.resourceCost.getMean(), statistics.resourceCost.getMin(), statistics.resourceCost.getMax(), "userTask"));
+        }
+        for (Map.Entry<String, ActivityStatistics> entry : activities.entrySet()) {
+            if (endEvents.containsKey(entry.getKey()) || humanTasks.containsKey(entry.getKey())) {
+                continue;
+            }
+            ActivityStatistics statistics = entry.getValue();
+            aggregated.add(new AggregatedActivitySimulationEvent(entry.getKey(), statistics.id,
+                    statistics.duration.getMin(), statistics.duration.getMean(), statistics.duration.getMax(), statistics.duration.getCount(), ""));
+        }
+        if (!processInfo.isEmpty()) {
+            AggregatedProcessSimulationEvent processEvent = new AggregatedProcessSimulationEvent(processInfo,
+                    processDurations.getMin(), processDurations.getMean(), processDurations.getMax());
+            processEvent.getPathNumberOfInstances().putAll(pathInstances);
+            aggregated.add(processEvent);
+        }
+        return aggregated;
+    }
+
+    /**
+     * Creates empty repository with the same settings to be filled by a worker of partitioned simulation and merged
+     * back. Its events are spilled to a file of its own, named after the spill file of this repository and given
+     * partition.
+     */
+    public StreamingSimulationRepository newPartition(int partition) {
+        return new StreamingSimulationRepository(relativeAccuracy, spillFile == null ? null : new File(spillFile.getPath() + "." + partition));
+    }
+
+    /**
+     * Adds aggregates of given repository to this one, e.g. when simulation was partitioned. Events spilled by given
+     * repository are appended to the spill file of this one (if any) and its spill file is removed, so events of
+     * every partition end up in one file, grouped by partition.
+     */
+    public void merge(StreamingSimulationRepository other) {
+        for (Map.Entry<String, ActivityStatistics> entry : other.activities.entrySet()) {
+            getActivity(entry.getKey(), entry.getValue().id).duration.merge(entry.getValue().duration);
+        }
+        for (Map.Entry<String, HumanTaskStatistics> entry : other.humanTasks.entrySet()) {
+            HumanTaskStatistics statistics = getHumanTask(entry.getKey(), entry.getValue().id);
+            statistics.duration.merge(entry.getValue().duration);
+            statistics.waitTime.merge(entry.getValue().waitTime);
+            statistics.resourceUtilization.merge(entry.getValue().resourceUtilization);
+            statistics.resourceCost.merge(entry.getValue().resourceCost);
+        }
+        for (Map.Entry<String, String> endEvent : other.endEvents.entrySet()) {
+            if (!endEvents.containsKey(endEvent.getKey())) {
+                endEvents.put(endEvent.getKey(), endEvent.getValue());
+            }
+        }
+        endEventDurations.merge(other.endEventDurations);
+        processDurations.merge(other.processDurations);
+        processInfo.addAll(other.processInfo);
+        for (Map.Entry<String, Integer> entry : other.pathInstances.entrySet()) {
+            addPathInstances(entry.getKey(), entry.getValue());
+        }
+        numberOfEvents += other.numberOfEvents;
+        processEndTime = Math.max(processEndTime, other.processEndTime);
+        if (other.spillFile != null) {
+            other.close();
+            appendSpilled(other.spillFile);
+        }
+    }
+
+    /**
+     * @return statistics of durations of given activity or human task, null when there was no such activity
+     */
+    public StreamingStatistics getActivityStatistics(String activityName) {
+        HumanTaskStatistics humanTask = humanTasks.get(activityName);
+        if (humanTask != null) {
+            return humanTask.duration;
+        }
+        ActivityStatistics activity = activities.get(activityName);
+        return activity == null ? null : activity.duration;
+    }
+
+    /**
+     * @return statistics of wait times of given human task, null when there was no such human task
+     */
+    public StreamingStatistics getWaitTimeStatistics(String activityName) {
+        HumanTaskStatistics humanTask = humanTasks.get(activityName);
+        return humanTask == null ? null : humanTask.waitTime;
+    }
+
+    public StreamingStatistics getProcessStatistics() {
+        return processDurations;
+    }
+
+    /**
+     * @return end time of the process instance that ended last or -1 when no process instance ended
+     */
+    public long getProcessEndTime() {
+        return processEndTime;
+    }
+
+    public long getNumberOfEvents() {
+        return numberOfEvents;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public File getSpillFile() {
+        return spillFile;
+    }
+
+    public void close() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to close simulation events file " + spillFile, e);
+            } finally {
+                spillWriter = null;
+            }
+        }
+    }
+
+    public SimulationInfo getSimulationInfo() {
+        return this.simulationInfo;
+    }
+
+    public void setSimulationInfo(SimulationInfo simInfo) {
+        this.simulationInfo = simInfo;
+    }
+
+    private ActivityStatistics getActivity(String name, String id) {
+        ActivityStatistics statistics = activities.get(name);
+        if (statistics == null) {
+            statistics = new ActivityStatistics(id, relativeAccuracy);
+            activities.put(name, statistics);
+        }
+        return statistics;
+    }
+
+    private HumanTaskStatistics getHumanTask(String name, String id) {
+        HumanTaskStatistics statistics = humanTasks.get(name);
+        if (statistics == null) {
+            statistics = new HumanTaskStatistics(id, relativeAccuracy);
+            humanTasks.put(name, statistics);
+        }
+        return statistics;
+    }
+
+    private void addPathInstances(String pathId, int instances) {
+        Integer current = pathInstances.get(pathId);
+        pathInstances.put(pathId, current == null ? instances : current + instances);
+    }
+
+    private void spill(SimulationEvent event) {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            openSpillWriter();
+            spillWriter.write(event.getType() + ";" + event.getProcessId() + ";" + event.getProcessInstanceId() + ";"
+                    + event.getStartTime() + ";" + event.getEndTime() + ";" + event);
+            spillWriter.write('\n');
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write simulation event to file " + spillFile, e);
+        }
+    }
+
+    private void appendSpilled(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            if (spillFile != null) {
+                openSpillWriter();
+                try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                    char[] buffer = new char[8192];
+                    int read;
+                    while ((read = reader.read(buffer)) != -1) {
+                        spillWriter.write(buffer, 0, read);
+                    }
+                }
+            }
+            Files.delete(file.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to append simulation events of file " + file + " to file " + spillFile, e);
+        }
+    }
+
+    private void openSpillWriter() throws IOException {
+        if (spillWriter == null) {
+            spillWriter = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(spillFile.toPath()), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static class ActivityStatistics {
+
+        private final String id;
+        private final StreamingStatistics duration;
+
+        private ActivityStatistics(String id, double relativeAccuracy) {
+            this.id = id;
+            this.duration = new StreamingStatistics(relativeAccuracy);
+        }
+    }
+
+    private static class HumanTaskStatistics {
+
+        private final String id;
+        private final StreamingStatistics duration;
+        private final StreamingStatistics waitTime;
+        private final StreamingStatistics resourceUtilization;
+        private final StreamingStatistics resourceCost;
+
+        private HumanTaskStatistics(String id, double relativeAccuracy) {
+            this.id = id;
+            this.duration = new StreamingStatistics(relativeAccuracy);
+            this.waitTime = new StreamingStatistics(relativeAccuracy);
+            this.resourceUtilization = new StreamingStatistics(relativeAccuracy);
+            this.resourceCost = new StreamingStatistics(relativeAccuracy);
+        }
+    }
+}
@@ -43,7 +43,7 @@ public class UniformTimeGenerator implements TimeGenerator {
         long max = (long) SimulationUtils.asDouble(data.get(SimulationConstants.MAX));
         max = timeUnit.convert(max, tu);
         if (max > min) {
-            return  (long) generator.nextUniform(min, max);
+            return  (long) SimulationUtils.getRandomDataGenerator(generator).nextUniform(min, max);
         } else {
             return min;
         }
@@ -22,6 +22,8 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.apache.commons.math3.random.RandomDataGenerator;
+import org.jbpm.simulation.SimulationContext;
 
 public class SimulationUtils {
 	
@@ -94,6 +96,18 @@ public class SimulationUtils {
 		
 		return formatter.format(value);
 	}
+
+	/**
+	 * Returns random data generator of current simulation context, so seeded simulations are reproducible,
+	 * or given default generator when the context does not have one.
+	 */
+	public static RandomDataGenerator getRandomDataGenerator(RandomDataGenerator defaultGenerator) {
+		SimulationContext context = SimulationContext.getContext();
+		if (context != null && context.getRandomDataGenerator() != null) {
+			return context.getRandomDataGenerator();
+		}
+		return defaultGenerator;
+	}
 	
 	@SuppressWarnings("unchecked")
 	public static <T> T getProperty(String property, Map<String, ? extends Object> settings, Class<T> classOfProperty, T defaultValue) {
@@ -16,14 +16,19 @@
 package org.jbpm.simulation;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 import org.drools.core.command.runtime.rule.InsertElementsCommand;
+import org.jbpm.simulation.impl.StreamingSimulationRepository;
+import org.jbpm.simulation.impl.StreamingStatistics;
 import org.jbpm.simulation.impl.WorkingMemorySimulationRepository;
 import org.jbpm.simulation.impl.events.ActivitySimulationEvent;
 import org.jbpm.simulation.impl.events.AggregatedEndEventSimulationEvent;
@@ -35,6 +40,7 @@ import org.jbpm.simulation.impl.events.HumanTaskActivitySimulationEvent;
 import org.jbpm.simulation.impl.events.ProcessInstanceEndSimulationEvent;
 import org.junit.Before;
 import org.junit.Test;
+import org.kie.internal.io.ResourceFactory;
 
 import static org.junit.Assert.*;
 
@@ -429,4 +435,156 @@ public class SimulateProcessTest {
         wmRepo.close();
 
     }
+
+    @Test
+    public void testParallelSimulationRunner() throws IOException {
+
+        InputStreamReader in = new InputStreamReader(this.getClass().getResourceAsStream("/BPMN2-TwoUserTasks.bpmn2"));
+
+        String out = new String();
+        BufferedReader br = new BufferedReader(in);
+        for(String line = br.readLine(); line != null; line = br.readLine())
+            out += line;
+
+        SimulationRepository repo = SimulationRunner.runSimulation("BPMN2-TwoUserTasks", out, 10, 2000, false, 42L, 4,
+                ResourceFactory.newClassPathResource("default.simulation.rules.drl"));
+        assertNotNull(repo);
+
+        WorkingMemorySimulationRepository wmRepo = (WorkingMemorySimulationRepository) repo;
+        wmRepo.fireAllRules();
+
+        assertEquals(4, wmRepo.getAggregatedEvents().size());
+        assertEquals(50, wmRepo.getEvents().size());
+        assertTrue(repo.getSimulationInfo().getEndTime() > 0);
+        assertEquals("Default Process", repo.getSimulationInfo().getProcessName());
+
+        SimulationRepository repeated = SimulationRunner.runSimulation("BPMN2-TwoUserTasks", out, 10, 2000, false, 42L, 4,
+                ResourceFactory.newClassPathResource("default.simulation.rules.drl"));
+        List<SimulationEvent> events = wmRepo.getEvents();
+        List<SimulationEvent> repeatedEvents = ((WorkingMemorySimulationRepository) repeated).getEvents();
+        assertEquals(events.size(), repeatedEvents.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i).getType(), repeatedEvents.get(i).getType());
+            assertEquals(events.get(i).getProcessInstanceId(), repeatedEvents.get(i).getProcessInstanceId());
+            assertEquals(events.get(i).getStartTime(), repeatedEvents.get(i).getStartTime());
+            assertEquals(events.get(i).getEndTime(), repeatedEvents.get(i).getEndTime());
+        }
+        wmRepo.close();
+        ((WorkingMemorySimulationRepository) repeated).close();
+    }
+
+    @Test
+    public void testParallelSimulationIndependentOfParallelism() throws IOException {
+
+        InputStreamReader in = new InputStreamReader(this.getClass().getResourceAsStream("/BPMN2-ExclusiveSplitWithSimulationProps.bpmn2"));
+
+        String out = new String();
+        BufferedReader br = new BufferedReader(in);
+        for(String line = br.readLine(); line != null; line = br.readLine())
+            out += line;
+
+        // no human tasks, so staff pools kept per worker do not affect the outcome
+        WorkingMemorySimulationRepository sequential = (WorkingMemorySimulationRepository) SimulationRunner.runSimulation("com.sample.test", out, 20, 2000, false, 7L, 1,
+                ResourceFactory.newClassPathResource("default.simulation.rules.drl"));
+        WorkingMemorySimulationRepository parallel = (WorkingMemorySimulationRepository) SimulationRunner.runSimulation("com.sample.test", out, 20, 2000, false, 7L, 3,
+                ResourceFactory.newClassPathResource("default.simulation.rules.drl"));
+
+        List<SimulationEvent> events = sequential.getEvents();
+        List<SimulationEvent> parallelEvents = parallel.getEvents();
+        assertFalse(events.isEmpty());
+        assertEquals(events.size(), parallelEvents.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i).getType(), parallelEvents.get(i).getType());
+            assertEquals(events.get(i).getProcessInstanceId(), parallelEvents.get(i).getProcessInstanceId());
+            assertEquals(events.get(i).getStartTime(), parallelEvents.get(i).getStartTime());
+            assertEquals(events.get(i).getEndTime(), parallelEvents.get(i).getEndTime());
+        }
+        assertEquals(sequential.getSimulationInfo().getEndTime(), parallel.getSimulationInfo().getEndTime());
+        sequential.close();
+        parallel.close();
+    }
+
+    @Test
+    public void testStreamingSimulationRepository() throws IOException {
+
+        InputStreamReader in = new InputStreamReader(this.getClass().getResourceAsStream("/BPMN2-TwoUserTasks.bpmn2"));
+
+        String out = new String();
+        BufferedReader br = new BufferedReader(in);
+        for(String line = br.readLine(); line != null; line = br.readLine())
+            out += line;
+
+        WorkingMemorySimulationRepository wmRepo = (WorkingMemorySimulationRepository) SimulationRunner.runSimulation("BPMN2-TwoUserTasks", out, 10, 2000, false, 42L, 4,
+                ResourceFactory.newClassPathResource("default.simulation.rules.drl"));
+        wmRepo.fireAllRules();
+
+        StreamingSimulationRepository streamingRepo = (StreamingSimulationRepository) SimulationRunner.runSimulation("BPMN2-TwoUserTasks", out, 10, 2000, 42L, 2,
+                new StreamingSimulationRepository());
+
+        assertEquals(50, streamingRepo.getNumberOfEvents());
+        assertEquals(wmRepo.getSimulationInfo().getEndTime(), streamingRepo.getSimulationInfo().getEndTime());
+
+        List<AggregatedSimulationEvent> expected = wmRepo.getAggregatedEvents();
+        List<AggregatedSimulationEvent> aggregated = streamingRepo.getAggregatedEvents();
+        assertEquals(expected.size(), aggregated.size());
+        for (AggregatedSimulationEvent event : expected) {
+            if (event instanceof AggregatedProcessSimulationEvent) {
+                AggregatedProcessSimulationEvent processEvent = (AggregatedProcessSimulationEvent) aggregated.get(aggregated.size() - 1);
+                assertEquals(((AggregatedProcessSimulationEvent) event).getMinExecutionTime(), processEvent.getMinExecutionTime(), 0.001);
+                assertEquals(((AggregatedProcessSimulationEvent) event).getAvgExecutionTime(), processEvent.getAvgExecutionTime(), 0.001);
+                assertEquals(((AggregatedProcessSimulationEvent) event).getMaxExecutionTime(), processEvent.getMaxExecutionTime(), 0.001);
+                assertEquals(((AggregatedProcessSimulationEvent) event).getPathNumberOfInstances(), processEvent.getPathNumberOfInstances());
+            } else {
+                AggregatedSimulationEvent match = null;
+                for (AggregatedSimulationEvent candidate : aggregated) {
+                    if (candidate.getClass().equals(event.getClass()) && candidate.getProperty("activityName").equals(event.getProperty("activityName"))) {
+                        match = candidate;
+                    }
+                }
+                assertNotNull("No aggregated event for " + event.getProperty("activityName"), match);
+                String[] properties = event instanceof AggregatedEndEventSimulationEvent ?
+                        new String[] {"minProcessDuration", "avgProcessDuration", "maxProcessDuration"} :
+                        new String[] {"minExecutionTime", "avgExecutionTime", "maxExecutionTime"};
+                for (String property : properties) {
+                    assertEquals(((Number) event.getProperty(property)).doubleValue(), ((Number) match.getProperty(property)).doubleValue(), 0.001);
+                }
+            }
+        }
+
+        StreamingStatistics processStatistics = streamingRepo.getProcessStatistics();
+        assertEquals(10, processStatistics.getCount());
+        assertTrue(processStatistics.getQuantile(0.5) >= processStatistics.getMin() * 0.99);
+        assertTrue(processStatistics.getQuantile(0.99) <= processStatistics.getMax() * 1.01);
+        wmRepo.close();
+        streamingRepo.close();
+    }
+
+    @Test
+    public void testParallelStreamingSimulationKeepsSettings() throws IOException {
+
+        InputStreamReader in = new InputStreamReader(this.getClass().getResourceAsStream("/BPMN2-TwoUserTasks.bpmn2"));
+
+        String out = new String();
+        BufferedReader br = new BufferedReader(in);
+        for(String line = br.readLine(); line != null; line = br.readLine())
+            out += line;
+
+        File spillFile = File.createTempFile("simulation-events", ".txt");
+        try {
+            StreamingSimulationRepository streamingRepo = (StreamingSimulationRepository) SimulationRunner.runSimulation("BPMN2-TwoUserTasks", out, 10, 2000, 42L, 3,
+                    new StreamingSimulationRepository(0.05, spillFile));
+            streamingRepo.close();
+
+            assertEquals(50, streamingRepo.getNumberOfEvents());
+            assertEquals(10, streamingRepo.getProcessStatistics().getCount());
+            assertEquals(0.05, streamingRepo.getRelativeAccuracy(), 0);
+            // events of every worker are spilled to the given file, worker files are removed
+            assertEquals(50, Files.readAllLines(spillFile.toPath(), StandardCharsets.UTF_8).size());
+            for (int partition = 0; partition < 3; partition++) {
+                assertFalse(new File(spillFile.getPath() + "." + partition).exists());
+            }
+        } finally {
+            Files.deleteIfExists(spillFile.toPath());
+        }
+    }
 }
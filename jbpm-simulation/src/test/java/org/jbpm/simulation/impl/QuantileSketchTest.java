@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.jbpm.simulation.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 1; i <= 100000; i++) {
+            sketch.add(i);
+        }
+        assertEquals(100000, sketch.getCount());
+        assertEquals(50000, sketch.getQuantile(0.5), 50000 * 0.01);
+        assertEquals(95000, sketch.getQuantile(0.95), 95000 * 0.01);
+        assertEquals(99000, sketch.getQuantile(0.99), 99000 * 0.01);
+        assertEquals(1, sketch.getQuantile(0), 0.01);
+        // logarithmic buckets, not one per value
+        assertTrue(sketch.getNumberOfBuckets() < 1000);
+    }
+
+    @Test
+    public void testMergedStatisticsEqualToSingleOne() {
+        StreamingStatistics all = new StreamingStatistics();
+        StreamingStatistics even = new StreamingStatistics();
+        StreamingStatistics odd = new StreamingStatistics();
+        for (int i = 0; i < 1000; i++) {
+            all.add(i);
+            if (i % 2 == 0) {
+                even.add(i);
+            } else {
+                odd.add(i);
+            }
+        }
+        even.merge(odd);
+
+        assertEquals(all.getCount(), even.getCount());
+        assertEquals(all.getMin(), even.getMin(), 0);
+        assertEquals(all.getMax(), even.getMax(), 0);
+        assertEquals(all.getMean(), even.getMean(), 0.0001);
+        assertEquals(all.getQuantile(0.5), even.getQuantile(0.5), 0);
+        assertEquals(all.getQuantile(0.99), even.getQuantile(0.99), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeWithDifferentAccuracy() {
+        new QuantileSketch(0.01).merge(new QuantileSketch(0.02));
+    }
+}
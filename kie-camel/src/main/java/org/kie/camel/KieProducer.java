@@ -16,17 +16,24 @@
 
 package org.kie.camel;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
@@ -53,6 +60,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static org.kie.camel.KieCamelConstants.KIE_BODY_PARAM;
 import static org.kie.camel.KieCamelConstants.KIE_CLIENT;
 import static org.kie.camel.KieCamelConstants.KIE_OPERATION;
@@ -145,6 +153,7 @@ public class KieProducer extends DefaultProducer {
 
     abstract static class AbstractReflectiveProducer<C> extends AbstractInternalProducer<C> {
         private final Map<String, Collection<Method>> methodsMap;
+        private final ConcurrentMap<String, ConcurrentMap<String, List<MethodInvoker>>> invokers = new ConcurrentHashMap<>();
 
         private final String clientName;
         private final KieEndpoint endpoint;
@@ -179,42 +188,39 @@ public class KieProducer extends DefaultProducer {
         }
 
         private Object executeViaReflection( String operationName, Exchange exchange ) {
-            Collection<Method> methods = methodsMap.get( operationName );
-            if (methods == null) {
+            String bodyParam = endpoint.getConfiguration().getBodyParam( clientName, operationName )
+                    .orElseGet( () ->  exchange.getIn().getHeader( KIE_BODY_PARAM, String.class ) );
+            List<MethodInvoker> candidates = getInvokers( operationName, bodyParam );
+            if (candidates == null) {
                 log.error( "Unknown operation name: " + operationName );
                 return null;
             }
 
-            String bodyParam = endpoint.getConfiguration().getBodyParam( clientName, operationName )
-                    .orElseGet( () ->  exchange.getIn().getHeader( KIE_BODY_PARAM, String.class ) );
-            Method method = methods.stream()
-                                   .filter( m -> invokable( exchange, m, bodyParam ) )
-                                   .findFirst()
-                                   .orElseGet( () -> {
-                                       log.error( "Unknown operation name: " + operationName );
-                                       return null;
-                                   } );
-            return method != null ? invoke( exchange, method, bodyParam ) : null;
-        }
-
-        private boolean invokable(Exchange exchange, Method method, String bodyParam) {
-            Set<String> headers = exchange.getIn().getHeaders().keySet();
-            return Stream.of(method.getParameters()).allMatch( p -> p.getName().equals( bodyParam ) ||
-                                                                    headers.contains( asCamelKieName( p.getName() ) ) );
+            Message in = exchange.getIn();
+            for (MethodInvoker candidate : candidates) {
+                if (candidate.isInvokable( in )) {
+                    return candidate.invoke( client, in );
+                }
+            }
+            log.error( "Unknown operation name: " + operationName );
+            return null;
         }
 
-        private Object invoke(Exchange exchange, Method method, String bodyParam) {
-            try {
-                Object[] args = Stream.of(method.getParameters())
-                                      .map(p -> p.getName().equals( bodyParam ) ?
-                                                exchange.getIn().getBody( p.getType() ) :
-                                                exchange.getIn().getHeader( asCamelKieName( p.getName() ), p.getType() ) )
-                                      .toArray();
-                return method.invoke(client, args);
-            } catch (Exception e) {
-                log.error( "Error executed operation: " + method.getName() + " caused by: " + e.getMessage(), e );
+        /**
+         * Returns invokers of all the client methods with given name, resolved once per operation and body parameter.
+         * Invokers keep the order of methods the candidates are tried in.
+         */
+        private List<MethodInvoker> getInvokers( String operationName, String bodyParam ) {
+            Collection<Method> methods = methodsMap.get( operationName );
+            if (methods == null) {
                 return null;
             }
+            // no parameter is named by an empty string, so it stands for missing body parameter
+            String bodyParamKey = bodyParam == null ? "" : bodyParam;
+            return invokers.computeIfAbsent( operationName, name -> new ConcurrentHashMap<>() )
+                           .computeIfAbsent( bodyParamKey, key -> methods.stream()
+                                                                         .map( m -> MethodInvoker.of( m, key ) )
+                                                                         .collect( toList() ) );
         }
 
         private Map<String, Collection<Method>> indexClientMethod(Class<?> cls) {
@@ -242,6 +248,78 @@ public class KieProducer extends DefaultProducer {
         }
     }
 
+    /**
+     * Invokes single client method with arguments taken from the exchange: the body for the body parameter and headers
+     * for the other ones. Everything derived from the method signature, including the method handle, is resolved
+     * once so that invoking it does not need any reflection.
+     */
+    static final class MethodInvoker {
+
+        private static final MethodType INVOKER_TYPE = MethodType.methodType( Object.class, Object.class, Object[].class );
+
+        private final Method method;
+        private final MethodHandle handle;
+        private final String[] requiredHeaders;
+        private final Function<Message, Object>[] extractors;
+
+        private MethodInvoker( Method method, MethodHandle handle, String[] requiredHeaders, Function<Message, Object>[] extractors ) {
+            this.method = method;
+            this.handle = handle;
+            this.requiredHeaders = requiredHeaders;
+            this.extractors = extractors;
+        }
+
+        static MethodInvoker of( Method method, String bodyParam ) {
+            Parameter[] parameters = method.getParameters();
+            List<String> requiredHeaders = new ArrayList<>();
+            @SuppressWarnings("unchecked")
+            Function<Message, Object>[] extractors = new Function[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                Class<?> type = parameters[i].getType();
+                if (parameters[i].getName().equals( bodyParam )) {
+                    extractors[i] = in -> in.getBody( type );
+                } else {
+                    String header = asCamelKieName( parameters[i].getName() );
+                    requiredHeaders.add( header );
+                    extractors[i] = in -> in.getHeader( header, type );
+                }
+            }
+            try {
+                MethodHandle handle = MethodHandles.publicLookup().unreflect( method )
+                                                   .asSpreader( Object[].class, parameters.length )
+                                                   .asType( INVOKER_TYPE );
+                return new MethodInvoker( method, handle, requiredHeaders.toArray( new String[requiredHeaders.size()] ), extractors );
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException( "Client method " + method + " is not accessible", e );
+            }
+        }
+
+        boolean isInvokable( Message in ) {
+            Map<String, Object> headers = in.getHeaders();
+            for (String header : requiredHeaders) {
+                if (!headers.containsKey( header )) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Object invoke( Object client, Message in ) {
+            Object[] args = new Object[extractors.length];
+            for (int i = 0; i < extractors.length; i++) {
+                args[i] = extractors[i].apply( in );
+            }
+            try {
+                return (Object) handle.invokeExact( client, args );
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                log.error( "Error executed operation: " + method.getName() + " caused by: " + e.getMessage(), e );
+                return null;
+            }
+        }
+    }
+
     interface Operation<C> {
         Object execute(C client, Exchange exchange);
     }
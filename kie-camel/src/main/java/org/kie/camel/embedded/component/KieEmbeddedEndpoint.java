@@ -99,6 +99,11 @@ public class KieEmbeddedEndpoint extends DefaultEndpoint {
     private String entryPoint = null;
     private String channel = null;
 
+    // batching of insert actions, disabled unless batch size is greater than one
+    private int batchSize = 1;
+    private long batchLinger = 100;
+    private boolean fireAllRules = false;
+
     public KieEmbeddedEndpoint(String endpointUri, String remaining, KieComponent component) throws URISyntaxException {
         super(endpointUri, component);
         configure(component, remaining);
@@ -232,6 +237,33 @@ public class KieEmbeddedEndpoint extends DefaultEndpoint {
         this.channel = channel;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /** Number of exchanges inserted into the session together, exchanges are inserted one by one when not greater than one */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchLinger() {
+        return batchLinger;
+    }
+
+    /** Max time in milliseconds an exchange waits for its batch to fill up before the batch is inserted anyway, has to be greater than zero when batching */
+    public void setBatchLinger(long batchLinger) {
+        this.batchLinger = batchLinger;
+    }
+
+    public boolean isFireAllRules() {
+        return fireAllRules;
+    }
+
+    /** Whether rules of a stateful session are fired after every inserted batch */
+    public void setFireAllRules(boolean fireAllRules) {
+        this.fireAllRules = fireAllRules;
+    }
+
     public Exchange createExchange(Object pojo) {
         DefaultMessage msg = new DefaultMessage();
         msg.setBody(pojo);
@@ -29,9 +29,19 @@
 
 package org.kie.camel.embedded.component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
-import org.apache.camel.impl.DefaultProducer;
+import org.apache.camel.impl.DefaultAsyncProducer;
+import org.kie.api.KieServices;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
 import org.kie.api.runtime.CommandExecutor;
 import org.kie.api.runtime.rule.EntryPoint;
 import org.kie.internal.runtime.StatefulKnowledgeSession;
@@ -41,8 +51,13 @@ import org.kie.internal.runtime.StatelessKnowledgeSession;
  * Drools session.
  * It can be configured to insert the message body only, or the
  * whole message (that includes headers) or even the whole Exchange
- * object. */
-public class KieInsertProducer extends DefaultProducer {
+ * object.
+ * When batch size is greater than one, exchanges are accumulated and
+ * inserted into the session with a single call once the batch is full
+ * or the batch linger expires. Every exchange completes when its batch
+ * has been inserted. Stateless sessions still execute every exchange
+ * on its own, so rules never match facts of different exchanges. */
+public class KieInsertProducer extends DefaultAsyncProducer {
 
     // the corresponding endpoint
     private KieEmbeddedEndpoint ke;
@@ -51,9 +66,25 @@ public class KieInsertProducer extends DefaultProducer {
     // at insert time and hopefully improve performance
     private InsertWorker worker;
 
+    // batching state, guarded by the producer itself so that batches
+    // are inserted in the order exchanges arrived, exchanges are completed
+    // outside of the lock as completion continues routing of the exchange
+    private final int batchSize;
+    private final long batchLinger;
+    private List<PendingExchange> batch;
+    private ScheduledFuture<?> lingerTask;
+    private ScheduledExecutorService scheduler;
+
     public KieInsertProducer(Endpoint endpoint) {
         super(endpoint);
         ke = (KieEmbeddedEndpoint)endpoint;
+        batchSize = ke.getBatchSize();
+        batchLinger = ke.getBatchLinger();
+        if (isBatching() && batchLinger <= 0) {
+            // batch that never fills up would otherwise hold its exchanges until the producer stops
+            throw new IllegalArgumentException("batchLinger must be greater than zero when batchSize is greater than one, got " + batchLinger);
+        }
+        batch = new ArrayList<PendingExchange>(Math.max(batchSize, 1));
 
         // Configures this Producer with the proper action
         // by composing strategy objects
@@ -81,34 +112,152 @@ public class KieInsertProducer extends DefaultProducer {
             } else {
                 wmep = (EntryPoint)exec;
             }
-            worker = new StatefulSessionInsertWorker(wmep, unwrapper);
+            worker = new StatefulSessionInsertWorker((StatefulKnowledgeSession)exec, ep, wmep, unwrapper, ke.isFireAllRules());
         } else {
             worker = new StatelessSessionInsertWorker((StatelessKnowledgeSession)exec, unwrapper);
         }
     }
 
-    public void process(Exchange exchange) throws Exception {
-        worker.process(exchange);
+    private boolean isBatching() {
+        return batchSize > 1;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (isBatching()) {
+            scheduler = ke.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "KieInsertBatch");
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        flush();
+        if (scheduler != null) {
+            ke.getCamelContext().getExecutorServiceManager().shutdown(scheduler);
+            scheduler = null;
+        }
+        super.doStop();
+    }
+
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (!isBatching()) {
+            try {
+                worker.process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        }
+
+        List<PendingExchange> inserted = null;
+        synchronized (this) {
+            batch.add(new PendingExchange(exchange, callback));
+            if (batch.size() >= batchSize) {
+                inserted = insertBatch();
+            } else if (batch.size() == 1 && scheduler != null) {
+                lingerTask = scheduler.schedule(this::flush, batchLinger, TimeUnit.MILLISECONDS);
+            }
+        }
+        complete(inserted);
+        return false;
+    }
+
+    /** Inserts all the pending exchanges and completes them */
+    private void flush() {
+        complete(insertBatch());
+    }
+
+    /**
+     * Swaps the pending batch for an empty one and inserts it
+     * @return exchanges of the inserted batch, to be completed once the lock is released
+     */
+    private synchronized List<PendingExchange> insertBatch() {
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        if (batch.isEmpty()) {
+            return null;
+        }
+        List<PendingExchange> pending = batch;
+        batch = new ArrayList<PendingExchange>(batchSize);
+
+        List<Exchange> exchanges = new ArrayList<Exchange>(pending.size());
+        for (PendingExchange p : pending) {
+            exchanges.add(p.exchange);
+        }
+        try {
+            worker.process(exchanges);
+        } catch (Exception e) {
+            for (Exchange exchange : exchanges) {
+                exchange.setException(e);
+            }
+        }
+        return pending;
+    }
+
+    private static void complete(List<PendingExchange> pending) {
+        if (pending == null) {
+            return;
+        }
+        for (PendingExchange p : pending) {
+            p.callback.done(false);
+        }
+    }
+
+    /** An exchange waiting for its batch to be inserted */
+    private static class PendingExchange {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+
+        private PendingExchange(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
     }
 
     /** An interface for the worker strategy */
     private static interface InsertWorker {
         public void process(Exchange exchange) throws Exception;
+
+        public void process(List<Exchange> exchanges) throws Exception;
     }
 
     /** A stateful implementation for the worker */
     private static class StatefulSessionInsertWorker implements InsertWorker {
+        private StatefulKnowledgeSession ksession;
+        private String entryPoint;
         private EntryPoint wmep;
         private Unwrapper unwrapper;
+        private boolean fireAllRules;
 
-        public StatefulSessionInsertWorker(EntryPoint wmep, Unwrapper unwrapper) {
+        public StatefulSessionInsertWorker(StatefulKnowledgeSession ksession, String entryPoint, EntryPoint wmep, Unwrapper unwrapper, boolean fireAllRules) {
+            this.ksession = ksession;
+            this.entryPoint = entryPoint;
             this.wmep = wmep;
             this.unwrapper = unwrapper;
+            this.fireAllRules = fireAllRules;
         }
 
         public void process(Exchange exchange) throws Exception {
             this.wmep.insert(unwrapper.getObject(exchange));
         }
+
+        public void process(List<Exchange> exchanges) throws Exception {
+            List<Object> objects = new ArrayList<Object>(exchanges.size());
+            for (Exchange exchange : exchanges) {
+                objects.add(unwrapper.getObject(exchange));
+            }
+            KieCommands commands = KieServices.get().getCommands();
+            List<Command> batch = new ArrayList<Command>(2);
+            batch.add(commands.newInsertElements(objects, null, false, entryPoint));
+            if (fireAllRules) {
+                batch.add(commands.newFireAllRules());
+            }
+            this.ksession.execute(commands.newBatchExecution(batch));
+        }
     }
 
     /** A stateless implementation for the worker */
@@ -124,6 +273,18 @@ public class KieInsertProducer extends DefaultProducer {
         public void process(Exchange exchange) throws Exception {
             this.ksession.execute(unwrapper.getObject(exchange));
         }
+
+        /** Executes every exchange of the batch in a stateless execution
+         * of its own, a failure only fails the exchange that caused it */
+        public void process(List<Exchange> exchanges) throws Exception {
+            for (Exchange exchange : exchanges) {
+                try {
+                    process(exchange);
+                } catch (Exception e) {
+                    exchange.setException(e);
+                }
+            }
+        }
     }
 
     /** Another strategy interface to properly process incoming objects
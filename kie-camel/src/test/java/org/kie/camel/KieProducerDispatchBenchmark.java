@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.camel;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.kie.camel.KieProducer.MethodInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static java.util.stream.Collectors.toList;
+import static org.kie.camel.KieCamelUtils.asCamelKieName;
+
+/**
+ * Compares dispatch of an operation to a client method through cached method handle invokers with resolving and
+ * invoking the method via reflection on every message, as the producer used to do. Not run as part of the build,
+ * run it with <code>main</code> from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KieProducerDispatchBenchmark {
+
+    public interface SampleClient {
+
+        String getProcessInstance(String containerId, Long processInstanceId, boolean withVars);
+
+        String getProcessInstance(String containerId, Long processInstanceId);
+
+        String getProcessInstance(String containerId);
+    }
+
+    private final SampleClient client = new SampleClient() {
+        @Override
+        public String getProcessInstance( String containerId, Long processInstanceId, boolean withVars ) {
+            return containerId;
+        }
+
+        @Override
+        public String getProcessInstance( String containerId, Long processInstanceId ) {
+            return containerId;
+        }
+
+        @Override
+        public String getProcessInstance( String containerId ) {
+            return containerId;
+        }
+    };
+
+    private List<Method> methods;
+    private List<MethodInvoker> invokers;
+    private Message message;
+
+    @Setup
+    public void setup() throws Exception {
+        methods = Stream.of( SampleClient.class.getMethods() )
+                        .sorted( Comparator.comparingInt( Method::getParameterCount ).reversed() )
+                        .collect( toList() );
+        invokers = methods.stream().map( m -> MethodInvoker.of( m, "" ) ).collect( toList() );
+
+        // headers matching the two parameter method, named after its parameters as the compiler kept them
+        message = new DefaultExchange( new DefaultCamelContext() ).getIn();
+        Method target = SampleClient.class.getMethod( "getProcessInstance", String.class, Long.class );
+        message.setHeader( asCamelKieName( target.getParameters()[0].getName() ), "container" );
+        message.setHeader( asCamelKieName( target.getParameters()[1].getName() ), 1L );
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        Set<String> headers = message.getHeaders().keySet();
+        Method method = methods.stream()
+                               .filter( m -> Stream.of( m.getParameters() ).allMatch( p -> headers.contains( asCamelKieName( p.getName() ) ) ) )
+                               .findFirst()
+                               .orElse( null );
+        Object[] args = Stream.of( method.getParameters() )
+                              .map( p -> message.getHeader( asCamelKieName( p.getName() ), p.getType() ) )
+                              .toArray();
+        return method.invoke( client, args );
+    }
+
+    @Benchmark
+    public Object methodHandle() {
+        for (MethodInvoker invoker : invokers) {
+            if (invoker.isInvokable( message )) {
+                return invoker.invoke( client, message );
+            }
+        }
+        return null;
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder().include( KieProducerDispatchBenchmark.class.getSimpleName() ).build() ).run();
+    }
+}
@@ -29,16 +29,25 @@
 
 package org.kie.camel.embedded.camel.component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import javax.naming.Context;
+import javax.naming.NamingException;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.builder.RouteBuilder;
 import org.junit.Test;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
 import org.kie.api.event.rule.AgendaEventListener;
 import org.kie.api.event.rule.ObjectInsertedEvent;
 import org.kie.api.event.rule.RuleRuntimeEventListener;
 import org.kie.api.runtime.KieSession;
+import org.kie.internal.runtime.StatelessKnowledgeSession;
 import org.kie.pipeline.camel.Person;
 import org.mockito.ArgumentCaptor;
 
@@ -49,6 +58,7 @@ public class CamelEndpointActionInsertTest extends KieCamelTestSupport {
     private KieSession ksession;
     private AgendaEventListener ael;
     private RuleRuntimeEventListener wmel;
+    private StatelessKnowledgeSession statelessKsession;
 
     @Test
     public void testSessionInsert() throws Exception {
@@ -102,6 +112,72 @@ public class CamelEndpointActionInsertTest extends KieCamelTestSupport {
         assertThat((Person)((Exchange)oie.getValue().getObject()).getIn().getBody(), is(person));
     }
 
+    @Test
+    public void testSessionInsertBatch() throws Exception {
+        List<Future<Object>> sent = new ArrayList<Future<Object>>();
+        for (int i = 0; i < 3; i++) {
+            Person person = new Person();
+            person.setName("Bob" + i);
+            sent.add(template.asyncSendBody("direct:test-batch", person));
+        }
+        for (Future<Object> future : sent) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // inserted together once the batch was full and rules fired for all of them
+        verify(wmel, times(3)).objectInserted(any(ObjectInsertedEvent.class));
+        verify(ael, times(3)).afterMatchFired(any(AfterMatchFiredEvent.class));
+    }
+
+    @Test
+    public void testSessionInsertBatchLinger() throws Exception {
+        Person person = new Person();
+        person.setName("Bob");
+
+        // batch is not full, inserted once linger expires
+        template.sendBody("direct:test-batch-linger", person);
+
+        ArgumentCaptor<ObjectInsertedEvent> oie = ArgumentCaptor.forClass(ObjectInsertedEvent.class);
+
+        verify(wmel).objectInserted(oie.capture());
+        assertThat((Person)oie.getValue().getObject(), is(person));
+    }
+
+    @Test
+    public void testStatelessSessionInsertBatch() throws Exception {
+        List<Person> persons = new ArrayList<Person>();
+        List<Future<Object>> sent = new ArrayList<Future<Object>>();
+        for (int i = 0; i < 3; i++) {
+            Person person = new Person();
+            person.setName("Bob" + i);
+            persons.add(person);
+        }
+        doThrow(new IllegalStateException("execution failed")).when(statelessKsession).execute((Object)persons.get(1));
+        for (Person person : persons) {
+            sent.add(template.asyncSendBody("direct:test-stateless-batch", person));
+        }
+        sent.get(0).get(10, TimeUnit.SECONDS);
+        sent.get(2).get(10, TimeUnit.SECONDS);
+        try {
+            sent.get(1).get(10, TimeUnit.SECONDS);
+            fail("Exchange of the failed execution must fail");
+        } catch (ExecutionException e) {
+            // only the exchange whose execution failed
+        }
+
+        // every exchange of the batch is executed on its own
+        for (Person person : persons) {
+            verify(statelessKsession).execute((Object)person);
+        }
+        verify(statelessKsession, never()).execute(any(Iterable.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSessionInsertBatchWithoutLingerRejected() throws Exception {
+        // batch that is not full would never be inserted
+        context.getEndpoint("kie-local://ksession1?action=insertBody&batchSize=3&batchLinger=0").createProducer();
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
@@ -110,6 +186,9 @@ public class CamelEndpointActionInsertTest extends KieCamelTestSupport {
                 from("direct:test-with-ep").to("kie-local://ksession1?action=insertBody&entryPoint=ep1");
                 from("direct:test-message").to("kie-local://ksession1?action=insertMessage");
                 from("direct:test-exchange").to("kie-local://ksession1?action=insertExchange");
+                from("direct:test-batch").to("kie-local://ksession1?action=insertBody&batchSize=3&batchLinger=60000&fireAllRules=true");
+                from("direct:test-batch-linger").to("kie-local://ksession1?action=insertBody&batchSize=100&batchLinger=10");
+                from("direct:test-stateless-batch").to("kie-local://ksession2?action=insertBody&batchSize=3&batchLinger=60000");
             }
         };
     }
@@ -150,5 +229,12 @@ public class CamelEndpointActionInsertTest extends KieCamelTestSupport {
         wmel = mock(RuleRuntimeEventListener.class);
         ksession.addEventListener(ael);
         ksession.addEventListener(wmel);
+
+        statelessKsession = mock(StatelessKnowledgeSession.class);
+        try {
+            jndiContext.bind("ksession2", statelessKsession);
+        } catch (NamingException e) {
+            throw new RuntimeException(e);
+        }
     }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
+import org.kie.perf.run.ConstantRate;
 import org.kie.perf.run.Duration;
 import org.kie.perf.run.IRunType;
 import org.kie.perf.run.Iteration;
@@ -34,6 +35,8 @@ public class TestConfig {
     protected int duration;
     protected int iterations;
     protected int expectedRate;
+    protected double targetRate;
+    protected int rampUp;
 
     protected ReporterType reporterType;
     protected int periodicity;
@@ -105,10 +108,28 @@ public class TestConfig {
             expectedRate = Integer.valueOf(expectedRateProp);
         }
 
+        // open-loop run type, target rate is in operations per second
+        String targetRateProp = System.getProperty("targetRate");
+        if (targetRateProp == null || targetRateProp.isEmpty()) {
+            targetRate = 100;
+        } else {
+            targetRate = Double.valueOf(targetRateProp);
+        }
+        String rampUpProp = System.getProperty("rampUp");
+        if (rampUpProp == null || rampUpProp.isEmpty()) {
+            rampUp = 0;
+        } else {
+            rampUp = Integer.valueOf(rampUpProp);
+        }
+
         properties.put("runType", runType);
         properties.put("duration", duration);
         properties.put("iterations", iterations);
         properties.put("expectedRate", expectedRate);
+        if (runType == RunType.CONSTANT_RATE) {
+            properties.put("targetRate", targetRate);
+            properties.put("rampUp", rampUp);
+        }
 
         reporterType = ReporterType.valueOf(System.getProperty("reporterType").toUpperCase());
         periodicity = Integer.valueOf(System.getProperty("periodicity"));
@@ -234,6 +255,14 @@ public class TestConfig {
         return expectedRate;
     }
 
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public int getRampUp() {
+        return rampUp;
+    }
+
     public ReporterType getReporterType() {
         return reporterType;
     }
@@ -299,7 +328,7 @@ public class TestConfig {
     }
 
     public static enum RunType {
-        DURATION(Duration.class), ITERATION(Iteration.class);
+        DURATION(Duration.class), ITERATION(Iteration.class), CONSTANT_RATE(ConstantRate.class);
 
         private Class<? extends IRunType> klass;
 
@@ -105,6 +105,8 @@ public class PerfRepoReporter extends ScheduledReporter {
             
             if (tc.getRunType() == RunType.DURATION) {
                 testExecutionName += " - " + tc.getDuration() + " seconds";
+            } else if (tc.getRunType() == RunType.CONSTANT_RATE) {
+                testExecutionName += " - " + tc.getTargetRate() + " ops per second for " + tc.getDuration() + " seconds";
             } else {
                 testExecutionName += " - " + tc.getIterations() + " iterations";
             }
@@ -166,6 +168,7 @@ public class PerfRepoReporter extends ScheduledReporter {
             metricLabels.add(entry.getKey() + ".p98");
             metricLabels.add(entry.getKey() + ".p99");
             metricLabels.add(entry.getKey() + ".p999");
+            metricLabels.add(entry.getKey() + ".p9999");
         }
 
         for (Map.Entry<String, Meter> entry : meters.entrySet()) {
@@ -188,6 +191,7 @@ public class PerfRepoReporter extends ScheduledReporter {
             metricLabels.add(entry.getKey() + ".p98");
             metricLabels.add(entry.getKey() + ".p99");
             metricLabels.add(entry.getKey() + ".p999");
+            metricLabels.add(entry.getKey() + ".p9999");
         }
 
         try {
@@ -247,6 +251,7 @@ public class PerfRepoReporter extends ScheduledReporter {
         testExecution.value(getMeterName(name) + ".p98", convertDuration(snapshot.get98thPercentile()));
         testExecution.value(getMeterName(name) + ".p99", convertDuration(snapshot.get99thPercentile()));
         testExecution.value(getMeterName(name) + ".p999", convertDuration(snapshot.get999thPercentile()));
+        testExecution.value(getMeterName(name) + ".p9999", convertDuration(snapshot.getValue(0.9999)));
 
     }
 
@@ -268,6 +273,7 @@ public class PerfRepoReporter extends ScheduledReporter {
         testExecution.value(getMeterName(name) + ".p98", snapshot.get98thPercentile());
         testExecution.value(getMeterName(name) + ".p99", snapshot.get99thPercentile());
         testExecution.value(getMeterName(name) + ".p999", snapshot.get999thPercentile());
+        testExecution.value(getMeterName(name) + ".p9999", snapshot.getValue(0.9999));
     }
 
     private void reportCounter(TestExecutionBuilder testExecution, String name, Counter counter) {
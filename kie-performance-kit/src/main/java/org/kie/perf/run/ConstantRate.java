@@ -0,0 +1,92 @@
+package org.kie.perf.run;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.kie.perf.TestConfig;
+
+/**
+ * Open-loop run type starting operations at a constant target rate (after optional linear ramp-up), no matter how
+ * long previous operations took. Single instance is meant to be shared by all the threads executing the scenario,
+ * each call to {@link #isEnd()} takes the next slot of the schedule and waits until its intended start time.
+ * Latency should be measured from {@link #getIntendedStartTime()} so that time operations spent waiting for a busy
+ * system under test is not omitted.
+ */
+public class ConstantRate implements IRunType {
+
+    private final AtomicLong next = new AtomicLong();
+    private final ThreadLocal<Long> intendedStartTime = new ThreadLocal<Long>();
+
+    private int limit;
+    private double rate;
+    private double rampUp;
+    private long duration;
+    private volatile long startTime;
+
+    @Override
+    public void start(int limit) {
+        TestConfig tc = TestConfig.getInstance();
+        start(limit, tc.getTargetRate(), tc.getRampUp(), tc.getDuration());
+    }
+
+    /**
+     * @param limit max number of operations
+     * @param rate target number of operations per second
+     * @param rampUp number of seconds the rate grows linearly to the target one
+     * @param duration number of seconds operations are started for, including ramp-up
+     */
+    public void start(int limit, double rate, double rampUp, int duration) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Target rate must be greater than zero, got " + rate);
+        }
+        this.limit = limit;
+        this.rate = rate;
+        this.rampUp = Math.max(rampUp, 0);
+        this.duration = TimeUnit.SECONDS.toNanos(duration);
+        next.set(0);
+        startTime = System.nanoTime();
+    }
+
+    @Override
+    public boolean isEnd() {
+        long slot = next.getAndIncrement();
+        if (slot >= limit) {
+            return true;
+        }
+        long offset = getOffset(slot);
+        if (offset > duration) {
+            return true;
+        }
+        long intended = startTime + offset;
+        long wait;
+        while ((wait = intended - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        intendedStartTime.set(intended);
+        return false;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} the last operation of the calling thread was scheduled to start at
+     */
+    public long getIntendedStartTime() {
+        Long intended = intendedStartTime.get();
+        return intended != null ? intended : System.nanoTime();
+    }
+
+    /**
+     * @return nanoseconds from the start the given operation is scheduled at. During ramp-up the rate grows linearly,
+     * so the number of operations started by time t is rate * t^2 / (2 * rampUp).
+     */
+    protected long getOffset(long slot) {
+        double rampUpOperations = rate * rampUp / 2;
+        double seconds;
+        if (slot < rampUpOperations) {
+            seconds = Math.sqrt(2 * rampUp * slot / rate);
+        } else {
+            seconds = rampUp + (slot - rampUpOperations) / rate;
+        }
+        return (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.perf.Executor;
 import org.kie.perf.SharedMetricRegistry;
@@ -13,6 +14,8 @@ import org.kie.perf.TestConfig.RunType;
 import org.kie.perf.annotation.KPKConstraint;
 import org.kie.perf.annotation.KPKLimit;
 import org.kie.perf.metrics.CPUUsageHistogramSet;
+import org.kie.perf.metrics.HdrHistogramReservoir;
+import org.kie.perf.run.ConstantRate;
 import org.kie.perf.run.IRunType;
 import org.kie.perf.scenario.IPerfTest;
 import org.slf4j.Logger;
@@ -100,9 +103,18 @@ public class ConcurrentLoadSuite implements ITestSuite {
             }
         }
 
-        for (IPerfTest test : tests) {
-            Thread t = new ThreadScenario(test, max);
-            threadsList.add(t);
+        if (tc.getRunType() == RunType.CONSTANT_RATE) {
+            // single schedule shared by all the threads so that the target rate is the total one
+            ConstantRate run = (ConstantRate) tc.getRunType().newInstance();
+            run.start(max);
+            for (IPerfTest test : tests) {
+                threadsList.add(new OpenLoopThreadScenario(test, run));
+            }
+        } else {
+            for (IPerfTest test : tests) {
+                Thread t = new ThreadScenario(test, max);
+                threadsList.add(t);
+            }
         }
 
         for (Thread t : threadsList) {
@@ -128,6 +140,40 @@ public class ConcurrentLoadSuite implements ITestSuite {
         threadsList.clear();
     }
 
+    /**
+     * Executes scenario at the pace of the shared constant rate schedule. Latency is measured from the intended start
+     * time, service time from the actual one, both recorded into HDR histograms.
+     */
+    private static class OpenLoopThreadScenario extends Thread {
+
+        private IPerfTest scenario;
+        private ConstantRate run;
+
+        public OpenLoopThreadScenario(IPerfTest scenario, ConstantRate run) {
+            this.scenario = scenario;
+            this.run = run;
+        }
+
+        @Override
+        public void run() {
+            MetricRegistry metrics = SharedMetricRegistry.getInstance();
+            Timer latency = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.latency"), () -> new Timer(new HdrHistogramReservoir()));
+            Timer duration = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"), () -> new Timer(new HdrHistogramReservoir()));
+
+            while (!run.isEnd()) {
+                long intendedStart = run.getIntendedStartTime();
+                long start = System.nanoTime();
+                try {
+                    scenario.execute();
+                } finally {
+                    long end = System.nanoTime();
+                    duration.update(end - start, TimeUnit.NANOSECONDS);
+                    latency.update(end - intendedStart, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
     private static class ThreadScenario extends Thread {
 
         private IPerfTest scenario;
@@ -2,6 +2,7 @@ package org.kie.perf.suite;
 
 import java.util.Arrays;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.kie.perf.Executor;
 import org.kie.perf.SharedMetricRegistry;
@@ -11,6 +12,8 @@ import org.kie.perf.TestConfig.RunType;
 import org.kie.perf.annotation.KPKConstraint;
 import org.kie.perf.annotation.KPKLimit;
 import org.kie.perf.metrics.CPUUsageHistogramSet;
+import org.kie.perf.metrics.HdrHistogramReservoir;
+import org.kie.perf.run.ConstantRate;
 import org.kie.perf.run.IRunType;
 import org.kie.perf.scenario.IPerfTest;
 import org.slf4j.Logger;
@@ -90,6 +93,15 @@ public class LoadSuite implements ITestSuite {
             max = limit.value();
         }
 
+        if (tc.getRunType() == RunType.CONSTANT_RATE) {
+            runAtConstantRate(scenario, (ConstantRate) run, max);
+            if (contextDuration != null) {
+                contextDuration.stop();
+            }
+            scenario.close();
+            return;
+        }
+
         Timer scenarioDuration = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"));
         run.start(max);
         while (!run.isEnd()) {
@@ -107,4 +119,28 @@ public class LoadSuite implements ITestSuite {
         scenario.close();
     }
 
+    /**
+     * Executes scenario at the pace of the constant rate schedule. Latency is measured from the intended start time,
+     * so time operations waited for the previous ones is not omitted, service time from the actual one.
+     */
+    private void runAtConstantRate(IPerfTest scenario, ConstantRate run, int max) {
+        MetricRegistry metrics = SharedMetricRegistry.getInstance();
+        Timer latency = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.latency"), () -> new Timer(new HdrHistogramReservoir()));
+        Timer duration = metrics.timer(MetricRegistry.name(scenario.getClass(), "scenario.single.duration"), () -> new Timer(new HdrHistogramReservoir()));
+
+        run.start(max);
+        while (!run.isEnd()) {
+            long intendedStart = run.getIntendedStartTime();
+            long start = System.nanoTime();
+            try {
+                scenario.execute();
+            } catch (Exception ex) {
+                ex.printStackTrace();
+            }
+            long end = System.nanoTime();
+            duration.update(end - start, TimeUnit.NANOSECONDS);
+            latency.update(end - intendedStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
 }
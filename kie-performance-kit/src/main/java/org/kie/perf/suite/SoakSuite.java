@@ -9,6 +9,7 @@ import org.kie.perf.Executor;
 import org.kie.perf.SharedMetricRegistry;
 import org.kie.perf.TestConfig;
 import org.kie.perf.TestConfig.Measure;
+import org.kie.perf.TestConfig.RunType;
 import org.kie.perf.metrics.CPUUsageHistogramSet;
 import org.kie.perf.metrics.PerfRepoReporter;
 import org.kie.perf.run.IRunType;
@@ -26,6 +27,11 @@ public class SoakSuite implements ITestSuite {
 
     public SoakSuite() {
         TestConfig tc = TestConfig.getInstance();
+        if (tc.getRunType() == RunType.CONSTANT_RATE) {
+            // soak runs are paced by expectedRate, so open-loop timing would not apply
+            throw new IllegalArgumentException("Run type " + RunType.CONSTANT_RATE + " is not supported by " + SoakSuite.class.getSimpleName()
+                    + ", use expectedRate to set the pace of the runs");
+        }
         iterations = tc.getIterations();
         expectedRate = tc.getExpectedRate();
         run = tc.getRunType().newInstance();
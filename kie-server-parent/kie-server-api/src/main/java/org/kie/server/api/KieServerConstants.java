@@ -19,6 +19,10 @@ package org.kie.server.api;
 public class KieServerConstants {
 
     public static final String KIE_JBPM_SERVER_CLIENT_FAILED_ENDPOINT_INTERVAL_CHECK = "org.kie.server.client.loadbalancer.failedEndpointIntervalCheck";
+    public static final String KIE_SERVER_CLIENT_HEALTH_CHECK_INTERVAL = "org.kie.server.client.loadbalancer.healthCheckInterval";
+    public static final String KIE_SERVER_CLIENT_HEALTH_CHECK_TIMEOUT = "org.kie.server.client.loadbalancer.healthCheckTimeout";
+    public static final String KIE_SERVER_CLIENT_HEALTH_CHECK_SLOW_THRESHOLD = "org.kie.server.client.loadbalancer.healthCheckSlowThreshold";
+    public static final String KIE_SERVER_CLIENT_ASYNC_MAX_CONNECTIONS = "org.kie.server.client.async.maxConnections";
     public static final String IS_DISPOSE_CONTAINER_PARAM = "jBPMExtensionIsDisposeContainer";
     public static final String LOCATION_HEADER = "Location";
 
@@ -60,6 +64,7 @@ public class KieServerConstants {
     public static final String KIE_SERVER_ACTIVATE_POLICIES = "org.kie.server.policy.activate";
     public static final String KIE_SERVER_MGMT_API_DISABLED = "org.kie.server.mgmt.api.disabled";
     public static final String KIE_SERVER_STARTUP_STRATEGY = "org.kie.server.startup.strategy";
+    public static final String KIE_SERVER_STARTUP_CONTAINERS_PARALLELISM = "org.kie.server.startup.containers.parallelism";
     public static final String KIE_SERVER_MODE = "org.kie.server.mode";
     public static final String KIE_SERVER_INCLUDE_STACKTRACE = "org.kie.server.stacktrace.included";
     public static final String KIE_SERVER_STRICT_ID_FORMAT = "org.kie.server.strict.id.format";
@@ -68,6 +73,8 @@ public class KieServerConstants {
     public static final String KIE_SERVER_IMAGESERVICE_MAX_NODES = "org.kie.server.service.image.max_nodes";
     public static final String KIE_SERVER_REST_MODE_READONLY = "org.kie.server.rest.mode.readonly";
     public static final String KIE_SERVER_NOTIFY_UPDATES_TO_CONTROLLERS = "org.kie.server.update.notifications.rest.enabled";
+    public static final String KIE_SERVER_MARSHALLERS_WARMUP = "org.kie.server.marshallers.warmup";
+    public static final String KIE_SERVER_DMN_BATCH_PARALLELISM = "org.kie.server.dmn.batch.parallelism";
     // configuration parameters
     public static final String CFG_PERSISTANCE_DS = "org.kie.server.persistence.ds";
     public static final String CFG_PERSISTANCE_TM = "org.kie.server.persistence.tm";
@@ -94,6 +101,8 @@ public class KieServerConstants {
     public static final String CFG_KIE_CONTROLLER_PASSWORD = "org.kie.server.controller.pwd";
     public static final String CFG_KIE_CONTROLLER_TOKEN = "org.kie.server.controller.token";
     public static final String CFG_KIE_CONTROLLER_TIMEOUT = "org.kie.server.controller.timeout";
+    public static final String CFG_KIE_CONTROLLER_PARALLELISM = "org.kie.server.controller.parallelism";
+    public static final String CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT = "org.kie.server.controller.instance.timeout";
 
     // non kie server parameters but used by its extensions etc
     public static final String CFG_HT_CALLBACK = "org.jbpm.ht.callback";
@@ -107,6 +116,7 @@ public class KieServerConstants {
     public static final String CFG_EXECUTOR_DISABLED = "org.kie.executor.disabled";
 
     public static final String CFG_DOCUMENT_STORAGE_PATH = "org.jbpm.document.storage";
+    public static final String CFG_DOCUMENT_MAX_SIZE = "org.kie.server.document.max.size";
 
     public static final String CFG_JBPM_TASK_CLEANUP_LISTENER = "org.jbpm.task.cleanup.enabled";
     public static final String CFG_JBPM_TASK_BAM_LISTENER = "org.jbpm.task.bam.enabled";
@@ -138,6 +148,13 @@ public class KieServerConstants {
     public static final String PCFG_KIE_SESSION = "KSession";
     public static final String PCFG_MERGE_MODE = "MergeMode";
 
+    // KieSession pool configuration item constants
+    public static final String PCFG_KIE_SESSION_POOL = "KSessionPool";
+    public static final String PCFG_KIE_SESSION_POOL_SIZE = "KSessionPoolSize";
+    public static final String PCFG_KIE_SESSION_POOL_WARMUP = "KSessionPoolWarmUp";
+    public static final String PCFG_KIE_SESSION_POOL_RESET_STRATEGY = "KSessionPoolResetStrategy";
+    public static final String PCFG_KIE_SESSION_POOL_WAIT_TIME = "KSessionPoolWaitTime";
+
     public static final String CAPABILITY_BRM = "BRM"; // Business Rules Management
     public static final String CAPABILITY_BPM = "BPM"; // Business Process Management
     public static final String CAPABILITY_BPM_UI = "BPM-UI"; // Business Process Management UI
@@ -16,6 +16,11 @@
 
 package org.kie.server.api.marshalling;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -52,4 +57,57 @@ public interface Marshaller {
     default <T> T unmarshall(byte[] input, Class<T> type) {
         return unmarshall(new String(input), type);
     }
+
+    /**
+     * Writes marshalled form of given input directly into given output stream.
+     * Output stream is flushed but not closed - it remains under control of the caller.
+     * Default implementation falls back to {@link #marshallAsBytes(Object)}, implementations are expected
+     * to override it to avoid materializing entire payload in memory.
+     */
+    default void marshall(Object input, OutputStream output) {
+        try {
+            byte[] content = marshallAsBytes(input);
+            if (content != null) {
+                output.write(content);
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new MarshallingException("Error writing marshalled content", e);
+        }
+    }
+
+    default void marshall(Object input, OutputStream output, Map<String, Object> parameters) {
+        try {
+            String content = marshall(input, parameters);
+            if (content != null) {
+                output.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new MarshallingException("Error writing marshalled content", e);
+        }
+    }
+
+    /**
+     * Reads given input stream and unmarshalls its content into instance of given type.
+     * Default implementation reads the entire stream into memory, implementations are expected
+     * to override it to decode directly from the stream.
+     */
+    default <T> T unmarshall(InputStream input, Class<T> type) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            return unmarshall(buffer.toByteArray(), type);
+        } catch (IOException e) {
+            throw new MarshallingException("Error reading content to unmarshall", e);
+        }
+    }
+
+    default <T> T unmarshall(InputStream input, Class<T> type, Map<String, Object> parameters) {
+        return unmarshall(input, type);
+    }
 }
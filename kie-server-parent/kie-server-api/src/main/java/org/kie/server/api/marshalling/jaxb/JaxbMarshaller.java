@@ -16,6 +16,8 @@
 
 package org.kie.server.api.marshalling.jaxb;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -156,6 +158,7 @@ import org.kie.server.api.model.definition.SearchQueryFilterSpec;
 import org.kie.server.api.model.definition.TaskQueryFilterSpec;
 import org.kie.server.api.model.definition.TimerDefinition;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionInfo;
 import org.kie.server.api.model.dmn.DMNDecisionResultKS;
 import org.kie.server.api.model.dmn.DMNInputDataInfo;
@@ -165,6 +168,7 @@ import org.kie.server.api.model.dmn.DMNModelInfo;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNNodeStub;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.api.model.instance.ErrorInfoInstance;
@@ -402,7 +406,9 @@ public class JaxbMarshaller implements Marshaller {
 
                                                  // Kie DMN
                                                  DMNContextKS.class,
+                                                 DMNContextKSList.class,
                                                  DMNResultKS.class,
+                                                 DMNResultKSList.class,
                                                  DMNNodeStub.class,
                                                  DMNMessageKS.class,
                                                  DMNDecisionResultKS.class,
@@ -482,41 +488,67 @@ public class JaxbMarshaller implements Marshaller {
         return writer.toString();
     }
 
+    @Override
+    public void marshall(Object input, OutputStream output) {
+        if (input == null) {
+            return;
+        }
+
+        try {
+            getMarshaller().marshal(ModelWrapper.wrap(input), output);
+        } catch (JAXBException e) {
+            throw new MarshallingException("Can't marshall input object: " + input, e);
+        }
+    }
+
     @Override
     public <T> T unmarshall(String input, Class<T> type) {
         try {
-            Unmarshaller unmarshaller = getUnmarshaller();
-
-            //Disable XXE
-            SAXParserFactory spf = SAXParserFactory.newInstance();
-            spf.setNamespaceAware(true);
-            spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-
-            Source xmlSource = new SAXSource(spf.newSAXParser().getXMLReader(),
-                                            new InputSource(new StringReader(input)));
-
-            ValidationEventCollector vec = new ValidationEventCollector();
-            boolean strict = Boolean.getBoolean(KIE_SERVER_STRICT_JAXB_FORMAT);
-            unmarshaller.setEventHandler(vec);
-            Object result = unmarshaller.unmarshal(xmlSource);
-            if (strict || logger.isWarnEnabled()) {
-                String errorMessage = Arrays.stream(vec.getEvents())
-                        .filter(ve -> ve.getSeverity() == ERROR || ve.getSeverity() == FATAL_ERROR)
-                        .map(ValidationEvent::getMessage)
-                        .collect(Collectors.joining("\n"));
-                if (!errorMessage.isEmpty()) {
-                    logger.warn(errorMessage);
-                    if (strict) {
-                        throw new MarshallingException(errorMessage);
-                    }
-                }
-            }
-            return (T) unwrap(result);
+            return unmarshallSource(new InputSource(new StringReader(input)));
         } catch (JAXBException | SAXException | ParserConfigurationException e) {
             throw new MarshallingException("Can't unmarshall input string: " + input, e);
         }
     }
 
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        try {
+            return unmarshallSource(new InputSource(input));
+        } catch (JAXBException | SAXException | ParserConfigurationException e) {
+            throw new MarshallingException("Can't unmarshall input stream", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T unmarshallSource(InputSource inputSource) throws JAXBException, SAXException, ParserConfigurationException {
+        Unmarshaller unmarshaller = getUnmarshaller();
+
+        //Disable XXE
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setNamespaceAware(true);
+        spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+        Source xmlSource = new SAXSource(spf.newSAXParser().getXMLReader(), inputSource);
+
+        ValidationEventCollector vec = new ValidationEventCollector();
+        boolean strict = Boolean.getBoolean(KIE_SERVER_STRICT_JAXB_FORMAT);
+        unmarshaller.setEventHandler(vec);
+        Object result = unmarshaller.unmarshal(xmlSource);
+        if (strict || logger.isWarnEnabled()) {
+            String errorMessage = Arrays.stream(vec.getEvents())
+                    .filter(ve -> ve.getSeverity() == ERROR || ve.getSeverity() == FATAL_ERROR)
+                    .map(ValidationEvent::getMessage)
+                    .collect(Collectors.joining("\n"));
+            if (!errorMessage.isEmpty()) {
+                logger.warn(errorMessage);
+                if (strict) {
+                    throw new MarshallingException(errorMessage);
+                }
+            }
+        }
+        return (T) unwrap(result);
+    }
+
     protected Object unwrap(Object data) {
         if (data instanceof Wrapped) {
             return ((Wrapped) data).unwrap();
@@ -17,6 +17,8 @@
 package org.kie.server.api.marshalling.json;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Array;
@@ -45,11 +47,13 @@ import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapters;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import com.fasterxml.jackson.databind.AnnotationIntrospector;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationConfig;
@@ -103,6 +107,11 @@ public class JSONMarshaller implements Marshaller {
 
     private static final String FIELDS = "fields";
     private static final String NOT_NULL = "not_null";
+    /**
+     * Marshalling parameter - <code>indent=false</code> writes compact output without any line breaks,
+     * honoured when marshalling to a stream
+     */
+    public static final String INDENT = "indent";
 
     private boolean formatDate;
     private String dateFormatStr = System.getProperty("org.kie.server.json.date_format", "yyyy-MM-dd'T'hh:mm:ss.SSSZ");
@@ -132,6 +141,8 @@ public class JSONMarshaller implements Marshaller {
         
         private boolean writeNull;
 
+        private boolean indent;
+
         public JSONContext() {
             this.reset();
         }
@@ -140,6 +151,7 @@ public class JSONMarshaller implements Marshaller {
             stripped = false;
             wrap = false;
             writeNull = true;
+            indent = true;
         }
 
         public boolean isStripped() {
@@ -165,6 +177,14 @@ public class JSONMarshaller implements Marshaller {
         public void setWriteNull(boolean writeNull) {
             this.writeNull = writeNull;
         }
+
+        public boolean isIndent() {
+            return indent;
+        }
+
+        public void setIndent(boolean indent) {
+            this.indent = indent;
+        }
     }
 
     private ThreadLocal<JSONContext> jsonContext = ThreadLocal.withInitial(() -> new JSONContext());
@@ -422,6 +442,41 @@ public class JSONMarshaller implements Marshaller {
         }
     }
 
+    @Override
+    public void marshall(Object input, OutputStream output, Map<String, Object> parameters) {
+        try {
+            if (parameters.containsKey(MARSHALLER_PARAMETER_STRICT)) {
+                jsonContext.get().setWrap(Boolean.parseBoolean((String) parameters.get(MARSHALLER_PARAMETER_STRICT)));
+            }
+            if (NOT_NULL.equals(parameters.get(FIELDS)))
+            {
+                jsonContext.get().setWriteNull(false);
+            }
+            if (parameters.containsKey(INDENT)) {
+                jsonContext.get().setIndent(Boolean.parseBoolean((String) parameters.get(INDENT)));
+            }
+            marshall(input, output);
+        } finally {
+            jsonContext.get().reset();
+        }
+    }
+
+    @Override
+    public void marshall(Object objectInput, OutputStream output) {
+        ObjectMapper mapper = getMapper(objectMapper, notNullObjectMapper);
+        // generator must not close the target stream as it is owned by the caller (e.g. http response)
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!jsonContext.get().isIndent()) {
+                // mapper only applies its indenting printer to generators that have none
+                generator.setPrettyPrinter(new MinimalPrettyPrinter());
+            }
+            mapper.writeValue(generator, wrap(objectInput));
+        } catch (IOException e) {
+            throw new MarshallingException("Error marshalling input", e);
+        }
+    }
+
     @Override
     public byte[] marshallAsBytes(Object objectInput) {
         try {
@@ -459,6 +514,19 @@ public class JSONMarshaller implements Marshaller {
         }
     }
 
+    @Override
+    public <T> T unmarshall(InputStream serializedInput, Class<T> type) {
+
+        try {
+            Class<?> actualType = classesSet.contains(type) ? Object.class : type;
+            return (T) unwrap(deserializeObjectMapper.readValue(serializedInput, actualType));
+        } catch (IOException e) {
+            throw new MarshallingException("Error unmarshalling input", e);
+        } finally {
+            jsonContext.get().reset();
+        }
+    }
+
     @Override
     public void dispose() {
         if (typeFactoryPerMarshaller) {
@@ -701,7 +769,7 @@ public class JSONMarshaller implements Marshaller {
 
         @Override
         public void serialize(Object value, JsonGenerator jgen, SerializerProvider provider) throws IOException, JsonProcessingException {
-            jgen.writeRawValue(getMapper(customObjectMapper,notNullObjectMapper).writeValueAsString(value));
+            jgen.writeRawValue(writeValueAsString(getMapper(customObjectMapper,notNullObjectMapper), value));
         }
     }
 
@@ -730,7 +798,7 @@ public class JSONMarshaller implements Marshaller {
                 jgen.writeRawValue(arrayJson);
             } else {
 
-                String json = getMapper(customObjectMapper,notNullObjectMapper).writeValueAsString(value);
+                String json = writeValueAsString(getMapper(customObjectMapper,notNullObjectMapper), value);
 
                 // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
                 if (!className.startsWith("java.") && !className.startsWith("javax.") && !json.contains(className)) {
@@ -749,7 +817,7 @@ public class JSONMarshaller implements Marshaller {
             for (Object element : value) {
                 size--;
                 String elementClassName = element.getClass().getName();
-                String json = customObjectMapper.writeValueAsString(element);
+                String json = writeValueAsString(customObjectMapper, element);
 
                 // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
                 if (!elementClassName.startsWith("java.") && !elementClassName.startsWith("javax.") && !json.contains(elementClassName)) {
@@ -778,7 +846,7 @@ public class JSONMarshaller implements Marshaller {
                 // handle map key
                 Object key = entry.getKey();
                 String keyClassName = key.getClass().getName();
-                String json = customObjectMapper.writeValueAsString(key);
+                String json = writeValueAsString(customObjectMapper, key);
 
                 // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
                 if (!keyClassName.startsWith("java.") && !keyClassName.startsWith("javax.") && !json.contains(keyClassName)) {
@@ -787,7 +855,7 @@ public class JSONMarshaller implements Marshaller {
                 // handle map value
                 Object mValue = entry.getValue();
                 String mValueClassName = mValue.getClass().getName();
-                String jsonValue = customObjectMapper.writeValueAsString(mValue);
+                String jsonValue = writeValueAsString(customObjectMapper, mValue);
 
                 // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
                 if (!mValueClassName.startsWith("java.") && !mValueClassName.startsWith("javax.") && !json.contains(mValueClassName)) {
@@ -819,7 +887,7 @@ public class JSONMarshaller implements Marshaller {
                 size--;
                 Object element = it.next();
                 String elementClassName = element.getClass().getName();
-                String json = customObjectMapper.writeValueAsString(element);
+                String json = writeValueAsString(customObjectMapper, element);
 
                 // don't wrap java and javax classes as they are always available, in addition avoid double wrapping
                 if (!elementClassName.startsWith("java.") && !elementClassName.startsWith("javax.") && !json.contains(elementClassName)) {
@@ -843,6 +911,13 @@ public class JSONMarshaller implements Marshaller {
         return jsonContext.get().isWriteNull() ? alwaysMapper : notNullMapper;
     }
 
+    private String writeValueAsString(ObjectMapper mapper, Object value) throws JsonProcessingException {
+        if (jsonContext.get().isIndent()) {
+            return mapper.writeValueAsString(value);
+        }
+        return mapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(value);
+    }
+
     
 
     class CustomObjectDeserializer extends UntypedObjectDeserializer {
@@ -16,6 +16,12 @@
 
 package org.kie.server.api.marshalling.xstream;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -52,6 +58,7 @@ import org.kie.server.api.commands.optaplanner.IsEveryProblemFactChangeProcessed
 import org.kie.server.api.commands.optaplanner.SolvePlanningProblemCommand;
 import org.kie.server.api.commands.optaplanner.TerminateSolverEarlyCommand;
 import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallingException;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceFilter;
@@ -65,6 +72,7 @@ import org.kie.server.api.model.ReleaseIdFilter;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.ServiceResponsesList;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionInfo;
 import org.kie.server.api.model.dmn.DMNDecisionResultKS;
 import org.kie.server.api.model.dmn.DMNInputDataInfo;
@@ -74,6 +82,7 @@ import org.kie.server.api.model.dmn.DMNModelInfo;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNNodeStub;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.instance.SolverInstance;
 import org.optaplanner.persistence.xstream.api.score.AbstractScoreXStreamConverter;
 import org.slf4j.Logger;
@@ -224,7 +233,9 @@ public class XStreamMarshaller implements Marshaller {
         this.xstream.processAnnotations(IsEveryProblemFactChangeProcessedCommand.class);
 
         this.xstream.processAnnotations(DMNContextKS.class);
+        this.xstream.processAnnotations(DMNContextKSList.class);
         this.xstream.processAnnotations(DMNResultKS.class);
+        this.xstream.processAnnotations(DMNResultKSList.class);
         this.xstream.processAnnotations(DMNNodeStub.class);
         this.xstream.processAnnotations(DMNMessageKS.class);
         this.xstream.processAnnotations(DMNDecisionResultKS.class);
@@ -248,6 +259,18 @@ public class XStreamMarshaller implements Marshaller {
         return xstream.toXML(objectInput);
     }
 
+    @Override
+    public void marshall(Object objectInput, OutputStream output) {
+        // written as UTF-8 same as it is read, instead of platform charset used by XStream for streams
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        xstream.toXML(objectInput, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new MarshallingException("Unable to write marshalled content", e);
+        }
+    }
+
     @Override
     public <T> T unmarshall(String input,
                             Class<T> type) {
@@ -266,6 +289,23 @@ public class XStreamMarshaller implements Marshaller {
         }
     }
 
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type) {
+        return unmarshall(input, type, Collections.singletonMap(XSTREAM_IGNORE_UNKNOWN, false));
+    }
+
+    @Override
+    public <T> T unmarshall(InputStream input, Class<T> type, Map<String, Object> parameters) {
+        Object ignoreString = parameters.get(XSTREAM_IGNORE_UNKNOWN);
+        xstreamContext.get().setIgnoreUnknownElements(ignoreString != null && Boolean.parseBoolean(ignoreString
+                .toString()));
+        try {
+            return (T) xstream.fromXML(input);
+        } finally {
+            xstreamContext.get().setIgnoreUnknownElements(false);
+        }
+    }
+
     @Override
     public void dispose() {
         xstreamContext.remove();
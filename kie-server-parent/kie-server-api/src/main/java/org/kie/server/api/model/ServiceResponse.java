@@ -80,6 +80,7 @@ import org.kie.server.api.model.definition.VariablesDefinition;
 import org.kie.server.api.model.dmn.DMNContextKS;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.api.model.instance.ErrorInfoInstance;
@@ -251,6 +252,7 @@ public class ServiceResponse<T> implements KieServiceResponse<T> {
             // Kie DMN
             @XmlElement(name = "dmn-evaluation-context", type = DMNContextKS.class),
             @XmlElement(name = "dmn-evaluation-result", type = DMNResultKS.class),
+            @XmlElement(name = "dmn-evaluation-result-list", type = DMNResultKSList.class),
             @XmlElement(name = "dmn-model-info-list", type = DMNModelInfoList.class),
 
             // PMML
@@ -104,6 +104,13 @@ public class DMNMessageKS implements DMNMessage {
         return res;
     }
 
+    public static DMNMessageKS error(String message) {
+        DMNMessageKS res = new DMNMessageKS();
+        res.severity = DMNMessageSeverityKS.ERROR;
+        res.message = message;
+        return res;
+    }
+
     @Override
     public Severity getSeverity() {
         return severity.asSeverity();
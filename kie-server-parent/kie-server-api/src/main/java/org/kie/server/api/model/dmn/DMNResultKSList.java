@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.model.dmn;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+
+/**
+ * Results of batch DMN evaluation, in the same order as evaluated contexts. Evaluation of a single context
+ * that failed is reported in place as a result carrying the error message.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "dmn-evaluation-result-list")
+@XStreamAlias("dmn-evaluation-result-list")
+public class DMNResultKSList {
+
+    // note Jackson annotation is needed on this field and getter, in order for Jackson to NOT use JAXB annotation but proper Jackson annotation
+    @XmlElement(name = "dmn-evaluation-result")
+    @JsonIgnore
+    @XStreamImplicit(itemFieldName = "dmn-evaluation-result")
+    private DMNResultKS[] results;
+
+    public DMNResultKSList() {
+    }
+
+    public DMNResultKSList(List<DMNResultKS> results) {
+        this.results = results.toArray(new DMNResultKS[]{});
+    }
+
+    @JsonProperty("results")
+    public List<DMNResultKS> getResults() {
+        if (results == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(results);
+    }
+
+    public void setResults(List<DMNResultKS> results) {
+        this.results = results.toArray(new DMNResultKS[]{});
+    }
+}
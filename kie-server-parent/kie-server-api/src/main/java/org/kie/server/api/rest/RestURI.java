@@ -247,6 +247,7 @@ public class RestURI {
     public static final String DMN_MODEL_DMNRESULT_URI = "models/{" + MODEL_ID + "}/dmnresult";
     public static final String DMN_MODEL_DS_URI = "models/{" + MODEL_ID + "}/{" + DECISIONSERVICE_ID + "}";
     public static final String DMN_MODEL_DS_DMNRESULT_URI = "models/{" + MODEL_ID + "}/{" + DECISIONSERVICE_ID + "}/dmnresult";
+    public static final String DMN_BATCH_URI = "batch";
 
     // Scenario Simulation URI
     public static final String SCENARIO_SIMULATION_URI = "containers/{" + CONTAINER_ID + "}/scesim";
@@ -254,6 +255,7 @@ public class RestURI {
     // document related
     public static final String DOCUMENT_INSTANCE_GET_URI = "{" + DOCUMENT_ID + "}";
     public static final String DOCUMENT_INSTANCE_CONTENT_GET_URI = "{" + DOCUMENT_ID + "}/content";
+    public static final String DOCUMENT_INSTANCE_CONTENT_PUT_URI = "{" + DOCUMENT_ID + "}/content";
     public static final String DOCUMENT_INSTANCE_PUT_URI = "{" + DOCUMENT_ID + "}";
     public static final String DOCUMENT_INSTANCE_DELETE_URI = "{" + DOCUMENT_ID + "}";
 
@@ -16,8 +16,10 @@
 
 package org.kie.server.api.marshalling;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -52,6 +54,7 @@ import static org.hamcrest.CoreMatchers.everyItem;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT;
@@ -319,6 +322,26 @@ public class JSONMarshallerTest {
         assertEquals("all", ((Order) ((InsertObjectCommand) unconverted.getCommands().get(0)).getObject()).getORDER_ID());
     }
 
+    @Test
+    public void testMarshallToStreamWithoutIndent() throws Exception {
+        Marshaller marshaller = new JSONMarshaller(new HashSet<>(), getClass().getClassLoader(), false, false);
+
+        BatchExecutionCommandImpl batch = new BatchExecutionCommandImpl();
+        batch.addCommand(new InsertObjectCommand(new Order("line\nbreak\u2028separator")));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall(batch, output, Collections.singletonMap(JSONMarshaller.INDENT, "false"));
+        String converted = new String(output.toByteArray(), StandardCharsets.UTF_8);
+
+        assertFalse(converted.contains("\n"));
+        assertFalse(converted.contains("\r"));
+        BatchExecutionCommandImpl unconverted = marshaller.unmarshall(converted, BatchExecutionCommandImpl.class);
+        assertEquals("line\nbreak\u2028separator", ((Order) ((InsertObjectCommand) unconverted.getCommands().get(0)).getObject()).getORDER_ID());
+
+        // parameter applies only to the single call
+        assertTrue(marshaller.marshall(batch).contains("\n"));
+    }
+
     @Test
     public void testLocalDateTimeWithClasses() throws Exception {
         HashSet hs = new HashSet<>();
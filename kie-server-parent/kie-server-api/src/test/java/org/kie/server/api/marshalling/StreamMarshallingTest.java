@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.api.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ReleaseId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class StreamMarshallingTest {
+
+    @Parameterized.Parameters(name = "{index}: {0}")
+    public static Collection<Object[]> data() {
+        Collection<Object[]> parameterData = new ArrayList<Object[]>(Arrays.asList(
+                new Object[][]{
+                        {MarshallingFormat.JAXB},
+                        {MarshallingFormat.JSON},
+                        {MarshallingFormat.XSTREAM}
+                }
+        ));
+
+        return parameterData;
+    }
+
+    @Parameterized.Parameter(0)
+    public MarshallingFormat marshallingFormat;
+
+    private Marshaller marshaller;
+
+    @Before
+    public void setUp() {
+        marshaller = MarshallerFactory.getMarshaller(marshallingFormat, Thread.currentThread().getContextClassLoader());
+    }
+
+    @Test
+    public void testStreamRoundTrip() {
+        KieContainerResource container = new KieContainerResource("my-container", new ReleaseId("org.kie", "my-kjar", "1.0"), KieContainerStatus.STARTED);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall(container, output);
+
+        KieContainerResource unmarshalled = marshaller.unmarshall(new ByteArrayInputStream(output.toByteArray()), KieContainerResource.class);
+        assertEquals(container.getContainerId(), unmarshalled.getContainerId());
+        assertEquals(container.getReleaseId(), unmarshalled.getReleaseId());
+        assertEquals(container.getStatus(), unmarshalled.getStatus());
+    }
+
+    @Test
+    public void testStreamMatchesStringContent() {
+        KieContainerResource container = new KieContainerResource("my-container", new ReleaseId("org.kie", "my-kjar", "1.0"), KieContainerStatus.STARTED);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall(container, output);
+
+        KieContainerResource fromString = marshaller.unmarshall(marshaller.marshall(container), KieContainerResource.class);
+        KieContainerResource fromStream = marshaller.unmarshall(new ByteArrayInputStream(output.toByteArray()), KieContainerResource.class);
+        assertEquals(fromString.getContainerId(), fromStream.getContainerId());
+        assertEquals(fromString.getReleaseId(), fromStream.getReleaseId());
+    }
+
+    @Test
+    public void testStreamWrittenAsUtf8() {
+        KieContainerResource container = new KieContainerResource("kontener-\u017c\u00f3\u0142w-\u6f22\u5b57", new ReleaseId("org.kie", "my-kjar", "1.0"), KieContainerStatus.STARTED);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshall(container, output);
+
+        assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).contains(container.getContainerId()));
+        KieContainerResource unmarshalled = marshaller.unmarshall(new ByteArrayInputStream(output.toByteArray()), KieContainerResource.class);
+        assertEquals(container.getContainerId(), unmarshalled.getContainerId());
+    }
+
+    @Test
+    public void testMarshallDoesNotCloseStream() {
+        CloseTrackingOutputStream output = new CloseTrackingOutputStream();
+        marshaller.marshall(new ReleaseId("org.kie", "my-kjar", "1.0"), output);
+
+        assertFalse(output.closed);
+    }
+
+    private static class CloseTrackingOutputStream extends OutputStream {
+
+        private boolean closed = false;
+
+        @Override
+        public void write(int b) throws IOException {
+            // discard
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+        }
+    }
+}
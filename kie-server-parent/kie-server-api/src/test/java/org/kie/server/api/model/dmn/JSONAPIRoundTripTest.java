@@ -16,8 +16,10 @@
 
 package org.kie.server.api.model.dmn;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.assertj.core.api.Assertions;
@@ -75,6 +77,35 @@ public class JSONAPIRoundTripTest {
         Assertions.assertThat(sr2.getResult().getContext().getAll()).isEqualTo(sr.getResult().getContext().getAll());
     }
 
+    @Test
+    public void testBatch() {
+        Applicant applicant = new Applicant("John Doe", 47);
+        DMNContext ctx = new DMNContextImpl();
+        ctx.set("Applicant", applicant);
+
+        DMNContextKSList contexts = new DMNContextKSList(Arrays.asList(new DMNContextKS("ns1", "model1", ctx.getAll()),
+                                                                       new DMNContextKS("ns1", "model2", ctx.getAll())));
+        DMNContextKSList contexts2 = roundTrip(contexts);
+        Assertions.assertThat(contexts2.getContexts()).hasSize(2);
+        Assertions.assertThat(contexts2.getContexts().get(0).getModelName()).isEqualTo("model1");
+        Assertions.assertThat(contexts2.getContexts().get(1).getModelName()).isEqualTo("model2");
+        Assertions.assertThat(contexts2.getContexts().get(1).getDmnContext()).isEqualTo(ctx.getAll());
+
+        DMNResultImpl dmnResults = new DMNResultImpl(null);
+        dmnResults.setContext(ctx);
+        DMNResultKS failed = new DMNResultKS();
+        failed.setMessages(Collections.singletonList(DMNMessageKS.error("Unable to locate DMN Model to evaluate")));
+
+        ServiceResponse<DMNResultKSList> sr = new ServiceResponse<DMNResultKSList>(ResponseType.SUCCESS, "ok", new DMNResultKSList(Arrays.asList(new DMNResultKS(dmnResults), failed)));
+        ServiceResponse<DMNResultKSList> sr2 = roundTrip(sr);
+        List<DMNResultKS> results = sr2.getResult().getResults();
+        Assertions.assertThat(results).hasSize(2);
+        Assertions.assertThat(results.get(0).getContext().getAll()).isEqualTo(ctx.getAll());
+        Assertions.assertThat(results.get(0).hasErrors()).isFalse();
+        Assertions.assertThat(results.get(1).hasErrors()).isTrue();
+        Assertions.assertThat(results.get(1).getMessages().get(0).getMessage()).isEqualTo("Unable to locate DMN Model to evaluate");
+    }
+
     private <T> T roundTrip(T input) {
         String asJSON = marshaller.marshall(input);
         LOG.debug("{}", asJSON);
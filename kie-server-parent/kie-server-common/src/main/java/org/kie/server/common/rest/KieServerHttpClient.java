@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.common.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContexts;
+
+/**
+ * Pooled HTTP transport for {@link KieServerHttpRequest}, backed by Apache HttpClient. Connections are kept
+ * in a pool limited in total and per host, so concurrent requests neither open a connection per call nor
+ * flood a single server. Instances are thread safe, meant to be shared by all requests of a client
+ * and have to be closed once not needed anymore.
+ */
+public class KieServerHttpClient implements Closeable {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 50;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 10;
+    public static final long DEFAULT_IDLE_TIMEOUT = 30000;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient client;
+    private final boolean requestCompression;
+
+    private KieServerHttpClient(Builder builder) {
+        SSLContext sslContext = builder.clientCertificate != null
+                ? KieServerHttpRequest.createClientCertificateContext(builder.clientCertificate)
+                : SSLContexts.createDefault();
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext))
+                .build();
+        this.connectionManager = new PoolingHttpClientConnectionManager(socketFactories);
+        this.connectionManager.setMaxTotal(builder.maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(builder.maxConnectionsPerHost);
+        this.client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // responses are decoded by KieServerHttpRequest, so that compression stays under control of the caller
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(builder.idleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+        this.requestCompression = builder.requestCompression;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+        return client.execute(request);
+    }
+
+    /**
+     * Whether request bodies are sent gzipped
+     */
+    public boolean isRequestCompression() {
+        return requestCompression;
+    }
+
+    /**
+     * @return number of connections currently used by requests
+     */
+    public int getLeasedConnections() {
+        return getStats().getLeased();
+    }
+
+    /**
+     * @return number of idle connections kept open in the pool
+     */
+    public int getAvailableConnections() {
+        return getStats().getAvailable();
+    }
+
+    private PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+
+    public static class Builder {
+
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+        private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private boolean requestCompression = false;
+        private ClientCertificate clientCertificate;
+
+        private Builder() {
+        }
+
+        public Builder maxConnections(int maxConnections) {
+            if (maxConnections < 1) {
+                throw new IllegalArgumentException("Max connections must be greater than zero");
+            }
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+            if (maxConnectionsPerHost < 1) {
+                throw new IllegalArgumentException("Max connections per host must be greater than zero");
+            }
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * @param idleTimeout time in milliseconds after which idle pooled connections are closed
+         */
+        public Builder idleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Send request bodies gzipped, only to be enabled when the server (or a proxy in front of it)
+         * decodes gzipped requests.
+         */
+        public Builder requestCompression(boolean requestCompression) {
+            this.requestCompression = requestCompression;
+            return this;
+        }
+
+        /**
+         * Client certificate presented on https connections of the pool
+         */
+        public Builder clientCertificate(ClientCertificate clientCertificate) {
+            this.clientCertificate = clientCertificate;
+            return this;
+        }
+
+        public KieServerHttpClient build() {
+            return new KieServerHttpClient(this);
+        }
+    }
+}
@@ -50,6 +50,7 @@ import static javax.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static javax.ws.rs.core.MediaType.APPLICATION_FORM_URLENCODED;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -77,16 +78,20 @@ import java.nio.charset.CharsetEncoder;
 import java.security.AccessController;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.zip.GZIPInputStream;
 
@@ -98,7 +103,20 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import javax.ws.rs.core.MediaType;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.EntityTemplate;
+import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.ssl.SSLContextBuilder;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallingException;
 import org.apache.http.ssl.SSLContexts;
 
 /**
@@ -109,7 +127,8 @@ import org.apache.http.ssl.SSLContexts;
  * that arise from such use will be dismissed with a referral to this exact text!</b>
  * </p>
  * <rr>
- * A fluid interface for making HTTP requests using an underlying {@link HttpURLConnection} (or sub-class).
+ * A fluid interface for making HTTP requests using an underlying {@link HttpURLConnection} (or sub-class),
+ * or a pooled {@link KieServerHttpClient} when one is set on the request.
  * <p>
  * Each instance supports making a single request and cannot be reused for further requests.
  *
@@ -125,6 +144,7 @@ public class KieServerHttpRequest {
     public static final String HEADER_REFERER = "Referer";
     public static final String HEADER_SERVER = "Server";
     public static final String PARAM_CHARSET = "charset";
+    public static final String ENCODING_GZIP = "gzip";
     private static final String[] EMPTY_STRINGS = new String[0];
     private static final String IDENTITY_KEYSTORE_TYPE = "jks";
 
@@ -138,9 +158,14 @@ public class KieServerHttpRequest {
     private boolean ignoreCloseExceptions = true;
     boolean uncompress = false;
 
+    private ConnectionFactory connectionFactory;
     private HttpURLConnection connection = null;
     private RequestOutputStream output;
 
+    private KieServerHttpClient httpClient;
+    private CloseableHttpResponse httpResponse = null;
+    private boolean streamResponse = false;
+
     boolean followRedirects = false;
     String httpProxyHost;
     int httpProxyPort;
@@ -169,6 +194,12 @@ public class KieServerHttpRequest {
         StringBuilder body;
         MediaType bodyContentType;
 
+        Object bodyEntity;
+        Marshaller bodyMarshaller;
+
+        InputStream bodyStream;
+        long bodyStreamLength = -1;
+
         public URL getRequestUrl() {
             if( requestUrl == null ) {
                 requestUrl = baseUrl;
@@ -234,6 +265,10 @@ public class KieServerHttpRequest {
             clone.baseUrl = baseUrl;
             clone.body = body;
             clone.bodyContentType = bodyContentType;
+            clone.bodyEntity = bodyEntity;
+            clone.bodyMarshaller = bodyMarshaller;
+            clone.bodyStream = bodyStream;
+            clone.bodyStreamLength = bodyStreamLength;
             clone.charset = charset;
             clone.form = form;
             clone.formParameters = formParameters;
@@ -817,6 +852,41 @@ public class KieServerHttpRequest {
         return this;
     }
 
+    /**
+     * Set {@link ConnectionFactory} used to open connection of this request, overrides the default one.
+     *
+     * @param connectionFactory factory to be used, null to use the default one
+     * @return this request
+     */
+    public KieServerHttpRequest connectionFactory(final ConnectionFactory connectionFactory ) {
+        this.connectionFactory = connectionFactory;
+        return this;
+    }
+
+    /**
+     * Send this request through given pooled client instead of opening a {@link HttpURLConnection}.
+     *
+     * @param httpClient client to be used, null to use connection of the {@link ConnectionFactory}
+     * @return this request
+     */
+    public KieServerHttpRequest httpClient(final KieServerHttpClient httpClient ) {
+        this.httpClient = httpClient;
+        return this;
+    }
+
+    /**
+     * Set whether the response body of a request sent through {@link KieServerHttpClient} is left on the connection
+     * until it is read. By default it is read upfront, so the connection is returned to the pool right away, when streamed
+     * the connection is returned once the {@link KieServerHttpResponse#stream() response stream} is read or closed.
+     *
+     * @param streamResponse
+     * @return this request
+     */
+    public KieServerHttpRequest streamResponse(final boolean streamResponse ) {
+        this.streamResponse = streamResponse;
+        return this;
+    }
+
     public KieServerHttpRequest followRedirects(final boolean followRedirects ) {
         this.followRedirects = followRedirects;
         return this;
@@ -852,11 +922,12 @@ public class KieServerHttpRequest {
         }
         try {
             final HttpURLConnection connection;
+            final ConnectionFactory factory = this.connectionFactory != null ? this.connectionFactory : CONNECTION_FACTORY;
             if( this.httpProxyHost != null ) {
                 Proxy proxy = new Proxy(HTTP, new InetSocketAddress(this.httpProxyHost, this.httpProxyPort));
-                connection = CONNECTION_FACTORY.create(getRequestInfo().getRequestUrl(), proxy);
+                connection = factory.create(getRequestInfo().getRequestUrl(), proxy);
             } else {
-                connection = CONNECTION_FACTORY.create(getRequestInfo().getRequestUrl());
+                connection = factory.create(getRequestInfo().getRequestUrl());
             }
             // support for localhost and https
             if (getRequestInfo().getRequestUrl().getProtocol().equalsIgnoreCase("https") && getRequestInfo().getRequestUrl().getHost().equalsIgnoreCase("localhost")) {
@@ -870,27 +941,8 @@ public class KieServerHttpRequest {
                     }
                 });
             }
-            if (getRequestInfo().clientCertificate != null) {
-                ClientCertificate clientCertificate = getRequestInfo().clientCertificate;
-                try {
-                    final KeyStore identityKeyStore = KeyStore.getInstance(IDENTITY_KEYSTORE_TYPE);
-                    identityKeyStore.load(new FileInputStream(clientCertificate.getKeystore()),
-                            clientCertificate.getKeystorePassword().toCharArray());
-                    SSLContextBuilder contextBuilder = SSLContexts.custom()
-                            .loadKeyMaterial(identityKeyStore,
-                                    clientCertificate.getCertPassword().toCharArray(),
-                                    (map, socket) -> clientCertificate.getCertName());
-                    if (clientCertificate.getTruststore() != null) {
-                        final KeyStore trustStore = KeyStore.getInstance(IDENTITY_KEYSTORE_TYPE);
-                        trustStore.load(new FileInputStream(clientCertificate.getTruststore()),
-                                clientCertificate.getTruststorePassword().toCharArray());
-                        contextBuilder.loadTrustMaterial(trustStore, null);
-                    }
-                    SSLSocketFactory socketFactory = contextBuilder.build().getSocketFactory();
-                    ((HttpsURLConnection) connection).setSSLSocketFactory(socketFactory);
-                } catch (GeneralSecurityException | IOException e) {
-                    throw new RuntimeException("Unable to create SSLSocketFactory", e);
-                }
+            if (getRequestInfo().clientCertificate != null && connection instanceof HttpsURLConnection) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(getClientCertificateFactory(getRequestInfo().clientCertificate));
             }
 
             connection.setRequestMethod(getRequestInfo().requestMethod);
@@ -920,15 +972,34 @@ public class KieServerHttpRequest {
             // various
             RequestInfo requestInfo = getRequestInfo();
             int contentLength = 0;
-            if( requestInfo.body != null ) {
-                contentLength = requestInfo.body.toString().getBytes(Charset.forName("UTF-8")).length;
-                connection.setFixedLengthStreamingMode(contentLength);
+            if( requestInfo.bodyStream != null ) {
+                // binary content is sent as is, with fixed length when known upfront
+                if( requestInfo.bodyStreamLength >= 0 ) {
+                    connection.setFixedLengthStreamingMode(requestInfo.bodyStreamLength);
+                } else {
+                    connection.setChunkedStreamingMode(bufferSize);
+                }
+                if( requestInfo.getHeader(CONTENT_TYPE).isEmpty() ) {
+                    requestInfo.setHeader(CONTENT_TYPE, APPLICATION_OCTET_STREAM);
+                }
+            } else if( requestInfo.bodyEntity != null ) {
+                // size of marshalled entity is not known upfront, stream it in chunks
+                connection.setChunkedStreamingMode(bufferSize);
                 List<String> contentTypeList = requestInfo.getHeader(ACCEPT);
                 if( contentTypeList != null && ! contentTypeList.isEmpty() ) {
                    requestInfo.setHeader(CONTENT_TYPE, contentTypeList.get(0));
                 }
+            } else {
+                if( requestInfo.body != null ) {
+                    contentLength = requestInfo.body.toString().getBytes(Charset.forName("UTF-8")).length;
+                    connection.setFixedLengthStreamingMode(contentLength);
+                    List<String> contentTypeList = requestInfo.getHeader(ACCEPT);
+                    if( contentTypeList != null && ! contentTypeList.isEmpty() ) {
+                       requestInfo.setHeader(CONTENT_TYPE, contentTypeList.get(0));
+                    }
+                }
+                requestInfo.setHeader(CONTENT_LENGTH, contentLength);
             }
-            requestInfo.setHeader(CONTENT_LENGTH, contentLength);
             connection.setInstanceFollowRedirects(followRedirects);
 
             // auth
@@ -948,7 +1019,26 @@ public class KieServerHttpRequest {
 
             // output: form parameters, body
             addFormParametersToConnection();
-            if( requestInfo.body != null ) {
+            if( requestInfo.bodyStream != null ) {
+                try {
+                    openOutput();
+                    copy(requestInfo.bodyStream, output);
+                } catch( IOException ioe ) {
+                    throw new KieServerHttpRequestException("Unable to add stream to request body", ioe);
+                }
+            } else if( requestInfo.bodyEntity != null ) {
+                try {
+                    openOutput();
+                    requestInfo.bodyMarshaller.marshall(requestInfo.bodyEntity, output);
+                } catch( IOException ioe ) {
+                    throw new KieServerHttpRequestException("Unable to add entity to request body", ioe);
+                } catch( MarshallingException me ) {
+                    if( me.getCause() instanceof IOException ) {
+                        throw new KieServerHttpRequestException("Unable to add entity to request body", me.getCause());
+                    }
+                    throw me;
+                }
+            } else if( requestInfo.body != null ) {
                 try {
                     openOutput();
                     output.write(requestInfo.body.toString());
@@ -959,6 +1049,120 @@ public class KieServerHttpRequest {
         }
     }
 
+    private CloseableHttpResponse getHttpResponse() {
+        if( httpResponse == null ) {
+            RequestInfo requestInfo = getRequestInfo();
+            if( requestInfo.requestMethod == null ) {
+                throw new KieServerHttpRequestException("Please specify (and execute?) a HTTP method first.");
+            }
+            addQueryParametersToUrl();
+            String urlString = requestInfo.getRequestUrl().toString();
+
+            RequestConfig.Builder config = RequestConfig.custom()
+                    .setConnectTimeout(requestInfo.timeoutInMilliSecs)
+                    .setSocketTimeout(requestInfo.timeoutInMilliSecs)
+                    .setConnectionRequestTimeout(requestInfo.timeoutInMilliSecs)
+                    .setRedirectsEnabled(followRedirects);
+            if( this.httpProxyHost != null ) {
+                config.setProxy(new HttpHost(this.httpProxyHost, this.httpProxyPort));
+            }
+            RequestBuilder request = RequestBuilder.create(requestInfo.requestMethod)
+                    .setUri(getUri())
+                    .setConfig(config.build());
+
+            HttpEntity entity = createEntity();
+            if( entity != null && httpClient.isRequestCompression() && !requestInfo.form ) {
+                entity = new GzipCompressingEntity(entity);
+            }
+            request.setEntity(entity);
+
+            if( requestInfo.user != null && requestInfo.password != null ) {
+                basicAuthorization(requestInfo.user, requestInfo.password);
+            }
+            if( requestInfo.headers != null ) {
+                for( Entry<String, List<String>> entry : requestInfo.headers.entrySet() ) {
+                    // length is set by the client from the entity
+                    if( CONTENT_LENGTH.equalsIgnoreCase(entry.getKey()) ) {
+                        continue;
+                    }
+                    for( String val : entry.getValue() ) {
+                        request.addHeader(entry.getKey(), val);
+                    }
+                }
+            }
+
+            try {
+                httpResponse = httpClient.execute(request.build());
+                if( !streamResponse && httpResponse.getEntity() != null ) {
+                    // read upfront so the connection goes back to the pool even if the body is never read
+                    try {
+                        httpResponse.setEntity(new BufferedHttpEntity(httpResponse.getEntity()));
+                    } finally {
+                        httpResponse.close();
+                    }
+                }
+            } catch( IOException ioe ) {
+                throw new KieServerHttpRequestException("Unable to send (" + requestInfo.requestMethod + ") request to '"
+                        + urlString + "'", ioe);
+            }
+        }
+        return httpResponse;
+    }
+
+    private HttpEntity createEntity() {
+        final RequestInfo requestInfo = getRequestInfo();
+        if( requestInfo.bodyStream != null ) {
+            if( requestInfo.getHeader(CONTENT_TYPE).isEmpty() ) {
+                requestInfo.setHeader(CONTENT_TYPE, APPLICATION_OCTET_STREAM);
+            }
+            return new InputStreamEntity(requestInfo.bodyStream, requestInfo.bodyStreamLength);
+        } else if( requestInfo.bodyEntity != null ) {
+            setContentTypeFromAccept();
+            EntityTemplate entity = new EntityTemplate(stream -> {
+                try {
+                    requestInfo.bodyMarshaller.marshall(requestInfo.bodyEntity, stream);
+                } catch( MarshallingException me ) {
+                    if( me.getCause() instanceof IOException ) {
+                        throw (IOException) me.getCause();
+                    }
+                    throw me;
+                }
+            });
+            entity.setChunked(true);
+            return entity;
+        } else if( requestInfo.form && requestInfo.formParameters != null ) {
+            StringBuilder form = new StringBuilder();
+            try {
+                for( Entry<String, List<String>> entry : requestInfo.formParameters.entrySet() ) {
+                    for( String value : entry.getValue() ) {
+                        if( form.length() > 0 ) {
+                            form.append('&');
+                        }
+                        form.append(URLEncoder.encode(entry.getKey(), requestInfo.charset)).append('=');
+                        if( value != null ) {
+                            form.append(URLEncoder.encode(value, requestInfo.charset));
+                        }
+                    }
+                }
+                return new ByteArrayEntity(form.toString().getBytes(requestInfo.charset));
+            } catch( IOException ioe ) {
+                throw new KieServerHttpRequestException("Unable to add form parameters to request body", ioe);
+            }
+        } else if( requestInfo.body != null ) {
+            setContentTypeFromAccept();
+            String charset = getValidCharset(getHeaderParam(getHeader(CONTENT_TYPE), PARAM_CHARSET));
+            return new ByteArrayEntity(requestInfo.body.toString().getBytes(Charset.forName(charset)));
+        }
+        return null;
+    }
+
+    private void setContentTypeFromAccept() {
+        List<String> contentTypeList = getRequestInfo().getHeader(ACCEPT);
+        if( contentTypeList != null && ! contentTypeList.isEmpty() ) {
+            getRequestInfo().setHeader(CONTENT_TYPE, contentTypeList.get(0));
+        }
+    }
+
     // relative request methods ---------------------------------------------------------------------------------------------------
 
     public KieServerHttpRequest relativeRequest(String relativeUrlString, String httpMethod ) {
@@ -985,11 +1189,25 @@ public class KieServerHttpRequest {
     // Fluent connection manipulation methods -------------------------------------------------------------------------------------
 
     public KieServerHttpRequest disconnect() {
+        if( httpClient != null ) {
+            if( httpResponse != null ) {
+                try {
+                    httpResponse.close();
+                } catch( IOException ignored ) {
+                    // Ignored
+                }
+            }
+            return this;
+        }
         getConnection().disconnect();
         return this;
     }
 
     public KieServerHttpRequest resetStream() throws IOException {
+        if( httpClient != null ) {
+            // buffered response entity is repeatable, each stream starts from the beginning
+            return this;
+        }
         getConnection().getInputStream().reset();
         return this;
     }
@@ -1194,6 +1412,35 @@ public class KieServerHttpRequest {
         return this;
     }
 
+    /**
+     * Set the request body to given entity, which is marshalled with given marshaller directly
+     * into the connection output stream once the request is sent, instead of being buffered as text first.
+     *
+     * @param entity
+     * @param marshaller
+     * @return this request
+     */
+    public KieServerHttpRequest body(final Object entity, final Marshaller marshaller ) {
+        getRequestInfo().bodyEntity = entity;
+        getRequestInfo().bodyMarshaller = marshaller;
+        return this;
+    }
+
+    /**
+     * Set the request body to content of given stream, which is copied directly into the connection
+     * output stream once the request is sent and closed afterwards. The 'Content-Type' defaults to
+     * 'application/octet-stream' when not set explicitly.
+     *
+     * @param stream
+     * @param length number of bytes of the stream or -1 when not known, in which case it is sent in chunks
+     * @return this request
+     */
+    public KieServerHttpRequest body(final InputStream stream, final long length ) {
+        getRequestInfo().bodyStream = stream;
+        getRequestInfo().bodyStreamLength = length;
+        return this;
+    }
+
     public OutputStreamWriter writer() throws KieServerHttpRequestException {
         try {
             openOutput();
@@ -1357,6 +1604,9 @@ public class KieServerHttpRequest {
     }
 
     private int responseCode() throws KieServerHttpRequestException {
+        if( httpClient != null ) {
+            return getHttpResponse().getStatusLine().getStatusCode();
+        }
         initializeConnection();
         try {
             closeOutput();
@@ -1367,6 +1617,9 @@ public class KieServerHttpRequest {
     }
 
     private String responseMessage() throws KieServerHttpRequestException {
+        if( httpClient != null ) {
+            return getHttpResponse().getStatusLine().getReasonPhrase();
+        }
         initializeConnection();
         try {
             closeOutput();
@@ -1407,7 +1660,14 @@ public class KieServerHttpRequest {
 
     private InputStream responseStream() throws KieServerHttpRequestException {
         InputStream stream;
-        if( responseCode() < HTTP_BAD_REQUEST ) {
+        if( httpClient != null ) {
+            HttpEntity entity = getHttpResponse().getEntity();
+            try {
+                stream = entity != null ? entity.getContent() : new ByteArrayInputStream(new byte[0]);
+            } catch( IOException ioe ) {
+                throw new KieServerHttpRequestException("Unable to retrieve input stream of response", ioe);
+            }
+        } else if( responseCode() < HTTP_BAD_REQUEST ) {
             try {
                 stream = getConnection().getInputStream();
             } catch( IOException ioe ) {
@@ -1426,7 +1686,7 @@ public class KieServerHttpRequest {
                 }
         }
 
-        if( !uncompress || !"gzip".equals(responseContentEncoding()) ) {
+        if( !uncompress || !ENCODING_GZIP.equals(responseContentEncoding()) ) {
             return stream;
         } else {
             try {
@@ -1444,16 +1704,36 @@ public class KieServerHttpRequest {
     // Response header related methods -------------------------------------------------------------------------------------------
 
     private String responseHeader( final String name ) throws KieServerHttpRequestException {
+        if( httpClient != null ) {
+            // same as HttpURLConnection, the last value is returned
+            Header header = getHttpResponse().getLastHeader(name);
+            return header != null ? header.getValue() : null;
+        }
         closeOutputQuietly();
         return getConnection().getHeaderField(name);
     }
 
     private int intResponseHeader( final String name ) throws KieServerHttpRequestException {
+        if( httpClient != null ) {
+            try {
+                String value = responseHeader(name);
+                return value != null ? Integer.parseInt(value.trim()) : -1;
+            } catch( NumberFormatException e ) {
+                return -1;
+            }
+        }
         closeOutputQuietly();
         return getConnection().getHeaderFieldInt(name, -1);
     }
 
     private Map<String, List<String>> responseHeaders() throws KieServerHttpRequestException {
+        if( httpClient != null ) {
+            Map<String, List<String>> headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+            for( Header header : getHttpResponse().getAllHeaders() ) {
+                headers.computeIfAbsent(header.getName(), name -> new ArrayList<String>()).add(header.getValue());
+            }
+            return headers;
+        }
         closeOutputQuietly();
         return getConnection().getHeaderFields();
     }
@@ -1593,6 +1873,9 @@ public class KieServerHttpRequest {
     }
 
     private int responseContentLength() {
+        if( httpClient != null ) {
+            return intResponseHeader(CONTENT_LENGTH);
+        }
         closeOutputQuietly();
         return getConnection().getHeaderFieldInt(CONTENT_LENGTH, -1);
     }
@@ -1606,6 +1889,104 @@ public class KieServerHttpRequest {
     private static SSLSocketFactory TRUSTED_FACTORY;
     private static HostnameVerifier TRUSTED_VERIFIER;
 
+    private static final int MAX_CLIENT_CERTIFICATE_FACTORIES = 16;
+
+    // socket factories are reused so that keep-alive connections and TLS sessions are reused across requests,
+    // keyed by location of the key material while passwords are only kept as a digest to verify the entry
+    private static final Map<List<String>, ClientCertificateFactory> CLIENT_CERTIFICATE_FACTORIES =
+            new LinkedHashMap<List<String>, ClientCertificateFactory>(MAX_CLIENT_CERTIFICATE_FACTORIES, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, ClientCertificateFactory> eldest) {
+                    return size() > MAX_CLIENT_CERTIFICATE_FACTORIES;
+                }
+            };
+
+    private static class ClientCertificateFactory {
+
+        final byte[] secretsDigest;
+        final SSLSocketFactory factory;
+
+        ClientCertificateFactory(byte[] secretsDigest, SSLSocketFactory factory) {
+            this.secretsDigest = secretsDigest;
+            this.factory = factory;
+        }
+    }
+
+    private static SSLSocketFactory getClientCertificateFactory( final ClientCertificate clientCertificate ) {
+        final List<String> identity = Arrays.asList(clientCertificate.getKeystore(),
+                                                    clientCertificate.getCertName(),
+                                                    clientCertificate.getTruststore());
+        final byte[] secretsDigest = digestSecrets(clientCertificate);
+        synchronized( CLIENT_CERTIFICATE_FACTORIES ) {
+            ClientCertificateFactory cached = CLIENT_CERTIFICATE_FACTORIES.get(identity);
+            if( cached != null && MessageDigest.isEqual(cached.secretsDigest, secretsDigest) ) {
+                return cached.factory;
+            }
+        }
+        // key stores are loaded outside of the lock, concurrent first requests might build the factory more than once
+        final SSLSocketFactory factory = createClientCertificateContext(clientCertificate).getSocketFactory();
+        synchronized( CLIENT_CERTIFICATE_FACTORIES ) {
+            CLIENT_CERTIFICATE_FACTORIES.put(identity, new ClientCertificateFactory(secretsDigest, factory));
+        }
+        return factory;
+    }
+
+    private static byte[] digestSecrets( final ClientCertificate clientCertificate ) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for( String secret : new String[]{clientCertificate.getCertPassword(),
+                                              clientCertificate.getKeystorePassword(),
+                                              clientCertificate.getTruststorePassword()} ) {
+                if( secret != null ) {
+                    digest.update(secret.getBytes(Charset.forName(CHARSET_UTF8)));
+                }
+                digest.update((byte) 0);
+            }
+            return digest.digest();
+        } catch( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException("SHA-256 digest is not available", e);
+        }
+    }
+
+    public static SSLContext createClientCertificateContext( final ClientCertificate clientCertificate ) {
+        try {
+            final KeyStore identityKeyStore = KeyStore.getInstance(IDENTITY_KEYSTORE_TYPE);
+            try (InputStream keystore = new FileInputStream(clientCertificate.getKeystore())) {
+                identityKeyStore.load(keystore, clientCertificate.getKeystorePassword().toCharArray());
+            }
+            SSLContextBuilder contextBuilder = SSLContexts.custom()
+                    .loadKeyMaterial(identityKeyStore,
+                            clientCertificate.getCertPassword().toCharArray(),
+                            (map, socket) -> clientCertificate.getCertName());
+            if (clientCertificate.getTruststore() != null) {
+                final KeyStore trustStore = KeyStore.getInstance(IDENTITY_KEYSTORE_TYPE);
+                try (InputStream truststore = new FileInputStream(clientCertificate.getTruststore())) {
+                    trustStore.load(truststore, clientCertificate.getTruststorePassword().toCharArray());
+                }
+                contextBuilder.loadTrustMaterial(trustStore, null);
+            }
+            return contextBuilder.build();
+        } catch (GeneralSecurityException | IOException e) {
+            throw new RuntimeException("Unable to create SSLContext", e);
+        }
+    }
+
+    /**
+     * Drops cached client certificate socket factories, e.g. after key or trust store has been replaced on disk.
+     */
+    public static void clearClientCertificateFactories() {
+        synchronized( CLIENT_CERTIFICATE_FACTORIES ) {
+            CLIENT_CERTIFICATE_FACTORIES.clear();
+        }
+    }
+
+    static int getClientCertificateFactoriesCount() {
+        synchronized( CLIENT_CERTIFICATE_FACTORIES ) {
+            return CLIENT_CERTIFICATE_FACTORIES.size();
+        }
+    }
+
     private static SSLSocketFactory getTrustedFactory() throws KieServerHttpRequestException {
         if( TRUSTED_FACTORY == null ) {
             final TrustManager[] trustAllCerts = new TrustManager[] { new X509TrustManager() {
@@ -58,17 +58,26 @@ import static org.kie.server.common.rest.KieServerHttpRequest.getRequest;
 import static org.kie.server.common.rest.KieServerHttpRequest.newRequest;
 import static org.kie.server.common.rest.KieServerHttpRequest.postRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import javax.net.ssl.HttpsURLConnection;
@@ -2173,4 +2182,131 @@ public class KieServerHttpRequestTest extends ServerTestCase {
         assertEquals("error", newRequest(url).get().response().body());
     }
 
+    /**
+     * Verify request specific connection factory is used to open the connection
+     *
+     * @throws Exception
+     */
+    @Test
+    public void customConnectionFactory() throws Exception {
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                response.setStatus(HTTP_OK);
+            }
+        };
+        final AtomicInteger created = new AtomicInteger();
+        KieServerHttpRequest.ConnectionFactory factory = new KieServerHttpRequest.ConnectionFactory() {
+
+            public HttpURLConnection create( URL url ) throws IOException {
+                created.incrementAndGet();
+                return KieServerHttpRequest.ConnectionFactory.DEFAULT.create(url);
+            }
+
+            public HttpURLConnection create( URL url, Proxy proxy ) throws IOException {
+                created.incrementAndGet();
+                return KieServerHttpRequest.ConnectionFactory.DEFAULT.create(url, proxy);
+            }
+        };
+        assertEquals(HTTP_OK, newRequest(url).connectionFactory(factory).get().response().code());
+        assertEquals(1, created.get());
+        assertEquals(HTTP_OK, newRequest(url).get().response().code());
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * Verify requests sent through pooled client reuse the same connection
+     *
+     * @throws Exception
+     */
+    @Test
+    public void pooledRequestsReuseConnection() throws Exception {
+        final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                clientPorts.add(request.getRemotePort());
+                response.setStatus(HTTP_OK);
+                write("hello");
+            }
+        };
+        try (KieServerHttpClient client = KieServerHttpClient.builder().maxConnectionsPerHost(1).build()) {
+            for( int i = 0; i < 3; i++ ) {
+                KieServerHttpRequest request = newRequest(url).httpClient(client).get();
+                assertEquals(HTTP_OK, request.response().code());
+                assertEquals("hello", request.response().body());
+            }
+            assertEquals(1, clientPorts.size());
+            assertEquals(0, client.getLeasedConnections());
+            assertEquals(1, client.getAvailableConnections());
+        }
+    }
+
+    /**
+     * Verify request body is gzipped by pooled client with request compression
+     *
+     * @throws Exception
+     */
+    @Test
+    public void pooledRequestCompressesBody() throws Exception {
+        final AtomicReference<String> encoding = new AtomicReference<String>();
+        final AtomicReference<String> body = new AtomicReference<String>();
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                encoding.set(request.getHeader("Content-Encoding"));
+                try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(read()))) {
+                    ByteArrayOutputStream content = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[1024];
+                    int read;
+                    while( (read = input.read(buffer)) != -1 ) {
+                        content.write(buffer, 0, read);
+                    }
+                    body.set(new String(content.toByteArray(), CHARSET_UTF8));
+                } catch( IOException e ) {
+                    throw new RuntimeException(e);
+                }
+                response.setStatus(HTTP_OK);
+            }
+        };
+        try (KieServerHttpClient client = KieServerHttpClient.builder().requestCompression(true).build()) {
+            int code = newRequest(url).httpClient(client).accept(APPLICATION_JSON).body("{\"hello\":\"world\"}").post().response().code();
+            assertEquals(HTTP_OK, code);
+            assertEquals("gzip", encoding.get());
+            assertEquals("{\"hello\":\"world\"}", body.get());
+        }
+    }
+
+    /**
+     * Verify streamed response holds its pooled connection until read and that connections per host are limited
+     *
+     * @throws Exception
+     */
+    @Test
+    public void pooledStreamedResponseLimitedPerHost() throws Exception {
+        handler = new RequestHandler() {
+
+            @Override
+            public void handle( Request request, HttpServletResponse response ) {
+                response.setStatus(HTTP_OK);
+                write("streamed");
+            }
+        };
+        try (KieServerHttpClient client = KieServerHttpClient.builder().maxConnectionsPerHost(1).build()) {
+            InputStream stream = newRequest(url).httpClient(client).streamResponse(true).get().response().stream();
+            assertEquals(1, client.getLeasedConnections());
+            try {
+                newRequest(url).httpClient(client).timeout(500).get();
+                fail("Request should wait for the only connection of the host");
+            } catch( KieServerHttpRequestException e ) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            stream.close();
+            assertEquals(0, client.getLeasedConnections());
+            assertEquals(HTTP_OK, newRequest(url).httpClient(client).get().response().code());
+        }
+    }
 }
@@ -87,6 +87,8 @@ public abstract class KieServerControllerImpl implements KieServerController {
         } else {
             serverInstanceKey = ModelFactory.newServerInstanceKey(serverInfo.getServerId(), serverInfo.getLocation());
         }
+        // (re)connecting server might come with different capabilities than the ones known to a cached client
+        KieServerInstanceManager.getInstance().evictClient(serverInstanceKey.getUrl());
 
 
         if (serverTemplate != null) {
@@ -348,6 +350,7 @@ public abstract class KieServerControllerImpl implements KieServerController {
                 templateStorage.update(serverTemplate);
             }
             logger.info("Server {} disconnected from controller", serverInstanceKey);
+            KieServerInstanceManager.getInstance().evictClient(serverInfo.getLocation());
 
             notifyOnDisconnect(serverInstanceKey, serverTemplate);
         }
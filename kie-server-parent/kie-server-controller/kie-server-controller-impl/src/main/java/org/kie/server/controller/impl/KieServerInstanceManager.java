@@ -16,9 +16,29 @@
 package org.kie.server.controller.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.KieContainerResource;
@@ -49,20 +69,65 @@ public class KieServerInstanceManager {
     private static final Logger logger = LoggerFactory.getLogger(KieServerInstanceManager.class);
     private static final String CONTAINERS_URI_PART = "/containers/";
     private static KieServerInstanceManager INSTANCE = new KieServerInstanceManager();
+    private static final AtomicBoolean metricsRegistered = new AtomicBoolean();
     private List<KieServicesClientProvider> clientProviders = new ArrayList<>();
 
+    private final ConcurrentMap<String, KieServicesClient> clients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ReentrantLock> templateLocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, InstanceStats> instanceStats = new ConcurrentHashMap<>();
+
+    private final int parallelism;
+    private final long instanceTimeout;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor timer;
+
     public KieServerInstanceManager() {
         ServiceLoader<KieServicesClientProvider> loader = ServiceLoader.load(KieServicesClientProvider.class);
 
         loader.forEach(provider -> clientProviders.add(provider));
 
         clientProviders.sort((KieServicesClientProvider one, KieServicesClientProvider two) -> one.getPriority().compareTo(two.getPriority()));
+
+        this.parallelism = Math.max(1, Integer.getInteger(KieServerConstants.CFG_KIE_CONTROLLER_PARALLELISM, Math.min(16, Runtime.getRuntime().availableProcessors() * 2)));
+        this.instanceTimeout = Long.getLong(KieServerConstants.CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT, Long.getLong(KieServerConstants.CFG_KIE_CONTROLLER_TIMEOUT, 60000L));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "kie-server-controller-remote-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        threadPool.allowCoreThreadTimeOut(true);
+        this.executor = threadPool;
+
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "kie-server-controller-remote-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
     }
 
     public static KieServerInstanceManager getInstance() {
+        registerMetrics();
         return INSTANCE;
     }
 
+    /*
+     * Prometheus is optional, metrics are registered on first use only when enabled
+     */
+    private static void registerMetrics() {
+        if (Boolean.parseBoolean(System.getProperty(KieServerConstants.KIE_PROMETHEUS_SERVER_EXT_DISABLED, "true"))
+                || !metricsRegistered.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            new KieServerInstanceMetrics(INSTANCE).register();
+        } catch (NoClassDefFoundError e) {
+            logger.warn("Prometheus client not found on classpath, controller instance metrics are not exported");
+        }
+    }
+
     public List<Container> startScanner(ServerTemplate serverTemplate,
                                         final ContainerSpec containerSpec,
                                         final long interval) {
@@ -153,20 +218,22 @@ public class KieServerInstanceManager {
                                             });
     }
 
-    public synchronized List<Container> startContainer(final ServerTemplate serverTemplate,
-                                                       final ContainerSpec containerSpec) {
+    public List<Container> startContainer(final ServerTemplate serverTemplate,
+                                          final ContainerSpec containerSpec) {
         return this.startContainer(serverTemplate, containerSpec, containers -> {} );
     }
 
-    public synchronized List<Container> startContainer(final ServerTemplate serverTemplate,
-                                                       final ContainerSpec containerSpec,
-                                                       final Consumer<List<Container>> notification) {
+    public List<Container> startContainer(final ServerTemplate serverTemplate,
+                                          final ContainerSpec containerSpec,
+                                          final Consumer<List<Container>> notification) {
 
         final RemoteKieServerOperation<Void> startContainerOperation = makeStartContainerOperation(containerSpec);
 
-        List<Container> containers = callRemoteKieServerOperation(serverTemplate, containerSpec, startContainerOperation);
-        notification.accept(containers);
-        return containers;
+        return withTemplateLock(serverTemplate, () -> {
+            List<Container> containers = callRemoteKieServerOperation(serverTemplate, containerSpec, startContainerOperation);
+            notification.accept(containers);
+            return containers;
+        });
     }
 
     RemoteKieServerOperation<Void> makeStartContainerOperation(final ContainerSpec containerSpec) {
@@ -273,37 +340,39 @@ public class KieServerInstanceManager {
         }
     }
 
-    public synchronized List<Container> stopContainer(ServerTemplate serverTemplate,
-                                                      final ContainerSpec containerSpec) {
+    public List<Container> stopContainer(ServerTemplate serverTemplate,
+                                         final ContainerSpec containerSpec) {
         return this.stopContainer(serverTemplate, containerSpec, containers -> {});
     }
     
-    public synchronized List<Container> stopContainer(ServerTemplate serverTemplate,
-                                                      final ContainerSpec containerSpec,
-                                                      Consumer<List<Container>> notification) {
-
-        List<Container> containers = callRemoteKieServerOperation(serverTemplate,
-                                            containerSpec,
-                                            new RemoteKieServerOperation<Void>() {
-                                                @Override
-                                                public Void doOperation(KieServicesClient client,
-                                                                        Container container) {
-
-                                                    ServiceResponse<Void> response = client.disposeContainer(containerSpec.getId());
-                                                    if (!response.getType().equals(ServiceResponse.ResponseType.SUCCESS)) {
-                                                        logger.debug("Container {} failed to stop on server instance {} due to {}",
-                                                                     containerSpec.getId(),
-                                                                     container.getUrl(),
-                                                                     response.getMsg());
+    public List<Container> stopContainer(ServerTemplate serverTemplate,
+                                         final ContainerSpec containerSpec,
+                                         Consumer<List<Container>> notification) {
+
+        return withTemplateLock(serverTemplate, () -> {
+            List<Container> containers = callRemoteKieServerOperation(serverTemplate,
+                                                containerSpec,
+                                                new RemoteKieServerOperation<Void>() {
+                                                    @Override
+                                                    public Void doOperation(KieServicesClient client,
+                                                                            Container container) {
+
+                                                        ServiceResponse<Void> response = client.disposeContainer(containerSpec.getId());
+                                                        if (!response.getType().equals(ServiceResponse.ResponseType.SUCCESS)) {
+                                                            logger.debug("Container {} failed to stop on server instance {} due to {}",
+                                                                         containerSpec.getId(),
+                                                                         container.getUrl(),
+                                                                         response.getMsg());
+                                                        }
+                                                        collectContainerInfo(containerSpec,
+                                                                             client,
+                                                                             container);
+                                                        return null;
                                                     }
-                                                    collectContainerInfo(containerSpec,
-                                                                         client,
-                                                                         container);
-                                                    return null;
-                                                }
-                                            });
-        notification.accept(containers);
-        return containers;
+                                                });
+            notification.accept(containers);
+            return containers;
+        });
     }
 
     public List<Container> upgradeContainer(final ServerTemplate serverTemplate,
@@ -459,18 +528,21 @@ public class KieServerInstanceManager {
             logger.warn("Unable to get list of containers from remote server at url {} due to {}",
                         serverInstanceKey.getUrl(),
                         e.getMessage());
+            evictClient(serverInstanceKey.getUrl());
             throw e;
         }
         return containers;
     }
 
-    public synchronized List<Container> activateContainer(final ServerTemplate serverTemplate, final ContainerSpec containerSpec, Consumer<List<Container>> notification) {
+    public List<Container> activateContainer(final ServerTemplate serverTemplate, final ContainerSpec containerSpec, Consumer<List<Container>> notification) {
 
         final RemoteKieServerOperation<Void> startContainerOperation = makeActivateContainerOperation(containerSpec);
 
-        List<Container> containers =  callRemoteKieServerOperation(serverTemplate, containerSpec, startContainerOperation);
-        notification.accept(containers);
-        return containers;
+        return withTemplateLock(serverTemplate, () -> {
+            List<Container> containers = callRemoteKieServerOperation(serverTemplate, containerSpec, startContainerOperation);
+            notification.accept(containers);
+            return containers;
+        });
     }
 
     RemoteKieServerOperation<Void> makeActivateContainerOperation(final ContainerSpec containerSpec) {
@@ -492,13 +564,15 @@ public class KieServerInstanceManager {
         };
     }
     
-    public synchronized List<Container> deactivateContainer(final ServerTemplate serverTemplate, final ContainerSpec containerSpec, Consumer<List<Container>> notification) {
+    public List<Container> deactivateContainer(final ServerTemplate serverTemplate, final ContainerSpec containerSpec, Consumer<List<Container>> notification) {
 
         final RemoteKieServerOperation<Void> startContainerOperation = makeDeactivateContainerOperation(containerSpec);
 
-        List<Container> containers = callRemoteKieServerOperation(serverTemplate, containerSpec, startContainerOperation);
-        notification.accept(containers);
-        return containers;
+        return withTemplateLock(serverTemplate, () -> {
+            List<Container> containers = callRemoteKieServerOperation(serverTemplate, containerSpec, startContainerOperation);
+            notification.accept(containers);
+            return containers;
+        });
     }
 
     RemoteKieServerOperation<Void> makeDeactivateContainerOperation(final ContainerSpec containerSpec) {
@@ -524,6 +598,11 @@ public class KieServerInstanceManager {
      * helper methods
      */
 
+    /**
+     * Runs the operation on all server instances of the template in parallel, each instance is given
+     * {@link KieServerConstants#CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT} to complete from the moment its operation
+     * starts. Instances that failed or did not complete in time are not part of the result.
+     */
     protected List<Container> callRemoteKieServerOperation(ServerTemplate serverTemplate,
                                                            ContainerSpec containerSpec,
                                                            RemoteKieServerOperation<?> operation) {
@@ -533,7 +612,10 @@ public class KieServerInstanceManager {
             return containers;
         }
 
-        for (ServerInstanceKey instanceUrl : serverTemplate.getServerInstanceKeys()) {
+        List<ServerInstanceKey> instances = new ArrayList<>(serverTemplate.getServerInstanceKeys());
+        List<CompletableFuture<Container>> results = new ArrayList<>(instances.size());
+        long start = System.nanoTime();
+        for (ServerInstanceKey instanceUrl : instances) {
 
             Container container = new Container();
             container.setContainerSpecId(containerSpec.getId());
@@ -543,34 +625,128 @@ public class KieServerInstanceManager {
             container.setUrl(instanceUrl.getUrl() + "/containers/" + containerSpec.getId());
             container.setStatus(containerSpec.getStatus());
 
+            results.add(submit(instanceUrl.getUrl(), () -> {
+                operation.doOperation(getClient(instanceUrl.getUrl()), container);
+                return container;
+            }));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            ServerInstanceKey instanceUrl = instances.get(i);
             try {
-                final KieServicesClient client = getClient(instanceUrl.getUrl());
-                operation.doOperation(client, container);
-                containers.add(container);
-            } catch (Exception e) {
-                logger.debug("Unable to connect to {}",
-                             instanceUrl);
+                containers.add(results.get(i).get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    logger.warn("Server instance {} did not respond within {} ms", instanceUrl, instanceTimeout);
+                } else {
+                    logger.debug("Unable to connect to {}",
+                                 instanceUrl);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for server instances of server template {}", serverTemplate.getId());
+                break;
             }
         }
+        logger.debug("Remote operation on server template {} completed on {} of {} server instance(s) in {} ms",
+                     serverTemplate.getId(),
+                     containers.size(),
+                     instances.size(),
+                     TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 
         return containers;
     }
 
+    /**
+     * Runs the operation on the remote pool. The instance timeout starts when the operation starts, so operations
+     * waiting for a free thread are not failed because of slow instances processed before them. The thread of
+     * an operation that timed out is released by the connect and read timeouts of the client, as blocking
+     * http calls do not react on interrupts.
+     */
+    private CompletableFuture<Container> submit(String url, Callable<Container> task) {
+        CompletableFuture<Container> result = new CompletableFuture<>();
+        // claimed by whichever comes first, the operation or its timeout, so that stats are recorded before the result is seen
+        AtomicBoolean finished = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                ScheduledFuture<?> timeout = timer.schedule(() -> {
+                    if (finished.compareAndSet(false, true)) {
+                        getInstanceStats(url).timedOut();
+                        evictClient(url);
+                        result.completeExceptionally(new TimeoutException());
+                    }
+                }, instanceTimeout, TimeUnit.MILLISECONDS);
+                try {
+                    Container container = task.call();
+                    if (finished.compareAndSet(false, true)) {
+                        getInstanceStats(url).succeeded(System.nanoTime() - start);
+                        result.complete(container);
+                    }
+                } catch (Exception e) {
+                    if (finished.compareAndSet(false, true)) {
+                        getInstanceStats(url).failed(System.nanoTime() - start);
+                        evictClient(url);
+                        result.completeExceptionally(e);
+                    }
+                } finally {
+                    timeout.cancel(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    protected <T> T withTemplateLock(ServerTemplate serverTemplate, Supplier<T> action) {
+        ReentrantLock lock = templateLocks.computeIfAbsent(String.valueOf(serverTemplate.getId()), id -> new ReentrantLock());
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public boolean isAlive(ServerInstanceKey serverInstanceKey) {
         boolean alive = false;
         try {
-            // get client will internally call serverinfo
-            getClient(serverInstanceKey.getUrl());
+            // new client will internally call serverinfo, it replaces the cached one as capabilities
+            // of the server instance might have changed since the cached client was created
+            KieServicesClient client = createClient(serverInstanceKey.getUrl());
+            KieServicesClient previous = clients.put(serverInstanceKey.getUrl(), client);
+            if (previous != null) {
+                previous.close();
+            }
             alive = true;
         } catch (Exception e) {
             logger.debug("Unable to connect to server instance at {} due to {}",
                          serverInstanceKey.getUrl(),
                          e.getMessage());
+            evictClient(serverInstanceKey.getUrl());
         }
         return alive;
     }
 
+    /**
+     * Returns client for given server instance url, the client is created on first use and then reused
+     * until the server instance fails to respond.
+     */
     public KieServicesClient getClient(final String url) {
+        KieServicesClient client = clients.get(url);
+        if (client == null) {
+            client = createClient(url);
+            KieServicesClient cached = clients.putIfAbsent(url, client);
+            if (cached != null) {
+                client.close();
+                client = cached;
+            }
+        }
+        return client;
+    }
+
+    protected KieServicesClient createClient(final String url) {
         KieServicesClientProvider clientProvider = clientProviders.stream().filter(provider -> provider.supports(url)).findFirst().orElseThrow(() -> new KieServerControllerIllegalArgumentException("Kie Services Client Provider not found for url: " + url));
         logger.debug("Using client provider {}", clientProvider);
         KieServicesClient client = clientProvider.get(url);
@@ -581,6 +757,31 @@ public class KieServerInstanceManager {
         return client;
     }
 
+    public void evictClient(final String url) {
+        if (url == null) {
+            return;
+        }
+        KieServicesClient client = clients.remove(url);
+        if (client != null) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                logger.debug("Error when closing client of server instance at {} due to {}", url, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Statistics of remote operations per server instance url, exported by {@link KieServerInstanceMetrics}.
+     */
+    public Map<String, InstanceStats> getInstanceStats() {
+        return Collections.unmodifiableMap(instanceStats);
+    }
+
+    protected InstanceStats getInstanceStats(String url) {
+        return instanceStats.computeIfAbsent(String.valueOf(url), key -> new InstanceStats());
+    }
+
     protected void collectContainerInfo(ContainerSpec containerSpec,
                                         KieServicesClient client,
                                         Container container) {
@@ -603,4 +804,62 @@ public class KieServerInstanceManager {
             return null;
         }
     }
+    public static class InstanceStats {
+
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder totalTimeNanos = new LongAdder();
+        private volatile long lastTimeNanos;
+
+        void succeeded(long timeNanos) {
+            succeeded.increment();
+            record(timeNanos);
+        }
+
+        void failed(long timeNanos) {
+            failed.increment();
+            record(timeNanos);
+        }
+
+        void timedOut() {
+            timedOut.increment();
+        }
+
+        private void record(long timeNanos) {
+            totalTimeNanos.add(timeNanos);
+            lastTimeNanos = timeNanos;
+        }
+
+        public long getSucceeded() {
+            return succeeded.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getTimedOut() {
+            return timedOut.sum();
+        }
+
+        public long getLastTimeNanos() {
+            return lastTimeNanos;
+        }
+
+        public long getAverageTimeNanos() {
+            long count = succeeded.sum() + failed.sum();
+            return count == 0 ? 0 : totalTimeNanos.sum() / count;
+        }
+
+        @Override
+        public String toString() {
+            return "InstanceStats{" +
+                    "succeeded=" + getSucceeded() +
+                    ", failed=" + getFailed() +
+                    ", timedOut=" + getTimedOut() +
+                    ", averageTimeNanos=" + getAverageTimeNanos() +
+                    '}';
+        }
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.controller.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+/**
+ * Exports statistics of remote operations the controller runs on server instances. Values are read from
+ * {@link KieServerInstanceManager#getInstanceStats()} when metrics are scraped.
+ */
+public class KieServerInstanceMetrics extends Collector {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final KieServerInstanceManager instanceManager;
+
+    public KieServerInstanceMetrics(KieServerInstanceManager instanceManager) {
+        this.instanceManager = instanceManager;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        CounterMetricFamily operations = new CounterMetricFamily("kie_server_controller_instance_operations_total",
+                                                                 "Remote operations run on server instance by result",
+                                                                 Arrays.asList("url", "result"));
+        GaugeMetricFamily average = new GaugeMetricFamily("kie_server_controller_instance_operation_average_seconds",
+                                                          "Average duration of completed remote operations on server instance",
+                                                          Collections.singletonList("url"));
+        GaugeMetricFamily last = new GaugeMetricFamily("kie_server_controller_instance_operation_last_seconds",
+                                                       "Duration of the last completed remote operation on server instance",
+                                                       Collections.singletonList("url"));
+        for (Map.Entry<String, KieServerInstanceManager.InstanceStats> entry : instanceManager.getInstanceStats().entrySet()) {
+            String url = entry.getKey();
+            KieServerInstanceManager.InstanceStats stats = entry.getValue();
+            operations.addMetric(Arrays.asList(url, "success"), stats.getSucceeded());
+            operations.addMetric(Arrays.asList(url, "failure"), stats.getFailed());
+            operations.addMetric(Arrays.asList(url, "timeout"), stats.getTimedOut());
+            average.addMetric(Collections.singletonList(url), stats.getAverageTimeNanos() / NANOS_PER_SECOND);
+            last.addMetric(Collections.singletonList(url), stats.getLastTimeNanos() / NANOS_PER_SECOND);
+        }
+        List<MetricFamilySamples> samples = new ArrayList<>();
+        samples.add(operations);
+        samples.add(average);
+        samples.add(last);
+        return samples;
+    }
+}
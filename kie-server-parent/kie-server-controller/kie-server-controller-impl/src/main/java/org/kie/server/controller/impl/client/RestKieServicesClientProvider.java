@@ -60,11 +60,18 @@ public class RestKieServicesClientProvider implements KieServicesClientProvider
         return System.getProperty(KieServerConstants.CFG_KIE_TOKEN);
     }
 
+    /**
+     * Connect and read timeout of a single request, bounded by the time the controller waits for a server instance
+     * so that threads of timed out remote operations are released as well.
+     */
     protected Long getTimeout()  {
+        String property = System.getProperty(KieServerConstants.CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT) != null
+                ? KieServerConstants.CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT
+                : KieServerConstants.CFG_KIE_CONTROLLER_TIMEOUT;
         try {
-           return Long.parseLong(System.getProperty(KieServerConstants.CFG_KIE_CONTROLLER_TIMEOUT, "60000"));
+           return Long.parseLong(System.getProperty(property, "60000"));
         } catch (NumberFormatException ex) {
-           throw new RuntimeException("An invalid value is specified for system property "+KieServerConstants.CFG_KIE_CONTROLLER_TIMEOUT, ex);
+           throw new RuntimeException("An invalid value is specified for system property "+property, ex);
         }
     }
 
@@ -17,11 +17,13 @@
 package org.kie.server.controller.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import io.prometheus.client.Collector;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -58,6 +60,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -530,6 +533,137 @@ public class KieServerInstanceManagerTest {
         assertEquals(1, containers.size());
     }
 
+    @Test
+    public void testCallRemoteKieServerOperationOnMultipleServerInstanceKeys() {
+
+        final List<ServerInstanceKey> serverInstanceKeys = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final ServerInstanceKey serverInstanceKey = mock(ServerInstanceKey.class);
+            when(serverInstanceKey.getServerInstanceId()).thenReturn("instance-" + i);
+            when(serverInstanceKey.getUrl()).thenReturn("http://localhost:" + (8080 + i) + "/kie-server/services/rest/server");
+            serverInstanceKeys.add(serverInstanceKey);
+        }
+
+        when(serverTemplate.getServerInstanceKeys()).thenReturn(serverInstanceKeys);
+        doThrow(new IllegalStateException()).when(instanceManager).getClient(serverInstanceKeys.get(2).getUrl());
+        doReturn(client).when(instanceManager).getClient(serverInstanceKeys.get(0).getUrl());
+        doReturn(client).when(instanceManager).getClient(serverInstanceKeys.get(1).getUrl());
+        doReturn(client).when(instanceManager).getClient(serverInstanceKeys.get(3).getUrl());
+        doReturn(client).when(instanceManager).getClient(serverInstanceKeys.get(4).getUrl());
+
+        final List<Container> containers = instanceManager.callRemoteKieServerOperation(serverTemplate, containerSpec, operation);
+
+        assertEquals(4, containers.size());
+        assertEquals("instance-0", containers.get(0).getServerInstanceId());
+        assertEquals("instance-1", containers.get(1).getServerInstanceId());
+        assertEquals("instance-3", containers.get(2).getServerInstanceId());
+        assertEquals("instance-4", containers.get(3).getServerInstanceId());
+
+        assertEquals(1, instanceManager.getInstanceStats().get(serverInstanceKeys.get(0).getUrl()).getSucceeded());
+        assertEquals(1, instanceManager.getInstanceStats().get(serverInstanceKeys.get(2).getUrl()).getFailed());
+    }
+
+    @Test
+    public void testGetClientIsCachedUntilEvicted() {
+        final String url = "http://localhost:8080/kie-server/services/rest/server";
+        doReturn(client).when(instanceManager).createClient(url);
+
+        assertEquals(client, instanceManager.getClient(url));
+        assertEquals(client, instanceManager.getClient(url));
+        verify(instanceManager, times(1)).createClient(url);
+
+        instanceManager.evictClient(url);
+        verify(client).close();
+
+        assertEquals(client, instanceManager.getClient(url));
+        verify(instanceManager, times(2)).createClient(url);
+    }
+
+    @Test
+    public void testInstanceTimeoutStartsWithItsOperation() {
+        System.setProperty(KieServerConstants.CFG_KIE_CONTROLLER_PARALLELISM, "1");
+        System.setProperty(KieServerConstants.CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT, "300");
+        try {
+            final KieServerInstanceManager manager = spy(new KieServerInstanceManager());
+            final List<ServerInstanceKey> serverInstanceKeys = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                final ServerInstanceKey serverInstanceKey = mock(ServerInstanceKey.class);
+                when(serverInstanceKey.getServerInstanceId()).thenReturn("instance-" + i);
+                when(serverInstanceKey.getUrl()).thenReturn("http://localhost:" + (8080 + i) + "/kie-server/services/rest/server");
+                serverInstanceKeys.add(serverInstanceKey);
+            }
+            when(serverTemplate.getServerInstanceKeys()).thenReturn(serverInstanceKeys);
+            doReturn(client).when(manager).getClient(anyString());
+
+            // first instance blocks its only thread well beyond the timeout, as a http call ignoring interrupts would
+            final KieServerInstanceManager.RemoteKieServerOperation<Void> slowOnFirst = manager.new RemoteKieServerOperation<Void>() {
+                @Override
+                public Void doOperation(KieServicesClient client, Container container) {
+                    if ("instance-0".equals(container.getServerInstanceId())) {
+                        try {
+                            Thread.sleep(1000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return null;
+                }
+            };
+
+            final List<Container> containers = manager.callRemoteKieServerOperation(serverTemplate, containerSpec, slowOnFirst);
+
+            assertEquals(2, containers.size());
+            assertEquals("instance-1", containers.get(0).getServerInstanceId());
+            assertEquals("instance-2", containers.get(1).getServerInstanceId());
+            assertEquals(1, manager.getInstanceStats().get(serverInstanceKeys.get(0).getUrl()).getTimedOut());
+            assertEquals(0, manager.getInstanceStats().get(serverInstanceKeys.get(0).getUrl()).getSucceeded());
+            assertEquals(1, manager.getInstanceStats().get(serverInstanceKeys.get(2).getUrl()).getSucceeded());
+        } finally {
+            System.clearProperty(KieServerConstants.CFG_KIE_CONTROLLER_PARALLELISM);
+            System.clearProperty(KieServerConstants.CFG_KIE_CONTROLLER_INSTANCE_TIMEOUT);
+        }
+    }
+
+    @Test
+    public void testIsAliveReplacesCachedClient() {
+        final String url = "http://localhost:8080/kie-server/services/rest/server";
+        final KieServicesClient reconnected = mock(KieServicesClient.class);
+        final ServerInstanceKey serverInstanceKey = mock(ServerInstanceKey.class);
+        when(serverInstanceKey.getUrl()).thenReturn(url);
+        doReturn(client).doReturn(reconnected).when(instanceManager).createClient(url);
+
+        assertEquals(client, instanceManager.getClient(url));
+        assertTrue(instanceManager.isAlive(serverInstanceKey));
+
+        // client created before might know outdated capabilities of the server instance
+        verify(client).close();
+        assertEquals(reconnected, instanceManager.getClient(url));
+    }
+
+    @Test
+    public void testInstanceStatsExportedAsMetrics() {
+        final ServerInstanceKey serverInstanceKey = mock(ServerInstanceKey.class);
+        when(serverInstanceKey.getUrl()).thenReturn("http://localhost:8080/kie-server/services/rest/server");
+        when(serverTemplate.getServerInstanceKeys()).thenReturn(Collections.singletonList(serverInstanceKey));
+        doReturn(client).when(instanceManager).getClient(any());
+
+        instanceManager.callRemoteKieServerOperation(serverTemplate, containerSpec, operation);
+
+        final List<Collector.MetricFamilySamples> metrics = new KieServerInstanceMetrics(instanceManager).collect();
+        final Collector.MetricFamilySamples operations = metrics.stream()
+                .filter(family -> family.name.startsWith("kie_server_controller_instance_operations"))
+                .findFirst()
+                .get();
+        assertEquals(1.0, operations.samples.stream()
+                .filter(sample -> sample.labelValues.equals(Arrays.asList(serverInstanceKey.getUrl(), "success")))
+                .findFirst()
+                .get().value, 0);
+        assertEquals(0.0, operations.samples.stream()
+                .filter(sample -> sample.labelValues.equals(Arrays.asList(serverInstanceKey.getUrl(), "timeout")))
+                .findFirst()
+                .get().value, 0);
+    }
+
     private KieServerConfigItem configItem(final String capabilityBpm,
                                            final String pcfgKieBase,
                                            final String kBase) {
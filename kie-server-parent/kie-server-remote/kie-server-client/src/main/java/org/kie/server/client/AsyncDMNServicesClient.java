@@ -0,0 +1,33 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.client;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.server.api.model.ServiceResponse;
+
+/**
+ * Non blocking counterpart of {@link DMNServicesClient}, see {@link KieServicesClient#getAsyncServicesClient(Class)}.
+ */
+public interface AsyncDMNServicesClient {
+
+    CompletableFuture<ServiceResponse<DMNResult>> evaluateAll(String containerId, String namespace, String modelName, DMNContext dmnContext);
+
+    CompletableFuture<ServiceResponse<DMNResult>> evaluateDecisionByName(String containerId, String namespace, String modelName, String decisionName, DMNContext dmnContext);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.client;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.kie.api.command.Command;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.server.api.model.ServiceResponse;
+
+/**
+ * Non blocking counterpart of {@link RuleServicesClient}, see {@link KieServicesClient#getAsyncServicesClient(Class)}.
+ */
+public interface AsyncRuleServicesClient {
+
+    CompletableFuture<ServiceResponse<ExecutionResults>> executeCommandsWithResults(String id, Command<?> cmd);
+}
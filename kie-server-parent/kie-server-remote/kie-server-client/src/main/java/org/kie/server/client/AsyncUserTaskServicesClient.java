@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.kie.server.api.model.instance.TaskInstance;
+
+/**
+ * Non blocking counterpart of {@link UserTaskServicesClient}, see {@link KieServicesClient#getAsyncServicesClient(Class)}.
+ */
+public interface AsyncUserTaskServicesClient {
+
+    CompletableFuture<Void> claimTask(String containerId, Long taskId, String userId);
+
+    CompletableFuture<Void> startTask(String containerId, Long taskId, String userId);
+
+    CompletableFuture<Void> completeTask(String containerId, Long taskId, String userId, Map<String, Object> params);
+
+    CompletableFuture<TaskInstance> getTaskInstance(String containerId, Long taskId);
+}
@@ -15,6 +15,8 @@
 
 package org.kie.server.client;
 
+import java.util.List;
+
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNResult;
 import org.kie.server.api.model.ServiceResponse;
@@ -101,4 +103,18 @@ public interface DMNServicesClient {
      */
     ServiceResponse<DMNResult> evaluateDecisionService(String containerId, String namespace, String modelName, String decisionServiceName, DMNContext context);
 
+    /**
+     * Evaluate all decisions for the model identified by namespace and modelName, for each of the given contexts.
+     * Contexts are sent in a single request and evaluated independently and in parallel by the server.
+     *
+     * @param containerId the container id deploying the DMN model
+     * @param namespace namespace to identify the model to evaluate
+     * @param modelName model name to identify the model to evaluate
+     * @param dmnContexts the contexts with all the input variables, one per evaluation
+     *
+     * @return the results of the evaluations in the same order as the given contexts; an evaluation that failed
+     * is reported in place as a result with error message, it does not fail the other evaluations
+     */
+    ServiceResponse<List<DMNResult>> evaluateAllBatch(String containerId, String namespace, String modelName, List<DMNContext> dmnContexts);
+
 }
@@ -15,6 +15,7 @@
 
 package org.kie.server.client;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.kie.server.api.model.instance.DocumentInstance;
@@ -32,6 +33,31 @@ public interface DocumentServicesClient {
 
     void deleteDocument(String identifier);
 
+    /**
+     * Uploads new document with its content sent as is, without encoding it into DocumentInstance. Supported only over REST.
+     * @param size number of bytes of the content or -1 when not known
+     * @return identifier of the created document
+     */
+    String createDocument(String name, InputStream content, long size);
+
+    /**
+     * Replaces content of the document with content sent as is. Supported only over REST.
+     * @param size number of bytes of the content or -1 when not known
+     */
+    void updateDocumentContent(String identifier, InputStream content, long size);
+
+    /**
+     * Returns stream of the document's content, which has to be closed by the caller. Supported only over REST.
+     */
+    InputStream getDocumentContent(String identifier);
+
+    /**
+     * Returns stream of given part of the document's content, which has to be closed by the caller. Supported only over REST.
+     * @param offset position of the first byte to be returned
+     * @param length number of bytes to be returned or -1 for the rest of the content
+     */
+    InputStream getDocumentContent(String identifier, long offset, long length);
+
     List<DocumentInstance> listDocuments(Integer page, Integer pageSize);
 
     void setResponseHandler(ResponseHandler responseHandler);
@@ -34,6 +34,18 @@ public interface KieServicesClient {
 
     <T> T getServicesClient(Class<T> serviceClient);
 
+    /**
+     * Returns non blocking services client, e.g. {@link AsyncProcessServicesClient}, {@link AsyncUserTaskServicesClient},
+     * {@link AsyncQueryServicesClient}, {@link AsyncRuleServicesClient} or {@link AsyncDMNServicesClient}. Requests are sent
+     * over non blocking HTTP transport, so no thread is held while they are in flight; returned futures are completed
+     * by I/O threads of the transport and anything but light work depending on them should run on an executor
+     * of the caller. Available for REST transport only and requires org.apache.httpcomponents:httpasyncclient on classpath.
+     * @param asyncServicesClient type of the asynchronous services client
+     */
+    default <T> T getAsyncServicesClient(Class<T> asyncServicesClient) {
+        throw new UnsupportedOperationException("Asynchronous services clients are not supported by " + getClass().getName());
+    }
+
     ServiceResponse<KieServerInfo> getServerInfo();
 
     ServiceResponse<KieContainerResourceList> listContainers();
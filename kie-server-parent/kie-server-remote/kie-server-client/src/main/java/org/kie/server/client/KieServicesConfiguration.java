@@ -27,6 +27,8 @@ import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.client.balancer.LoadBalancer;
 import org.kie.server.client.jms.ResponseHandler;
 import org.kie.server.common.rest.ClientCertificate;
+import org.kie.server.common.rest.KieServerHttpClient;
+import org.kie.server.common.rest.KieServerHttpRequest;
 
 public interface KieServicesConfiguration {
 
@@ -50,6 +52,43 @@ public interface KieServicesConfiguration {
 
     KieServicesConfiguration setClientCertificate(ClientCertificate clientCertificate);
 
+    /**
+     * Factory used to open HTTP connections of REST transport, allows to plug in alternative HTTP stack
+     * @return connection factory or null when JDK default is used
+     */
+    default KieServerHttpRequest.ConnectionFactory getHttpConnectionFactory() {
+        return null;
+    }
+
+    default KieServicesConfiguration setHttpConnectionFactory(KieServerHttpRequest.ConnectionFactory httpConnectionFactory) {
+        throw new UnsupportedOperationException("HTTP connection factory is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Pooled HTTP client used by REST transport instead of opening a connection per request, takes precedence
+     * over {@link #getHttpConnectionFactory()}. Client certificate of https connections is taken from the client itself.
+     * The client is owned by the caller, which has to close it once all service clients using this configuration are done.
+     * @return pooled client or null when connections are opened per request
+     */
+    default KieServerHttpClient getHttpClient() {
+        return null;
+    }
+
+    default KieServicesConfiguration setHttpClient(KieServerHttpClient httpClient) {
+        throw new UnsupportedOperationException("Pooled HTTP client is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Whether gzipped REST responses are requested from the server, disabled by default
+     */
+    default boolean isCompressionEnabled() {
+        return false;
+    }
+
+    default KieServicesConfiguration setCompressionEnabled(boolean compressionEnabled) {
+        throw new UnsupportedOperationException("Compression is not supported by " + getClass().getName());
+    }
+
     MarshallingFormat getMarshallingFormat();
 
     KieServicesConfiguration setMarshallingFormat(MarshallingFormat format);
@@ -21,7 +21,8 @@ public interface BalancerStrategy {
 
     public enum Type {
         RANDOM_STRATEGY,
-        ROUND_ROBIN_STRATEGY;
+        ROUND_ROBIN_STRATEGY,
+        LEAST_OUTSTANDING_STRATEGY;
     }
 
     String next();
@@ -31,4 +32,27 @@ public interface BalancerStrategy {
     String markAsOnline(String url);
 
     List<String> getAvailableEndpoints();
+
+    /**
+     * Notifies the strategy that a request to given url is about to be sent
+     */
+    default void requestStarted(String url) {
+        // do nothing
+    }
+
+    /**
+     * Notifies the strategy that a response to a request to given url was received
+     * @param durationNanos time the request took in nanoseconds
+     */
+    default void requestCompleted(String url, long durationNanos) {
+        // do nothing
+    }
+
+    /**
+     * Notifies the strategy that a request to given url failed without a response, its duration says nothing
+     * about the endpoint latency so only the request is considered finished
+     */
+    default void requestFailed(String url) {
+        // do nothing
+    }
 }
@@ -22,14 +22,16 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.balancer.impl.LeastOutstandingBalancerStrategy;
 import org.kie.server.client.balancer.impl.RandomBalancerStrategy;
 import org.kie.server.client.balancer.impl.RoundRobinBalancerStrategy;
 import org.kie.server.common.rest.KieServerHttpRequest;
@@ -51,11 +53,19 @@ public class LoadBalancer {
     };
 
     public static final Long FAILED_ENDPOINT_INTERVAL_CHECK = Long.getLong(KieServerConstants.KIE_JBPM_SERVER_CLIENT_FAILED_ENDPOINT_INTERVAL_CHECK, 5000);
+    public static final Long HEALTH_CHECK_INTERVAL = Long.getLong(KieServerConstants.KIE_SERVER_CLIENT_HEALTH_CHECK_INTERVAL, 0);
+    public static final Long HEALTH_CHECK_TIMEOUT = Long.getLong(KieServerConstants.KIE_SERVER_CLIENT_HEALTH_CHECK_TIMEOUT, 1000);
+    public static final Long HEALTH_CHECK_SLOW_THRESHOLD = Long.getLong(KieServerConstants.KIE_SERVER_CLIENT_HEALTH_CHECK_SLOW_THRESHOLD, 0);
     private static final Logger logger = LoggerFactory.getLogger(LoadBalancer.class);
 
     private static final String URL_SEP = "\\|";
 
-    private ScheduledExecutorService executorService = Executors.newScheduledThreadPool(4);
+    private static final AtomicInteger BALANCER_NUMBER = new AtomicInteger();
+
+    // created on first scheduled check, guarded by itself
+    private final Object schedulerLock = new Object();
+    private ScheduledThreadPoolExecutor scheduler;
+    private volatile boolean closed = false;
 
     private final BalancerStrategy balancerStrategy;
     private CopyOnWriteArraySet<String> failedEndpoints = new CopyOnWriteArraySet<>();
@@ -65,9 +75,20 @@ public class LoadBalancer {
     private String password;
 
     private volatile boolean backgroundCheck = false;
+    private volatile boolean healthCheck = false;
 
     private boolean checkFailedEndpoint;
 
+    // released once any failed endpoint is back online, replaced by checkFailedEndpoints afterwards
+    private volatile CountDownLatch activation = new CountDownLatch(1);
+    private final EndpointListener activationListener = new EndpointListener() {
+        @Override
+        public void markAsActive(String endpoint) {
+            activation.countDown();
+        }
+    };
+    private boolean activationListenerAdded = false;
+
     public void addListener(EndpointListener listener) {
         synchronized (endpointListeners) {
             this.endpointListeners.add(listener);
@@ -77,6 +98,9 @@ public class LoadBalancer {
     public LoadBalancer(BalancerStrategy balancerStrategy) {
         this.checkFailedEndpoint = true;
         this.balancerStrategy = balancerStrategy;
+        if (HEALTH_CHECK_INTERVAL > 0) {
+            enableHealthCheck(HEALTH_CHECK_INTERVAL, HEALTH_CHECK_TIMEOUT, HEALTH_CHECK_SLOW_THRESHOLD);
+        }
     }
 
     public String getUrl() throws KieServerHttpRequestException {
@@ -115,11 +139,25 @@ public class LoadBalancer {
         threadSafeListeners.forEach(e -> e.markAsActive(baseUrl));
     }
 
+    public void requestStarted(String url) {
+        balancerStrategy.requestStarted(url);
+    }
+
+    public void requestCompleted(String url, long durationNanos) {
+        balancerStrategy.requestCompleted(url, durationNanos);
+    }
+
+    public void requestFailed(String url) {
+        balancerStrategy.requestFailed(url);
+    }
+
     public void close() {
-        try {
-            executorService.shutdownNow();
-        } catch (Exception e) {
-            logger.debug("Error when shutting down load balancer executor service");
+        synchronized (schedulerLock) {
+            closed = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
         }
     }
 
@@ -139,17 +177,14 @@ public class LoadBalancer {
             return null;
         }
 
-        CountDownLatch latch = new CountDownLatch (1);
-        EndpointListener lst = new EndpointListener() {
-            @Override
-            public void markAsActive(String endpoint) {
-                synchronized (endpointListeners) {
-                    endpointListeners.remove(this);
-                }
-                latch.countDown();
-            }
-        };
-        endpointListeners.add(lst);
+        if (!activationListenerAdded) {
+            addListener(activationListener);
+            activationListenerAdded = true;
+        }
+        if (activation.getCount() == 0) {
+            activation = new CountDownLatch(1);
+        }
+        CountDownLatch latch = activation;
         // create a bridge between the latch and the latch
         Future<Object> futureBridge = new Future<Object> () {
 
@@ -188,11 +223,55 @@ public class LoadBalancer {
             return futureBridge;
         }
 
-        executorService.scheduleWithFixedDelay(new CheckFailedEndpoints(), 0, FAILED_ENDPOINT_INTERVAL_CHECK, TimeUnit.MILLISECONDS);
+        schedule(new CheckFailedEndpoints(), 0, FAILED_ENDPOINT_INTERVAL_CHECK);
         backgroundCheck = true;
         return futureBridge;
     }
 
+    /**
+     * Enables periodic probing of available endpoints so that dead or slow endpoints are taken out of rotation
+     * before requests are routed to them. Endpoints taken out are checked and put back by the failed endpoints check.
+     * @param intervalMillis delay between two probes of all available endpoints
+     * @param timeoutMillis probe timeout, endpoint not responding within the timeout is marked as failed
+     * @param slowThresholdMillis endpoint responding slower than the threshold is marked as failed unless it is the
+     * last available one, 0 disables the check
+     */
+    public synchronized void enableHealthCheck(long intervalMillis, long timeoutMillis, long slowThresholdMillis) {
+        if (healthCheck) {
+            return;
+        }
+        schedule(new HealthCheck(timeoutMillis, slowThresholdMillis), intervalMillis, intervalMillis);
+        healthCheck = true;
+    }
+
+    private void schedule(Runnable check, long initialDelayMillis, long delayMillis) {
+        synchronized (schedulerLock) {
+            if (closed) {
+                throw new RejectedExecutionException("Load balancer checks cannot be scheduled, load balancer is Terminated");
+            }
+            if (scheduler == null) {
+                scheduler = createScheduler();
+            }
+            scheduler.scheduleWithFixedDelay(check, initialDelayMillis, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+     * Scheduler of this load balancer only, so that slow probes of one balancer never delay checks of another,
+     * with a thread per kind of check so failed endpoints checks do not hold back health checks either
+     */
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        int balancerNumber = BALANCER_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(2, runnable -> {
+            Thread thread = new Thread(runnable, "kie-server-client-balancer-" + balancerNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     /*
      * factory methods
      */
@@ -232,6 +311,9 @@ public class LoadBalancer {
             case ROUND_ROBIN_STRATEGY:
                 strategy = new RoundRobinBalancerStrategy(urls);
                 break;
+            case LEAST_OUTSTANDING_STRATEGY:
+                strategy = new LeastOutstandingBalancerStrategy(urls);
+                break;
         }
         if (strategy == null) {
             throw new IllegalArgumentException("Unknown strategy type " + type);
@@ -289,6 +371,59 @@ public class LoadBalancer {
         }
     }
 
+    /*
+     * Runnable probing available endpoints
+     */
+    private class HealthCheck implements Runnable {
+
+        private final long timeoutMillis;
+        private final long slowThresholdNanos;
+
+        private HealthCheck(long timeoutMillis, long slowThresholdMillis) {
+            this.timeoutMillis = timeoutMillis;
+            this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        }
+
+        @Override
+        public void run() {
+            for (String endpoint : balancerStrategy.getAvailableEndpoints()) {
+                // re-read as endpoints may have been removed meanwhile, by this check or by failed requests
+                String failure = probe(endpoint, balancerStrategy.getAvailableEndpoints().size() > 1);
+                if (failure != null) {
+                    logger.warn("Url '{}' failed health check ({}), removing it from load balancer", endpoint, failure);
+                    try {
+                        markAsFailed(endpoint);
+                        checkFailedEndpoints();
+                    } catch (Exception e) {
+                        logger.debug("Unable to mark url '{}' as failed due to {}", endpoint, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        private String probe(String endpoint, boolean canBeRemovedWhenSlow) {
+            long start = System.nanoTime();
+            balancerStrategy.requestStarted(endpoint);
+            int code;
+            try {
+                code = KieServerHttpRequest.newRequest(endpoint, userName, password).followRedirects(true).timeout(timeoutMillis).get().response().code();
+            } catch (Exception e) {
+                balancerStrategy.requestFailed(endpoint);
+                return e.getCause() == null ? e.getMessage() : e.getCause().getMessage();
+            }
+            long duration = System.nanoTime() - start;
+            if (code >= 500) {
+                balancerStrategy.requestFailed(endpoint);
+                return "response code " + code;
+            }
+            balancerStrategy.requestCompleted(endpoint, duration);
+            if (canBeRemovedWhenSlow && slowThresholdNanos > 0 && duration > slowThresholdNanos) {
+                return "responded in " + TimeUnit.NANOSECONDS.toMillis(duration) + " ms";
+            }
+            return null;
+        }
+    }
+
     public void setCheckFailedEndpoint(boolean checkFailedEndpoint) {
         this.checkFailedEndpoint = checkFailedEndpoint;
     }
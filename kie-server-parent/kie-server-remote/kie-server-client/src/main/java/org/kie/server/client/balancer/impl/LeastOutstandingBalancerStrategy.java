@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.client.balancer.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects endpoint with the lowest expected cost, computed as number of outstanding requests (plus the one about
+ * to be sent) multiplied by exponentially weighted moving average of its response time. Endpoints without any
+ * latency sample yet are preferred so every endpoint gets measured. Ties are resolved in round robin fashion.
+ */
+public class LeastOutstandingBalancerStrategy extends AbstractBalancerStrategy {
+
+    public static final double DEFAULT_DECAY = 0.3;
+
+    private final List<String> availableEndpoints = new CopyOnWriteArrayList<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger offset = new AtomicInteger();
+    private final double decay;
+
+    public LeastOutstandingBalancerStrategy(Collection<String> availableEndpoints) {
+        this(availableEndpoints, DEFAULT_DECAY);
+    }
+
+    /**
+     * @param decay weight of the latest latency sample in the moving average, between 0 (exclusive) and 1 (inclusive)
+     */
+    public LeastOutstandingBalancerStrategy(Collection<String> availableEndpoints, double decay) {
+        if (decay <= 0 || decay > 1) {
+            throw new IllegalArgumentException("Decay must be within (0, 1], got " + decay);
+        }
+        this.decay = decay;
+        availableEndpoints.forEach(endpoint -> markAsOnline(endpoint));
+    }
+
+    @Override
+    public String next() {
+        List<String> endpoints = new ArrayList<>(availableEndpoints);
+        checkEmpty(endpoints);
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+
+        int start = Math.floorMod(offset.getAndIncrement(), endpoints.size());
+        String selected = null;
+        double selectedCost = Double.MAX_VALUE;
+        for (int i = 0; i < endpoints.size(); i++) {
+            String endpoint = endpoints.get((start + i) % endpoints.size());
+            double cost = getStats(endpoint).cost();
+            if (cost < selectedCost) {
+                selected = endpoint;
+                selectedCost = cost;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String markAsOffline(String url) {
+        checkEmpty(availableEndpoints);
+        synchronized (availableEndpoints) {
+            checkEmpty(availableEndpoints);
+            String baseUrl = locateUrl(availableEndpoints, url);
+
+            availableEndpoints.remove(baseUrl);
+
+            return baseUrl;
+        }
+    }
+
+    @Override
+    public String markAsOnline(String url) {
+        synchronized (availableEndpoints) {
+            String baseUrl = locateUrl(availableEndpoints, url);
+
+            if (!availableEndpoints.contains(baseUrl)) {
+                availableEndpoints.add(baseUrl);
+                getStats(baseUrl);
+            }
+
+            return baseUrl;
+        }
+    }
+
+    @Override
+    public List<String> getAvailableEndpoints() {
+        return new ArrayList<String>(availableEndpoints);
+    }
+
+    @Override
+    public void requestStarted(String url) {
+        EndpointStats endpointStats = stats.get(locateUrl(stats.keySet(), url));
+        if (endpointStats != null) {
+            endpointStats.outstanding.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void requestCompleted(String url, long durationNanos) {
+        EndpointStats endpointStats = stats.get(locateUrl(stats.keySet(), url));
+        if (endpointStats != null) {
+            endpointStats.outstanding.decrementAndGet();
+            endpointStats.record(durationNanos, decay);
+        }
+    }
+
+    @Override
+    public void requestFailed(String url) {
+        EndpointStats endpointStats = stats.get(locateUrl(stats.keySet(), url));
+        if (endpointStats != null) {
+            endpointStats.outstanding.decrementAndGet();
+        }
+    }
+
+    public int getOutstanding(String url) {
+        EndpointStats endpointStats = stats.get(locateUrl(stats.keySet(), url));
+        return endpointStats == null ? 0 : endpointStats.outstanding.get();
+    }
+
+    /**
+     * @return moving average of response time of given endpoint in nanoseconds or -1 if not measured yet
+     */
+    public double getAverageLatencyNanos(String url) {
+        EndpointStats endpointStats = stats.get(locateUrl(stats.keySet(), url));
+        return endpointStats == null ? -1 : endpointStats.averageNanos;
+    }
+
+    private EndpointStats getStats(String baseUrl) {
+        return stats.computeIfAbsent(baseUrl, key -> new EndpointStats());
+    }
+
+    @Override
+    public String toString() {
+        return "LeastOutstandingBalancerStrategy{" +
+                "availableEndpoints=" + availableEndpoints +
+                '}';
+    }
+
+    private static class EndpointStats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile double averageNanos = -1;
+
+        private synchronized void record(long durationNanos, double decay) {
+            averageNanos = averageNanos < 0 ? durationNanos : decay * durationNanos + (1 - decay) * averageNanos;
+        }
+
+        private double cost() {
+            int pending = Math.max(outstanding.get(), 0) + 1;
+            double average = averageNanos;
+            if (average < 0) {
+                // not measured yet, cheaper than any measured endpoint
+                return -1.0 / pending;
+            }
+            return pending * Math.max(average, 1);
+        }
+    }
+}
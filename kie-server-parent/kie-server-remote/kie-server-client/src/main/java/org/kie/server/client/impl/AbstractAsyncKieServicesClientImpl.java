@@ -0,0 +1,296 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.ssl.SSLContexts;
+import org.apache.http.util.EntityUtils;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.api.exception.KieServicesHttpException;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.balancer.LoadBalancer;
+import org.kie.server.common.rest.KieServerHttpRequest;
+import org.kie.server.common.rest.NoEndpointFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base of asynchronous services clients. Requests are sent by non blocking HTTP client, so no thread is held
+ * while they are in flight. Configuration, marshaller, load balancer and conversation are the ones of the synchronous
+ * services client the asynchronous one is created for, so both send the same requests and read the same responses.
+ * Connection failures fail over to the next endpoint of the load balancer the same way as synchronous requests do.
+ */
+public abstract class AbstractAsyncKieServicesClientImpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractAsyncKieServicesClientImpl.class);
+
+    public static final int MAX_CONNECTIONS = Integer.getInteger(KieServerConstants.KIE_SERVER_CLIENT_ASYNC_MAX_CONNECTIONS, 100);
+
+    protected final AbstractKieServicesClientImpl servicesClient;
+    protected final KieServicesConfiguration config;
+    protected final LoadBalancer loadBalancer;
+    private final HttpAsyncClient httpClient;
+
+    protected AbstractAsyncKieServicesClientImpl(AbstractKieServicesClientImpl servicesClient, HttpAsyncClient httpClient) {
+        this.servicesClient = servicesClient;
+        this.config = servicesClient.config;
+        this.loadBalancer = servicesClient.loadBalancer;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Creates and starts non blocking HTTP client for given configuration, the client is meant to be shared by all
+     * asynchronous services clients of a {@link KieServicesClientImpl} and closed together with it.
+     */
+    public static CloseableHttpAsyncClient newHttpClient(KieServicesConfiguration config) {
+        int timeout = (int) config.getTimeout();
+        SSLContext sslContext = config.getClientCertificate() != null
+                ? KieServerHttpRequest.createClientCertificateContext(config.getClientCertificate())
+                : SSLContexts.createDefault();
+        CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+                .setSSLContext(sslContext)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                                                 .setConnectTimeout(timeout)
+                                                 .setSocketTimeout(timeout)
+                                                 .build())
+                .setMaxConnTotal(MAX_CONNECTIONS)
+                .setMaxConnPerRoute(MAX_CONNECTIONS)
+                .build();
+        httpClient.start();
+        return httpClient;
+    }
+
+    protected <T> CompletableFuture<T> makeAsyncGetRequestAndCreateCustomResponse(Supplier<String> uri, Class<T> resultType) {
+        return send("GET", uri, null, Collections.emptyMap(), content -> servicesClient.deserialize(content, resultType),
+                    Status.OK);
+    }
+
+    protected <T> CompletableFuture<T> makeAsyncPostRequestAndCreateCustomResponse(Supplier<String> uri, Object body, Class<T> resultType, Map<String, String> headers) {
+        return send("POST", uri, () -> servicesClient.serialize(body), headers, content -> servicesClient.deserialize(content, resultType),
+                    Status.OK, Status.CREATED);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> CompletableFuture<ServiceResponse<T>> makeAsyncPostRequestAndCreateServiceResponse(Supplier<String> uri, Object body, Class<T> resultType, Map<String, String> headers) {
+        return send("POST", uri, () -> servicesClient.serialize(body), headers, content -> {
+            ServiceResponse<T> serviceResponse = servicesClient.deserialize(content, ServiceResponse.class);
+            servicesClient.checkResultType(serviceResponse, resultType);
+            return serviceResponse;
+        }, Status.OK);
+    }
+
+    protected <T> CompletableFuture<T> makeAsyncPutRequestAndCreateCustomResponse(Supplier<String> uri, Object body, Class<T> resultType, Map<String, String> headers) {
+        return send("PUT", uri, () -> servicesClient.serialize(body), headers, content -> servicesClient.deserialize(content, resultType),
+                    Status.CREATED);
+    }
+
+    protected <T> CompletableFuture<T> makeAsyncDeleteRequestAndCreateCustomResponse(Supplier<String> uri, Class<T> resultType) {
+        return send("DELETE", uri, null, Collections.emptyMap(), content -> resultType == null ? null : servicesClient.deserialize(content, resultType),
+                    Status.OK, Status.NO_CONTENT);
+    }
+
+    /**
+     * Failures of building the request, e.g. no available endpoint or marshalling error, complete the returned
+     * future exceptionally same as failures of the request itself.
+     */
+    private <T> CompletableFuture<T> send(String method, Supplier<String> uri, Supplier<String> body, Map<String, String> headers,
+                                          Function<InputStream, T> reader, Status... expectedStatus) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            AsyncRequest<T> request = new AsyncRequest<>(method, body != null ? body.get() : null, headers,
+                                                         servicesClient.getConversationId(), reader, expectedStatus, result);
+            send(request, uri.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void send(AsyncRequest<?> request, String url) {
+        logger.debug("About to send asynchronous {} request to '{}'", request.method, url);
+        HttpUriRequest httpRequest = newRequest(request, url);
+        long start = System.nanoTime();
+        loadBalancer.requestStarted(url);
+        try {
+            httpClient.execute(httpRequest, new FutureCallback<HttpResponse>() {
+
+                @Override
+                public void completed(HttpResponse response) {
+                    loadBalancer.requestCompleted(url, System.nanoTime() - start);
+                    try {
+                        request.complete(url, response);
+                    } catch (RuntimeException e) {
+                        request.result.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    loadBalancer.requestFailed(url);
+                    if (e instanceof IOException) {
+                        failOver(request, url, e);
+                    } else {
+                        request.result.completeExceptionally(e);
+                    }
+                }
+
+                @Override
+                public void cancelled() {
+                    loadBalancer.requestFailed(url);
+                    request.result.cancel(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // e.g. client already closed
+            loadBalancer.requestFailed(url);
+            throw e;
+        }
+    }
+
+    private void failOver(AsyncRequest<?> request, String url, Exception cause) {
+        try {
+            String failedBaseUrl = loadBalancer.markAsFailed(url);
+            logger.warn("Marking endpoint '{}' as failed due to {}", failedBaseUrl, cause.getMessage());
+            String nextUrl = loadBalancer.getUrl() + url.substring(failedBaseUrl.length());
+            logger.debug("Selecting next endpoint from load balancer - '{}'", nextUrl);
+            send(request, nextUrl);
+        } catch (NoEndpointFoundException e) {
+            logger.warn("Cannot invoke request - '{}'", e.getMessage());
+            request.result.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            request.result.completeExceptionally(e);
+        }
+    }
+
+    private HttpUriRequest newRequest(AsyncRequest<?> request, String url) {
+        String mediaType = servicesClient.getMediaType(config.getMarshallingFormat());
+        RequestBuilder builder = RequestBuilder.create(request.method).setUri(url);
+        builder.addHeader("Accept", mediaType);
+        builder.addHeader(KieServerConstants.KIE_CONTENT_TYPE_HEADER, config.getMarshallingFormat().toString());
+        if (config.getHeaders() != null) {
+            config.getHeaders().forEach(builder::addHeader);
+        }
+        // apply authorization
+        if (config.getCredentialsProvider() != null) {
+            String authorization = config.getCredentialsProvider().getAuthorization();
+            // add authorization only when it's not empty to allow anonymous requests
+            if (authorization != null && !authorization.isEmpty()) {
+                builder.addHeader(config.getCredentialsProvider().getHeaderName(), authorization);
+            }
+        }
+        if (request.conversationId != null) {
+            builder.addHeader(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER, request.conversationId);
+        }
+        request.headers.forEach(builder::addHeader);
+        if (request.body != null) {
+            builder.setEntity(new ByteArrayEntity(request.body.getBytes(StandardCharsets.UTF_8),
+                                                  ContentType.create(mediaType, StandardCharsets.UTF_8)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Single asynchronous request, kept across fail over to other endpoints. Conversation id is the one the client
+     * was part of when the request was created, conversation started by the response is adopted by the client only
+     * when it is not part of any conversation yet, so concurrent requests do not overwrite each other's conversation.
+     */
+    private final class AsyncRequest<T> {
+
+        private final String method;
+        private final String body;
+        private final Map<String, String> headers;
+        private final String conversationId;
+        private final Function<InputStream, T> reader;
+        private final Status[] expectedStatus;
+        private final CompletableFuture<T> result;
+
+        private AsyncRequest(String method, String body, Map<String, String> headers, String conversationId,
+                             Function<InputStream, T> reader, Status[] expectedStatus, CompletableFuture<T> result) {
+            this.method = method;
+            this.body = body;
+            this.headers = headers;
+            this.conversationId = conversationId;
+            this.reader = reader;
+            this.expectedStatus = expectedStatus;
+            this.result = result;
+        }
+
+        private void complete(String url, HttpResponse response) {
+            Header conversation = response.getFirstHeader(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER);
+            if (conversation != null) {
+                servicesClient.owner.adoptConversationId(conversation.getValue());
+            }
+
+            int code = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            for (Status status : expectedStatus) {
+                if (status.getStatusCode() == code) {
+                    result.complete(reader.apply(content(entity)));
+                    return;
+                }
+            }
+
+            String body = body(entity);
+            String summaryMessage = "Unexpected HTTP response code when requesting URI '" + url + "'! Error code: " +
+                    code + ", message: " + body;
+            logger.debug(summaryMessage);
+            result.completeExceptionally(new KieServicesHttpException(summaryMessage, code, url, body));
+        }
+
+        private InputStream content(HttpEntity entity) {
+            try {
+                return entity != null ? entity.getContent() : new ByteArrayInputStream(new byte[0]);
+            } catch (IOException e) {
+                throw new KieServicesException("Error while reading data received from server!", e);
+            }
+        }
+
+        private String body(HttpEntity entity) {
+            try {
+                return entity != null ? EntityUtils.toString(entity, StandardCharsets.UTF_8) : null;
+            } catch (IOException e) {
+                throw new KieServicesException("Error while reading data received from server!", e);
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package org.kie.server.client.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
@@ -190,7 +192,7 @@ public abstract class AbstractKieServicesClientImpl {
 
         owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
         if ( response.code() == Response.Status.OK.getStatusCode() ) {
-            ServiceResponse<T> serviceResponse = deserialize( response.body(), ServiceResponse.class );
+            ServiceResponse<T> serviceResponse = deserialize( response.stream(), ServiceResponse.class );
             checkResultType( serviceResponse, resultType );
             return serviceResponse;
         } else {
@@ -211,7 +213,7 @@ public abstract class AbstractKieServicesClientImpl {
 
         owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
         if ( response.code() == Response.Status.OK.getStatusCode() ) {
-            return deserialize(response.body(), resultType);
+            return deserialize(response.stream(), resultType);
         } else {
             throw createExceptionForUnexpectedResponseCode( request, response );
         }
@@ -283,24 +285,115 @@ public abstract class AbstractKieServicesClientImpl {
         }
     }
 
+    /**
+     * Sends GET request and returns body of the response as stream, which has to be closed by the caller.
+     * Partial content is accepted as well, so range requests can be made by given headers.
+     */
+    protected InputStream makeHttpGetRequestAndCreateStreamResponse(String uri, Map<String, String> headers) {
+
+        KieServerHttpRequest request = invoke(uri, new RemoteHttpOperation(){
+            @Override
+            public KieServerHttpRequest doOperation(String url) {
+                logger.debug("About to send GET request to '{}'", url);
+                return newRequest( url ).accept(MediaType.APPLICATION_OCTET_STREAM).headers(headers).streamResponse(true).get();
+            }
+        });
+        KieServerHttpResponse response = request.response();
+
+        owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
+
+        if ( response.code() == Response.Status.OK.getStatusCode()
+                || response.code() == Response.Status.PARTIAL_CONTENT.getStatusCode() ) {
+
+            return response.stream();
+
+        } else {
+            throw createExceptionForUnexpectedResponseCode( request, response );
+        }
+    }
+
+    /**
+     * Sends content of given stream as is in the body of POST (or PUT when <code>update</code> is set) request.
+     * Stream can be read only once, so the request is not retried on another endpoint if it fails after sending has begun.
+     * @param length number of bytes of the stream or -1 when not known
+     */
+    protected <T> T makeHttpRequestWithStreamAndCreateCustomResponse(String uri, InputStream body, long length, boolean update, Class<T> resultType) {
+
+        KieServerHttpRequest request = invoke(uri, new RemoteHttpOperation(){
+            private boolean sent = false;
+
+            @Override
+            public KieServerHttpRequest doOperation(String url) {
+                if (sent) {
+                    throw new KieServerHttpRequestException("Unable to resend streamed content to '" + url + "'");
+                }
+                sent = true;
+                logger.debug("About to send {} request to '{}' with streamed content of length {}", update ? "PUT" : "POST", url, length);
+                KieServerHttpRequest streamRequest = newRequest( url ).body(body, length);
+                return update ? streamRequest.put() : streamRequest.post();
+            }
+        });
+
+        KieServerHttpResponse response = request.response();
+
+        owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
+
+        if ( response.code() == Response.Status.OK.getStatusCode()
+                || response.code() == Response.Status.CREATED.getStatusCode()) {
+            return deserialize( response.body(), resultType );
+        } else {
+            throw createExceptionForUnexpectedResponseCode( request, response );
+        }
+    }
+
     protected <T> ServiceResponse<T> makeHttpPostRequestAndCreateServiceResponse(
             String uri, Object bodyObject,
             Class<T> resultType) {
-        return makeHttpPostRequestAndCreateServiceResponse( uri, serialize( bodyObject ), resultType );
+        return makeHttpPostRequestAndCreateServiceResponse( uri, bodyObject, resultType, new HashMap<String, String>() );
     }
 
     protected <T> ServiceResponse<T> makeHttpPostRequestAndCreateServiceResponse(
             String uri, Object bodyObject,
             Class<T> resultType, Map<String, String> headers) {
-        return makeHttpPostRequestAndCreateServiceResponse( uri, serialize( bodyObject ), resultType, headers );
+        return makeHttpPostRequestAndCreateServiceResponse( uri, bodyObject, resultType, headers, Status.OK );
     }
 
+    @SuppressWarnings("unchecked")
     protected <T> ServiceResponse<T> makeHttpPostRequestAndCreateServiceResponse(String uri,
                                                                                  Object bodyObject,
                                                                                  Class<T> resultType,
                                                                                  Map<String, String> headers,
                                                                                  Status status) {
-        return makeHttpPostRequestAndCreateServiceResponse(uri, serialize(bodyObject), resultType, headers, status);
+        if (bodyObject == null) {
+            return makeHttpPostRequestAndCreateServiceResponse(uri, serialize(bodyObject), resultType, headers, status);
+        }
+
+        // entity is marshalled directly into the connection and response is read directly from it
+        KieServerHttpRequest request;
+        KieServerHttpResponse response;
+        try {
+            request = invoke(uri, new RemoteHttpOperation(){
+                @Override
+                public KieServerHttpRequest doOperation(String url) {
+                   logger.debug("About to send POST request to '{}' with streamed payload of type '{}'", url, bodyObject.getClass().getName());
+                   return newRequest( url ).headers(headers).body(bodyObject, marshaller).post();
+                }
+            });
+            response = request.response();
+        } catch ( MarshallingException e ) {
+            // same failure as when the entity is serialized upfront
+            throw new KieServicesException( "Error while serializing request data!", e );
+        }
+
+        owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
+
+        if (response.code() == status.getStatusCode()) {
+            ServiceResponse<T> serviceResponse = deserialize( response.stream(), ServiceResponse.class );
+            checkResultType( serviceResponse, resultType );
+            return serviceResponse;
+        } else {
+            throw createExceptionForUnexpectedResponseCode( request, response );
+        }
     }
 
     protected <T> ServiceResponse<T> makeHttpPostRequestAndCreateServiceResponse(String uri, String body, Class<T> resultType) {
@@ -331,7 +424,7 @@ public abstract class AbstractKieServicesClientImpl {
         owner.setConversationId(response.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER));
 
         if (response.code() == status.getStatusCode()) {
-            ServiceResponse<T> serviceResponse = deserialize( response.body(), ServiceResponse.class );
+            ServiceResponse<T> serviceResponse = deserialize( response.stream(), ServiceResponse.class );
             checkResultType( serviceResponse, resultType );
             return serviceResponse;
         } else {
@@ -502,6 +595,11 @@ public abstract class AbstractKieServicesClientImpl {
             }
         }
         httpRequest.clientCertificate(config.getClientCertificate());
+        httpRequest.connectionFactory(config.getHttpConnectionFactory());
+        httpRequest.httpClient(config.getHttpClient());
+        if (config.isCompressionEnabled()) {
+            httpRequest.acceptEncoding(KieServerHttpRequest.ENCODING_GZIP).setUncompress(true);
+        }
         // apply conversationId
         if (owner.getConversationId() != null) {
             httpRequest.header(KieServerConstants.KIE_CONVERSATION_ID_TYPE_HEADER, owner.getConversationId());
@@ -652,6 +750,22 @@ public abstract class AbstractKieServicesClientImpl {
         }
     }
 
+    protected <T> T deserialize(InputStream content, Class<T> type) {
+        logger.debug("About to deserialize streamed content into type: '{}'", type);
+        try (PushbackInputStream input = new PushbackInputStream(content)) {
+            int first = input.read();
+            if (first == -1) {
+                return null;
+            }
+            input.unread(first);
+            return marshaller.unmarshall(input, type);
+        } catch ( MarshallingException e ) {
+            throw new KieServicesException( "Error while deserializing data received from server!", e );
+        } catch ( IOException e ) {
+            throw new KieServicesException( "Error while reading data received from server!", e );
+        }
+    }
+
     /**
      * Checks whether the specified {@code ServiceResponse} contains the expected result type. In case the type is different,
      * {@code KieServicesClientException} is thrown. This catches the errors early, before returning the result from the client.
@@ -875,8 +989,15 @@ public abstract class AbstractKieServicesClientImpl {
         String currentUrl = url;
         String nextHost = null;
         do {
+            String requestUrl = currentUrl;
+            long start = System.nanoTime();
+            loadBalancer.requestStarted(requestUrl);
+            boolean responded = false;
             try {
-                return operation.doOperation(currentUrl);
+                KieServerHttpRequest request = operation.doOperation(requestUrl);
+                loadBalancer.requestCompleted(requestUrl, System.nanoTime() - start);
+                responded = true;
+                return request;
             } catch (KieServerHttpRequestException e) {
                 if (e.getCause() instanceof IOException) {
                     String failedBaseUrl = loadBalancer.markAsFailed(currentUrl);
@@ -892,6 +1013,10 @@ public abstract class AbstractKieServicesClientImpl {
                 } else {
                     throw e;
                 }
+            } finally {
+                if (!responded) {
+                    loadBalancer.requestFailed(requestUrl);
+                }
             }
         } while (nextHost != null);
 
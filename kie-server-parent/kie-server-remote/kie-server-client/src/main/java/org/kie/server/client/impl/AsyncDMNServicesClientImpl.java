@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.client.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.client.AsyncDMNServicesClient;
+
+import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.DMN_URI;
+import static org.kie.server.api.rest.RestURI.build;
+
+public class AsyncDMNServicesClientImpl extends AbstractAsyncKieServicesClientImpl implements AsyncDMNServicesClient {
+
+    public AsyncDMNServicesClientImpl(DMNServicesClientImpl servicesClient, HttpAsyncClient httpClient) {
+        super(servicesClient, httpClient);
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse<DMNResult>> evaluateAll(String containerId, String namespace, String modelName, DMNContext dmnContext) {
+        DMNContextKS payload = new DMNContextKS(namespace, modelName, dmnContext.getAll());
+        return evaluateDecisions(containerId, payload);
+    }
+
+    @Override
+    public CompletableFuture<ServiceResponse<DMNResult>> evaluateDecisionByName(String containerId, String namespace, String modelName, String decisionName, DMNContext dmnContext) {
+        Objects.requireNonNull(decisionName, "Parameter decisionName cannot be null; method evaluateAll() can be used to avoid the need of supplying decisionName");
+        DMNContextKS payload = new DMNContextKS(namespace, modelName, dmnContext.getAll());
+        payload.setDecisionNames(Collections.singletonList(decisionName));
+        return evaluateDecisions(containerId, payload);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CompletableFuture<ServiceResponse<DMNResult>> evaluateDecisions(String containerId, DMNContextKS payload) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+
+        CompletableFuture<ServiceResponse<DMNResultKS>> result = makeAsyncPostRequestAndCreateServiceResponse(
+                () -> build(loadBalancer.getUrl(), DMN_URI, valuesMap), payload, DMNResultKS.class, new HashMap<String, String>());
+        return (CompletableFuture) result.thenApply(response -> {
+            // coerce numbers to BigDecimal as per DMN spec, same as synchronous client
+            if (config.getMarshallingFormat() == MarshallingFormat.JSON && response.getResult() != null) {
+                DMNServicesClientImpl.coerceNumbers(response.getResult());
+            }
+            return response;
+        });
+    }
+}
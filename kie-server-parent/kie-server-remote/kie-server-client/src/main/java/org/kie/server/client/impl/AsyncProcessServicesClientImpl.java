@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.client.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.kie.server.api.model.Wrapped;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.client.AsyncProcessServicesClient;
+
+import static org.kie.server.api.rest.RestURI.ABORT_PROCESS_INST_DEL_URI;
+import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.PROCESS_ID;
+import static org.kie.server.api.rest.RestURI.PROCESS_INSTANCE_GET_URI;
+import static org.kie.server.api.rest.RestURI.PROCESS_INST_ID;
+import static org.kie.server.api.rest.RestURI.PROCESS_URI;
+import static org.kie.server.api.rest.RestURI.SIGNAL_NAME;
+import static org.kie.server.api.rest.RestURI.SIGNAL_PROCESS_INST_POST_URI;
+import static org.kie.server.api.rest.RestURI.START_PROCESS_POST_URI;
+import static org.kie.server.api.rest.RestURI.build;
+
+public class AsyncProcessServicesClientImpl extends AbstractAsyncKieServicesClientImpl implements AsyncProcessServicesClient {
+
+    public AsyncProcessServicesClientImpl(ProcessServicesClientImpl servicesClient, HttpAsyncClient httpClient) {
+        super(servicesClient, httpClient);
+    }
+
+    @Override
+    public CompletableFuture<Long> startProcess(String containerId, String processId) {
+        return startProcess(containerId, processId, new HashMap<String, Object>());
+    }
+
+    @Override
+    public CompletableFuture<Long> startProcess(String containerId, String processId, Map<String, Object> variables) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+        valuesMap.put(PROCESS_ID, processId);
+
+        return makeAsyncPostRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), PROCESS_URI + "/" + START_PROCESS_POST_URI, valuesMap), variables,
+                Object.class, new HashMap<String, String>())
+                .thenApply(result -> result instanceof Wrapped ? (Long) ((Wrapped) result).unwrap() : ((Number) result).longValue());
+    }
+
+    @Override
+    public CompletableFuture<Void> abortProcessInstance(String containerId, Long processInstanceId) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+        valuesMap.put(PROCESS_INST_ID, processInstanceId);
+
+        return makeAsyncDeleteRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), PROCESS_URI + "/" + ABORT_PROCESS_INST_DEL_URI, valuesMap), (Class<Void>) null);
+    }
+
+    @Override
+    public CompletableFuture<Void> signalProcessInstance(String containerId, Long processInstanceId, String signalName, Object event) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+        valuesMap.put(PROCESS_INST_ID, processInstanceId);
+        valuesMap.put(SIGNAL_NAME, signalName);
+
+        return makeAsyncPostRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), PROCESS_URI + "/" + SIGNAL_PROCESS_INST_POST_URI, valuesMap), event,
+                String.class, new HashMap<String, String>())
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public CompletableFuture<ProcessInstance> getProcessInstance(String containerId, Long processInstanceId) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+        valuesMap.put(PROCESS_INST_ID, processInstanceId);
+
+        return makeAsyncGetRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), PROCESS_URI + "/" + PROCESS_INSTANCE_GET_URI, valuesMap), ProcessInstance.class);
+    }
+}
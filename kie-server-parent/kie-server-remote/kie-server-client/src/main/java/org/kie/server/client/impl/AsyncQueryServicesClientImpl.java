@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.client.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.client.AsyncQueryServicesClient;
+
+import static org.kie.server.api.rest.RestURI.PROCESS_INSTANCE_BY_INSTANCE_ID_GET_URI;
+import static org.kie.server.api.rest.RestURI.PROCESS_INST_ID;
+import static org.kie.server.api.rest.RestURI.QUERY_URI;
+import static org.kie.server.api.rest.RestURI.build;
+
+public class AsyncQueryServicesClientImpl extends AbstractAsyncKieServicesClientImpl implements AsyncQueryServicesClient {
+
+    public AsyncQueryServicesClientImpl(QueryServicesClientImpl servicesClient, HttpAsyncClient httpClient) {
+        super(servicesClient, httpClient);
+    }
+
+    @Override
+    public CompletableFuture<ProcessInstance> findProcessInstanceById(Long processInstanceId) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(PROCESS_INST_ID, processInstanceId);
+
+        return makeAsyncGetRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), QUERY_URI + "/" + PROCESS_INSTANCE_BY_INSTANCE_ID_GET_URI, valuesMap), ProcessInstance.class);
+    }
+}
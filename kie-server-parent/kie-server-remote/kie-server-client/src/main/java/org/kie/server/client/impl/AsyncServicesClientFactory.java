@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.client.impl;
+
+import java.io.IOException;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.client.AsyncDMNServicesClient;
+import org.kie.server.client.AsyncProcessServicesClient;
+import org.kie.server.client.AsyncQueryServicesClient;
+import org.kie.server.client.AsyncRuleServicesClient;
+import org.kie.server.client.AsyncUserTaskServicesClient;
+import org.kie.server.client.DMNServicesClient;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.KieServicesConfiguration;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.QueryServicesClient;
+import org.kie.server.client.RuleServicesClient;
+import org.kie.server.client.UserTaskServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates asynchronous services clients of a {@link KieServicesClientImpl} on top of their synchronous counterparts
+ * and owns the non blocking HTTP client they share. Kept apart from {@link KieServicesClientImpl} so that the optional
+ * httpasyncclient dependency is needed only once asynchronous clients are used.
+ */
+final class AsyncServicesClientFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncServicesClientFactory.class);
+
+    private final CloseableHttpAsyncClient httpClient;
+
+    private AsyncServicesClientFactory(CloseableHttpAsyncClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    static AsyncServicesClientFactory create(KieServicesConfiguration config) {
+        try {
+            return new AsyncServicesClientFactory(AbstractAsyncKieServicesClientImpl.newHttpClient(config));
+        } catch (NoClassDefFoundError e) {
+            throw new KieServicesException("Asynchronous services clients require org.apache.httpcomponents:httpasyncclient on classpath", e);
+        }
+    }
+
+    Object newAsyncServicesClient(Class<?> asyncServicesClient, KieServicesClient client) {
+        if (asyncServicesClient == AsyncProcessServicesClient.class) {
+            return new AsyncProcessServicesClientImpl(servicesClient(client, ProcessServicesClient.class, ProcessServicesClientImpl.class), httpClient);
+        } else if (asyncServicesClient == AsyncUserTaskServicesClient.class) {
+            return new AsyncUserTaskServicesClientImpl(servicesClient(client, UserTaskServicesClient.class, UserTaskServicesClientImpl.class), httpClient);
+        } else if (asyncServicesClient == AsyncQueryServicesClient.class) {
+            return new AsyncQueryServicesClientImpl(servicesClient(client, QueryServicesClient.class, QueryServicesClientImpl.class), httpClient);
+        } else if (asyncServicesClient == AsyncRuleServicesClient.class) {
+            return new AsyncRuleServicesClientImpl(servicesClient(client, RuleServicesClient.class, RuleServicesClientImpl.class), httpClient);
+        } else if (asyncServicesClient == AsyncDMNServicesClient.class) {
+            return new AsyncDMNServicesClientImpl(servicesClient(client, DMNServicesClient.class, DMNServicesClientImpl.class), httpClient);
+        }
+        throw new KieServicesException("There is no asynchronous services client of type " + asyncServicesClient.getSimpleName());
+    }
+
+    /**
+     * Synchronous counterpart is looked up from the client, so asynchronous client is available only when the server
+     * has capability to handle it.
+     */
+    private static <T> T servicesClient(KieServicesClient client, Class<?> servicesClientType, Class<T> servicesClientImpl) {
+        Object servicesClient = client.getServicesClient(servicesClientType);
+        if (!servicesClientImpl.isInstance(servicesClient)) {
+            throw new KieServicesException("Asynchronous client of " + servicesClientType.getSimpleName() + " is not supported by " + servicesClient.getClass().getName());
+        }
+        return servicesClientImpl.cast(servicesClient);
+    }
+
+    void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Error while closing asynchronous HTTP client", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.client.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.client.AsyncUserTaskServicesClient;
+
+import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_CLAIM_PUT_URI;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_COMPLETE_PUT_URI;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_GET_URI;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_ID;
+import static org.kie.server.api.rest.RestURI.TASK_INSTANCE_START_PUT_URI;
+import static org.kie.server.api.rest.RestURI.TASK_URI;
+import static org.kie.server.api.rest.RestURI.build;
+
+public class AsyncUserTaskServicesClientImpl extends AbstractAsyncKieServicesClientImpl implements AsyncUserTaskServicesClient {
+
+    public AsyncUserTaskServicesClientImpl(UserTaskServicesClientImpl servicesClient, HttpAsyncClient httpClient) {
+        super(servicesClient, httpClient);
+    }
+
+    @Override
+    public CompletableFuture<Void> claimTask(String containerId, Long taskId, String userId) {
+        return sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_CLAIM_PUT_URI, userId, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> startTask(String containerId, Long taskId, String userId) {
+        return sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_START_PUT_URI, userId, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> completeTask(String containerId, Long taskId, String userId, Map<String, Object> params) {
+        return sendTaskOperation(containerId, taskId, TASK_URI + "/" + TASK_INSTANCE_COMPLETE_PUT_URI, userId, params);
+    }
+
+    @Override
+    public CompletableFuture<TaskInstance> getTaskInstance(String containerId, Long taskId) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+        valuesMap.put(TASK_INSTANCE_ID, taskId);
+
+        return makeAsyncGetRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), TASK_URI + "/" + TASK_INSTANCE_GET_URI, valuesMap), TaskInstance.class);
+    }
+
+    private CompletableFuture<Void> sendTaskOperation(String containerId, Long taskId, String operation, String userId, Object data) {
+        Map<String, Object> valuesMap = new HashMap<String, Object>();
+        valuesMap.put(CONTAINER_ID, containerId);
+        valuesMap.put(TASK_INSTANCE_ID, taskId);
+
+        return makeAsyncPutRequestAndCreateCustomResponse(
+                () -> build(loadBalancer.getUrl(), operation, valuesMap) + servicesClient.getUserQueryStr(userId), data,
+                String.class, servicesClient.getHeaders(null))
+                .thenApply(result -> null);
+    }
+}
@@ -18,6 +18,7 @@ package org.kie.server.client.impl;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,13 +41,16 @@ import org.kie.server.api.model.KieServerCommand;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.Wrapped;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionResultKS;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.client.DMNServicesClient;
 import org.kie.server.client.KieServicesConfiguration;
 
 import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
+import static org.kie.server.api.rest.RestURI.DMN_BATCH_URI;
 import static org.kie.server.api.rest.RestURI.DMN_URI;
 import static org.kie.server.api.rest.RestURI.build;
 
@@ -152,16 +156,70 @@ public class DMNServicesClientImpl extends AbstractKieServicesClientImpl impleme
             // alternative to the below will require instructing special config of kie-server JSONMarshaller
             // to manage scalar values when deserializing from JSON always as a BigDecimal instead of default Jackson NumberDeserializers
             if ( config.getMarshallingFormat() == MarshallingFormat.JSON ) {
-                recurseAndModifyByCoercingNumbers(result2.getResult().getContext());
-                for ( DMNDecisionResult dr : result2.getResult().getDecisionResults() ) {
-                    DMNDecisionResultKS drKS = (DMNDecisionResultKS) dr;
-                    drKS.setResult(recurseAndModifyByCoercingNumbers( dr.getResult() ));
-                }
+                coerceNumbers(result2.getResult());
             }
             
             return result2;
         }
         
+        @Override
+        public ServiceResponse<List<DMNResult>> evaluateAllBatch(String containerId, String namespace, String modelName, List<DMNContext> dmnContexts) {
+            List<DMNContextKS> payloads = new ArrayList<>(dmnContexts.size());
+            for (DMNContext dmnContext : dmnContexts) {
+                payloads.add(new DMNContextKS(namespace, modelName, dmnContext.getAll()));
+            }
+            return evaluateDecisionsBatch(containerId, payloads);
+        }
+
+        /**
+         * Please notice this method is NOT exposed to the API interface.
+         */
+        // DO NOT ADD @Override
+        public ServiceResponse<List<DMNResult>> evaluateDecisionsBatch(String containerId, List<DMNContextKS> payloads) {
+            ServiceResponse<DMNResultKSList> result = null;
+            if( config.isRest() ) {
+                Map<String, Object> valuesMap = new HashMap<String, Object>();
+                valuesMap.put(CONTAINER_ID, containerId);
+
+                result = makeHttpPostRequestAndCreateServiceResponse(
+                        build(loadBalancer.getUrl(), DMN_URI + "/" + DMN_BATCH_URI, valuesMap), new DMNContextKSList(payloads), DMNResultKSList.class);
+
+            } else {
+                CommandScript script = new CommandScript( Collections.singletonList(
+                        (KieServerCommand) new DescriptorCommand("DMNService", "evaluateDecisionsBatch", serialize(new DMNContextKSList(payloads)), marshaller.getFormat().getType(), new Object[]{containerId})) );
+                result = (ServiceResponse<DMNResultKSList>) executeJmsCommand( script, DescriptorCommand.class.getName(), KieServerConstants.CAPABILITY_DMN, containerId ).getResponses().get(0);
+
+                throwExceptionOnFailure( result );
+                if (shouldReturnWithNullResponse(result)) {
+                    return null;
+                }
+            }
+
+            if (result instanceof Wrapped) {
+                result = (ServiceResponse<DMNResultKSList>) ((Wrapped) result).unwrap();
+            }
+
+            List<DMNResult> results = new ArrayList<>();
+            if (result.getResult() != null) {
+                for (DMNResultKS dmnResult : result.getResult().getResults()) {
+                    // coerce numbers to BigDecimal as per DMN spec, same as for single evaluation
+                    if ( config.getMarshallingFormat() == MarshallingFormat.JSON ) {
+                        coerceNumbers(dmnResult);
+                    }
+                    results.add(dmnResult);
+                }
+            }
+            return new ServiceResponse<List<DMNResult>>(result.getType(), result.getMsg(), results);
+        }
+
+        static void coerceNumbers(DMNResult dmnResult) {
+            recurseAndModifyByCoercingNumbers(dmnResult.getContext());
+            for ( DMNDecisionResult dr : dmnResult.getDecisionResults() ) {
+                DMNDecisionResultKS drKS = (DMNDecisionResultKS) dr;
+                drKS.setResult(recurseAndModifyByCoercingNumbers( dr.getResult() ));
+            }
+        }
+
         private static Object recurseAndModifyByCoercingNumbers(Object result) {
             if ( result instanceof DMNContext ) {
                 DMNContext ctx = (DMNContext) result;
@@ -15,6 +15,7 @@
 
 package org.kie.server.client.impl;
 
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -138,6 +139,67 @@ public class DocumentServicesClientImpl extends AbstractKieServicesClientImpl im
         }
     }
 
+    @Override
+    public String createDocument(String name, InputStream content, long size) {
+        if( config.isRest() ) {
+
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+
+            Object result = makeHttpRequestWithStreamAndCreateCustomResponse(
+                    build(loadBalancer.getUrl(), DOCUMENT_URI, valuesMap) + "?name=" + encode(name), content, size, false, Object.class);
+
+            if (result instanceof Wrapped) {
+                return (String) ((Wrapped) result).unwrap();
+            }
+            return (String) result;
+        } else {
+            throw new UnsupportedOperationException("JMS Not supported for this operation");
+        }
+    }
+
+    @Override
+    public void updateDocumentContent(String identifier, InputStream content, long size) {
+        if( config.isRest() ) {
+
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+            valuesMap.put(DOCUMENT_ID, identifier);
+
+            makeHttpRequestWithStreamAndCreateCustomResponse(
+                    build(loadBalancer.getUrl(), DOCUMENT_URI + "/" + DOCUMENT_INSTANCE_CONTENT_PUT_URI, valuesMap), content, size, true, Object.class);
+
+        } else {
+            throw new UnsupportedOperationException("JMS Not supported for this operation");
+        }
+    }
+
+    @Override
+    public InputStream getDocumentContent(String identifier) {
+        return getDocumentContent(identifier, 0, -1);
+    }
+
+    @Override
+    public InputStream getDocumentContent(String identifier, long offset, long length) {
+        if (offset < 0 || length == 0 || length < -1) {
+            throw new IllegalArgumentException("Invalid range of document content - offset " + offset + ", length " + length);
+        }
+        if( config.isRest() ) {
+
+            Map<String, Object> valuesMap = new HashMap<String, Object>();
+            valuesMap.put(DOCUMENT_ID, identifier);
+
+            Map<String, String> headers = new HashMap<String, String>();
+            if (offset > 0 || length >= 0) {
+                headers.put("Range", "bytes=" + offset + "-" + (length >= 0 ? String.valueOf(offset + length - 1) : ""));
+            }
+
+            return makeHttpGetRequestAndCreateStreamResponse(
+                    build(loadBalancer.getUrl(), DOCUMENT_URI + "/" + DOCUMENT_INSTANCE_CONTENT_GET_URI, valuesMap), headers);
+
+        } else {
+            throw new UnsupportedOperationException("JMS Not supported for this operation");
+        }
+    }
+
     @Override
     public List<DocumentInstance> listDocuments(Integer page, Integer pageSize) {
         DocumentInstanceList result = null;
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.ws.rs.core.Response.Status;
 
@@ -67,10 +68,12 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
     private static final ServiceLoader<KieServicesClientBuilder> clientBuilders = ServiceLoader.load(KieServicesClientBuilder.class, KieServicesClientImpl.class.getClassLoader());
     private static List<KieServicesClientBuilder> loadedClientBuilders = loadClientBuilders();   // load it only once to make sure it's thread safe
 
-    private String conversationId;
+    private final AtomicReference<String> conversationId = new AtomicReference<>();
 
     private KieServerInfo kieServerInfo;
     private Map<Class<?>, Object> servicesClients = new HashMap<Class<?>, Object>();
+    private Map<Class<?>, Object> asyncServicesClients = new HashMap<Class<?>, Object>();
+    private AsyncServicesClientFactory asyncServicesClientFactory;
 
     public KieServicesClientImpl(KieServicesConfiguration config) {
         super(config);
@@ -160,6 +163,23 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
         throw new KieServicesException("Server that this client is connected to has no capabilities to handle " + serviceClient.getSimpleName());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized <T> T getAsyncServicesClient(Class<T> asyncServicesClient) {
+        if (!config.isRest()) {
+            throw new KieServicesException("Asynchronous services clients are available only for REST transport");
+        }
+        Object client = asyncServicesClients.get(asyncServicesClient);
+        if (client == null) {
+            if (asyncServicesClientFactory == null) {
+                asyncServicesClientFactory = AsyncServicesClientFactory.create(config);
+            }
+            client = asyncServicesClientFactory.newAsyncServicesClient(asyncServicesClient, this);
+            asyncServicesClients.put(asyncServicesClient, client);
+        }
+        return (T) client;
+    }
+
     @Override
     public ServiceResponse<KieServerInfo> getServerInfo() {
         if( config.isRest() ) {
@@ -328,6 +348,13 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
                 ((AbstractKieServicesClientImpl) serviceClient).close();
             }
         }
+        synchronized (this) {
+            if (asyncServicesClientFactory != null) {
+                asyncServicesClientFactory.close();
+                asyncServicesClientFactory = null;
+            }
+            asyncServicesClients.clear();
+        }
     }
 
     // for backward compatibility reason
@@ -391,17 +418,27 @@ public class KieServicesClientImpl extends AbstractKieServicesClientImpl impleme
 
     @Override
     public String getConversationId() {
-        return conversationId;
+        return conversationId.get();
     }
 
     @Override
     public void completeConversation() {
-        conversationId = null;
+        conversationId.set(null);
     }
 
     public void setConversationId(String conversationId) {
         if (conversationId != null) {
-            this.conversationId = conversationId;
+            this.conversationId.set(conversationId);
+        }
+    }
+
+    /**
+     * Conversation started by a response of asynchronous request is followed only when the client is not part
+     * of any conversation yet, so concurrent requests do not overwrite each other's conversation.
+     */
+    void adoptConversationId(String conversationId) {
+        if (conversationId != null) {
+            this.conversationId.compareAndSet(null, conversationId);
         }
     }
 
@@ -34,6 +34,8 @@ import org.kie.server.client.credentials.EnteredCredentialsProvider;
 import org.kie.server.client.jms.RequestReplyResponseHandler;
 import org.kie.server.client.jms.ResponseHandler;
 import org.kie.server.common.rest.ClientCertificate;
+import org.kie.server.common.rest.KieServerHttpClient;
+import org.kie.server.common.rest.KieServerHttpRequest;
 
 /**
  * In order to protect the Remote (Java) API, this class may not be extended nor may its constructor be made public.
@@ -56,6 +58,9 @@ public final class KieServicesConfigurationImpl
     private String password;
     private String serverUrl;
     private ClientCertificate clientCertificate;
+    private KieServerHttpRequest.ConnectionFactory httpConnectionFactory;
+    private KieServerHttpClient httpClient;
+    private boolean compressionEnabled = false;
 
     private List<String> capabilities;
 
@@ -350,6 +355,39 @@ public final class KieServicesConfigurationImpl
         return this;
     }
 
+    @Override
+    public KieServerHttpRequest.ConnectionFactory getHttpConnectionFactory() {
+        return httpConnectionFactory;
+    }
+
+    @Override
+    public KieServicesConfiguration setHttpConnectionFactory(KieServerHttpRequest.ConnectionFactory httpConnectionFactory) {
+        this.httpConnectionFactory = httpConnectionFactory;
+        return this;
+    }
+
+    @Override
+    public KieServerHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public KieServicesConfiguration setHttpClient(KieServerHttpClient httpClient) {
+        this.httpClient = httpClient;
+        return this;
+    }
+
+    @Override
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    @Override
+    public KieServicesConfiguration setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+        return this;
+    }
+
     @Override
     public KieServicesConfiguration setExtraClasses(Set<Class<?>> extraJaxbClasses) {
         this.extraClasses.clear();
@@ -464,6 +502,9 @@ public final class KieServicesConfigurationImpl
         this.jmsTransactional = config.jmsTransactional;
         this.headers = config.headers;
         this.clientCertificate = config.clientCertificate;
+        this.httpConnectionFactory = config.httpConnectionFactory;
+        this.httpClient = config.httpClient;
+        this.compressionEnabled = config.compressionEnabled;
     }
 
     @Override
@@ -15,13 +15,18 @@
 
 package org.kie.server.client;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
+import org.kie.server.api.exception.KieServicesException;
+import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerResourceList;
@@ -29,6 +34,8 @@ import org.kie.server.api.model.KieContainerStatus;
 import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.client.balancer.BalancerStrategy;
 import org.kie.server.client.balancer.LoadBalancer;
 import org.kie.server.client.credentials.EnteredTokenCredentialsProvider;
 import org.kie.server.common.rest.ClientCertificate;
@@ -363,6 +370,100 @@ public class KieServicesClientTest extends BaseKieServicesClientTest {
         
     }
 
+    @Test
+    public void testAsyncProcessServicesClient() throws Exception {
+        stubFor(post(urlEqualTo("/containers/" + CONTAINER_ID + "/processes/evaluation/instances"))
+                .withHeader("Accept", equalTo("application/json"))
+                .withHeader("X-KIE-ContentType", equalTo("JSON"))
+                .withRequestBody(equalToJson("{\"employee\" : \"john\"}"))
+                .willReturn(aResponse()
+                        .withStatus(201)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("X-KIE-ConversationId", "conversation-1")
+                        .withBody("10")));
+
+        KieServicesConfiguration asyncConfig = config.clone();
+        asyncConfig.setMarshallingFormat(MarshallingFormat.JSON);
+        asyncConfig.setCapabilities(Arrays.asList("KieServer", "BPM"));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(asyncConfig);
+        try {
+            AsyncProcessServicesClient processClient = client.getAsyncServicesClient(AsyncProcessServicesClient.class);
+            assertSame(processClient, client.getAsyncServicesClient(AsyncProcessServicesClient.class));
+
+            Long processInstanceId = processClient.startProcess(CONTAINER_ID, "evaluation", Collections.singletonMap("employee", "john"))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(10L, processInstanceId.longValue());
+            // conversation started by the response is followed as the client had none
+            assertEquals("conversation-1", client.getConversationId());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAsyncServicesClientUnexpectedResponse() throws Exception {
+        stubFor(delete(urlEqualTo("/containers/" + CONTAINER_ID + "/processes/instances/5"))
+                .willReturn(aResponse()
+                        .withStatus(404)
+                        .withBody("Could not find process instance with id 5")));
+
+        KieServicesConfiguration asyncConfig = config.clone();
+        asyncConfig.setCapabilities(Arrays.asList("KieServer", "BPM"));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(asyncConfig);
+        try {
+            CompletableFuture<Void> aborted = client.getAsyncServicesClient(AsyncProcessServicesClient.class).abortProcessInstance(CONTAINER_ID, 5L);
+            Assertions.assertThatThrownBy(() -> aborted.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(KieServicesHttpException.class)
+                    .hasMessageContaining("Could not find process instance with id 5");
+            assertEquals(404, ((KieServicesHttpException) Assertions.catchThrowable(aborted::join).getCause()).getHttpCode().intValue());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAsyncServicesClientFailsOver() throws Exception {
+        stubFor(get(urlEqualTo("/queries/processes/instances/5"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/xml")
+                        .withBody("<process-instance>\n" +
+                                  "  <process-instance-id>5</process-instance-id>\n" +
+                                  "  <process-id>evaluation</process-id>\n" +
+                                  "</process-instance>")));
+
+        String unavailableServerUri = "http://localhost:" + findFreePort();
+        KieServicesConfiguration asyncConfig = config.clone();
+        asyncConfig.setServerUrl(unavailableServerUri + "|" + mockServerBaseUri);
+        asyncConfig.setLoadBalancer(LoadBalancer.forStrategy(asyncConfig.getServerUrl(), BalancerStrategy.Type.ROUND_ROBIN_STRATEGY));
+        asyncConfig.setCapabilities(Arrays.asList("KieServer", "BPM"));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(asyncConfig);
+        try {
+            ProcessInstance processInstance = client.getAsyncServicesClient(AsyncQueryServicesClient.class).findProcessInstanceById(5L)
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(5L, processInstance.getId().longValue());
+            assertEquals("evaluation", processInstance.getProcessId());
+            assertEquals(Collections.singletonList(unavailableServerUri), asyncConfig.getLoadBalancer().getFailedEndpoints());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAsyncServicesClientWithoutCapability() {
+        KieServicesConfiguration asyncConfig = config.clone();
+        asyncConfig.setCapabilities(Arrays.asList("KieServer", "BRM"));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(asyncConfig);
+        try {
+            assertNotNull(client.getAsyncServicesClient(AsyncRuleServicesClient.class));
+            Assertions.assertThatThrownBy(() -> client.getAsyncServicesClient(AsyncProcessServicesClient.class))
+                    .isInstanceOf(KieServicesException.class)
+                    .hasMessageContaining("ProcessServicesClient");
+        } finally {
+            client.close();
+        }
+    }
+
     // TODO create more tests for other operations
 
     private void assertSuccess(ServiceResponse<?> response) {
@@ -33,6 +33,7 @@ import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.client.admin.ProcessAdminServicesClient;
 import org.kie.server.client.balancer.BalancerStrategy;
 import org.kie.server.client.balancer.LoadBalancer;
+import org.kie.server.client.balancer.impl.LeastOutstandingBalancerStrategy;
 import org.kie.server.client.balancer.impl.RoundRobinBalancerStrategy;
 import org.kie.server.client.impl.AbstractKieServicesClientImpl;
 import org.kie.server.common.rest.KieServerHttpRequestException;
@@ -182,6 +183,147 @@ public class LoadBalancerClientTest {
 //        assertEquals("Server version", "3", response.getResult().getVersion());
     }
 
+    @Test
+    public void testLeastOutstandingLoadBalancer() {
+        wireMockServer1.stubFor(get(urlEqualTo("/"))
+                .withHeader("Accept", equalTo("application/xml"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(500)
+                        .withHeader("Content-Type", "application/xml")
+                        .withBody("<response type=\"SUCCESS\" msg=\"Kie Server info\">\n" +
+                                "  <kie-server-info>\n" +
+                                "    <version>1</version>\n" +
+                                "  </kie-server-info>\n" +
+                                "</response>")));
+        config.setLoadBalancer(LoadBalancer.forStrategy(config.getServerUrl(), BalancerStrategy.Type.LEAST_OUTSTANDING_STRATEGY));
+        KieServicesClient client = KieServicesFactory.newKieServicesClient(config);
+
+        List<String> available = ((AbstractKieServicesClientImpl)client).getLoadBalancer().getAvailableEndpoints();
+        assertNotNull(available);
+        assertEquals(3, available.size());
+
+        // every endpoint is measured first
+        for (int i = 0; i < 3; i++) {
+            assertSuccess(client.getServerInfo());
+        }
+        // then the slow one is avoided
+        for (int i = 0; i < 4; i++) {
+            ServiceResponse<KieServerInfo> response = client.getServerInfo();
+            assertSuccess(response);
+            assertTrue("Slow server selected", !"1".equals(response.getResult().getVersion()));
+        }
+    }
+
+    @Test
+    public void testHealthCheckRemovesUnavailableServer() throws Exception {
+        LoadBalancer loadBalancer = LoadBalancer.forStrategy(config.getServerUrl(), BalancerStrategy.Type.ROUND_ROBIN_STRATEGY);
+        try {
+            loadBalancer.enableHealthCheck(100, 500, 0);
+            assertEquals(3, loadBalancer.getAvailableEndpoints().size());
+
+            wireMockServer2.stop();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (loadBalancer.getAvailableEndpoints().size() > 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(2, loadBalancer.getAvailableEndpoints().size());
+            assertTrue(loadBalancer.getFailedEndpoints().contains(mockServerBaseUri2));
+        } finally {
+            loadBalancer.close();
+        }
+    }
+
+    @Test
+    public void testLeastOutstandingLoadBalancerFailedRequest() {
+        LeastOutstandingBalancerStrategy strategy = new LeastOutstandingBalancerStrategy(Arrays.asList(mockServerBaseUri1, mockServerBaseUri2));
+
+        strategy.requestStarted(mockServerBaseUri1 + "/containers");
+        assertEquals(1, strategy.getOutstanding(mockServerBaseUri1));
+
+        strategy.requestFailed(mockServerBaseUri1 + "/containers");
+        assertEquals(0, strategy.getOutstanding(mockServerBaseUri1));
+        // failure says nothing about latency of the endpoint
+        assertEquals(-1, strategy.getAverageLatencyNanos(mockServerBaseUri1), 0);
+    }
+
+    @Test
+    public void testHealthCheckKeepsLastSlowServer() throws Exception {
+        for (WireMockServer server : Arrays.asList(wireMockServer1, wireMockServer2)) {
+            server.stubFor(get(urlEqualTo("/"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withFixedDelay(200)));
+        }
+        LoadBalancer loadBalancer = LoadBalancer.forStrategy(mockServerBaseUri1 + "|" + mockServerBaseUri2, BalancerStrategy.Type.ROUND_ROBIN_STRATEGY);
+        try {
+            loadBalancer.enableHealthCheck(50, 2000, 50);
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (System.currentTimeMillis() < deadline) {
+                assertTrue("Last available server removed", loadBalancer.getAvailableEndpoints().size() > 0);
+                Thread.sleep(10);
+            }
+        } finally {
+            loadBalancer.close();
+        }
+    }
+
+    @Test
+    public void testCheckFailedEndpointsCompletesOnActivation() throws Exception {
+        LoadBalancer loadBalancer = LoadBalancer.forStrategy(config.getServerUrl(), BalancerStrategy.Type.ROUND_ROBIN_STRATEGY);
+        try {
+            loadBalancer.markAsFailed(mockServerBaseUri1);
+            Future<?> first = loadBalancer.checkFailedEndpoints();
+            Future<?> second = loadBalancer.checkFailedEndpoints();
+
+            first.get(5, TimeUnit.SECONDS);
+            assertTrue(first.isDone());
+            assertTrue(second.isDone());
+            assertEquals(3, loadBalancer.getAvailableEndpoints().size());
+
+            // next check waits for next activation
+            loadBalancer.markAsFailed(mockServerBaseUri1);
+            wireMockServer1.stop();
+            Future<?> third = loadBalancer.checkFailedEndpoints();
+            Assertions.assertThat(third.isDone()).isFalse();
+        } finally {
+            loadBalancer.close();
+        }
+    }
+
+    @Test
+    public void testHealthCheckNotDelayedBySlowProbesOfOtherBalancers() throws Exception {
+        // probes of balancers on the first server hang for the whole probe timeout
+        wireMockServer1.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(3000)));
+        LoadBalancer slow1 = LoadBalancer.forStrategy(mockServerBaseUri1, BalancerStrategy.Type.ROUND_ROBIN_STRATEGY);
+        LoadBalancer slow2 = LoadBalancer.forStrategy(mockServerBaseUri1, BalancerStrategy.Type.ROUND_ROBIN_STRATEGY);
+        LoadBalancer loadBalancer = LoadBalancer.forStrategy(mockServerBaseUri2 + "|" + mockServerBaseUri3, BalancerStrategy.Type.ROUND_ROBIN_STRATEGY);
+        try {
+            slow1.enableHealthCheck(10, 5000, 0);
+            slow2.enableHealthCheck(10, 5000, 0);
+            Thread.sleep(200);
+
+            loadBalancer.enableHealthCheck(100, 500, 0);
+            wireMockServer3.stop();
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (loadBalancer.getAvailableEndpoints().size() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(1, loadBalancer.getAvailableEndpoints().size());
+            assertTrue(loadBalancer.getFailedEndpoints().contains(mockServerBaseUri3));
+        } finally {
+            slow1.close();
+            slow2.close();
+            loadBalancer.close();
+        }
+    }
+
     @Test
     public void testDefaultLoadBalancerUnavailableServer() throws Exception {
 
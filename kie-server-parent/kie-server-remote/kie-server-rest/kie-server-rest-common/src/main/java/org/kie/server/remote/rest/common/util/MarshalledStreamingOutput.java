@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Response entity marshalled straight to the response stream. Output is held back until
+ * {@link #COMMIT_THRESHOLD} bytes are marshalled, so a failure of a smaller entity leaves the response
+ * untouched and is either handled by the fallback marshalling or propagated to be answered with an error status.
+ * When the failure comes after part of a bigger entity was already sent, the response is failed with
+ * an {@link IOException} instead of being completed as truncated.
+ */
+public class MarshalledStreamingOutput implements StreamingOutput {
+
+    static final int COMMIT_THRESHOLD = 64 * 1024;
+
+    private final Consumer<OutputStream> marshaller;
+    private final Consumer<OutputStream> fallback;
+
+    public MarshalledStreamingOutput(Consumer<OutputStream> marshaller) {
+        this(marshaller, null);
+    }
+
+    /**
+     * @param fallback marshalling used instead when marshaller fails before anything was sent, might be null
+     */
+    public MarshalledStreamingOutput(Consumer<OutputStream> marshaller, Consumer<OutputStream> fallback) {
+        this.marshaller = marshaller;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        DeferredOutputStream deferred = new DeferredOutputStream(output);
+        try {
+            marshaller.accept(deferred);
+        } catch (RuntimeException e) {
+            if (deferred.isCommitted()) {
+                throw new IOException("Marshalling of response failed after " + deferred.getCommitted() + " bytes were sent", e);
+            }
+            if (fallback == null) {
+                throw e;
+            }
+            deferred = new DeferredOutputStream(output);
+            fallback.accept(deferred);
+        }
+        deferred.commit();
+    }
+
+    private static class DeferredOutputStream extends OutputStream {
+
+        private final OutputStream output;
+        private byte[] buffer = new byte[1024];
+        private int count;
+        private long committed;
+
+        DeferredOutputStream(OutputStream output) {
+            this.output = output;
+        }
+
+        boolean isCommitted() {
+            return committed > 0;
+        }
+
+        long getCommitted() {
+            return committed;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (committed == 0 && count + len <= COMMIT_THRESHOLD) {
+                if (count + len > buffer.length) {
+                    byte[] bigger = new byte[Math.min(COMMIT_THRESHOLD, Math.max(buffer.length * 2, count + len))];
+                    System.arraycopy(buffer, 0, bigger, 0, count);
+                    buffer = bigger;
+                }
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            // entity is too big to be held back, the rest goes straight to the response
+            writeBuffer();
+            output.write(b, off, len);
+            committed += len;
+        }
+
+        /**
+         * Flushes of the marshallers are ignored until the entity is complete or too big to be held back.
+         */
+        @Override
+        public void flush() {
+            // deferred until commit
+        }
+
+        @Override
+        public void close() {
+            // response stream is closed by the container
+        }
+
+        void commit() throws IOException {
+            writeBuffer();
+            output.flush();
+        }
+
+        private void writeBuffer() throws IOException {
+            if (count > 0) {
+                output.write(buffer, 0, count);
+                committed += count;
+                count = 0;
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Locale;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.kie.server.api.ConversationId;
@@ -37,8 +38,10 @@ import org.kie.server.api.model.ReleaseId;
 import org.kie.server.api.model.instance.Aggregatable;
 import org.kie.server.common.rest.RestEasy960Util;
 import org.kie.server.remote.rest.common.Header;
+import org.kie.server.services.api.ContainerLocator;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
 
 public class RestUtils {
@@ -71,11 +74,13 @@ public class RestUtils {
         Variant v = getVariant(headers, responseObj);
         String contentType = getContentType(headers);
 
-        String marshalledResponse;
+        // response is marshalled straight to the response stream once the container writes it
+        StreamingOutput marshalledResponse;
         if (marshallerHelper.getRegistry().getContainer(containerId) == null) {
-            marshalledResponse = marshallerHelper.marshal(contentType, responseObj);
+            marshalledResponse = new MarshalledStreamingOutput(output -> marshallerHelper.marshal(contentType, responseObj, output));
         } else {
-            marshalledResponse = marshallerHelper.marshal(containerId, contentType, responseObj);
+            ContainerLocator locator = ContainerLocatorProvider.get().getLocator();
+            marshalledResponse = new MarshalledStreamingOutput(output -> marshallerHelper.marshal(containerId, contentType, responseObj, output, locator));
         }
         if( status != null ) {
             responseBuilder = Response.status(status).entity(marshalledResponse).variant(v);
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.remote.rest.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MarshalledStreamingOutputTest {
+
+    @Test
+    public void testEntityWritten() throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        byte[] entity = content(MarshalledStreamingOutput.COMMIT_THRESHOLD * 2);
+
+        new MarshalledStreamingOutput(output -> write(output, entity)).write(response);
+
+        assertArrayEquals(entity, response.toByteArray());
+    }
+
+    @Test
+    public void testFallbackWhenNothingWasSent() throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        new MarshalledStreamingOutput(output -> {
+            write(output, "partial".getBytes());
+            throw new IllegalArgumentException("unable to marshal");
+        }, output -> write(output, "fallback".getBytes())).write(response);
+
+        assertEquals("fallback", response.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFailureWhenNothingWasSent() throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            new MarshalledStreamingOutput(output -> {
+                write(output, "partial".getBytes());
+                throw new IllegalArgumentException("unable to marshal");
+            }).write(response);
+        } finally {
+            assertEquals(0, response.size());
+        }
+    }
+
+    @Test
+    public void testFailureAfterResponseWasCommitted() {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            new MarshalledStreamingOutput(output -> {
+                write(output, content(MarshalledStreamingOutput.COMMIT_THRESHOLD + 1));
+                throw new IllegalArgumentException("unable to marshal");
+            }, output -> write(output, "fallback".getBytes())).write(response);
+            fail("Response should fail as it was already committed");
+        } catch (IOException e) {
+            assertEquals(MarshalledStreamingOutput.COMMIT_THRESHOLD + 1, response.size());
+        }
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) 'a');
+        return content;
+    }
+
+    private static void write(OutputStream output, byte[] content) {
+        try {
+            // written in pieces as marshallers do
+            for (int i = 0; i < content.length; i += 1000) {
+                output.write(content, i, Math.min(1000, content.length - i));
+                output.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
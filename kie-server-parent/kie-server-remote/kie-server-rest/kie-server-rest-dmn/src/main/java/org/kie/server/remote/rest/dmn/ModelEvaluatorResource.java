@@ -15,6 +15,7 @@
 
 package org.kie.server.remote.rest.dmn;
 
+import java.io.InputStream;
 import java.text.MessageFormat;
 
 import javax.ws.rs.Consumes;
@@ -26,20 +27,24 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.rest.RestURI;
 import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.dmn.ModelEvaluatorServiceBase;
+import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.server.api.rest.RestURI.CONTAINER_ID;
 import static org.kie.server.api.rest.RestURI.DECISIONSERVICE_ID;
+import static org.kie.server.api.rest.RestURI.DMN_BATCH_URI;
 import static org.kie.server.api.rest.RestURI.DMN_MODEL_DMNRESULT_URI;
 import static org.kie.server.api.rest.RestURI.DMN_MODEL_DS_DMNRESULT_URI;
 import static org.kie.server.api.rest.RestURI.DMN_MODEL_DS_URI;
@@ -81,6 +86,8 @@ public class ModelEvaluatorResource {
 
     public static final Logger LOG = LoggerFactory.getLogger( ModelEvaluatorResource.class );
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private ModelEvaluatorServiceBase modelEvaluatorService;
     private MarshallerHelper  marshallerHelper;
 
@@ -133,14 +140,13 @@ public class ModelEvaluatorResource {
                                       @ApiParam(value = PARAM_CONTAINER_ID_EVAL, required = true, example = EXAMPLE_CONTAINER_ID) @PathParam(CONTAINER_ID) String containerId,
                                       @ApiParam(value = "DMN context to be used while evaluation decisions as DMNContextKS type", required = true,
                                                 examples = @Example(value = {@ExampleProperty(mediaType = MediaType.APPLICATION_JSON, value = EXAMPLE_KIESERVER_POST_REQ_JSON),
-                                                                             @ExampleProperty(mediaType = MediaType.APPLICATION_XML, value = EXAMPLE_KIESERVER_POST_REQ_XML)})) String payload) {
+                                                                             @ExampleProperty(mediaType = MediaType.APPLICATION_XML, value = EXAMPLE_KIESERVER_POST_REQ_XML)})) InputStream payload) {
         LOG.debug( "About to evaluateDecisions() on container {}", containerId );
         Variant v = getVariant( headers );
         Header conversationIdHeader = buildConversationIdHeader(containerId, modelEvaluatorService.getKieServerRegistry(), headers);
         try {
             String contentType = getContentType( headers );
             
-            LOG.debug( "Payload received: {}", payload);
             ServiceResponse<DMNResultKS> result = modelEvaluatorService.evaluateDecisions(containerId, payload, contentType);
             if( result.getType() == ServiceResponse.ResponseType.SUCCESS ) {
                 return createCorrectVariant(marshallerHelper, containerId, result, headers, Response.Status.OK, conversationIdHeader );
@@ -152,6 +158,58 @@ public class ModelEvaluatorResource {
         }
     }
 
+    @ApiOperation(value="Evaluates decisions for each of given inputs, in parallel",
+                  response = ServiceResponse.class, code = 200,
+                  notes = REF_KIESERVER_DMN_API_DOC)
+    @ApiResponses(value = {@ApiResponse(code = 500, message = "Unexpected error"),
+                           @ApiResponse(code = 404, message = "Container not found"),
+                           @ApiResponse(code = 200, response = String.class, message = "Successful response, results are in the same order as given inputs")})
+    @Path(DMN_BATCH_URI)
+    @POST
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response evaluateDecisionsBatch(@javax.ws.rs.core.Context HttpHeaders headers,
+                                           @ApiParam(value = PARAM_CONTAINER_ID_EVAL, required = true, example = EXAMPLE_CONTAINER_ID) @PathParam(CONTAINER_ID) String containerId,
+                                           @ApiParam(value = "DMN contexts to be used while evaluation decisions as DMNContextKSList type", required = true) InputStream payload) {
+        LOG.debug( "About to evaluateDecisionsBatch() on container {}", containerId );
+        Variant v = getVariant( headers );
+        Header conversationIdHeader = buildConversationIdHeader(containerId, modelEvaluatorService.getKieServerRegistry(), headers);
+        try {
+            String contentType = getContentType( headers );
+
+            ServiceResponse<DMNResultKSList> result = modelEvaluatorService.evaluateDecisionsBatch(containerId, payload, contentType);
+            if( result.getType() == ServiceResponse.ResponseType.SUCCESS ) {
+                return createCorrectVariant(marshallerHelper, containerId, result, headers, Response.Status.OK, conversationIdHeader );
+            }
+            return createCorrectVariant(marshallerHelper, containerId, result, headers, Response.Status.NOT_FOUND, conversationIdHeader );
+        }  catch (Exception e) {
+            LOG.error("Unexpected error evaluating batch. Message: '{}'", e.getMessage(), e);
+            return internalServerError(MessageFormat.format( "ERROR", e.getMessage()), v, conversationIdHeader);
+        }
+    }
+
+    @ApiOperation(value="Evaluates decisions for newline delimited JSON stream of inputs, streaming back newline delimited JSON results in the same order",
+                  code = 200,
+                  notes = REF_KIESERVER_DMN_API_DOC)
+    @ApiResponses(value = {@ApiResponse(code = 500, message = "Unexpected error"),
+                           @ApiResponse(code = 404, message = "Container not found")})
+    @Path(DMN_BATCH_URI)
+    @POST
+    @Consumes(APPLICATION_NDJSON)
+    @Produces(APPLICATION_NDJSON)
+    public Response evaluateDecisionsStream(@ApiParam(value = PARAM_CONTAINER_ID_EVAL, required = true, example = EXAMPLE_CONTAINER_ID) @PathParam(CONTAINER_ID) String containerId,
+                                            @ApiParam(value = "DMN contexts, one DMNContextKS JSON document per line", required = true) InputStream payload) {
+        LOG.debug( "About to evaluateDecisionsStream() on container {}", containerId );
+        try {
+            // fail fast, once streaming starts errors can only be reported per item
+            modelEvaluatorService.getKieServerRegistry().getContainer(containerId, ContainerLocatorProvider.get().getLocator());
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
+        }
+        StreamingOutput output = out -> modelEvaluatorService.evaluateDecisionsStream(containerId, payload, out);
+        return Response.ok(output, APPLICATION_NDJSON).build();
+    }
+
     @Path(DMN_MODEL_URI)
     @ApiOperation(value = MODEL_SPECIFIC_DMN_EVALUATION_EP,
                   notes = REF_TE)
@@ -15,6 +15,8 @@
 
 package org.kie.server.remote.rest.drools;
 
+import java.io.InputStream;
+
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -25,6 +27,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.Variant;
 
 import io.swagger.annotations.Api;
@@ -36,6 +39,8 @@ import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.rest.RestURI;
 import org.kie.server.remote.rest.common.Header;
+import org.kie.server.remote.rest.common.util.MarshalledStreamingOutput;
+import org.kie.server.services.api.ContainerLocator;
 import org.kie.server.services.api.KieContainerCommandService;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.locator.ContainerLocatorProvider;
@@ -82,7 +87,7 @@ public class CommandResource {
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
     public Response manageContainer(@Context HttpHeaders headers, 
             @ApiParam(value = "Container id where rules should be evaluated on", required = true) @PathParam(RestURI.CONTAINER_ID) String id, 
-            @ApiParam(value = "Commands to be executed on rule engine given as BatchExecutionCommand type", required = true) String cmdPayload) {
+            @ApiParam(value = "Commands to be executed on rule engine given as BatchExecutionCommand type", required = true) InputStream cmdPayload) {
 
         Variant v = getVariant(headers);
         String contentType = getContentType(headers);
@@ -92,23 +97,19 @@ public class CommandResource {
         if (format == null) {
             format = MarshallingFormat.valueOf(contentType);
         }
-        logger.debug("Received request with content '{}'", cmdPayload);
+        logger.debug("Received request for container '{}'", id);
         Header conversationIdHeader = buildConversationIdHeader(id, registry, headers);
         @SuppressWarnings("squid:S3740")
         ServiceResponse<?> result = delegate.callContainer(id, cmdPayload, format, classType);
         Status status = result.getType() == FAILURE ? INTERNAL_SERVER_ERROR : OK;
-        try {
-            String response = marshallerHelper.marshal(id, format.getType(), result, ContainerLocatorProvider
-                    .get()
-                    .getLocator());
-            logger.debug("Returning {} response with content '{}'", status, response);
+        logger.debug("Returning {} response", status);
 
-            return createResponse(response, v, status, conversationIdHeader);
-        } catch (IllegalArgumentException e) {
-            // in case marshalling failed return the call container response to keep backward compatibility
-            String response = marshallerHelper.marshal(format.getType(), result);
-            logger.debug("Returning {} response with content '{}'", status, response);
-            return createResponse(response, v, status, conversationIdHeader);
-        }
+        String formatType = format.getType();
+        // response entity is written directly to the http response once the container asks for it
+        ContainerLocator locator = ContainerLocatorProvider.get().getLocator();
+        // in case marshalling failed return the call container response to keep backward compatibility
+        StreamingOutput response = new MarshalledStreamingOutput(output -> marshallerHelper.marshal(id, formatType, result, output, locator),
+                                                                 output -> marshallerHelper.marshal(formatType, result, output));
+        return createResponse(response, v, status, conversationIdHeader);
     }
 }
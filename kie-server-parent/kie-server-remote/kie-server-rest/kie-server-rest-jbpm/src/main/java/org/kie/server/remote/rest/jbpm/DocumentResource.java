@@ -16,7 +16,9 @@
 package org.kie.server.remote.rest.jbpm;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Date;
 
 import javax.mail.internet.MimeUtility;
 import javax.ws.rs.Consumes;
@@ -49,15 +51,18 @@ import org.kie.server.api.model.instance.DocumentInstanceList;
 import org.kie.server.remote.rest.common.Header;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.KieServerRuntimeException;
+import org.kie.server.services.jbpm.DocumentContent;
 import org.kie.server.services.jbpm.DocumentServiceBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_CONTENT_GET_URI;
+import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_CONTENT_PUT_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_DELETE_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_GET_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_INSTANCE_PUT_URI;
 import static org.kie.server.api.rest.RestURI.DOCUMENT_URI;
+import static org.kie.server.remote.rest.common.util.RestUtils.badRequest;
 import static org.kie.server.remote.rest.common.util.RestUtils.buildConversationIdHeader;
 import static org.kie.server.remote.rest.common.util.RestUtils.createCorrectVariant;
 import static org.kie.server.remote.rest.common.util.RestUtils.errorMessage;
@@ -80,6 +85,11 @@ public class DocumentResource {
 
     public static final Logger logger = LoggerFactory.getLogger(DocumentResource.class);
 
+    private static final String HEADER_RANGE = "Range";
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+    private static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+    private static final int BUFFER_SIZE = 8192;
+
     private DocumentServiceBase documentServiceBase;
     private KieServerRegistry context;
 
@@ -92,10 +102,12 @@ public class DocumentResource {
         this.context = context;
     }
 
-    @ApiOperation(value="Retrieves document's content identified by given documentId",
+    @ApiOperation(value="Retrieves document's content identified by given documentId, supports single byte range requests",
             response=byte[].class, code=200, responseHeaders={@ResponseHeader(name="Content-Disposition", description="provides file name of the document")})
     @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
-            @ApiResponse(code = 404, message = "Document with given id not found") })
+            @ApiResponse(code = 404, message = "Document with given id not found"),
+            @ApiResponse(code = 206, message = "Requested range of the document's content"),
+            @ApiResponse(code = 416, message = "Requested range is out of the document's content") })
     @GET
     @Path(DOCUMENT_INSTANCE_CONTENT_GET_URI)
     @Produces({MediaType.APPLICATION_OCTET_STREAM})
@@ -106,27 +118,36 @@ public class DocumentResource {
         Header conversationIdHeader = buildConversationIdHeader("", context, headers);
         try {
 
-            final DocumentInstance document = documentServiceBase.getDocument(documentId);
+            final DocumentContent document = documentServiceBase.getDocumentContent(documentId);
 
-            if (document == null) {
-                return notFound("Document with id " + documentId + " not found", v, conversationIdHeader);
-            }
             String fileName = MimeUtility.encodeWord(document.getName(), "utf-8", "Q");
-            StreamingOutput entity = new StreamingOutput() {
+            long size = document.getSize();
+            long[] range = parseRange(headers.getHeaderString(HEADER_RANGE), size);
 
-                @Override
-                public void write(OutputStream output) throws IOException, WebApplicationException {
-                    output.write(document.getContent());
-                }
-            };
+            Response.ResponseBuilder builder;
+            if (range == null) {
+                builder = Response.ok().entity(contentOf(document, 0, size)).header(HttpHeaders.CONTENT_LENGTH, size);
+            } else if (range.length == 0) {
+                builder = Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE).header(HEADER_CONTENT_RANGE, "bytes */" + size);
+            } else {
+                long length = range[1] - range[0] + 1;
+                builder = Response.status(Response.Status.PARTIAL_CONTENT).entity(contentOf(document, range[0], length))
+                        .header(HttpHeaders.CONTENT_LENGTH, length)
+                        .header(HEADER_CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + size);
+            }
+            builder.header(HEADER_ACCEPT_RANGES, "bytes")
+                    .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+            if (document.getLastModified() != null) {
+                builder.lastModified(document.getLastModified());
+            }
             if (conversationIdHeader != null) {
-                return Response.ok().entity(entity)
-                        .header(conversationIdHeader.getName(), conversationIdHeader.getValue())
-                        .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"").build();
+                builder.header(conversationIdHeader.getName(), conversationIdHeader.getValue());
             }
 
-            return Response.ok().entity(entity).header("Content-Disposition", "attachment; filename=\"" + fileName + "\"").build();
-        }  catch (Exception e) {
+            return builder.build();
+        } catch (KieServerRuntimeException e){
+            return notFound("Document with id " + documentId + " not found", v, conversationIdHeader);
+        } catch (Exception e) {
             logger.error("Unexpected error during processing {}", e.getMessage(), e);
             return internalServerError(errorMessage(e), v, conversationIdHeader);
         }
@@ -207,6 +228,36 @@ public class DocumentResource {
         }
     }
 
+    @ApiOperation(value="Uploads a new document to KIE Server with its content sent as is in the request body.")
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"), 
+            @ApiResponse(code = 400, message = "Document content does not match its declared length"), 
+            @ApiResponse(code = 201, response = String.class, message = "Successful response", examples=@Example(value= {
+                    @ExampleProperty(mediaType=JSON, value=CREATE_DOC_RESPONSE_JSON)}))})
+    @POST
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Consumes({MediaType.APPLICATION_OCTET_STREAM})
+    public Response createDocumentFromStream(@javax.ws.rs.core.Context HttpHeaders headers, 
+            @ApiParam(value = "name of the document", required = true, example = "invoice.pdf") @QueryParam("name") String name, 
+            @ApiParam(value = "document content", required = true) InputStream content) {
+        Variant v = getVariant(headers);
+        // no container id available so only used to transfer conversation id if given by client
+        Header conversationIdHeader = buildConversationIdHeader("", context, headers);
+        if (name == null || name.isEmpty()) {
+            return badRequest("Document name is required", v, conversationIdHeader);
+        }
+        try {
+
+            String identifier = documentServiceBase.storeDocument(name, headers.getLength(), new Date(), content);
+
+            return createCorrectVariant(identifier, headers, Response.Status.CREATED, conversationIdHeader);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage(), v, conversationIdHeader);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            return internalServerError(errorMessage(e), v, conversationIdHeader);
+        }
+    }
+
     @ApiOperation(value="Updates a specified document in KIE Server.",
             response=Void.class, code=201)
     @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
@@ -237,6 +288,36 @@ public class DocumentResource {
         }
     }
 
+    @ApiOperation(value="Replaces content of a specified document in KIE Server with content sent as is in the request body.",
+            response=Void.class, code=201)
+    @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
+            @ApiResponse(code = 400, message = "Document content does not match its declared length"),
+            @ApiResponse(code = 404, message = "Document with given id not found")})
+    @PUT
+    @Path(DOCUMENT_INSTANCE_CONTENT_PUT_URI)
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Consumes({MediaType.APPLICATION_OCTET_STREAM})
+    public Response updateDocumentContent(@javax.ws.rs.core.Context HttpHeaders headers, 
+            @ApiParam(value = "document id of a document that should be updated", required = true, example = "xxx-yyy-zzz") @PathParam("documentId") String documentId, 
+            @ApiParam(value = "document content", required = true) InputStream content) {
+        Variant v = getVariant(headers);
+        // no container id available so only used to transfer conversation id if given by client
+        Header conversationIdHeader = buildConversationIdHeader("", context, headers);
+        try {
+
+            documentServiceBase.updateDocument(documentId, headers.getLength(), content);
+
+            return createCorrectVariant("", headers, Response.Status.CREATED, conversationIdHeader);
+        } catch (KieServerRuntimeException e){
+            return notFound("Document with id " + documentId + " not found", v, conversationIdHeader);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage(), v, conversationIdHeader);
+        } catch (Exception e) {
+            logger.error("Unexpected error during processing {}", e.getMessage(), e);
+            return internalServerError(errorMessage(e), v, conversationIdHeader);
+        }
+    }
+
     @ApiOperation(value="Deletes a specified document from KIE Server.",
             response=Void.class, code=204)
     @ApiResponses(value = { @ApiResponse(code = 500, message = "Unexpected error"),
@@ -262,4 +343,70 @@ public class DocumentResource {
             return internalServerError(errorMessage(e), v, conversationIdHeader);
         }
     }
+
+    protected StreamingOutput contentOf(DocumentContent document, long offset, long length) {
+        return new StreamingOutput() {
+
+            @Override
+            public void write(OutputStream output) throws IOException, WebApplicationException {
+                try (InputStream input = document.openStream(offset)) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    long remaining = length;
+                    int read;
+                    while (remaining > 0 && (read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                        output.write(buffer, 0, read);
+                        remaining -= read;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Parses single byte range of the Range header, multiple ranges and malformed headers are ignored
+     * so the whole content is returned.
+     * @return null when whole content should be returned, empty array when the range is not satisfiable
+     * or first and last byte position of the range
+     */
+    protected static long[] parseRange(String rangeHeader, long size) {
+        if (rangeHeader == null || !rangeHeader.startsWith("bytes=") || rangeHeader.indexOf(',') != -1) {
+            return null;
+        }
+        String range = rangeHeader.substring("bytes=".length()).trim();
+        int separator = range.indexOf('-');
+        if (separator == -1) {
+            return null;
+        }
+        try {
+            String first = range.substring(0, separator).trim();
+            String last = range.substring(separator + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // suffix range - last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(size - suffix, 0);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = size - 1;
+                if (!last.isEmpty()) {
+                    long lastPosition = Long.parseLong(last);
+                    if (lastPosition < start) {
+                        return null;
+                    }
+                    end = Math.min(lastPosition, end);
+                }
+            }
+            if (start >= size || start < 0) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -15,6 +15,7 @@
 
 package org.kie.server.remote.rest.jbpm;
 
+import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Map;
@@ -174,7 +175,7 @@ public class ProcessResource  {
             @ApiParam(value = "process id that new instance should be created from", required = true, example = "evaluation") @PathParam(PROCESS_ID) String processId, 
             @ApiParam(value = "optional map of process variables", required = false, examples=@Example(value= {
                                     @ExampleProperty(mediaType=JSON, value=VAR_MAP_JSON),
-                                    @ExampleProperty(mediaType=XML, value=VAR_MAP_XML)})) @DefaultValue("") String payload) {
+                                    @ExampleProperty(mediaType=XML, value=VAR_MAP_XML)})) InputStream payload) {
         Variant v = getVariant(headers);
         String type = getContentType(headers);
         Header conversationIdHeader = buildConversationIdHeader(containerId, context, headers);
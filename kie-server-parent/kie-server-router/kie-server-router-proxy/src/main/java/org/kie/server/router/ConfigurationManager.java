@@ -26,6 +26,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.jboss.logging.Logger;
+import org.kie.server.router.proxy.AggregateHttpClient;
 import org.kie.server.router.repository.ConfigFileWatcher;
 import org.kie.server.router.repository.ConfigurationMarshaller;
 import org.kie.server.router.spi.ConfigRepository;
@@ -56,6 +57,8 @@ public class ConfigurationManager {
     private ConfigFileWatcher watcher;
     private CopyOnWriteArrayList<String> controllerContainers;
 
+    private AggregateHttpClient aggregateClient;
+
     public ConfigurationManager(KieServerRouterEnvironment environment, ConfigRepository repository, ScheduledExecutorService executorService) {
         this.marshaller = new ConfigurationMarshaller();
         this.environment = environment;
@@ -63,6 +66,7 @@ public class ConfigurationManager {
         this.executorService = executorService;
         this.configuration = repository.load();
         this.controllerContainers = new CopyOnWriteArrayList<>();
+        this.aggregateClient = new AggregateHttpClient(environment.getAggregateTimeout(), environment.getAggregateMaxIdleConnections());
     }
 
     public void startWatcher () {
@@ -125,6 +129,17 @@ public class ConfigurationManager {
         return environment;
     }
 
+    /**
+     * Client shared by all aggregating handlers of the router, closed together with this manager
+     */
+    public AggregateHttpClient getAggregateClient() {
+        return aggregateClient;
+    }
+
+    public KieServerRouterEnvironment getEnvironment() {
+        return environment;
+    }
+
     public  synchronized FailedHostInfo disconnectFailedHost(String url) {
         log.info("Server at " + url+ " is now offline");
         FailedHostInfo failedHost = configuration.removeUnavailableServer(url);
@@ -287,6 +302,7 @@ public class ConfigurationManager {
         if (this.watcher != null) {
             this.watcher.stop();
         }
+        this.aggregateClient.close();
     }
 
 }
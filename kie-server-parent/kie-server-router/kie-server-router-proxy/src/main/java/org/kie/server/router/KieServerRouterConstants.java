@@ -47,5 +47,8 @@ public class KieServerRouterConstants {
     public static final String KIE_SERVER_RECOVERY_ATTEMPT_LIMIT = "org.kie.server.recovery.retry.limit";
 
     public static final String KIE_ROUTER_MANAGEMENT_SECURED = "org.kie.server.router.management.password";
+
+    public static final String ROUTER_AGGREGATE_TIMEOUT = "org.kie.server.router.aggregate.timeout";
+    public static final String ROUTER_AGGREGATE_MAX_IDLE_CONNECTIONS = "org.kie.server.router.aggregate.connections.idle";
     public static final String KIE_ROUTER_IDENTITY_PROVIDER = "org.kie.router.identity.provider";
 }
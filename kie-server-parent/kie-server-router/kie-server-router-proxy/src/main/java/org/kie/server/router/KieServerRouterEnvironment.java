@@ -51,6 +51,9 @@ public class KieServerRouterEnvironment {
 
     private Boolean managementPassword;
 
+    private Long aggregateTimeout;
+    private Integer aggregateMaxIdleConnections;
+
     public KieServerRouterEnvironment() {
         reload();
     }
@@ -87,6 +90,9 @@ public class KieServerRouterEnvironment {
         kieControllerRecoveryAttemptLimit = Integer.getInteger(KieServerRouterConstants.KIE_SERVER_RECOVERY_ATTEMPT_LIMIT, -1);
 
         managementPassword = Boolean.getBoolean(KieServerRouterConstants.KIE_ROUTER_MANAGEMENT_SECURED);
+
+        aggregateTimeout = Long.getLong(KieServerRouterConstants.ROUTER_AGGREGATE_TIMEOUT, 30000L);
+        aggregateMaxIdleConnections = Integer.getInteger(KieServerRouterConstants.ROUTER_AGGREGATE_MAX_IDLE_CONNECTIONS, 16);
     }
 
     public void loadFromProperties() {
@@ -121,6 +127,9 @@ public class KieServerRouterEnvironment {
             kieControllerRecoveryAttemptLimit =  props.containsKey(KieServerRouterConstants.KIE_SERVER_RECOVERY_ATTEMPT_LIMIT) ? Integer.parseInt((String) props.get(KieServerRouterConstants.KIE_SERVER_RECOVERY_ATTEMPT_LIMIT)) : kieControllerRecoveryAttemptLimit;
 
             managementPassword = props.containsKey(KieServerRouterConstants.KIE_ROUTER_MANAGEMENT_SECURED) ? Boolean.parseBoolean((String) props.get(KieServerRouterConstants.KIE_ROUTER_MANAGEMENT_SECURED)) : managementPassword;
+
+            aggregateTimeout = props.containsKey(KieServerRouterConstants.ROUTER_AGGREGATE_TIMEOUT) ? Long.parseLong((String) props.get(KieServerRouterConstants.ROUTER_AGGREGATE_TIMEOUT)) : aggregateTimeout;
+            aggregateMaxIdleConnections = props.containsKey(KieServerRouterConstants.ROUTER_AGGREGATE_MAX_IDLE_CONNECTIONS) ? Integer.parseInt((String) props.get(KieServerRouterConstants.ROUTER_AGGREGATE_MAX_IDLE_CONNECTIONS)) : aggregateMaxIdleConnections;
         } catch(Exception e) {
             // do nothing
         }
@@ -245,6 +254,14 @@ public class KieServerRouterEnvironment {
         return managementPassword;
     }
 
+    public long getAggregateTimeout() {
+        return aggregateTimeout;
+    }
+
+    public int getAggregateMaxIdleConnections() {
+        return aggregateMaxIdleConnections;
+    }
+
 
 
 }
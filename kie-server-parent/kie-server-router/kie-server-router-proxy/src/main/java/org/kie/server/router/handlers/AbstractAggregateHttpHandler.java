@@ -21,21 +21,35 @@ import java.net.HttpURLConnection;
 import java.net.SocketException;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.net.ssl.SSLException;
 
 import org.jboss.logging.Logger;
 import org.kie.server.router.ConfigurationManager;
+import org.kie.server.router.proxy.AggregateHttpClient;
+import org.kie.server.router.proxy.aggragate.PageCursor;
 import org.kie.server.router.proxy.aggragate.ResponseAggregator;
+import org.kie.server.router.proxy.aggragate.SortedResponseAggregator;
+import org.kie.server.router.proxy.aggragate.SortedResponseAggregator.MergedPage;
 import org.kie.server.router.utils.MediaTypeUtil;
 
 import io.undertow.server.HttpHandler;
@@ -44,6 +58,8 @@ import io.undertow.server.handlers.ResponseCodeHandler;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.SameThreadExecutor;
 
 
 public abstract class AbstractAggregateHttpHandler implements HttpHandler {
@@ -52,17 +68,23 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
 
     protected static final String REPLACE_PAGE =      "page=[^&]*";
     protected static final String REPLACE_PAGE_SIZE = "pageSize=[^&]*";
+    protected static final String REPLACE_CURSOR =    "&?routerCursor=[^&]*";
+
+    protected static final String CURSOR_PARAM = "routerCursor";
+    protected static final String CURSOR_HEADER = "X-KIE-Router-Cursor";
 
     protected static final String DEFAULT_ACCEPT = "application/xml";
 
     protected HttpHandler httpHandler;
     protected ConfigurationManager configurationManager;
+    protected AggregateHttpClient aggregateClient;
 
     private RoundRobinHostSelector selector = new RoundRobinHostSelector();
 
     public AbstractAggregateHttpHandler(HttpHandler httpHandler, ConfigurationManager configurationManager) {
         this.httpHandler = httpHandler;
         this.configurationManager = configurationManager;
+        this.aggregateClient = configurationManager.getAggregateClient();
     }
 
     @Override
@@ -89,10 +111,6 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
             pageSize = Integer.parseInt(originalPageSize.getFirst());
 
         }
-        final String routerPage = "0";
-        // need to add 1 to page for proper size of page
-        final String routerPageSize = String.valueOf((1 + page) * pageSize);
-
         // collect sorting
         String sortBy = null;
         boolean sortOder = true;
@@ -106,22 +124,17 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
         }
 
 
+        final String finalSortBy = sortBy;
+        final boolean finalSortOrder = sortOder;
+        final int finalPage = page;
+        final int finalPageSize = pageSize;
         final Map<String,List<String>> responseHeaders = new ConcurrentHashMap<>();
-        List<String> returnResponses = getServerHosts().parallelStream().map(url -> {
-            String response = null;
-            try {
-                response = sendRequest(url, exchange, responseHeaders, routerPage, routerPageSize);
-            } catch (Exception e) {
-                log.error("Error when forwarding request to server", e);
-
-                removeHostOnException(url, e);
-            }
-
-            return response;
-        })
-                .filter(msg -> msg != null && !msg.trim().isEmpty())
-                .collect(Collectors.toList());
+        fanOutPaged(exchange, finalSortBy, finalSortOrder, finalPage, finalPageSize, responseHeaders,
+                    (url, routerPage, routerPageSize) -> sendRequest(url, exchange, responseHeaders, String.valueOf(routerPage), String.valueOf(routerPageSize)),
+                    responses -> aggregate(exchange, new ArrayList<>(responses.values()), responseHeaders, finalSortBy, finalSortOrder, finalPage, finalPageSize));
+    }
 
+    private void aggregate(HttpServerExchange exchange, List<String> returnResponses, Map<String,List<String>> responseHeaders, String sortBy, boolean sortOder, int page, int pageSize) throws Exception {
         if (returnResponses.isEmpty()) {
             ResponseCodeHandler.HANDLE_404.handleRequest(exchange);
             return;
@@ -158,7 +171,7 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
         exchange.getResponseSender().send(response);
     }
 
-    private boolean isAggregatable(Map<String, List<String>> responseHeaders) {
+    protected boolean isAggregatable(Map<String, List<String>> responseHeaders) {
         List<String> type = responseHeaders.get(Headers.CONTENT_TYPE_STRING);
 
         // we don't know the type so we don't aggregate
@@ -175,39 +188,266 @@ public abstract class AbstractAggregateHttpHandler implements HttpHandler {
         return true;
     }
 
-    protected String sendRequest(String url, HttpServerExchange exchange, Map<String,List<String>> responseHeaders, String page, String pageSize) throws Exception {
+    protected CompletableFuture<byte[]> sendRequest(String url, HttpServerExchange exchange, Map<String,List<String>> responseHeaders, String page, String pageSize) {
+        String requestUrl = url + exchange.getRequestPath() + "?" + exchange.getQueryString().replaceAll(REPLACE_CURSOR, "").replaceAll(REPLACE_PAGE, "page=" + page).replaceAll(REPLACE_PAGE_SIZE, "pageSize="+pageSize);
+        return aggregateClient.send(exchange, requestUrl, Methods.GET, null, responseHeaders);
+    }
 
-        URL obj = new URL(url + exchange.getRequestPath() + "?" + exchange.getQueryString().replaceAll(REPLACE_PAGE, "page=" + page).replaceAll(REPLACE_PAGE_SIZE, "pageSize="+pageSize));
-        HttpURLConnection con = (HttpURLConnection) obj.openConnection();
-        con.setRequestMethod("GET");
+    /**
+     * Sends request produced by given function to all servers without blocking and once all of them responded,
+     * failed or timed out, hands over the non empty responses to the callback on a worker thread.
+     * Servers that did not respond in time are left out of the result.
+     * Callback is responsible for completing the exchange.
+     */
+    protected void fanOut(final HttpServerExchange exchange, final Function<String, CompletableFuture<byte[]>> request, final AggregateCallback<String> callback) {
+        fanOut(exchange, getServerHosts(), request, AbstractAggregateHttpHandler::hasContent, responses -> callback.completed(decode(responses)));
+    }
 
-        //add request headers
-        exchange.getRequestHeaders().forEach(h -> {
-            con.setRequestProperty(h.getHeaderName().toString(), h.getFirst());
+    private <T> void fanOut(final HttpServerExchange exchange, final Collection<String> hosts, final Function<String, CompletableFuture<T>> request,
+                            final Predicate<T> hasContent, final AggregateCallback<T> callback) {
+        Map<String, CompletableFuture<T>> responses = new LinkedHashMap<>();
+        // futures may fail on IO threads, failed hosts are disconnected on the worker thread
+        Map<String, Exception> failures = new ConcurrentHashMap<>();
+        hosts.forEach(url -> {
+            CompletableFuture<T> response;
+            try {
+                response = request.apply(url);
+            } catch (Exception e) {
+                response = new CompletableFuture<>();
+                response.completeExceptionally(e);
+            }
+            responses.put(url, response.exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    log.warn("Server '" + url + "' left out of aggregated response (" + cause.getMessage() + ")");
+                } else {
+                    log.error("Error when forwarding request to server", cause);
+                    failures.put(url, cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+                }
+                return null;
+            }));
         });
 
-        log.debugf("Sending 'GET' request to URL : %s", obj);
-        int responseCode = con.getResponseCode();
-        log.debugf("Response Code : %s", responseCode);
+        exchange.dispatch(SameThreadExecutor.INSTANCE, () ->
+            CompletableFuture.allOf(responses.values().toArray(new CompletableFuture[responses.size()])).whenComplete((done, error) ->
+                exchange.getConnection().getWorker().execute(() -> {
+                    try {
+                        failures.forEach(this::removeHostOnException);
+                        Map<String, T> returnResponses = new LinkedHashMap<>();
+                        responses.forEach((url, response) -> {
+                            T msg = response.join();
+                            if (msg != null && hasContent.test(msg)) {
+                                returnResponses.put(url, msg);
+                            }
+                        });
+                        callback.completed(returnResponses);
+                    } catch (Exception e) {
+                        log.error("Error when aggregating responses", e);
+                        if (!exchange.isResponseStarted()) {
+                            exchange.setStatusCode(500);
+                        }
+                        exchange.endExchange();
+                    }
+                })));
+    }
 
-        Map<String, List<String>> headers = con.getHeaderFields();
-        headers.forEach((k, v) -> {
-            if (k != null) {
-                responseHeaders.put(k, v);
+    /**
+     * Fans out paged request and when the responses are sorted lists that the selected aggregator is able to merge,
+     * merges them into the requested page instead of aggregating complete responses. Each server is asked for at most
+     * two pages of the requested size at a time. Each merged page comes with {@value #CURSOR_HEADER} response header;
+     * sending its value back as {@value #CURSOR_PARAM} query parameter together with the next page lets every server
+     * return only the rows following the ones already consumed. Without the cursor pages preceding the requested one
+     * are merged one by one first. Responses that cannot be merged are handed over to the fallback callback.
+     */
+    protected void fanOutPaged(HttpServerExchange exchange, String sortBy, boolean ascending, int page, int pageSize,
+                               Map<String, List<String>> responseHeaders, PagedRequest request, AggregateCallback<String> fallback) {
+        SortedResponseAggregator aggregator = getSortedAggregator(exchange);
+        if (aggregator == null || !supportAdvancedAggregate() || sortBy == null || sortBy.trim().isEmpty() || pageSize <= 0) {
+            // need to add 1 to page for proper size of page
+            fanOut(exchange, url -> request.send(url, 0, (1 + page) * pageSize), fallback);
+            return;
+        }
+        String query = exchange.getRequestPath() + "?" + exchange.getQueryString().replaceAll(REPLACE_CURSOR, "").replaceAll(REPLACE_PAGE, "");
+        List<String> hosts = getCursorHosts();
+        Map<String, Integer> offsets = getCursorOffsets(exchange, hosts, query, sortBy, ascending, page, pageSize);
+        MergedPaging paging = new MergedPaging(exchange, aggregator, query, hosts, sortBy, ascending, page, pageSize, responseHeaders, request, fallback);
+        if (offsets != null) {
+            paging.merge(page, offsets);
+        } else {
+            Map<String, Integer> start = new LinkedHashMap<>();
+            getServerHosts().forEach(url -> start.put(url, 0));
+            paging.merge(0, start);
+        }
+    }
+
+    /**
+     * Returns offsets of the cursor sent with the request when it continues the request and its servers still
+     * cover all known servers, otherwise null.
+     */
+    protected Map<String, Integer> getCursorOffsets(HttpServerExchange exchange, List<String> knownHosts, String query, String sortBy, boolean ascending, int page, int pageSize) {
+        Deque<String> token = exchange.getQueryParameters().get(CURSOR_PARAM);
+        PageCursor cursor = PageCursor.fromToken(token == null ? null : token.getFirst(), knownHosts);
+        if (cursor == null || !cursor.continues(query, sortBy, ascending, page, pageSize)) {
+            return null;
+        }
+        int covered = 0;
+        for (List<String> hosts : configurationManager.getConfiguration().getHostsPerServer().values()) {
+            long found = hosts.stream().distinct().filter(cursor.getOffsets()::containsKey).count();
+            if (found > 1 || (found == 0 && !hosts.isEmpty())) {
+                return null;
             }
-        });
+            covered += found;
+        }
+        return covered == cursor.getOffsets().size() ? cursor.getOffsets() : null;
+    }
 
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream()));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
+    /**
+     * Returns all known hosts in stable order, cursors refer to hosts by their index in this list.
+     */
+    protected List<String> getCursorHosts() {
+        return configurationManager.getConfiguration().getHostsPerServer().values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
 
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+    protected SortedResponseAggregator getSortedAggregator(HttpServerExchange exchange) {
+        HeaderValues accept = exchange.getRequestHeaders().get(Headers.ACCEPT);
+        HeaderValues kieContentType = exchange.getRequestHeaders().get("X-KIE-ContentType");
 
+        ResponseAggregator responseAggregator = configurationManager.getConfiguration().getAggregators().stream().filter(a -> a.supports(kieContentType, accept, DEFAULT_ACCEPT)).findFirst().orElse(null);
+        return responseAggregator instanceof SortedResponseAggregator ? (SortedResponseAggregator) responseAggregator : null;
+    }
+
+    @FunctionalInterface
+    protected interface AggregateCallback<T> {
+
+        /**
+         * @param responses non empty responses by server url
+         */
+        void completed(Map<String, T> responses) throws Exception;
+    }
+
+    @FunctionalInterface
+    protected interface PagedRequest {
+
+        CompletableFuture<byte[]> send(String url, int page, int pageSize);
+    }
+
+    /**
+     * Merges sorted pages of the servers, from the page the offsets belong to until the requested one.
+     */
+    private class MergedPaging {
+
+        private final HttpServerExchange exchange;
+        private final SortedResponseAggregator aggregator;
+        private final String query;
+        private final List<String> hosts;
+        private final String sortBy;
+        private final boolean ascending;
+        private final int page;
+        private final int pageSize;
+        private final Map<String, List<String>> responseHeaders;
+        private final PagedRequest request;
+        private final AggregateCallback<String> fallback;
+
+        private MergedPaging(HttpServerExchange exchange, SortedResponseAggregator aggregator, String query, List<String> hosts,
+                             String sortBy, boolean ascending, int page, int pageSize, Map<String, List<String>> responseHeaders,
+                             PagedRequest request, AggregateCallback<String> fallback) {
+            this.exchange = exchange;
+            this.aggregator = aggregator;
+            this.query = query;
+            this.hosts = hosts;
+            this.sortBy = sortBy;
+            this.ascending = ascending;
+            this.page = page;
+            this.pageSize = pageSize;
+            this.responseHeaders = responseHeaders;
+            this.request = request;
+            this.fallback = fallback;
         }
-        in.close();
 
-        return response.toString();
+        /**
+         * @param current page to merge
+         * @param offsets number of rows of each server consumed by the pages preceding the current one
+         */
+        private void merge(int current, Map<String, Integer> offsets) {
+            // pages covering rows following the offset
+            Function<String, CompletableFuture<List<byte[]>>> pagesRequest = url -> {
+                int offset = offsets.get(url);
+                CompletableFuture<byte[]> first = request.send(url, offset / pageSize, pageSize);
+                if (offset % pageSize == 0) {
+                    return first.thenApply(Collections::singletonList);
+                }
+                return first.thenCombine(request.send(url, offset / pageSize + 1, pageSize), Arrays::asList);
+            };
+            fanOut(exchange, offsets.keySet(), pagesRequest, pages -> pages.stream().anyMatch(AbstractAggregateHttpHandler::hasContent), responses -> {
+                if (responses.isEmpty()) {
+                    fallback.completed(Collections.emptyMap());
+                    return;
+                }
+                List<String> urls = new ArrayList<>(responses.keySet());
+                int[] skip = new int[urls.size()];
+                for (int i = 0; i < skip.length; i++) {
+                    skip[i] = offsets.get(urls.get(i)) % pageSize;
+                }
+                MergedPage merged = null;
+                if (isAggregatable(responseHeaders)) {
+                    try {
+                        merged = aggregator.merge(new ArrayList<>(responses.values()), skip, sortBy, ascending, 0, pageSize);
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        log.debug("Responses cannot be merged as sorted lists (" + e.getMessage() + ")");
+                    }
+                }
+                if (merged == null) {
+                    if (current == 0 && page == 0) {
+                        // first page from every server is all the complete aggregation needs
+                        Map<String, byte[]> firstPages = new LinkedHashMap<>();
+                        responses.forEach((url, pages) -> firstPages.put(url, pages.get(0)));
+                        fallback.completed(decode(firstPages));
+                    } else {
+                        // need to add 1 to page for proper size of page
+                        fanOut(exchange, url -> request.send(url, 0, (1 + page) * pageSize), fallback);
+                    }
+                    return;
+                }
+
+                Map<String, Integer> nextOffsets = new LinkedHashMap<>();
+                for (int i = 0; i < urls.size(); i++) {
+                    nextOffsets.put(urls.get(i), offsets.get(urls.get(i)) - skip[i] + merged.getConsumed()[i]);
+                }
+                if (current < page) {
+                    merge(current + 1, nextOffsets);
+                    return;
+                }
+                responseHeaders.forEach((name, value) -> {
+                    exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
+                });
+                if (hosts.containsAll(nextOffsets.keySet())) {
+                    exchange.getResponseHeaders().put(HttpString.tryFromString(CURSOR_HEADER), new PageCursor(query, sortBy, ascending, page + 1, pageSize, hosts, nextOffsets).toToken());
+                }
+
+                String response = merged.getResponse();
+                exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, response.getBytes("UTF-8").length);
+                exchange.getResponseSender().send(response);
+            });
+        }
+    }
+
+    private static boolean hasContent(byte[] response) {
+        for (byte b : response) {
+            if (!Character.isWhitespace(b)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> decode(Map<String, byte[]> responses) {
+        Map<String, String> decoded = new LinkedHashMap<>();
+        responses.forEach((url, response) -> decoded.put(url, new String(response, StandardCharsets.UTF_8)));
+        return decoded;
     }
     
     protected String sendOptionsRequest(String url, HttpServerExchange exchange, Map<String,List<String>> responseHeaders) throws Exception {
@@ -19,9 +19,11 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -34,6 +36,7 @@ import io.undertow.server.handlers.ResponseCodeHandler;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
 
 public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
 
@@ -66,10 +69,6 @@ public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
             }
             boolean useAdvanced = pageSize.intValue() != -1;
 
-            final String routerPage = "0";
-            // need to add 1 to page for proper size of page
-            final String routerPageSize = String.valueOf((1 + page) * pageSize);
-
             // collect sorting
             String sortBy = null;
             boolean sortOder = true;
@@ -91,44 +90,14 @@ public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
 
             final String body = requestBody.toString();
 
+            final String finalSortBy = sortBy;
+            final boolean finalSortOrder = sortOder;
+            final int finalPage = page;
+            final int finalPageSize = pageSize;
             final Map<String,List<String>> responseHeaders = new ConcurrentHashMap<>();
-            List<String> returnResponses = getServerHosts().parallelStream().map(url -> {
-                String response = null;
-                try {
-                    response = sendPostRequest(url, body, exchange, responseHeaders, routerPage, routerPageSize);
-                } catch (Exception e) {
-                    log.error("Error when forwarding request to server", e);
-                    removeHostOnException(url, e);
-                }
-
-                return response;
-            })
-            .filter(msg -> msg != null && !msg.trim().isEmpty())
-            .collect(Collectors.toList());
-
-            HeaderValues accept = exchange.getRequestHeaders().get(Headers.ACCEPT);
-            HeaderValues kieContentType = exchange.getRequestHeaders().get("X-KIE-ContentType");
-
-            String response = "";
-
-            if (returnResponses.size() > 0) {
-                ResponseAggregator responseAggregator = configurationManager.getConfiguration().getAggregators().stream().filter(a -> a.supports(kieContentType, accept, DEFAULT_ACCEPT)).findFirst().orElseThrow(() ->
-                                new RuntimeException("not possible to find response aggregator for " + responseHeaders.get(accept.toString()))
-                );
-
-                if (supportAdvancedAggregate() && useAdvanced) {
-                    response = responseAggregator.aggregate(returnResponses, sortBy, sortOder, page, pageSize);
-                } else {
-                    response = responseAggregator.aggregate(returnResponses);
-                }
-            }
-            responseHeaders.forEach((name, value) -> {
-                exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
-            });
-
-            exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, response.getBytes("UTF-8").length);
-            exchange.getResponseSender().send(response);
-
+            fanOutPaged(exchange, finalSortBy, finalSortOrder, finalPage, finalPageSize, responseHeaders,
+                        (url, routerPage, routerPageSize) -> sendPostRequest(url, body, exchange, responseHeaders, String.valueOf(routerPage), String.valueOf(routerPageSize)),
+                        responses -> aggregatePost(exchange, new ArrayList<>(responses.values()), responseHeaders, finalSortBy, finalSortOrder, finalPage, finalPageSize, useAdvanced));
 
         } else if (exchange.getRequestMethod().equals(HttpString.tryFromString("PUT"))) {
 
@@ -196,43 +165,35 @@ public class QueriesDataHttpHandler extends AbstractAggregateHttpHandler {
         }
     }
 
-    protected String sendPostRequest(String url, String body, HttpServerExchange exchange, Map<String,List<String>> responseHeaders, String page, String pageSize) throws Exception {
+    private void aggregatePost(HttpServerExchange exchange, List<String> returnResponses, Map<String,List<String>> responseHeaders, String sortBy, boolean sortOder, int page, int pageSize, boolean useAdvanced) throws Exception {
+        HeaderValues accept = exchange.getRequestHeaders().get(Headers.ACCEPT);
+        HeaderValues kieContentType = exchange.getRequestHeaders().get("X-KIE-ContentType");
 
-        URL obj = new URL(url + exchange.getRequestPath() + "?" + exchange.getQueryString().replaceAll(REPLACE_PAGE, "page=" + page).replaceAll(REPLACE_PAGE_SIZE, "pageSize=" + pageSize));
-        HttpURLConnection con = (HttpURLConnection) obj.openConnection();
-        con.setRequestMethod("POST");
+        String response = "";
 
-        //add request headers
-        exchange.getRequestHeaders().forEach(h -> {
-            con.setRequestProperty(h.getHeaderName().toString(), h.getFirst());
-        });
-
-        con.setDoOutput(true);
-        if (body != null) {
-            con.getOutputStream().write(body.getBytes("UTF-8"));
-        }
-
-        log.debugf("Sending 'POST' request to URL : %s", obj);
-        int responseCode = con.getResponseCode();
-        log.debugf("Response Code : %s", responseCode);
+        if (returnResponses.size() > 0) {
+            ResponseAggregator responseAggregator = configurationManager.getConfiguration().getAggregators().stream().filter(a -> a.supports(kieContentType, accept, DEFAULT_ACCEPT)).findFirst().orElseThrow(() ->
+                            new RuntimeException("not possible to find response aggregator for " + responseHeaders.get(accept.toString()))
+            );
 
-        Map<String, List<String>> headers = con.getHeaderFields();
-        headers.forEach((k, v) -> {
-            if (k != null) {
-                responseHeaders.put(k, v);
+            if (supportAdvancedAggregate() && useAdvanced) {
+                response = responseAggregator.aggregate(returnResponses, sortBy, sortOder, page, pageSize);
+            } else {
+                response = responseAggregator.aggregate(returnResponses);
             }
+        }
+        responseHeaders.forEach((name, value) -> {
+            exchange.getResponseHeaders().putAll(HttpString.tryFromString(name), value);
         });
 
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream()));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, response.getBytes("UTF-8").length);
+        exchange.getResponseSender().send(response);
+    }
 
-        }
-        in.close();
+    protected CompletableFuture<byte[]> sendPostRequest(String url, String body, HttpServerExchange exchange, Map<String,List<String>> responseHeaders, String page, String pageSize) {
 
-        return response.toString();
+        String requestUrl = url + exchange.getRequestPath() + "?" + exchange.getQueryString().replaceAll(REPLACE_CURSOR, "").replaceAll(REPLACE_PAGE, "page=" + page).replaceAll(REPLACE_PAGE_SIZE, "pageSize=" + pageSize);
+        return aggregateClient.send(exchange, requestUrl, Methods.POST, body, responseHeaders);
     }
 
     protected String sendPutRequest(String url, String body, HttpServerExchange exchange, Map<String,List<String>> responseHeaders) throws Exception {
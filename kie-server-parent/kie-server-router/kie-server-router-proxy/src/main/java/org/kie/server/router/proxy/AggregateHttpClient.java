@@ -0,0 +1,369 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.router.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.net.ssl.SSLContext;
+
+import org.jboss.logging.Logger;
+import org.kie.server.router.utils.SSLContextBuilder;
+import org.xnio.ChannelListener;
+import org.xnio.ChannelListeners;
+import org.xnio.IoUtils;
+import org.xnio.OptionMap;
+import org.xnio.XnioExecutor;
+import org.xnio.XnioIoThread;
+import org.xnio.channels.StreamSinkChannel;
+import org.xnio.channels.StreamSourceChannel;
+import org.xnio.ssl.XnioSsl;
+
+import io.undertow.client.ClientCallback;
+import io.undertow.client.ClientConnection;
+import io.undertow.client.ClientExchange;
+import io.undertow.client.ClientRequest;
+import io.undertow.client.ClientResponse;
+import io.undertow.client.UndertowClient;
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.connector.PooledByteBuffer;
+import io.undertow.protocols.ssl.UndertowXnioSsl;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.StringWriteChannelListener;
+
+/**
+ * Non blocking HTTP client used to fan out aggregated requests to kie servers. Backend requests run on the IO thread
+ * of the incoming exchange and idle connections are kept per IO thread and backend, so a connection is only ever
+ * reused on the thread it is bound to. A backend request that does not complete within configured timeout is failed
+ * so that aggregation can proceed with partial results. Single instance is shared by all handlers of the router
+ * and closed when the router stops.
+ */
+public class AggregateHttpClient {
+
+    private static final Logger log = Logger.getLogger(AggregateHttpClient.class);
+
+    private final Map<XnioIoThread, Map<String, ConcurrentLinkedDeque<ClientConnection>>> idleConnections = new ConcurrentHashMap<>();
+
+    private final long timeout;
+    private final int maxIdleConnections;
+
+    private final String userProvidedTruststore = System.getProperty("javax.net.ssl.trustStore", "");
+    private final String userProvidedTruststorePassword = System.getProperty("javax.net.ssl.trustStorePassword", "");
+    private volatile XnioSsl ssl;
+    private volatile boolean closed;
+
+    /**
+     * @param timeout time in milliseconds a backend has to respond
+     * @param maxIdleConnections max number of idle connections kept per backend on each IO thread
+     */
+    public AggregateHttpClient(long timeout, int maxIdleConnections) {
+        this.timeout = timeout;
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    /**
+     * Sends request to given backend url, copying the headers of the incoming exchange.
+     * @param exchange incoming exchange the request is made for
+     * @param url complete backend url including path and query string
+     * @param method http method
+     * @param body request body or null
+     * @param responseHeaders map collecting headers of the backend response
+     * @return future completed with raw response body, or exceptionally when backend failed, responded with an error or timed out
+     */
+    public CompletableFuture<byte[]> send(HttpServerExchange exchange, String url, HttpString method, String body, Map<String, List<String>> responseHeaders) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AtomicReference<ClientConnection> usedConnection = new AtomicReference<>();
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        String backend = uri.getScheme() + "://" + uri.getAuthority();
+        XnioIoThread ioThread = exchange.getIoThread();
+
+        XnioExecutor.Key timeoutKey = ioThread.executeAfter(() -> {
+            if (result.completeExceptionally(new TimeoutException("No response from " + backend + " within " + timeout + " ms"))) {
+                IoUtils.safeClose(usedConnection.get());
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+        result.whenComplete((response, error) -> timeoutKey.remove());
+
+        ClientRequest request = new ClientRequest().setMethod(method).setPath(uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+        exchange.getRequestHeaders().forEach(header -> {
+            if (!isExcluded(header.getHeaderName())) {
+                request.getRequestHeaders().putAll(header.getHeaderName(), header);
+            }
+        });
+        request.getRequestHeaders().put(Headers.HOST, uri.getAuthority());
+        byte[] content = body == null ? null : body.getBytes(StandardCharsets.UTF_8);
+        if (content != null) {
+            request.getRequestHeaders().put(Headers.CONTENT_LENGTH, content.length);
+        }
+
+        ClientCallback<ClientConnection> onConnection = new ClientCallback<ClientConnection>() {
+            @Override
+            public void completed(ClientConnection connection) {
+                usedConnection.set(connection);
+                if (result.isDone()) {
+                    IoUtils.safeClose(connection);
+                    return;
+                }
+                log.debugf("Sending '%s' request to URL : %s", method, url);
+                connection.sendRequest(request, new ClientCallback<ClientExchange>() {
+                    @Override
+                    public void completed(ClientExchange clientExchange) {
+                        clientExchange.setResponseListener(new ClientCallback<ClientExchange>() {
+                            @Override
+                            public void completed(ClientExchange responseExchange) {
+                                ClientResponse response = responseExchange.getResponse();
+                                log.debugf("Response Code : %s", response.getResponseCode());
+                                for (HeaderValues values : response.getResponseHeaders()) {
+                                    if (!isExcluded(values.getHeaderName())) {
+                                        responseHeaders.put(values.getHeaderName().toString(), new ArrayList<>(values));
+                                    }
+                                }
+                                new BytesReadChannelListener(exchange.getConnection().getByteBufferPool()) {
+                                    @Override
+                                    protected void bytesDone(byte[] bytes) {
+                                        release(backend, connection);
+                                        if (response.getResponseCode() >= 400) {
+                                            result.completeExceptionally(new IOException("Server " + backend + " responded with " + response.getResponseCode()));
+                                        } else {
+                                            result.complete(bytes);
+                                        }
+                                    }
+
+                                    @Override
+                                    protected void error(IOException e) {
+                                        IoUtils.safeClose(connection);
+                                        result.completeExceptionally(e);
+                                    }
+                                }.setup(responseExchange.getResponseChannel());
+                            }
+
+                            @Override
+                            public void failed(IOException e) {
+                                IoUtils.safeClose(connection);
+                                result.completeExceptionally(e);
+                            }
+                        });
+                        if (content != null) {
+                            new StringWriteChannelListener(body).setup(clientExchange.getRequestChannel());
+                        } else {
+                            finishRequest(clientExchange, connection, result);
+                        }
+                    }
+
+                    @Override
+                    public void failed(IOException e) {
+                        IoUtils.safeClose(connection);
+                        result.completeExceptionally(e);
+                    }
+                });
+            }
+
+            @Override
+            public void failed(IOException e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        Runnable start = () -> {
+            if (result.isDone()) {
+                return;
+            }
+            ClientConnection idle = acquire(ioThread, backend);
+            if (idle != null) {
+                onConnection.completed(idle);
+                return;
+            }
+            try {
+                UndertowClient.getInstance().connect(onConnection, null, uri, ioThread,
+                        "https".equalsIgnoreCase(uri.getScheme()) ? getSsl() : null,
+                        exchange.getConnection().getByteBufferPool(), OptionMap.EMPTY);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        if (closed) {
+            result.completeExceptionally(new IllegalStateException("Aggregate client is closed"));
+        } else if (Thread.currentThread() == ioThread) {
+            start.run();
+        } else {
+            // handlers run on worker threads, connections are used only from the IO thread they belong to
+            ioThread.execute(start);
+        }
+        return result;
+    }
+
+    /**
+     * Closes idle connections, connections in use are closed once their request completes.
+     */
+    public void close() {
+        closed = true;
+        idleConnections.values().forEach(perBackend -> perBackend.values().forEach(connections -> {
+            ClientConnection connection;
+            while ((connection = connections.pollFirst()) != null) {
+                IoUtils.safeClose(connection);
+            }
+        }));
+    }
+
+    int getIdleConnections() {
+        return idleConnections.values().stream()
+                .flatMap(perBackend -> perBackend.values().stream())
+                .mapToInt(ConcurrentLinkedDeque::size)
+                .sum();
+    }
+
+    private void finishRequest(ClientExchange clientExchange, ClientConnection connection, CompletableFuture<byte[]> result) {
+        try {
+            StreamSinkChannel requestChannel = clientExchange.getRequestChannel();
+            requestChannel.shutdownWrites();
+            if (!requestChannel.flush()) {
+                requestChannel.getWriteSetter().set(ChannelListeners.<StreamSinkChannel>flushingChannelListener(null, null));
+                requestChannel.resumeWrites();
+            }
+        } catch (IOException e) {
+            IoUtils.safeClose(connection);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private ClientConnection acquire(XnioIoThread ioThread, String backend) {
+        Map<String, ConcurrentLinkedDeque<ClientConnection>> perBackend = idleConnections.get(ioThread);
+        ConcurrentLinkedDeque<ClientConnection> connections = perBackend == null ? null : perBackend.get(backend);
+        if (connections == null) {
+            return null;
+        }
+        ClientConnection connection;
+        while ((connection = connections.pollFirst()) != null) {
+            if (connection.isOpen()) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    private void release(String backend, ClientConnection connection) {
+        if (!connection.isOpen()) {
+            return;
+        }
+        ConcurrentLinkedDeque<ClientConnection> connections = idleConnections
+                .computeIfAbsent(connection.getIoThread(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(backend, key -> new ConcurrentLinkedDeque<>());
+        if (!closed && connections.size() < maxIdleConnections) {
+            connections.offerFirst(connection);
+        } else {
+            IoUtils.safeClose(connection);
+        }
+    }
+
+    private XnioSsl getSsl() {
+        if (ssl == null) {
+            synchronized (this) {
+                if (ssl == null) {
+                    try {
+                        SSLContext context;
+                        if (!userProvidedTruststore.isEmpty() && !userProvidedTruststorePassword.isEmpty()) {
+                            context = SSLContextBuilder.builder().setKeyStorePath(userProvidedTruststore)
+                                    .setKeyStorePassword(userProvidedTruststorePassword).buildTrustore();
+                        } else {
+                            context = SSLContext.getDefault();
+                        }
+                        ssl = new UndertowXnioSsl(null, null, context);
+                    } catch (final Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        }
+        return ssl;
+    }
+
+    /**
+     * Reads response body as is, without decoding it into string, so that only its raw bytes are kept in memory.
+     */
+    private abstract static class BytesReadChannelListener implements ChannelListener<StreamSourceChannel> {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final ByteBufferPool bufferPool;
+
+        BytesReadChannelListener(ByteBufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+        }
+
+        void setup(StreamSourceChannel channel) {
+            handleEvent(channel);
+        }
+
+        @Override
+        public void handleEvent(StreamSourceChannel channel) {
+            try (PooledByteBuffer pooled = bufferPool.allocate()) {
+                ByteBuffer buffer = pooled.getBuffer();
+                int read;
+                do {
+                    buffer.clear();
+                    read = channel.read(buffer);
+                    if (read == 0) {
+                        channel.getReadSetter().set(this);
+                        channel.resumeReads();
+                    } else if (read == -1) {
+                        IoUtils.safeClose(channel);
+                        bytesDone(content.toByteArray());
+                    } else {
+                        buffer.flip();
+                        byte[] bytes = new byte[buffer.remaining()];
+                        buffer.get(bytes);
+                        content.write(bytes, 0, bytes.length);
+                    }
+                } while (read > 0);
+            } catch (IOException e) {
+                error(e);
+            }
+        }
+
+        protected abstract void bytesDone(byte[] bytes);
+
+        protected abstract void error(IOException e);
+    }
+
+    private static boolean isExcluded(HttpString headerName) {
+        return Headers.HOST.equals(headerName)
+                || Headers.CONTENT_LENGTH.equals(headerName)
+                || Headers.TRANSFER_ENCODING.equals(headerName)
+                || Headers.CONNECTION.equals(headerName)
+                || Headers.KEEP_ALIVE.equals(headerName)
+                || Headers.ACCEPT_ENCODING.equals(headerName);
+    }
+}
@@ -17,17 +17,23 @@ package org.kie.server.router.proxy.aggragate;
 
 import static org.kie.server.router.utils.Helper.readProperties;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Properties;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
-public class JSONResponseAggregator implements ResponseAggregator {
+public class JSONResponseAggregator implements SortedResponseAggregator {
 
     private static final String JSON_TYPE = "application/json";
 
@@ -70,6 +76,75 @@ public class JSONResponseAggregator implements ResponseAggregator {
 
     }
 
+    @Override
+    public MergedPage merge(List<List<byte[]>> data, int[] skip, String sortBy, boolean ascending, int offset, int pageSize) {
+        String field = sortByMapping.getProperty(sortBy, sortBy);
+        Comparator<RowCursor> order = (c1, c2) -> {
+            int result = compareValues(c1.current.opt(field), c2.current.opt(field), ascending);
+            return result != 0 ? result : Integer.compare(c1.source, c2.source);
+        };
+        try {
+            RowCursor[] cursors = new RowCursor[data.size()];
+            PriorityQueue<RowCursor> heads = new PriorityQueue<>(Math.max(1, data.size()), order);
+            RowCursor envelope = null;
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = new RowCursor(i, data.get(i));
+                if (envelope == null && cursors[i].arrayKey != null) {
+                    envelope = cursors[i];
+                } else if (envelope != null && cursors[i].arrayKey != null && !cursors[i].arrayKey.equals(envelope.arrayKey)) {
+                    throw new IllegalArgumentException("Responses hold different lists '" + envelope.arrayKey + "' and '" + cursors[i].arrayKey + "'");
+                }
+                // rows consumed by previous pages are only parsed to move the cursor
+                boolean available = cursors[i].advance(field, ascending);
+                while (available && cursors[i].position < skip[i]) {
+                    available = cursors[i].advance(field, ascending);
+                }
+                if (available) {
+                    heads.add(cursors[i]);
+                }
+            }
+
+            JSONArray rows = new JSONArray();
+            int[] consumed = new int[cursors.length];
+            for (int i = 0; i < cursors.length; i++) {
+                consumed[i] = cursors[i].current == null ? cursors[i].position + 1 : cursors[i].position;
+            }
+            int position = 0;
+            while (rows.length() < pageSize && !heads.isEmpty()) {
+                RowCursor head = heads.poll();
+                if (position++ >= offset) {
+                    rows.put(head.current);
+                }
+                consumed[head.source] = head.position + 1;
+                if (head.advance(field, ascending)) {
+                    heads.add(head);
+                }
+            }
+
+            if (envelope == null) {
+                // all responses are empty
+                return new MergedPage(cursors.length == 0 ? "{}" : cursors[0].envelope.toString(2), consumed);
+            }
+            // keys that follow the list are part of the envelope too
+            envelope.finish();
+            envelope.envelope.put(envelope.arrayKey, rows);
+            return new MergedPage(envelope.envelope.toString(2), consumed);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected int compareValues(Object v1, Object v2, boolean ascending) {
+        int result = 0;
+        if (v1 instanceof Number && v2 instanceof Number) {
+            result = Double.compare(((Number) v1).doubleValue(), ((Number) v2).doubleValue());
+        } else if (v1 instanceof Comparable && v2 != null && v1.getClass().equals(v2.getClass())) {
+            result = ((Comparable) v1).compareTo(v2);
+        }
+        return ascending ? result : -result;
+    }
+
     protected String sort(String fieldName, boolean ascending, Integer page, Integer pageSize, JSONObject source) {
         try {
             for (String key: JSONObject.getNames(source)) {
@@ -225,5 +300,122 @@ public class JSONResponseAggregator implements ResponseAggregator {
         }
     }
 
+    /**
+     * Pull parser over pages of single response - json objects holding one array of objects - that keeps only
+     * the current row.
+     */
+    private class RowCursor {
+
+        private final int source;
+        private final Iterator<byte[]> pages;
+        private final JSONObject envelope = new JSONObject();
+        private JSONTokener tokener;
+        private String arrayKey;
+        private JSONObject current;
+        private int position = -1;
+        private boolean inArray;
+
+        RowCursor(int source, List<byte[]> pages) throws JSONException {
+            this.source = source;
+            this.pages = pages.iterator();
+            nextPage();
+        }
+
+        boolean advance(String field, boolean ascending) throws JSONException {
+            while (inArray) {
+                char c = tokener.nextClean();
+                if (c == ',') {
+                    c = tokener.nextClean();
+                }
+                if (c == ']') {
+                    inArray = false;
+                    readKeys(false);
+                    nextPage();
+                    continue;
+                }
+                if (c == 0) {
+                    throw new IllegalArgumentException("Response " + source + " ended unexpectedly");
+                }
+                tokener.back();
+                Object value = tokener.nextValue();
+                if (!(value instanceof JSONObject)) {
+                    throw new IllegalArgumentException("Only lists of objects can be merged");
+                }
+                JSONObject next = (JSONObject) value;
+                if (current != null && compareValues(current.opt(field), next.opt(field), ascending) > 0) {
+                    throw new IllegalStateException("Response " + source + " is not sorted by '" + field + "'");
+                }
+                current = next;
+                position++;
+                return true;
+            }
+            current = null;
+            return false;
+        }
+
+        /**
+         * Skips rows left in the current page and reads the keys that follow the list.
+         */
+        void finish() throws JSONException {
+            while (inArray) {
+                char c = tokener.nextClean();
+                if (c == ',') {
+                    c = tokener.nextClean();
+                }
+                if (c == ']') {
+                    inArray = false;
+                    readKeys(false);
+                } else if (c == 0) {
+                    throw new IllegalArgumentException("Response " + source + " ended unexpectedly");
+                } else {
+                    tokener.back();
+                    tokener.nextValue();
+                }
+            }
+        }
+
+        private void nextPage() throws JSONException {
+            while (!inArray && pages.hasNext()) {
+                tokener = new JSONTokener(new InputStreamReader(new ByteArrayInputStream(pages.next()), StandardCharsets.UTF_8));
+                if (tokener.nextClean() != '{') {
+                    throw new IllegalArgumentException("Response is not a json object");
+                }
+                readKeys(true);
+            }
+        }
+
+        /**
+         * Reads keys of the envelope until the end of the object or, when looking for the list, until the list starts.
+         */
+        private void readKeys(boolean findList) throws JSONException {
+            while (true) {
+                char c = tokener.nextClean();
+                if (c == '}') {
+                    return;
+                } else if (c == ',') {
+                    continue;
+                } else if (c == 0) {
+                    throw new IllegalArgumentException("Response " + source + " ended unexpectedly");
+                }
+                tokener.back();
+                String key = tokener.nextValue().toString();
+                if (tokener.nextClean() != ':') {
+                    throw new IllegalArgumentException("Expected ':' after key '" + key + "'");
+                }
+                if (findList && tokener.nextClean() == '[') {
+                    if (arrayKey != null && !arrayKey.equals(key)) {
+                        throw new IllegalArgumentException("Response " + source + " holds different lists '" + arrayKey + "' and '" + key + "'");
+                    }
+                    arrayKey = key;
+                    inArray = true;
+                    return;
+                } else if (findList) {
+                    tokener.back();
+                }
+                envelope.put(key, tokener.nextValue());
+            }
+        }
+    }
+
 }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy.aggragate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Continuation token of sorted paged aggregation. It records for every server how many rows of its sorted result
+ * were consumed by the previous pages, so the next page can be requested from each server starting at that row
+ * instead of from the first one.
+ * Token is opaque - servers are referred to by their index in the list of known hosts and the request it continues
+ * is only kept as a digest that also covers the hosts, so a token issued before the hosts changed is not accepted.
+ */
+public class PageCursor {
+
+    private static final String VERSION = "2";
+    private static final String SEPARATOR = "\n";
+    private static final int KEY_LENGTH = 16;
+
+    private final String key;
+    private final List<String> hosts;
+    private final Map<String, Integer> offsets;
+
+    /**
+     * @param hosts all known hosts, in the same order whenever the token is created or read
+     * @param offsets number of rows already consumed per host, hosts must be from the given list
+     */
+    public PageCursor(String query, String sortBy, boolean ascending, int page, int pageSize, List<String> hosts, Map<String, Integer> offsets) {
+        this(key(query, sortBy, ascending, page, pageSize, hosts), hosts, offsets);
+        if (!hosts.containsAll(offsets.keySet())) {
+            throw new IllegalArgumentException("Offsets of unknown hosts " + offsets.keySet());
+        }
+    }
+
+    private PageCursor(String key, List<String> hosts, Map<String, Integer> offsets) {
+        this.key = key;
+        this.hosts = Collections.unmodifiableList(new ArrayList<>(hosts));
+        this.offsets = Collections.unmodifiableMap(new LinkedHashMap<>(offsets));
+    }
+
+    /**
+     * @param hosts all known hosts
+     * @return cursor read from given token or null when token is missing or not valid
+     */
+    public static PageCursor fromToken(String token, List<String> hosts) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                return null;
+            }
+            Map<String, Integer> offsets = new LinkedHashMap<>();
+            if (!parts[2].isEmpty()) {
+                for (String offset : parts[2].split(" ")) {
+                    int index = offset.indexOf('=');
+                    offsets.put(hosts.get(Integer.parseInt(offset.substring(0, index))), Integer.parseInt(offset.substring(index + 1)));
+                }
+            }
+            return new PageCursor(parts[1], hosts, offsets);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public String toToken() {
+        StringBuilder token = new StringBuilder()
+                .append(VERSION).append(SEPARATOR)
+                .append(key).append(SEPARATOR);
+        String delimiter = "";
+        for (Map.Entry<String, Integer> offset : offsets.entrySet()) {
+            token.append(delimiter).append(hosts.indexOf(offset.getKey())).append('=').append(offset.getValue());
+            delimiter = " ";
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks if the cursor continues exactly the given request and was issued for the same hosts.
+     */
+    public boolean continues(String query, String sortBy, boolean ascending, int page, int pageSize) {
+        return key.equals(key(query, sortBy, ascending, page, pageSize, hosts));
+    }
+
+    /**
+     * Number of rows already consumed per server url.
+     */
+    public Map<String, Integer> getOffsets() {
+        return offsets;
+    }
+
+    private static String key(String query, String sortBy, boolean ascending, int page, int pageSize, List<String> hosts) {
+        String request = String.join(SEPARATOR, query, sortBy, String.valueOf(ascending), String.valueOf(page),
+                                     String.valueOf(pageSize), String.join(" ", hosts));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, KEY_LENGTH));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy.aggragate;
+
+import java.util.List;
+
+/**
+ * Aggregator that is able to merge responses that are already sorted by the servers, without parsing
+ * and sorting complete responses. Only the head of each response and the requested page are kept in memory.
+ */
+public interface SortedResponseAggregator extends ResponseAggregator {
+
+    /**
+     * Merges given responses, each of them sorted by given field, into single page.
+     * @param data raw responses of the servers, each server given as consecutive pages of its sorted result
+     * @param skip number of leading rows to skip in each of the responses, counted from the first row of its first page
+     * @param sortBy field the responses are sorted by
+     * @param ascending sort order of the responses
+     * @param offset number of merged rows to skip before the page starts
+     * @param pageSize max number of rows of the page
+     * @return merged page together with number of rows consumed from each of the responses
+     * @throws IllegalArgumentException when responses are not in format that can be merged
+     * @throws IllegalStateException when any of the responses is not sorted as requested
+     */
+    MergedPage merge(List<List<byte[]>> data, int[] skip, String sortBy, boolean ascending, int offset, int pageSize);
+
+    class MergedPage {
+
+        private final String response;
+        private final int[] consumed;
+
+        public MergedPage(String response, int[] consumed) {
+            this.response = response;
+            this.consumed = consumed;
+        }
+
+        public String getResponse() {
+            return response;
+        }
+
+        /**
+         * Number of rows of each response (including skipped ones, counted from the first row of its first page)
+         * that precede the end of the page.
+         */
+        public int[] getConsumed() {
+            return consumed;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.router.proxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.server.router.Configuration;
+import org.kie.server.router.ConfigurationManager;
+import org.kie.server.router.KieServerRouterConstants;
+import org.kie.server.router.KieServerRouterEnvironment;
+import org.kie.server.router.handlers.ContainersHttpHandler;
+import org.kie.server.router.spi.ConfigRepository;
+
+import io.undertow.Handlers;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.server.handlers.ResponseCodeHandler;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.SameThreadExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AggregateHttpClientTest {
+
+    private static final long TIMEOUT = 500;
+
+    private final CountDownLatch slowBackendReleased = new CountDownLatch(1);
+    private final Set<Object> fastBackendConnections = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+
+    private Undertow fastBackend;
+    private Undertow slowBackend;
+    private Undertow router;
+    private ConfigurationManager configurationManager;
+
+    private String fastUrl;
+    private String slowUrl;
+    private String routerUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        System.setProperty(KieServerRouterConstants.ROUTER_AGGREGATE_TIMEOUT, String.valueOf(TIMEOUT));
+
+        int fastPort = freePort();
+        fastUrl = "http://localhost:" + fastPort;
+        fastBackend = Undertow.builder().addHttpListener(fastPort, "localhost").setHandler(exchange -> {
+            fastBackendConnections.add(exchange.getConnection());
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json");
+            exchange.getResponseSender().send("{\"result\":{\"kie-containers\":{\"kie-container\":[{\"container-id\":\"fast-container\"}]}}}");
+        }).build();
+        fastBackend.start();
+
+        int slowPort = freePort();
+        slowUrl = "http://localhost:" + slowPort;
+        slowBackend = Undertow.builder().addHttpListener(slowPort, "localhost").setHandler(new BlockingHandler(exchange -> {
+            slowBackendReleased.await(10, TimeUnit.SECONDS);
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json");
+            exchange.getResponseSender().send("{\"result\":{\"kie-containers\":{\"kie-container\":[{\"container-id\":\"slow-container\"}]}}}");
+        })).build();
+        slowBackend.start();
+
+        Configuration configuration = new Configuration();
+        configuration.addServerHost("fast-server", fastUrl);
+        configuration.addServerHost("slow-server", slowUrl);
+        configurationManager = new ConfigurationManager(new KieServerRouterEnvironment(), new InMemoryRepository(configuration), executorService);
+
+        AggregateHttpClient client = configurationManager.getAggregateClient();
+        HttpHandler sendHandler = exchange -> {
+            String url = exchange.getQueryParameters().get("url").getFirst();
+            exchange.dispatch(SameThreadExecutor.INSTANCE, () ->
+                client.send(exchange, url, Methods.GET, null, new ConcurrentHashMap<>()).whenComplete((response, error) ->
+                    exchange.getResponseSender().send(error != null ? "error:" + error.getClass().getSimpleName() : new String(response, StandardCharsets.UTF_8))));
+        };
+
+        int routerPort = freePort();
+        routerUrl = "http://localhost:" + routerPort;
+        // single IO thread so that every request of the test can reuse the same idle connection
+        router = Undertow.builder().addHttpListener(routerPort, "localhost").setIoThreads(1).setHandler(new BlockingHandler(Handlers.path()
+                .addPrefixPath("/send", sendHandler)
+                .addExactPath("/containers", new ContainersHttpHandler(ResponseCodeHandler.HANDLE_404, configurationManager))))
+                .build();
+        router.start();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(KieServerRouterConstants.ROUTER_AGGREGATE_TIMEOUT);
+        slowBackendReleased.countDown();
+        router.stop();
+        configurationManager.close();
+        fastBackend.stop();
+        slowBackend.stop();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testConnectionReused() throws Exception {
+        assertThat(get("/send?url=" + encode(fastUrl + "/containers"))).contains("fast-container");
+        assertThat(get("/send?url=" + encode(fastUrl + "/containers"))).contains("fast-container");
+        assertThat(get("/send?url=" + encode(fastUrl + "/containers"))).contains("fast-container");
+
+        assertThat(fastBackendConnections).hasSize(1);
+        assertThat(configurationManager.getAggregateClient().getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        long start = System.currentTimeMillis();
+        assertThat(get("/send?url=" + encode(slowUrl + "/containers"))).isEqualTo("error:TimeoutException");
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(5000);
+        // connection of the timed out request is not kept for reuse
+        assertThat(configurationManager.getAggregateClient().getIdleConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void testPartialAggregation() throws Exception {
+        long start = System.currentTimeMillis();
+        String response = get("/containers");
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(5000);
+        assertThat(response).contains("fast-container").doesNotContain("slow-container");
+        // server that did not respond in time is not treated as failed
+        assertThat(configurationManager.getConfiguration().getHostsPerServer().get("slow-server")).containsExactly(slowUrl);
+    }
+
+    @Test
+    public void testClosedClientRejectsRequests() throws Exception {
+        assertThat(get("/send?url=" + encode(fastUrl + "/containers"))).contains("fast-container");
+
+        configurationManager.close();
+
+        assertThat(configurationManager.getAggregateClient().getIdleConnections()).isEqualTo(0);
+        assertThat(get("/send?url=" + encode(fastUrl + "/containers"))).isEqualTo("error:IllegalStateException");
+    }
+
+    private String get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(routerUrl + path).openConnection();
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setReadTimeout(10000);
+        try (InputStream input = connection.getInputStream()) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String encode(String value) throws IOException {
+        return URLEncoder.encode(value, "UTF-8");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class InMemoryRepository implements ConfigRepository {
+
+        private final Configuration configuration;
+
+        InMemoryRepository(Configuration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        public void persist(Configuration configuration) {
+        }
+
+        @Override
+        public Configuration load() {
+            return configuration;
+        }
+
+        @Override
+        public void clean() {
+        }
+    }
+}
@@ -17,16 +17,22 @@ package org.kie.server.router.proxy.aggregate;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.jboss.logging.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Test;
 import org.kie.server.router.proxy.aggragate.JSONResponseAggregator;
+import org.kie.server.router.proxy.aggragate.SortedResponseAggregator.MergedPage;
 
 public class JSONAggregatorTest extends AbstractAggregateTest {
 
@@ -543,5 +549,127 @@ public class JSONAggregatorTest extends AbstractAggregateTest {
         assertNotNull(aggregated);
         assertEquals(2, aggregated.length());
     }
-}
+    @Test
+    public void testMergeSortedProcessDefinitions() throws Exception {
+        String json1 = read(this.getClass().getResourceAsStream("/json/process-def-1.json"));
+        String json2 = read(this.getClass().getResourceAsStream("/json/process-def-2.json"));
+
+        JSONResponseAggregator aggregate = new JSONResponseAggregator();
+
+        List<String> data = new ArrayList<>();
+        data.add(json2);
+        data.add(json1);
+
+        MergedPage merged = aggregate.merge(pages(data), new int[]{0, 0}, "ProcessId", true, 2, 2);
+        logger.debug(merged.getResponse());
+
+        JSONArray processDefs = new JSONObject(merged.getResponse()).getJSONArray("processes");
+        assertEquals(2, processDefs.length());
+        assertEquals("3", processDefs.getJSONObject(0).getString("process-id"));
+        assertEquals("4", processDefs.getJSONObject(1).getString("process-id"));
+        // nothing taken from first response, four rows from second one
+        assertArrayEquals(new int[]{0, 4}, merged.getConsumed());
+    }
+
+    @Test
+    public void testMergeSortedProcessDefinitionsWithSkip() throws Exception {
+        String json1 = read(this.getClass().getResourceAsStream("/json/process-def-1.json"));
+        String json2 = read(this.getClass().getResourceAsStream("/json/process-def-2.json"));
+
+        JSONResponseAggregator aggregate = new JSONResponseAggregator();
+
+        List<String> data = new ArrayList<>();
+        data.add(json1);
+        data.add(json2);
+
+        MergedPage merged = aggregate.merge(pages(data), new int[]{4, 0}, "ProcessId", true, 0, 3);
+        logger.debug(merged.getResponse());
+
+        JSONArray processDefs = new JSONObject(merged.getResponse()).getJSONArray("processes");
+        assertEquals(3, processDefs.length());
+        assertEquals("5", processDefs.getJSONObject(0).getString("process-id"));
+        assertEquals("6", processDefs.getJSONObject(1).getString("process-id"));
+        assertEquals("7", processDefs.getJSONObject(2).getString("process-id"));
+        assertArrayEquals(new int[]{5, 2}, merged.getConsumed());
+    }
+
+    @Test
+    public void testMergeSortedProcessDefinitionsEmpty() throws Exception {
+        String json1 = read(this.getClass().getResourceAsStream("/json/process-def-1.json"));
+        String json2 = read(this.getClass().getResourceAsStream("/json/process-def-empty.json"));
+
+        JSONResponseAggregator aggregate = new JSONResponseAggregator();
+
+        List<String> data = new ArrayList<>();
+        data.add(json1);
+        data.add(json2);
 
+        MergedPage merged = aggregate.merge(pages(data), new int[]{0, 0}, "ProcessId", true, 4, 2);
+        logger.debug(merged.getResponse());
+
+        JSONArray processDefs = new JSONObject(merged.getResponse()).getJSONArray("processes");
+        assertEquals(1, processDefs.length());
+        assertEquals("5", processDefs.getJSONObject(0).getString("process-id"));
+        assertArrayEquals(new int[]{5, 0}, merged.getConsumed());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMergeNotSortedProcessDefinitions() throws Exception {
+        String json1 = read(this.getClass().getResourceAsStream("/json/process-def-1.json"));
+        String json2 = read(this.getClass().getResourceAsStream("/json/process-def-2.json"));
+
+        JSONResponseAggregator aggregate = new JSONResponseAggregator();
+
+        List<String> data = new ArrayList<>();
+        data.add(json1);
+        data.add(json2);
+
+        aggregate.merge(pages(data), new int[]{0, 0}, "ProcessId", false, 0, 2);
+    }
+
+    @Test
+    public void testMergeSortedPagesKeepsTrailingKeys() throws Exception {
+        JSONResponseAggregator aggregate = new JSONResponseAggregator();
+
+        List<List<byte[]>> data = new ArrayList<>();
+        data.add(Arrays.asList(bytes("{\"processes\": [{\"process-id\": \"1\"}, {\"process-id\": \"4\"}], \"total\": 2}")));
+        data.add(Arrays.asList(bytes("{\"processes\": [{\"process-id\": \"2\"}, {\"process-id\": \"3\"}]}"),
+                               bytes("{\"processes\": [{\"process-id\": \"5\"}, {\"process-id\": \"6\"}]}")));
+
+        MergedPage merged = aggregate.merge(data, new int[]{0, 1}, "ProcessId", true, 0, 3);
+        logger.debug(merged.getResponse());
+
+        JSONObject response = new JSONObject(merged.getResponse());
+        JSONArray processDefs = response.getJSONArray("processes");
+        assertEquals(3, processDefs.length());
+        assertEquals("1", processDefs.getJSONObject(0).getString("process-id"));
+        assertEquals("3", processDefs.getJSONObject(1).getString("process-id"));
+        assertEquals("4", processDefs.getJSONObject(2).getString("process-id"));
+        // key following the list is kept
+        assertEquals(2, response.getInt("total"));
+        // rows consumed from second response are counted from the first row of its first page
+        assertArrayEquals(new int[]{2, 2}, merged.getConsumed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeRawList() throws Exception {
+        String json1 = read(this.getClass().getResourceAsStream("/json/raw-list-1.json"));
+        String json2 = read(this.getClass().getResourceAsStream("/json/raw-list-2.json"));
+
+        JSONResponseAggregator aggregate = new JSONResponseAggregator();
+
+        List<String> data = new ArrayList<>();
+        data.add(json1);
+        data.add(json2);
+
+        aggregate.merge(pages(data), new int[]{0, 0}, "ProcessId", true, 0, 2);
+    }
+
+    private static List<List<byte[]>> pages(List<String> data) {
+        return data.stream().map(response -> Collections.singletonList(bytes(response))).collect(Collectors.toList());
+    }
+
+    private static byte[] bytes(String response) {
+        return response.getBytes(StandardCharsets.UTF_8);
+    }
+}
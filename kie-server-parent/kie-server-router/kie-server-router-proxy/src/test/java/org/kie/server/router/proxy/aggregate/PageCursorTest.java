@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.router.proxy.aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.server.router.proxy.aggragate.PageCursor;
+
+public class PageCursorTest {
+
+    private static final String QUERY = "/server/queries/processes/instances?sort=ProcessInstanceId";
+    private static final List<String> HOSTS = Arrays.asList("http://localhost:8080/kie-server/services/rest",
+                                                            "http://localhost:8180/kie-server/services/rest");
+
+    @Test
+    public void testTokenRoundTrip() {
+        Map<String, Integer> offsets = new LinkedHashMap<>();
+        offsets.put(HOSTS.get(0), 12);
+        offsets.put(HOSTS.get(1), 8);
+        PageCursor cursor = new PageCursor(QUERY, "ProcessInstanceId", false, 2, 10, HOSTS, offsets);
+
+        PageCursor read = PageCursor.fromToken(cursor.toToken(), HOSTS);
+        assertNotNull(read);
+        assertEquals(offsets, read.getOffsets());
+        assertTrue(read.continues(QUERY, "ProcessInstanceId", false, 2, 10));
+        assertFalse(read.continues(QUERY, "ProcessInstanceId", true, 2, 10));
+        assertFalse(read.continues(QUERY, "ProcessInstanceId", false, 3, 10));
+    }
+
+    @Test
+    public void testTokenIsOpaque() {
+        Map<String, Integer> offsets = new LinkedHashMap<>();
+        offsets.put(HOSTS.get(1), 8);
+        String token = new String(Base64.getUrlDecoder().decode(new PageCursor(QUERY, "ProcessInstanceId", false, 2, 10, HOSTS, offsets).toToken()), StandardCharsets.UTF_8);
+
+        assertFalse(token.contains("localhost"));
+        assertFalse(token.contains("ProcessInstanceId"));
+    }
+
+    @Test
+    public void testTokenOfOtherHosts() {
+        Map<String, Integer> offsets = new LinkedHashMap<>();
+        offsets.put(HOSTS.get(0), 12);
+        String token = new PageCursor(QUERY, "ProcessInstanceId", false, 2, 10, HOSTS, offsets).toToken();
+
+        PageCursor read = PageCursor.fromToken(token, Arrays.asList(HOSTS.get(0), "http://localhost:8280/kie-server/services/rest"));
+        assertNotNull(read);
+        assertFalse(read.continues(QUERY, "ProcessInstanceId", false, 2, 10));
+        assertNull(PageCursor.fromToken(token, Arrays.asList()));
+    }
+
+    @Test
+    public void testInvalidToken() {
+        assertNull(PageCursor.fromToken(null, HOSTS));
+        assertNull(PageCursor.fromToken("", HOSTS));
+        assertNull(PageCursor.fromToken("not a token", HOSTS));
+    }
+}
@@ -15,6 +15,11 @@
 
 package org.kie.server.services.api;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.kie.server.api.commands.CommandScript;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.ServiceResponse;
@@ -23,6 +28,28 @@ import org.kie.server.api.model.ServiceResponsesList;
 public interface KieContainerCommandService<V> {
 
     ServiceResponse<V> callContainer(String containerId, String payload, MarshallingFormat marshallingFormat, String classType);
+
+    /**
+     * Same as {@link #callContainer(String, String, MarshallingFormat, String)} but takes the payload as stream so
+     * implementations can decode it without materializing it as string first. By default payload is read fully
+     * and passed to the string based variant.
+     */
+    default ServiceResponse<V> callContainer(String containerId, InputStream payload, MarshallingFormat marshallingFormat, String classType) {
+        if (payload == null) {
+            return callContainer(containerId, (String) null, marshallingFormat, classType);
+        }
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = payload.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return callContainer(containerId, content.toString(StandardCharsets.UTF_8.name()), marshallingFormat, classType);
+        } catch (IOException e) {
+            return new ServiceResponse<V>(ServiceResponse.ResponseType.FAILURE, "Error calling container " + containerId + ": " + e.getMessage());
+        }
+    }
     
     ServiceResponsesList executeScript(CommandScript commands, MarshallingFormat marshallingFormat, String classType);
 }
@@ -15,8 +15,17 @@
 
 package org.kie.server.services.impl;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.KieServerEnvironment;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieContainerStatus;
@@ -32,7 +41,12 @@ public class ContainerManager {
     private static final Logger logger = LoggerFactory.getLogger(ContainerManager.class);
 
     public void installContainers(KieServerImpl kieServer, Set<KieContainerResource> containers, KieServerState currentState, KieServerSetup kieServerSetup) {
-        installContainersSync(kieServer, containers, currentState, kieServerSetup);
+        int parallelism = getParallelism();
+        if (parallelism > 1 && containers != null && containers.size() > 1) {
+            installContainersParallel(kieServer, containers, currentState, kieServerSetup, parallelism);
+        } else {
+            installContainersSync(kieServer, containers, currentState, kieServerSetup);
+        }
     }
 
     public void installContainersSync(KieServerImpl kieServer, Set<KieContainerResource> containers, KieServerState currentState, KieServerSetup kieServerSetup) {
@@ -45,14 +59,88 @@ public class ContainerManager {
         logger.info("About to install containers on kie server \n\t{}:\n\t{}", kieServer, str);
 
         for (KieContainerResource containerResource : containers) {
-            if (KieContainerStatus.STARTED.equals(containerResource.getStatus())) {
-                kieServer.createContainer(containerResource.getContainerId(), containerResource);
-            } else if (KieContainerStatus.DEACTIVATED.equals(containerResource.getStatus())) {
-                kieServer.createContainer(containerResource.getContainerId(), containerResource);
-                kieServer.deactivateContainer(containerResource.getContainerId());
-                containerResource.setStatus(KieContainerStatus.DEACTIVATED);
+            installContainer(kieServer, containerResource);
+        }
+        completeInstallation(kieServer, containers, currentState, kieServerSetup);
+    }
+
+    /**
+     * Installs containers while given number of threads resolve modules and build kie containers (including their
+     * kie bases) ahead. Containers are then created one by one on the calling thread in the order of the given set,
+     * so server extensions (e.g. jBPM deployments) see the same order as with sequential installation.
+     * Server is marked as ready once all containers are installed.
+     */
+    public void installContainersParallel(KieServerImpl kieServer, Set<KieContainerResource> containers, KieServerState currentState, KieServerSetup kieServerSetup, int parallelism) {
+        String str = containers.stream().map(KieContainerResource::toString).collect(joining("\n\t"));
+        logger.info("About to install containers on kie server with {} threads \n\t{}:\n\t{}", parallelism, kieServer, str);
+
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, containers.size()), runnable -> {
+            Thread thread = new Thread(runnable, "kie-server-container-installer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, Future<Long>> preparations = new LinkedHashMap<>();
+            for (KieContainerResource containerResource : containers) {
+                if (KieContainerStatus.STARTED.equals(containerResource.getStatus()) || KieContainerStatus.DEACTIVATED.equals(containerResource.getStatus())) {
+                    preparations.put(containerResource.getContainerId(), executor.submit(() -> {
+                        long preparationStart = System.nanoTime();
+                        kieServer.prepareContainer(containerResource.getContainerId(), containerResource.getReleaseId());
+                        return System.nanoTime() - preparationStart;
+                    }));
+                }
+            }
+            for (KieContainerResource containerResource : containers) {
+                Future<Long> preparation = preparations.get(containerResource.getContainerId());
+                long preparationTime = 0;
+                if (preparation != null) {
+                    try {
+                        preparationTime = preparation.get();
+                    } catch (ExecutionException e) {
+                        // container creation builds it again and reports the failure
+                        logger.debug("Unable to prepare container {}", containerResource.getContainerId(), e.getCause());
+                    }
+                }
+                installContainer(kieServer, containerResource, preparationTime);
             }
+        } catch (InterruptedException e) {
+            // installation is incomplete, so neither the state is stored nor the server marked as ready
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while installing containers on kie server {}", kieServer);
+            return;
+        } finally {
+            executor.shutdownNow();
+            kieServer.discardPreparedContainers();
+        }
+        logger.info("Installed {} containers on kie server {} in {} ms", containers.size(), kieServer, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        completeInstallation(kieServer, containers, currentState, kieServerSetup);
+    }
+
+    protected void installContainer(KieServerImpl kieServer, KieContainerResource containerResource) {
+        installContainer(kieServer, containerResource, 0);
+    }
+
+    /**
+     * @param preparationTime time in nanoseconds spent preparing the container ahead, counted into its install time
+     */
+    protected void installContainer(KieServerImpl kieServer, KieContainerResource containerResource, long preparationTime) {
+        long start = System.nanoTime() - preparationTime;
+        if (KieContainerStatus.STARTED.equals(containerResource.getStatus())) {
+            kieServer.createContainer(containerResource.getContainerId(), containerResource);
+        } else if (KieContainerStatus.DEACTIVATED.equals(containerResource.getStatus())) {
+            kieServer.createContainer(containerResource.getContainerId(), containerResource);
+            kieServer.deactivateContainer(containerResource.getContainerId());
+            containerResource.setStatus(KieContainerStatus.DEACTIVATED);
+        } else {
+            return;
         }
+        logger.info("Container {} installed in {} ms", containerResource.getContainerId(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    protected void completeInstallation(KieServerImpl kieServer, Set<KieContainerResource> containers, KieServerState currentState, KieServerSetup kieServerSetup) {
         currentState.setContainers(containers);
         if (kieServerSetup.getServerConfig() != null) {
             currentState.setConfiguration(kieServerSetup.getServerConfig());
@@ -60,4 +148,13 @@ public class ContainerManager {
         kieServer.getServerRegistry().getStateRepository().store(KieServerEnvironment.getServerId(), currentState);
         kieServer.markAsReady();
     }
+
+    protected int getParallelism() {
+        try {
+            return Integer.parseInt(System.getProperty(KieServerConstants.KIE_SERVER_STARTUP_CONTAINERS_PARALLELISM, "1"));
+        } catch (NumberFormatException e) {
+            logger.warn("The property {} is not a number; Fallback to sequential installation", KieServerConstants.KIE_SERVER_STARTUP_CONTAINERS_PARALLELISM);
+            return 1;
+        }
+    }
 }
@@ -15,10 +15,18 @@
 
 package org.kie.server.services.impl;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.drools.compiler.kie.builder.impl.InternalKieScanner;
 import org.drools.core.impl.InternalKieContainer;
@@ -27,6 +35,7 @@ import org.kie.api.builder.Message.Level;
 import org.kie.api.event.kiescanner.KieScannerEventListener;
 import org.kie.api.event.kiescanner.KieScannerStatusChangeEvent;
 import org.kie.api.event.kiescanner.KieScannerUpdateResultsEvent;
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallerFactory;
 import org.kie.server.api.marshalling.MarshallingFormat;
@@ -36,17 +45,38 @@ import org.kie.server.api.model.KieScannerResource;
 import org.kie.server.api.model.KieScannerStatus;
 import org.kie.server.api.model.ReleaseId;
 import org.kie.server.services.api.KieContainerInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class KieContainerInstanceImpl implements KieContainerInstance {
 
+    private static final Logger logger = LoggerFactory.getLogger(KieContainerInstanceImpl.class);
+
+    private static final List<MarshallingFormat> WARMUP_FORMATS = parseWarmUpFormats(System.getProperty(KieServerConstants.KIE_SERVER_MARSHALLERS_WARMUP));
+
+    // lookups are lock free so there is no way to tell when the last reader is done with replaced marshallers,
+    // they are disposed once all requests that might have looked them up are long finished
+    static final long RETIRED_MARSHALLERS_GRACE_MILLIS = 60_000;
+
     private KieContainerResource               resource;
     private InternalKieContainer               kieContainer;
     private InternalKieScanner                 scanner;
-    private transient Map<MarshallingFormat, Marshaller> marshallers;
+    // immutable snapshot, readers never lock - writers build a new map and swap it under marshallersLock
+    private transient volatile Map<MarshallingFormat, Marshaller> marshallers;
+    private final transient Object marshallersLock = new Object();
+    // replaced marshallers waiting for readers to move to the current ones, guarded by marshallersLock
+    private final transient Deque<RetiredMarshallers> retiredMarshallers = new ArrayDeque<>();
+    private transient volatile long retiredMarshallersDeadline;
+
+    private final transient LongAdder marshallerHits = new LongAdder();
+    private final transient LongAdder marshallerMisses = new LongAdder();
+    private final transient LongAdder marshallerSwaps = new LongAdder();
+
+    private transient volatile long startDuration;
 
     private transient Map<String, Object> serviceContainer;
 
-    private transient Set<Class<?>> extraClasses = new HashSet<Class<?>>();
+    private transient Set<Class<?>> extraClasses = ConcurrentHashMap.newKeySet();
     
     private transient KieServerScannerEventListener scannerListener;
 
@@ -65,7 +95,7 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         // set the default scanner state to DISPOSED (which is the actual default state)
         // this way we don't need to do null checks all around for the scanner resource
         this.resource.setScanner(new KieScannerResource(KieScannerStatus.DISPOSED));
-        this.marshallers = new ConcurrentHashMap<MarshallingFormat, Marshaller>();
+        this.marshallers = Collections.emptyMap();
         this.serviceContainer = new ConcurrentHashMap<String, Object>();
         updateReleaseId();
         this.scannerListener = new KieServerScannerEventListener(kieServer, this);
@@ -178,25 +208,164 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
     }
 
     public Marshaller getMarshaller(MarshallingFormat format) {
-        synchronized ( marshallers ) {
-            Marshaller marshaller = marshallers.get( format );
+        Marshaller marshaller = marshallers.get( format );
+        if ( marshaller != null ) {
+            marshallerHits.increment();
+            long deadline = retiredMarshallersDeadline;
+            if ( deadline != 0 && System.currentTimeMillis() >= deadline ) {
+                disposeRetiredMarshallers( false );
+            }
+            return marshaller;
+        }
+        // slow path, only taken when marshaller for given format was not built yet
+        synchronized ( marshallersLock ) {
+            marshaller = marshallers.get( format );
             if ( marshaller == null ) {
+                marshallerMisses.increment();
                 marshaller = MarshallerFactory.getMarshaller( getExtraClasses(), format, this.kieContainer.getClassLoader() );
-                this.marshallers.put( format, marshaller );
+                Map<MarshallingFormat, Marshaller> updated = copyOf( marshallers );
+                updated.put( format, marshaller );
+                this.marshallers = Collections.unmodifiableMap( updated );
             }
             return marshaller;
         }
     }
 
+    /**
+     * Eagerly builds marshallers for all formats configured via {@link KieServerConstants#KIE_SERVER_MARSHALLERS_WARMUP}
+     * (all formats by default) so requests do not pay for marshaller creation.
+     */
+    public void warmUpMarshallers() {
+        if ( this.kieContainer == null ) {
+            return;
+        }
+        for ( MarshallingFormat format : WARMUP_FORMATS ) {
+            try {
+                getMarshaller( format );
+            } catch (Exception e) {
+                logger.warn("Unable to build {} marshaller for container {} upfront due to {}", format, getContainerId(), e.getMessage());
+                logger.debug("Marshaller warm up failure", e);
+            }
+        }
+    }
+
+    /**
+     * Drops current marshallers. While the container is in use they are only retired and disposed once
+     * requests that might still use them are finished, a container being removed disposes them right away.
+     */
     public void disposeMarshallers() {
-        synchronized ( marshallers ) {
-            for ( Marshaller marshaller : this.marshallers.values() ) {
-                marshaller.dispose();
+        Map<MarshallingFormat, Marshaller> disposed;
+        synchronized ( marshallersLock ) {
+            disposed = this.marshallers;
+            this.marshallers = Collections.emptyMap();
+            if ( this.kieContainer != null ) {
+                retire( disposed );
+                disposed = Collections.emptyMap();
+            }
+        }
+        for ( Marshaller marshaller : disposed.values() ) {
+            marshaller.dispose();
+        }
+        disposeRetiredMarshallers( this.kieContainer == null );
+    }
+
+    /**
+     * Rebuilds currently active marshallers with the current set of extra classes and swaps them in at once,
+     * so concurrent requests either see complete old or complete new set of marshallers.
+     */
+    protected void rebuildMarshallers() {
+        Map<MarshallingFormat, Marshaller> replaced;
+        synchronized ( marshallersLock ) {
+            replaced = this.marshallers;
+            if ( replaced.isEmpty() || this.kieContainer == null ) {
+                return;
+            }
+            Map<MarshallingFormat, Marshaller> rebuilt = new EnumMap<MarshallingFormat, Marshaller>( MarshallingFormat.class );
+            for ( MarshallingFormat format : replaced.keySet() ) {
+                rebuilt.put( format, MarshallerFactory.getMarshaller( getExtraClasses(), format, this.kieContainer.getClassLoader() ) );
+            }
+            this.marshallers = Collections.unmodifiableMap( rebuilt );
+            marshallerSwaps.increment();
+            // requests that looked up the replaced marshallers might still be using them
+            retire( replaced );
+        }
+        disposeRetiredMarshallers( false );
+    }
+
+    private void retire(Map<MarshallingFormat, Marshaller> replaced) {
+        if ( replaced.isEmpty() ) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + RETIRED_MARSHALLERS_GRACE_MILLIS;
+        retiredMarshallers.addLast( new RetiredMarshallers( replaced.values(), deadline ) );
+        if ( retiredMarshallersDeadline == 0 ) {
+            retiredMarshallersDeadline = deadline;
+        }
+    }
+
+    /**
+     * @param all when true all retired marshallers are disposed regardless of their grace period
+     */
+    void disposeRetiredMarshallers(boolean all) {
+        List<Marshaller> disposed = new ArrayList<Marshaller>();
+        synchronized ( marshallersLock ) {
+            long now = System.currentTimeMillis();
+            while ( !retiredMarshallers.isEmpty() && (all || retiredMarshallers.peekFirst().deadline <= now) ) {
+                disposed.addAll( retiredMarshallers.pollFirst().marshallers );
+            }
+            retiredMarshallersDeadline = retiredMarshallers.isEmpty() ? 0 : retiredMarshallers.peekFirst().deadline;
+        }
+        for ( Marshaller marshaller : disposed ) {
+            marshaller.dispose();
+        }
+    }
+
+    /**
+     * Number of marshallers replaced but not disposed yet as requests might still use them.
+     */
+    public int getRetiredMarshallers() {
+        synchronized ( marshallersLock ) {
+            int count = 0;
+            for ( RetiredMarshallers retired : retiredMarshallers ) {
+                count += retired.marshallers.size();
             }
-            this.marshallers.clear();
+            return count;
         }
     }
 
+    /**
+     * Number of marshaller lookups served from already built marshallers without any locking.
+     */
+    public long getMarshallerCacheHits() {
+        return marshallerHits.sum();
+    }
+
+    /**
+     * Number of marshaller lookups that had to build a new marshaller (and thus synchronized).
+     */
+    public long getMarshallerCacheMisses() {
+        return marshallerMisses.sum();
+    }
+
+    /**
+     * Number of times the marshallers were rebuilt due to change of extra classes.
+     */
+    public long getMarshallerSwaps() {
+        return marshallerSwaps.sum();
+    }
+
+    /**
+     * Time in nanoseconds it took to start the container, including the time its kie container was prepared
+     * ahead of the creation. Zero until the container is started.
+     */
+    public long getStartDuration() {
+        return startDuration;
+    }
+
+    void setStartDuration(long startDuration) {
+        this.startDuration = startDuration;
+    }
+
     @Override
     public void addService(Object service) {
         if (service == null) {
@@ -210,12 +379,20 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
 
     @Override
     public boolean addExtraClasses(Set<Class<?>> extraJaxbClassList) {
-        return this.extraClasses.addAll( extraJaxbClassList );
+        boolean changed = this.extraClasses.addAll( extraJaxbClassList );
+        if ( changed ) {
+            rebuildMarshallers();
+        }
+        return changed;
     }
 
     @Override
     public void clearExtraClasses() {
+        if ( this.extraClasses.isEmpty() ) {
+            return;
+        }
         this.extraClasses.clear();
+        rebuildMarshallers();
     }
 
     @Override
@@ -255,6 +432,42 @@ public class KieContainerInstanceImpl implements KieContainerInstance {
         return false;
     }
 
+    private static class RetiredMarshallers {
+
+        private final List<Marshaller> marshallers;
+        private final long deadline;
+
+        RetiredMarshallers(Collection<Marshaller> marshallers, long deadline) {
+            this.marshallers = new ArrayList<Marshaller>( marshallers );
+            this.deadline = deadline;
+        }
+    }
+
+    private static Map<MarshallingFormat, Marshaller> copyOf(Map<MarshallingFormat, Marshaller> source) {
+        Map<MarshallingFormat, Marshaller> copy = new EnumMap<MarshallingFormat, Marshaller>( MarshallingFormat.class );
+        copy.putAll( source );
+        return copy;
+    }
+
+    static List<MarshallingFormat> parseWarmUpFormats(String formats) {
+        if ( formats == null || formats.trim().isEmpty() ) {
+            return Collections.unmodifiableList( Arrays.asList( MarshallingFormat.values() ) );
+        }
+        List<MarshallingFormat> result = new ArrayList<MarshallingFormat>();
+        for ( String format : formats.split( "," ) ) {
+            String trimmed = format.trim();
+            if ( trimmed.isEmpty() || "none".equalsIgnoreCase( trimmed ) ) {
+                continue;
+            }
+            try {
+                result.add( MarshallingFormat.valueOf( trimmed.toUpperCase() ) );
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown marshalling format '{}' configured for marshaller warm up, ignoring", trimmed);
+            }
+        }
+        return Collections.unmodifiableList( result );
+    }
+
     /**
      * Checks whether the releaseId was updated (i.e. the old one is different from the new one).
      *
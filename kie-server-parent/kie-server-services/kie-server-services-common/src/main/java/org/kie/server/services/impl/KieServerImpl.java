@@ -31,6 +31,7 @@ import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -104,6 +105,7 @@ public class KieServerImpl implements KieServer {
 
     private List<Message> serverMessages = new ArrayList<Message>();
     private Map<String, List<Message>> containerMessages = new ConcurrentHashMap<String, List<Message>>();
+    private Map<String, PreparedContainer> preparedContainers = new ConcurrentHashMap<String, PreparedContainer>();
 
     private KieServerEventSupport eventSupport = new KieServerEventSupport();
 
@@ -325,10 +327,12 @@ public class KieServerImpl implements KieServer {
                 previous = context.getContainer(containerId);
                 if (canBeDeployed(previous)) {
                     try {
+                        long start = System.nanoTime();
                         eventSupport.fireBeforeContainerStarted(this, ci);
 
-                        KieModuleMetaData metadata = buildKieModuleMetadata(releaseId);
-                        InternalKieContainer kieContainer = createInternalKieContainer(containerId, releaseId, metadata);
+                        PreparedContainer prepared = takePreparedContainer(containerId, releaseId);
+                        KieModuleMetaData metadata = prepared != null ? prepared.metadata : buildKieModuleMetadata(releaseId);
+                        InternalKieContainer kieContainer = prepared != null ? prepared.kieContainer : createInternalKieContainer(containerId, releaseId, metadata);
                         if (kieContainer != null) {
                             previous = context.registerContainer(containerId, ci);
                             ci.setKieContainer(kieContainer);
@@ -358,7 +362,10 @@ public class KieServerImpl implements KieServer {
                             if (!messages.stream().filter(m -> m.getSeverity().equals(Severity.ERROR)).findAny().isPresent()) {
                                 messages.add(new Message(Severity.INFO, "Container " + containerId + " successfully created with module " + releaseId + "."));
 
+                                ci.warmUpMarshallers();
+
                                 ci.getResource().setStatus(KieContainerStatus.STARTED);
+                                ci.setStartDuration(System.nanoTime() - start + (prepared != null ? prepared.preparationTime : 0));
                                 logger.info("Container {} (for release id {}) successfully started", containerId, releaseId);
 
                                 // store the current state of the server
@@ -410,6 +417,63 @@ public class KieServerImpl implements KieServer {
         }
     }
 
+    /**
+     * Resolves the module of the container and builds its kie container including all kie bases, so a following
+     * {@link #createContainer(String, KieContainerResource)} of the same container only registers it with the server
+     * and its extensions. Can be called concurrently for different containers.
+     */
+    void prepareContainer(String containerId, ReleaseId releaseId) {
+        long start = System.nanoTime();
+        KieModuleMetaData metadata = buildKieModuleMetadata(releaseId);
+        InternalKieContainer kieContainer = createInternalKieContainer(containerId, releaseId, metadata);
+        if (kieContainer == null) {
+            return;
+        }
+        kieContainer.getKieBaseNames().forEach(kieContainer::getKieBase);
+        long preparationTime = System.nanoTime() - start;
+        PreparedContainer previous = preparedContainers.put(containerId, new PreparedContainer(releaseId, metadata, kieContainer, preparationTime));
+        if (previous != null) {
+            previous.kieContainer.dispose();
+        }
+        logger.info("Container {} (for release id {}) prepared in {} ms", containerId, releaseId, TimeUnit.NANOSECONDS.toMillis(preparationTime));
+    }
+
+    /**
+     * Disposes kie containers prepared but not used by any container creation.
+     */
+    void discardPreparedContainers() {
+        preparedContainers.keySet().forEach(containerId -> {
+            PreparedContainer prepared = preparedContainers.remove(containerId);
+            if (prepared != null) {
+                prepared.kieContainer.dispose();
+            }
+        });
+    }
+
+    private PreparedContainer takePreparedContainer(String containerId, ReleaseId releaseId) {
+        PreparedContainer prepared = preparedContainers.remove(containerId);
+        if (prepared != null && !prepared.releaseId.equals(releaseId)) {
+            prepared.kieContainer.dispose();
+            return null;
+        }
+        return prepared;
+    }
+
+    private static class PreparedContainer {
+
+        private final ReleaseId releaseId;
+        private final KieModuleMetaData metadata;
+        private final InternalKieContainer kieContainer;
+        private final long preparationTime;
+
+        private PreparedContainer(ReleaseId releaseId, KieModuleMetaData metadata, InternalKieContainer kieContainer, long preparationTime) {
+            this.releaseId = releaseId;
+            this.metadata = metadata;
+            this.kieContainer = kieContainer;
+            this.preparationTime = preparationTime;
+        }
+    }
+
     protected KieContainerInstanceImpl createContainerInstanceImpl(String containerId, ReleaseId releaseId) {
         return new KieContainerInstanceImpl(containerId, KieContainerStatus.CREATING, null, releaseId, this);
     }
@@ -1001,6 +1065,7 @@ public class KieServerImpl implements KieServer {
                     currentState.setContainers(new HashSet<KieContainerResource>(containers));
                 });
 
+                kci.warmUpMarshallers();
                 logger.info("Container {} successfully updated to release id {}", containerId, releaseId);
                 ks.getRepository().removeKieModule(originalReleaseId);
                 notifyStatusToControllers();
@@ -1023,8 +1088,8 @@ public class KieServerImpl implements KieServer {
         String containerId = kci.getContainerId();
         Message response = null;
 
-        kci.clearExtraClasses();
         kci.disposeMarshallers();
+        kci.clearExtraClasses();
         Results results = kci.getKieContainer().updateToVersion(releaseId);
 
         if (results.hasMessages(Level.ERROR)) {
@@ -63,19 +63,18 @@ public class KieServerScannerEventListener implements KieScannerEventListener {
                 }
             }
             
+            // on scanner successful update dispose marshallers before the class set changes to avoid rebuilding them
+            kieContainerInstance.disposeMarshallers();
             kieContainerInstance.clearExtraClasses();
-            boolean disposedMarshallers = kieContainerInstance.updateReleaseId();
-            // on scanner successful update dispose marshallers
-            if (!disposedMarshallers) {
-                kieContainerInstance.disposeMarshallers();
-            }
-            
+            kieContainerInstance.updateReleaseId();
+
 
             // once the upgrade was successful, notify all extensions so they can be upgraded (if needed)
             for (KieServerExtension extension : extensions) {
                 extension.updateContainer(containerId, kieContainerInstance, parameters);  
                 logger.debug("Container {} (for release id {}) on {} updated successfully", containerId, releaseId, extension);
             }
+            kieContainerInstance.warmUpMarshallers();
         }
     }
 
@@ -15,6 +15,10 @@
 
 package org.kie.server.services.impl.marshal;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -66,6 +70,41 @@ public class MarshallerHelper {
         return marshaller.marshall(entity, MarshallingFormat.buildParameters(marshallingFormat));
     }
 
+    public void marshal(String containerId, String marshallingFormat, Object entity, OutputStream output, ContainerLocator locator) {
+        MarshallingFormat format = getFormat(marshallingFormat);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown marshalling format " + marshallingFormat);
+        }
+
+        KieContainerInstance containerInstance = registry.getContainer(containerId, locator);
+        if (containerInstance == null) {
+            throw new IllegalArgumentException("No container found for id " + containerId + " .");
+        }
+
+        Marshaller marshaller = containerInstance.getMarshaller(format);
+        if (marshaller == null) {
+            throw new IllegalArgumentException("No marshaller found for format " + format);
+        }
+
+        marshaller.marshall(entity, output, MarshallingFormat.buildParameters(marshallingFormat));
+    }
+
+    public void marshal(String marshallingFormat, Object entity, OutputStream output) {
+        MarshallingFormat format = getFormat(marshallingFormat);
+
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown marshalling format " + marshallingFormat);
+        }
+
+        Marshaller marshaller = serverMarshallers.get(format);
+        if (marshaller == null) {
+            marshaller = MarshallerFactory.getMarshaller(getExtraClasses(registry), format, this.getClass().getClassLoader());
+            serverMarshallers.put(format, marshaller);
+        }
+
+        marshaller.marshall(entity, output, MarshallingFormat.buildParameters(marshallingFormat));
+    }
+
     public String marshal(String marshallingFormat, Object entity) {
     	MarshallingFormat format = getFormat(marshallingFormat);
 
@@ -115,6 +154,34 @@ public class MarshallerHelper {
         return (T) instance;
     }
 
+    public <T> T unmarshal(String containerId, InputStream data, String marshallingFormat, Class<T> unmarshalType, ContainerLocator locator) {
+        PushbackInputStream input = nonEmpty(data);
+        if (input == null) {
+            return null;
+        }
+        MarshallingFormat format = getFormat(marshallingFormat);
+
+        KieContainerInstance containerInstance = registry.getContainer(containerId, locator);
+
+        if (containerInstance == null || format == null) {
+            throw new IllegalArgumentException("No container found for id " + containerId + " or unknown marshalling format " + marshallingFormat);
+        }
+
+        Marshaller marshaller = containerInstance.getMarshaller(format);
+        if (marshaller == null) {
+            throw new IllegalArgumentException("No marshaller found for format " + format);
+        }
+
+        Object instance = marshaller.unmarshall(input, unmarshalType, MarshallingFormat.buildParameters(
+                marshallingFormat));
+
+        if (instance instanceof Wrapped) {
+            return (T) ((Wrapped) instance).unwrap();
+        }
+
+        return (T) instance;
+    }
+
     public <T> T unmarshal(String data, String marshallingFormat, Class<T> unmarshalType) {
         if (data == null || data.isEmpty()) {
             return null;
@@ -146,6 +213,26 @@ public class MarshallerHelper {
         return format;
     }
     
+    /**
+     * Returns stream positioned at the beginning of the content or null when given stream has no content at all
+     */
+    public static PushbackInputStream nonEmpty(InputStream data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            PushbackInputStream input = new PushbackInputStream(data);
+            int first = input.read();
+            if (first == -1) {
+                return null;
+            }
+            input.unread(first);
+            return input;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read data to unmarshal", e);
+        }
+    }
+
     private static Set<Class<?>> getExtraClasses(KieServerRegistry registry) {
     	Set<Class<?>> extraClasses;
     	
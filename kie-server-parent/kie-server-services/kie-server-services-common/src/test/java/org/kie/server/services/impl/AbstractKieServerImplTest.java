@@ -24,10 +24,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
 import org.assertj.core.api.Assertions;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.core.impl.InternalKieContainer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,6 +37,7 @@ import org.kie.api.KieServices;
 import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieMavenRepository;
+import org.kie.scanner.KieModuleMetaData;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.KieServerEnvironment;
 import org.kie.server.api.commands.CommandScript;
@@ -537,6 +540,45 @@ public abstract class AbstractKieServerImplTest {
         kieServer.disposeContainer(containerId);
     }
 
+    @Test
+    public void testStartDurationIncludesPreparation() {
+        String containerId = "start-duration-with-preparation";
+        createEmptyKjar(containerId);
+
+        long preparationDelay = 300;
+        AtomicInteger builds = new AtomicInteger();
+        kieServer.destroy();
+        kieServer = new KieServerImpl(new KieServerStateFileRepository(REPOSITORY_DIR)) {
+            @Override
+            public List<KieServerExtension> getServerExtensions() {
+                return extensions;
+            }
+
+            @Override
+            protected InternalKieContainer createInternalKieContainer(String id, ReleaseId moduleReleaseId, KieModuleMetaData metadata) {
+                builds.incrementAndGet();
+                try {
+                    Thread.sleep(preparationDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.createInternalKieContainer(id, moduleReleaseId, metadata);
+            }
+        };
+        kieServer.init();
+
+        ReleaseId containerReleaseId = new ReleaseId(releaseId);
+        kieServer.prepareContainer(containerId, containerReleaseId);
+        ServiceResponse<KieContainerResource> createResponse = kieServer.createContainer(containerId, new KieContainerResource(containerId, containerReleaseId));
+        Assertions.assertThat(createResponse.getType()).isEqualTo(ServiceResponse.ResponseType.SUCCESS);
+
+        // prepared kie container was used, yet its build time counts into the start of the container
+        assertEquals(1, builds.get());
+        Assertions.assertThat(kieServer.getServerRegistry().getContainer(containerId).getStartDuration())
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(preparationDelay));
+        kieServer.disposeContainer(containerId);
+    }
+
     protected void startContainerToUpdate(String containerId, String version) {
         createEmptyKjar(containerId, version);
 
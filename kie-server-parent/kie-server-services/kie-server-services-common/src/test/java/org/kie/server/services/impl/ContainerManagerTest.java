@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.impl;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.controller.api.model.KieServerSetup;
+import org.kie.server.services.impl.storage.KieServerState;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ContainerManagerTest {
+
+    @Test
+    public void testInstallContainersParallelKeepsOrder() {
+        KieServerImpl kieServer = mock(KieServerImpl.class, RETURNS_DEEP_STUBS);
+        Set<KieContainerResource> containers = new LinkedHashSet<>();
+        for (int i = 0; i < 10; i++) {
+            containers.add(new KieContainerResource("container-" + i, new ReleaseId("org.kie", "kjar-" + i, "1.0"), i == 5 ? KieContainerStatus.STOPPED : KieContainerStatus.STARTED));
+        }
+        // failed preparation must not prevent the container from being created
+        doThrow(new IllegalStateException("not resolvable")).when(kieServer).prepareContainer(eq("container-3"), any(ReleaseId.class));
+
+        new ContainerManager().installContainersParallel(kieServer, containers, new KieServerState(), new KieServerSetup(), 4);
+
+        InOrder inOrder = inOrder(kieServer);
+        for (KieContainerResource container : containers) {
+            if (container.getStatus() == KieContainerStatus.STARTED) {
+                inOrder.verify(kieServer).createContainer(container.getContainerId(), container);
+            }
+        }
+        inOrder.verify(kieServer).discardPreparedContainers();
+        inOrder.verify(kieServer).markAsReady();
+
+        verify(kieServer, never()).prepareContainer(eq("container-5"), any(ReleaseId.class));
+        verify(kieServer, never()).createContainer(eq("container-5"), any(KieContainerResource.class));
+    }
+
+    @Test
+    public void testInstallTimeIncludesPreparation() {
+        KieServerImpl kieServer = mock(KieServerImpl.class, RETURNS_DEEP_STUBS);
+        Set<KieContainerResource> containers = new LinkedHashSet<>();
+        for (int i = 0; i < 2; i++) {
+            containers.add(new KieContainerResource("container-" + i, new ReleaseId("org.kie", "kjar-" + i, "1.0"), KieContainerStatus.STARTED));
+        }
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        }).when(kieServer).prepareContainer(anyString(), any(ReleaseId.class));
+        ContainerManager containerManager = spy(new ContainerManager());
+
+        containerManager.installContainersParallel(kieServer, containers, new KieServerState(), new KieServerSetup(), 2);
+
+        ArgumentCaptor<Long> preparationTime = ArgumentCaptor.forClass(Long.class);
+        verify(containerManager, times(2)).installContainer(eq(kieServer), any(KieContainerResource.class), preparationTime.capture());
+        for (Long time : preparationTime.getAllValues()) {
+            assertTrue(time >= TimeUnit.MILLISECONDS.toNanos(200));
+        }
+    }
+
+    @Test
+    public void testInstallContainersParallelInterrupted() {
+        KieServerImpl kieServer = mock(KieServerImpl.class, RETURNS_DEEP_STUBS);
+        Set<KieContainerResource> containers = new LinkedHashSet<>();
+        for (int i = 0; i < 2; i++) {
+            containers.add(new KieContainerResource("container-" + i, new ReleaseId("org.kie", "kjar-" + i, "1.0"), KieContainerStatus.STARTED));
+        }
+        doAnswer(invocation -> {
+            Thread.sleep(10000);
+            return null;
+        }).when(kieServer).prepareContainer(anyString(), any(ReleaseId.class));
+
+        Thread.currentThread().interrupt();
+        try {
+            new ContainerManager().installContainersParallel(kieServer, containers, new KieServerState(), new KieServerSetup(), 2);
+
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        verify(kieServer).discardPreparedContainers();
+        verify(kieServer, never()).createContainer(anyString(), any(KieContainerResource.class));
+        verify(kieServer, never()).markAsReady();
+    }
+}
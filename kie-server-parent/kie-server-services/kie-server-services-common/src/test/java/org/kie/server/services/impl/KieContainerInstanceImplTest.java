@@ -15,6 +15,8 @@
 
 package org.kie.server.services.impl;
 
+import java.util.Collections;
+
 import org.assertj.core.api.Assertions;
 import org.drools.core.impl.InternalKieContainer;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
@@ -75,6 +77,76 @@ public class KieContainerInstanceImplTest {
         Assertions.assertThat(updatedMarshaller).isNotEqualTo(marshaller);
     }
 
+    @Test
+    public void testMarshallerLookupIsServedFromCache() {
+        createEmptyKjar(GROUP_ID, ARTIFACT_ID, VERSION_100);
+
+        KieServices ks = KieServices.Factory.get();
+        InternalKieContainer kieContainer = (InternalKieContainer) ks.newKieContainer(CONTAINER_ID, RELEASE_ID_100);
+        KieContainerInstanceImpl containerInstance = new KieContainerInstanceImpl(CONTAINER_ID, KieContainerStatus.STARTED, kieContainer);
+
+        containerInstance.warmUpMarshallers();
+        long misses = containerInstance.getMarshallerCacheMisses();
+        Assertions.assertThat(misses).isEqualTo(MarshallingFormat.values().length);
+
+        for (MarshallingFormat format : MarshallingFormat.values()) {
+            Assertions.assertThat(containerInstance.getMarshaller(format)).isNotNull();
+        }
+        Assertions.assertThat(containerInstance.getMarshallerCacheMisses()).isEqualTo(misses);
+        Assertions.assertThat(containerInstance.getMarshallerCacheHits()).isEqualTo(MarshallingFormat.values().length);
+    }
+
+    @Test
+    public void testMarshallersSwappedOnExtraClassesChange() {
+        createEmptyKjar(GROUP_ID, ARTIFACT_ID, VERSION_100);
+
+        KieServices ks = KieServices.Factory.get();
+        InternalKieContainer kieContainer = (InternalKieContainer) ks.newKieContainer(CONTAINER_ID, RELEASE_ID_100);
+        KieContainerInstanceImpl containerInstance = new KieContainerInstanceImpl(CONTAINER_ID, KieContainerStatus.STARTED, kieContainer);
+
+        Marshaller marshaller = containerInstance.getMarshaller(MarshallingFormat.JSON);
+
+        // same classes again - nothing changes
+        containerInstance.addExtraClasses(Collections.emptySet());
+        Assertions.assertThat(containerInstance.getMarshaller(MarshallingFormat.JSON)).isSameAs(marshaller);
+        Assertions.assertThat(containerInstance.getMarshallerSwaps()).isZero();
+
+        containerInstance.addExtraClasses(Collections.singleton(ReleaseId.class));
+        Marshaller swapped = containerInstance.getMarshaller(MarshallingFormat.JSON);
+        Assertions.assertThat(swapped).isNotSameAs(marshaller);
+        Assertions.assertThat(containerInstance.getMarshallerSwaps()).isEqualTo(1);
+
+        containerInstance.clearExtraClasses();
+        Assertions.assertThat(containerInstance.getMarshaller(MarshallingFormat.JSON)).isNotSameAs(swapped);
+        Assertions.assertThat(containerInstance.getMarshallerSwaps()).isEqualTo(2);
+    }
+
+    @Test
+    public void testReplacedMarshallersRetiredUntilContainerRemoved() {
+        createEmptyKjar(GROUP_ID, ARTIFACT_ID, VERSION_100);
+
+        KieServices ks = KieServices.Factory.get();
+        InternalKieContainer kieContainer = (InternalKieContainer) ks.newKieContainer(CONTAINER_ID, RELEASE_ID_100);
+        KieContainerInstanceImpl containerInstance = new KieContainerInstanceImpl(CONTAINER_ID, KieContainerStatus.STARTED, kieContainer);
+
+        containerInstance.getMarshaller(MarshallingFormat.JSON);
+        containerInstance.getMarshaller(MarshallingFormat.JAXB);
+
+        // requests might still use replaced marshallers, they are kept for the grace period
+        containerInstance.addExtraClasses(Collections.singleton(ReleaseId.class));
+        Assertions.assertThat(containerInstance.getRetiredMarshallers()).isEqualTo(2);
+        containerInstance.disposeRetiredMarshallers(false);
+        Assertions.assertThat(containerInstance.getRetiredMarshallers()).isEqualTo(2);
+
+        containerInstance.disposeMarshallers();
+        Assertions.assertThat(containerInstance.getRetiredMarshallers()).isEqualTo(4);
+
+        // removed container disposes everything right away
+        containerInstance.setKieContainer(null);
+        containerInstance.disposeMarshallers();
+        Assertions.assertThat(containerInstance.getRetiredMarshallers()).isZero();
+    }
+
     private void verifyReleaseId(ReleaseId actualReleaseId, ReleaseId expectedReleaseId) {
         Assertions.assertThat(actualReleaseId).isNotNull();
         Assertions.assertThat(actualReleaseId.getGroupId()).isEqualTo(expectedReleaseId.getGroupId());
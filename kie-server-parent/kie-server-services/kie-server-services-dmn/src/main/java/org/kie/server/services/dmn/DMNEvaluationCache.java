@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.dmn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.kie.api.runtime.KieRuntimeFactory;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.DecisionServiceNode;
+import org.kie.server.services.api.KieContainerInstance;
+
+/**
+ * Per container cache of DMN runtime and its models, so evaluation requests do not need to resolve the runtime
+ * and list or look up models by name on every call. Cache is built when container is created and rebuilt when container is updated,
+ * as the update might bring in new kie base and models.
+ */
+public class DMNEvaluationCache {
+
+    private final DMNRuntime dmnRuntime;
+    private final List<DMNModel> models;
+    private final Map<String, List<DMNModel>> modelsByName;
+    private final Map<QName, Map<String, DecisionServiceNode>> decisionServices;
+
+    public DMNEvaluationCache(DMNRuntime dmnRuntime) {
+        this.dmnRuntime = dmnRuntime;
+        this.models = Collections.unmodifiableList(new ArrayList<>(dmnRuntime.getModels()));
+
+        Map<String, List<DMNModel>> byName = new HashMap<>();
+        Map<QName, Map<String, DecisionServiceNode>> services = new HashMap<>();
+        for (DMNModel model : models) {
+            byName.computeIfAbsent(model.getName(), name -> new ArrayList<>()).add(model);
+
+            Map<String, DecisionServiceNode> modelServices = new HashMap<>();
+            for (DecisionServiceNode ds : model.getDecisionServices()) {
+                modelServices.putIfAbsent(ds.getName(), ds);
+            }
+            services.put(new QName(model.getNamespace(), model.getName()), modelServices);
+        }
+        this.modelsByName = byName;
+        this.decisionServices = services;
+    }
+
+    public static DMNEvaluationCache of(KieContainerInstance kieContainerInstance) {
+        return new DMNEvaluationCache(KieRuntimeFactory.of(kieContainerInstance.getKieContainer().getKieBase()).get(DMNRuntime.class));
+    }
+
+    public DMNRuntime getDMNRuntime() {
+        return dmnRuntime;
+    }
+
+    public List<DMNModel> getModels() {
+        return models;
+    }
+
+    /**
+     * @return all models with given name, regardless of their namespace
+     */
+    public List<DMNModel> getModelsByName(String name) {
+        return modelsByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * @return decision service of given model or null if model does not define decision service with such name
+     */
+    public DecisionServiceNode getDecisionService(DMNModel model, String decisionServiceName) {
+        Map<String, DecisionServiceNode> modelServices = decisionServices.get(new QName(model.getNamespace(), model.getName()));
+        return modelServices == null ? null : modelServices.get(decisionServiceName);
+    }
+}
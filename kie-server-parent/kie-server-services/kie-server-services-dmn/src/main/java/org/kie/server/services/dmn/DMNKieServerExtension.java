@@ -15,11 +15,15 @@
 
 package org.kie.server.services.dmn;
 
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
 import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.Message;
 import org.kie.server.api.model.Severity;
 import org.kie.server.services.api.*;
 import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.prometheus.PrometheusKieServerExtension;
+import org.kie.server.services.prometheus.PrometheusMetricsDMNListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +74,7 @@ public class DMNKieServerExtension
         if (!initialized) {
             return;
         }
+        modelEvaluatorServiceBase.shutdown();
     }
 
     @Override
@@ -77,6 +82,11 @@ public class DMNKieServerExtension
         if (!initialized) {
             return;
         }
+        DMNEvaluationCache evaluationCache = buildEvaluationCache(kieContainerInstance);
+        if (evaluationCache != null) {
+            kieContainerInstance.addService(evaluationCache);
+            registerListeners(kieContainerInstance, evaluationCache.getDMNRuntime());
+        }
     }
 
     @Override
@@ -84,6 +94,9 @@ public class DMNKieServerExtension
         if (!initialized) {
             return;
         }
+        // cache is rebuilt and listeners are re-attached as the container might have been updated with new kie base
+        disposeContainer(id, kieContainerInstance, parameters);
+        createContainer(id, kieContainerInstance, parameters);
     }
 
     @Override
@@ -96,6 +109,41 @@ public class DMNKieServerExtension
         if (!initialized) {
             return;
         }
+        kieContainerInstance.removeService(DMNEvaluationCache.class);
+        DMNListenerRegistry listenerRegistry = kieContainerInstance.removeService(DMNListenerRegistry.class);
+        if (listenerRegistry != null) {
+            listenerRegistry.unregister();
+        }
+    }
+
+    protected DMNEvaluationCache buildEvaluationCache(KieContainerInstance kieContainerInstance) {
+        if (kieContainerInstance.getKieContainer() == null) {
+            return null;
+        }
+        try {
+            return DMNEvaluationCache.of(kieContainerInstance);
+        } catch (RuntimeException e) {
+            LOG.debug("No DMN runtime available for container {}", kieContainerInstance.getContainerId(), e);
+            return null;
+        }
+    }
+
+    protected void registerListeners(KieContainerInstance kieContainerInstance, DMNRuntime dmnRuntime) {
+        PrometheusKieServerExtension extension = (PrometheusKieServerExtension) registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME);
+        if (extension == null) {
+            return;
+        }
+
+        List<DMNRuntimeEventListener> listeners = new ArrayList<>();
+        //default handler
+        listeners.add(new PrometheusMetricsDMNListener(PrometheusKieServerExtension.getMetrics(), kieContainerInstance));
+        //custom handler
+        listeners.addAll(extension.getDMNRuntimeListeners(kieContainerInstance));
+
+        DMNListenerRegistry listenerRegistry = new DMNListenerRegistry();
+        listenerRegistry.register(dmnRuntime, listeners);
+        kieContainerInstance.addService(listenerRegistry);
+        LOG.debug("Registered {} DMN listener(s) on container {}", listeners.size(), kieContainerInstance.getContainerId());
     }
 
     @Override
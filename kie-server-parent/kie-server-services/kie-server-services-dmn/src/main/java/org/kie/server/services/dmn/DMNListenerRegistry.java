@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.dmn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+
+/**
+ * Keeps listeners attached to the DMN runtime of a single container. Listeners are registered when container is
+ * created or updated instead of on every evaluation, and registering is idempotent - listener already attached
+ * to the runtime is never added twice.
+ */
+public class DMNListenerRegistry {
+
+    private DMNRuntime dmnRuntime;
+    private final List<DMNRuntimeEventListener> listeners = new ArrayList<>();
+
+    /**
+     * Attaches given listeners to the runtime. In case listeners were previously registered on another runtime
+     * (e.g. container was updated to new version) they are removed from it first.
+     */
+    public synchronized void register(DMNRuntime runtime, List<DMNRuntimeEventListener> toRegister) {
+        if (dmnRuntime != runtime) {
+            unregister();
+            dmnRuntime = runtime;
+        }
+        for (DMNRuntimeEventListener listener : toRegister) {
+            if (!dmnRuntime.getListeners().contains(listener)) {
+                dmnRuntime.addListener(listener);
+            }
+            if (!listeners.contains(listener)) {
+                listeners.add(listener);
+            }
+        }
+    }
+
+    /**
+     * Removes all listeners registered via this registry from the runtime.
+     */
+    public synchronized void unregister() {
+        if (dmnRuntime != null) {
+            listeners.forEach(dmnRuntime::removeListener);
+        }
+        listeners.clear();
+        dmnRuntime = null;
+    }
+
+    public synchronized DMNRuntime getDMNRuntime() {
+        return dmnRuntime;
+    }
+
+    public synchronized List<DMNRuntimeEventListener> getListeners() {
+        return Collections.unmodifiableList(new ArrayList<>(listeners));
+    }
+}
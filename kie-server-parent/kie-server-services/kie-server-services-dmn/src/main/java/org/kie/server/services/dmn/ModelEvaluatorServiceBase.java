@@ -15,10 +15,22 @@
 
 package org.kie.server.services.dmn;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.core.Response;
@@ -29,7 +41,6 @@ import javax.xml.namespace.QName;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.kie.api.builder.ReleaseId;
-import org.kie.api.runtime.KieRuntimeFactory;
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNResult;
@@ -37,7 +48,6 @@ import org.kie.dmn.api.core.DMNRuntime;
 import org.kie.dmn.api.core.ast.DecisionNode;
 import org.kie.dmn.api.core.ast.DecisionServiceNode;
 import org.kie.dmn.api.core.ast.InputDataNode;
-import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
 import org.kie.dmn.backend.marshalling.v1x.DMNMarshallerFactory;
 import org.kie.dmn.core.ast.InputDataNodeImpl;
 import org.kie.dmn.core.ast.ItemDefNodeImpl;
@@ -50,17 +60,24 @@ import org.kie.dmn.model.api.Decision;
 import org.kie.dmn.model.api.Definitions;
 import org.kie.dmn.model.api.InputData;
 import org.kie.dmn.model.api.ItemDefinition;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.marshalling.json.JSONMarshaller;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.api.model.dmn.DMNContextKS;
+import org.kie.server.api.model.dmn.DMNContextKSList;
 import org.kie.server.api.model.dmn.DMNDecisionInfo;
 import org.kie.server.api.model.dmn.DMNDecisionServiceInfo;
 import org.kie.server.api.model.dmn.DMNInputDataInfo;
 import org.kie.server.api.model.dmn.DMNItemDefinitionInfo;
+import org.kie.server.api.model.dmn.DMNMessageKS;
 import org.kie.server.api.model.dmn.DMNModelInfo;
 import org.kie.server.api.model.dmn.DMNModelInfoList;
 import org.kie.server.api.model.dmn.DMNQNameInfo;
 import org.kie.server.api.model.dmn.DMNResultKS;
+import org.kie.server.api.model.dmn.DMNResultKSList;
 import org.kie.server.api.model.dmn.DMNUnaryTestsInfo;
+import org.kie.server.services.api.ContainerLocator;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.dmn.modelspecific.DMNFEELComparablePeriodSerializer;
 import org.kie.server.services.dmn.modelspecific.KogitoDMNResult;
@@ -69,8 +86,6 @@ import org.kie.server.services.dmn.modelspecific.OASGenerator;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.impl.marshal.MarshallerHelper;
-import org.kie.server.services.prometheus.PrometheusKieServerExtension;
-import org.kie.server.services.prometheus.PrometheusMetricsDMNListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -78,8 +93,13 @@ public class ModelEvaluatorServiceBase {
 
     private static final Logger LOG = LoggerFactory.getLogger( ModelEvaluatorServiceBase.class );
 
+    private static final int STREAM_CHUNK_PER_THREAD = 16;
+    private static final String COMPACT_JSON = MarshallingFormat.JSON.getType() + ";" + JSONMarshaller.INDENT + "=false";
+
     private KieServerRegistry context;
     private MarshallerHelper marshallerHelper;
+    // bounded pool for batch evaluations so batches do not compete with the common pool
+    private final ForkJoinPool batchPool;
     
     private static final com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper()
             .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule())
@@ -92,14 +112,13 @@ public class ModelEvaluatorServiceBase {
     public ModelEvaluatorServiceBase(KieServerRegistry context) {
         this.context = context;
         this.marshallerHelper = new MarshallerHelper(context);
+        this.batchPool = new ForkJoinPool(Integer.getInteger(KieServerConstants.KIE_SERVER_DMN_BATCH_PARALLELISM, Runtime.getRuntime().availableProcessors()));
     }
     
     public ServiceResponse<DMNModelInfoList> getModels(String containerId) {
         try {
             KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
-            DMNRuntime kieRuntime = KieRuntimeFactory.of(kContainer.getKieContainer().getKieBase()).get(DMNRuntime.class);
-            
-            List<DMNModel> models = kieRuntime.getModels();
+            List<DMNModel> models = getEvaluationCache(kContainer).getModels();
             List<DMNModelInfo> result = models.stream().map(ModelEvaluatorServiceBase::modelToInfo).collect(Collectors.toList());
             
             return new ServiceResponse<DMNModelInfoList>(
@@ -182,27 +201,26 @@ public class ModelEvaluatorServiceBase {
 
 
     public ServiceResponse<DMNResultKS> evaluateDecisions(String containerId, String contextPayload, String marshallingType) {
+        LOG.debug("Will deserialize payload: {}", contextPayload);
+        return evaluateDecisions(containerId, () -> marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKS.class));
+    }
+
+    /**
+     * Evaluates decisions for the context decoded straight from the given stream.
+     */
+    public ServiceResponse<DMNResultKS> evaluateDecisions(String containerId, InputStream contextPayload, String marshallingType) {
+        return evaluateDecisions(containerId, () -> marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKS.class,
+                                                                               ContainerLocatorProvider.get().getLocator()));
+    }
+
+    private ServiceResponse<DMNResultKS> evaluateDecisions(String containerId, Supplier<DMNContextKS> contextPayload) {
         try {
             KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
-            DMNRuntime dmnRuntime = KieRuntimeFactory.of(kContainer.getKieContainer().getKieBase()).get(DMNRuntime.class);
+            DMNEvaluationCache evaluationCache = getEvaluationCache(kContainer);
 
-            wirePrometheus(kContainer, dmnRuntime);
+            DMNContextKS evalCtx = contextPayload.get();
 
-            LOG.debug("Will deserialize payload: {}", contextPayload);
-            DMNContextKS evalCtx = marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKS.class);
-            
-            DMNEvaluationResult evaluationResult = DMNEvaluationUtils.evaluate(dmnRuntime,
-                                                                               evalCtx.getNamespace(),
-                                                                               evalCtx.getModelName(),
-                                                                               evalCtx.getDmnContext(),
-                                                                               evalCtx.getDecisionNames(),
-                                                                               evalCtx.getDecisionIds(),
-                                                                               evalCtx.getDecisionServiceName());
-
-            DMNResultKS res = new DMNResultKS(evaluationResult.model.getNamespace(),
-                                              evaluationResult.model.getName(),
-                                              evalCtx.getDecisionNames(),
-                                              evaluationResult.result);
+            DMNResultKS res = evaluate(evaluationCache, evalCtx);
             
             return new ServiceResponse<DMNResultKS>(
                     ServiceResponse.ResponseType.SUCCESS,
@@ -217,12 +235,120 @@ public class ModelEvaluatorServiceBase {
         }
     }
 
+    /**
+     * Evaluates all given contexts in parallel, results are returned in the same order as the contexts.
+     * Failure of a single evaluation does not fail the batch, it is reported as error message of its result.
+     */
+    public ServiceResponse<DMNResultKSList> evaluateDecisionsBatch(String containerId, String contextPayload, String marshallingType) {
+        LOG.debug("Will deserialize payload: {}", contextPayload);
+        return evaluateDecisionsBatch(containerId, () -> marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKSList.class));
+    }
+
+    /**
+     * Same as {@link #evaluateDecisionsBatch(String, String, String)} with contexts decoded straight from the given stream.
+     */
+    public ServiceResponse<DMNResultKSList> evaluateDecisionsBatch(String containerId, InputStream contextPayload, String marshallingType) {
+        return evaluateDecisionsBatch(containerId, () -> marshallerHelper.unmarshal(containerId, contextPayload, marshallingType, DMNContextKSList.class,
+                                                                                    ContainerLocatorProvider.get().getLocator()));
+    }
+
+    private ServiceResponse<DMNResultKSList> evaluateDecisionsBatch(String containerId, Supplier<DMNContextKSList> contextPayload) {
+        try {
+            KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
+            DMNEvaluationCache evaluationCache = getEvaluationCache(kContainer);
+
+            DMNContextKSList evalCtxs = contextPayload.get();
+
+            List<DMNResultKS> results = evaluateInParallel(kContainer, evalCtxs.getContexts(), evalCtx -> evaluate(evaluationCache, evalCtx));
+
+            return new ServiceResponse<DMNResultKSList>(
+                    ServiceResponse.ResponseType.SUCCESS,
+                    "OK from container '" + containerId + "'",
+                    new DMNResultKSList(results) );
+        } catch ( Exception e ) {
+            LOG.error( "Error from container '" + containerId + "'", e );
+            return new ServiceResponse<DMNResultKSList>(
+                    ServiceResponse.ResponseType.FAILURE,
+                    "Error from container '" + containerId + "'" + e.getMessage(),
+                    null );
+        }
+    }
+
+    /**
+     * Evaluates newline delimited JSON stream of contexts, writing newline delimited JSON results in the same order.
+     * Contexts are read and evaluated in chunks so memory use does not depend on the size of the stream.
+     */
+    public void evaluateDecisionsStream(String containerId, InputStream input, OutputStream output) throws IOException {
+        KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
+        DMNEvaluationCache evaluationCache = getEvaluationCache(kContainer);
+        String format = MarshallingFormat.JSON.getType();
+        Function<String, DMNResultKS> evaluation = line -> evaluate(evaluationCache, marshallerHelper.unmarshal(containerId, line, format, DMNContextKS.class));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        OutputStream buffered = new BufferedOutputStream(output);
+        int chunkSize = batchPool.getParallelism() * STREAM_CHUNK_PER_THREAD;
+        List<String> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            chunk.add(line);
+            if (chunk.size() == chunkSize) {
+                writeResults(containerId, evaluateInParallel(kContainer, chunk, evaluation), buffered);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeResults(containerId, evaluateInParallel(kContainer, chunk, evaluation), buffered);
+        }
+        buffered.flush();
+    }
+
+    private void writeResults(String containerId, List<DMNResultKS> results, OutputStream output) throws IOException {
+        ContainerLocator locator = ContainerLocatorProvider.get().getLocator();
+        for (DMNResultKS result : results) {
+            // each result is written as single line, JSON escapes line breaks within values
+            marshallerHelper.marshal(containerId, COMPACT_JSON, result, output, locator);
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private <T> List<DMNResultKS> evaluateInParallel(KieContainerInstanceImpl kContainer, List<T> items, Function<T, DMNResultKS> evaluation) throws InterruptedException, ExecutionException {
+        ClassLoader classLoader = kContainer.getKieContainer().getClassLoader();
+        return batchPool.submit(() -> items.parallelStream().map(item -> {
+            Thread currentThread = Thread.currentThread();
+            ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+            currentThread.setContextClassLoader(classLoader);
+            try {
+                return evaluation.apply(item);
+            } catch (Exception e) {
+                LOG.debug("Evaluation of batch item failed on container '{}'", kContainer.getContainerId(), e);
+                DMNResultKS failed = new DMNResultKS();
+                if (item instanceof DMNContextKS) {
+                    failed.setNamespace(((DMNContextKS) item).getNamespace());
+                    failed.setModelName(((DMNContextKS) item).getModelName());
+                }
+                failed.setMessages(Collections.singletonList(DMNMessageKS.error(e.getMessage())));
+                return failed;
+            } finally {
+                currentThread.setContextClassLoader(originalClassLoader);
+            }
+        }).collect(Collectors.toList())).get();
+    }
+
+    public void shutdown() {
+        batchPool.shutdown();
+    }
+
     public Response evaluateModel(String containerId, String modelId, String contextPayload, boolean asDmnResult, String decisionServiceId) {
         try {
             KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
-            DMNRuntime dmnRuntime = KieRuntimeFactory.of(kContainer.getKieContainer().getKieBase()).get(DMNRuntime.class);
+            DMNEvaluationCache evaluationCache = getEvaluationCache(kContainer);
+            DMNRuntime dmnRuntime = evaluationCache.getDMNRuntime();
 
-            List<DMNModel> modelsWithID = dmnRuntime.getModels().stream().filter(m -> m.getName().equals(modelId)).collect(Collectors.toList());
+            List<DMNModel> modelsWithID = evaluationCache.getModelsByName(modelId);
             if (modelsWithID.isEmpty()) {
                 return Response.status(Status.NOT_FOUND).entity("No model identifies with modelId: " + modelId).build();
             } else if (modelsWithID.size() > 1) {
@@ -231,18 +357,15 @@ public class ModelEvaluatorServiceBase {
             DMNModel dmnModel = modelsWithID.get(0);
             DecisionServiceNode determinedDS = null;
             if (decisionServiceId != null) {
-                Optional<DecisionServiceNode> dsOpt = dmnModel.getDecisionServices().stream().filter(ds -> ds.getName().equals(decisionServiceId)).findFirst();
-                if (!dsOpt.isPresent()) {
+                determinedDS = evaluationCache.getDecisionService(dmnModel, decisionServiceId);
+                if (determinedDS == null) {
                     return Response.status(Status.NOT_FOUND).entity("No decisionService found: " + decisionServiceId).build();
                 }
-                determinedDS = dsOpt.get();
             }
 
             Map<String, Object> jsonContextMap = objectMapper.readValue(contextPayload, new TypeReference<Map<String, Object>>() {});
             DMNContext dmnContext = new DynamicDMNContextBuilder(dmnRuntime.newContext(), dmnModel).populateContextWith(jsonContextMap);
 
-            wirePrometheus(kContainer, dmnRuntime);
-
             DMNResult determinedResult = null;
             if (determinedDS != null) {
                 determinedResult = dmnRuntime.evaluateDecisionService(dmnModel, dmnContext, determinedDS.getName());
@@ -274,22 +397,32 @@ public class ModelEvaluatorServiceBase {
         }
     }
 
-    private void wirePrometheus(KieContainerInstanceImpl kContainer, DMNRuntime dmnRuntime) {
-        PrometheusKieServerExtension extension = (PrometheusKieServerExtension) context.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME);
-        if (extension != null) {
-            //default handler
-            PrometheusMetricsDMNListener listener = new PrometheusMetricsDMNListener(PrometheusKieServerExtension.getMetrics(), kContainer);
-            dmnRuntime.addListener(listener);
-
-            //custom handler
-            List<DMNRuntimeEventListener> listeners = extension.getDMNRuntimeListeners(kContainer);
-            listeners.forEach(l -> {
-                if (!dmnRuntime.getListeners().contains(l)) {
-                    dmnRuntime.addListener(l);
-                }
-            });
-
+    private DMNEvaluationCache getEvaluationCache(KieContainerInstanceImpl kContainer) {
+        DMNEvaluationCache evaluationCache = kContainer.getService(DMNEvaluationCache.class);
+        if (evaluationCache == null) {
+            // container not managed by DMN extension lifecycle, resolve on demand
+            evaluationCache = DMNEvaluationCache.of(kContainer);
         }
+        return evaluationCache;
+    }
+
+    /**
+     * Evaluation itself, including resolution of the model and of the decisions to evaluate, is left to
+     * {@link DMNEvaluationUtils}, the cache only saves resolving the DMN runtime of the container.
+     */
+    private static DMNResultKS evaluate(DMNEvaluationCache evaluationCache, DMNContextKS evalCtx) {
+        DMNEvaluationResult evaluationResult = DMNEvaluationUtils.evaluate(evaluationCache.getDMNRuntime(),
+                                                                           evalCtx.getNamespace(),
+                                                                           evalCtx.getModelName(),
+                                                                           evalCtx.getDmnContext(),
+                                                                           evalCtx.getDecisionNames(),
+                                                                           evalCtx.getDecisionIds(),
+                                                                           evalCtx.getDecisionServiceName());
+
+        return new DMNResultKS(evaluationResult.model.getNamespace(),
+                               evaluationResult.model.getName(),
+                               evalCtx.getDecisionNames(),
+                               evaluationResult.result);
     }
 
     public KieServerRegistry getKieServerRegistry() {
@@ -299,9 +432,7 @@ public class ModelEvaluatorServiceBase {
     public Response getModel(String containerId, String modelId) {
         try {
             KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
-            DMNRuntime dmnRuntime = KieRuntimeFactory.of(kContainer.getKieContainer().getKieBase()).get(DMNRuntime.class);
-
-            List<DMNModel> modelsWithID = dmnRuntime.getModels().stream().filter(m -> m.getName().equals(modelId)).collect(Collectors.toList());
+            List<DMNModel> modelsWithID = getEvaluationCache(kContainer).getModelsByName(modelId);
             if (modelsWithID.isEmpty()) {
                 return Response.status(Status.NOT_FOUND).entity("No model identifies with modelId: " + modelId).build();
             } else if (modelsWithID.size() > 1) {
@@ -332,8 +463,7 @@ public class ModelEvaluatorServiceBase {
         try {
             KieContainerInstanceImpl kContainer = context.getContainer(containerId, ContainerLocatorProvider.get().getLocator());
             ReleaseId resolvedReleaseId = kContainer.getKieContainer().getResolvedReleaseId();
-            DMNRuntime dmnRuntime = KieRuntimeFactory.of(kContainer.getKieContainer().getKieBase()).get(DMNRuntime.class);
-            Collection<DMNModel> models = dmnRuntime.getModels();
+            Collection<DMNModel> models = getEvaluationCache(kContainer).getModels();
             String content = new OASGenerator(containerId, resolvedReleaseId).generateOAS(models, asJSON);
             return Response.ok().entity(content).build();
         } catch (Exception e) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.dmn;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.DecisionServiceNode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DMNEvaluationCacheTest {
+
+    private DMNRuntime dmnRuntime;
+    private DMNModel loan;
+    private DMNModel loanV2;
+    private DMNModel pricing;
+    private DecisionServiceNode approval;
+
+    @Before
+    public void setup() {
+        approval = mock(DecisionServiceNode.class);
+        when(approval.getName()).thenReturn("approval");
+        loan = model("https://kie.org/dmn/loan", "loan", approval);
+        loanV2 = model("https://kie.org/dmn/loan/v2", "loan");
+        pricing = model("https://kie.org/dmn/pricing", "pricing");
+        dmnRuntime = mock(DMNRuntime.class);
+        when(dmnRuntime.getModels()).thenReturn(Arrays.asList(loan, loanV2, pricing));
+    }
+
+    @Test
+    public void testModelsResolvedOnce() {
+        DMNEvaluationCache cache = new DMNEvaluationCache(dmnRuntime);
+
+        assertSame(dmnRuntime, cache.getDMNRuntime());
+        assertEquals(Arrays.asList(loan, loanV2, pricing), cache.getModels());
+        cache.getModels();
+        cache.getModelsByName("pricing");
+        verify(dmnRuntime).getModels();
+    }
+
+    @Test
+    public void testModelLookup() {
+        DMNEvaluationCache cache = new DMNEvaluationCache(dmnRuntime);
+
+        assertEquals(Arrays.asList(loan, loanV2), cache.getModelsByName("loan"));
+        assertEquals(Collections.singletonList(pricing), cache.getModelsByName("pricing"));
+        assertTrue(cache.getModelsByName("unknown").isEmpty());
+    }
+
+    @Test
+    public void testDecisionServiceLookup() {
+        DMNEvaluationCache cache = new DMNEvaluationCache(dmnRuntime);
+
+        assertSame(approval, cache.getDecisionService(loan, "approval"));
+        assertNull(cache.getDecisionService(loanV2, "approval"));
+        assertNull(cache.getDecisionService(loan, "unknown"));
+    }
+
+    private static DMNModel model(String namespace, String name, DecisionServiceNode... decisionServices) {
+        DMNModel model = mock(DMNModel.class);
+        when(model.getNamespace()).thenReturn(namespace);
+        when(model.getName()).thenReturn(name);
+        when(model.getDecisionServices()).thenReturn(Arrays.asList(decisionServices));
+        return model;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.dmn;
+
+import java.util.Collections;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.model.api.Definitions;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.dmn.DMNModelInfoList;
+import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DMNKieServerExtensionTest {
+
+    private static final String CONTAINER_ID = "dmn";
+
+    private KieServerRegistry registry;
+    private KieContainerInstanceImpl kieContainerInstance;
+    private DMNKieServerExtension extension;
+
+    @Before
+    public void setup() {
+        DMNModel model = mock(DMNModel.class);
+        Definitions definitions = mock(Definitions.class);
+        when(definitions.getId()).thenReturn("_loan");
+        when(model.getNamespace()).thenReturn("https://kie.org/dmn/loan");
+        when(model.getName()).thenReturn("loan");
+        when(model.getDefinitions()).thenReturn(definitions);
+        when(model.getDecisions()).thenReturn(Collections.emptySet());
+        when(model.getDecisionServices()).thenReturn(Collections.emptyList());
+        when(model.getInputs()).thenReturn(Collections.emptySet());
+        when(model.getItemDefinitions()).thenReturn(Collections.emptySet());
+        DMNRuntime dmnRuntime = mock(DMNRuntime.class);
+        when(dmnRuntime.getModels()).thenReturn(Collections.singletonList(model));
+
+        // container has no kie container, so any runtime resolution outside of the cache fails
+        kieContainerInstance = new KieContainerInstanceImpl(CONTAINER_ID, KieContainerStatus.STARTED);
+        registry = mock(KieServerRegistry.class);
+        when(registry.getContainer(eq(CONTAINER_ID), any())).thenReturn(kieContainerInstance);
+
+        extension = new DMNKieServerExtension() {
+            @Override
+            protected DMNEvaluationCache buildEvaluationCache(KieContainerInstance kieContainerInstance) {
+                return new DMNEvaluationCache(dmnRuntime);
+            }
+        };
+        extension.init(null, registry);
+    }
+
+    @After
+    public void cleanup() {
+        extension.destroy(null, registry);
+    }
+
+    @Test
+    public void testCacheCreatedWithContainer() {
+        extension.createContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+
+        assertNotNull(kieContainerInstance.getService(DMNEvaluationCache.class));
+    }
+
+    @Test
+    public void testCacheRebuiltOnUpdate() {
+        extension.createContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+        DMNEvaluationCache cache = kieContainerInstance.getService(DMNEvaluationCache.class);
+
+        extension.updateContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+
+        assertNotNull(kieContainerInstance.getService(DMNEvaluationCache.class));
+        assertNotSame(cache, kieContainerInstance.getService(DMNEvaluationCache.class));
+    }
+
+    @Test
+    public void testCacheEvictedOnDispose() {
+        extension.createContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+
+        extension.disposeContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+
+        assertNull(kieContainerInstance.getService(DMNEvaluationCache.class));
+    }
+
+    @Test
+    public void testModelsServedFromCache() {
+        extension.createContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+        ModelEvaluatorServiceBase modelEvaluator = extension.getAppComponents(ModelEvaluatorServiceBase.class);
+
+        ServiceResponse<DMNModelInfoList> response = modelEvaluator.getModels(CONTAINER_ID);
+
+        assertEquals(ServiceResponse.ResponseType.SUCCESS, response.getType());
+        assertEquals(1, response.getResult().getModels().size());
+        assertEquals("loan", response.getResult().getModels().get(0).getName());
+
+        Response notFound = modelEvaluator.evaluateModel(CONTAINER_ID, "pricing", "{}", false, null);
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), notFound.getStatus());
+    }
+
+    @Test
+    public void testModelsNotServedAfterDispose() {
+        extension.createContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+        extension.disposeContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+        ModelEvaluatorServiceBase modelEvaluator = extension.getAppComponents(ModelEvaluatorServiceBase.class);
+
+        // evicted cache is not used any more, runtime of the container is resolved again
+        assertEquals(ServiceResponse.ResponseType.FAILURE, modelEvaluator.getModels(CONTAINER_ID).getType());
+    }
+}
@@ -15,12 +15,15 @@
 
 package org.kie.server.services.drools;
 
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.function.BiFunction;
 
 import org.drools.core.command.runtime.BatchExecutionCommandImpl;
 import org.kie.api.command.Command;
 import org.kie.api.command.ExecutableCommand;
 import org.kie.api.runtime.ExecutionResults;
+import org.kie.server.api.marshalling.Marshaller;
 import org.kie.server.api.marshalling.MarshallingFormat;
 import org.kie.server.api.model.ServiceResponse;
 import org.kie.server.services.api.KieServerRegistry;
@@ -47,6 +50,20 @@ public class DroolsKieContainerCommandServiceImpl extends KieContainerCommandSer
         if( payload == null ) {
             return new ServiceResponse<ExecutionResults>(ServiceResponse.ResponseType.FAILURE, "Error calling container " + containerId + ". Empty payload. ");
         }
+        return callContainer(containerId, (marshaller, type) -> marshaller.unmarshall(payload, type), marshallingFormat, classType);
+    }
+
+    @Override
+    public ServiceResponse<ExecutionResults> callContainer(String containerId, InputStream payload, MarshallingFormat marshallingFormat, String classType) {
+        if( payload == null ) {
+            return new ServiceResponse<ExecutionResults>(ServiceResponse.ResponseType.FAILURE, "Error calling container " + containerId + ". Empty payload. ");
+        }
+        // commands are decoded straight from the stream without intermediate string copy
+        return callContainer(containerId, (marshaller, type) -> marshaller.unmarshall(payload, type), marshallingFormat, classType);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ServiceResponse<ExecutionResults> callContainer(String containerId, BiFunction<Marshaller, Class<? extends Command>, Command<?>> reader, MarshallingFormat marshallingFormat, String classType) {
         try {
             KieContainerInstanceImpl kci = (KieContainerInstanceImpl) context.getContainer( containerId, ContainerLocatorProvider.get().getLocator());
 
@@ -57,7 +74,7 @@ public class DroolsKieContainerCommandServiceImpl extends KieContainerCommandSer
                     type = (Class<? extends Command>) kci.getKieContainer().getClassLoader().loadClass(classType);
                 }
 
-                Command<?> cmd = kci.getMarshaller( marshallingFormat ).unmarshall(payload, type);
+                Command<?> cmd = reader.apply(kci.getMarshaller( marshallingFormat ), type);
 
                 if (!(cmd instanceof BatchExecutionCommandImpl)) {
                     cmd = new BatchExecutionCommandImpl(Arrays.asList(new ExecutableCommand<?>[]{(ExecutableCommand<?>) cmd} ));
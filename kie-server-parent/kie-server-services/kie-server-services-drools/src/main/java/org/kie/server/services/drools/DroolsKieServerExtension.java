@@ -27,6 +27,8 @@ import java.util.Set;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.RuleRuntimeEventManager;
 import org.kie.api.remote.Remotable;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.server.api.KieServerConstants;
@@ -39,6 +41,9 @@ import org.kie.server.services.api.KieServerExtension;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.SupportedTransports;
 import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.prometheus.PrometheusKieServerExtension;
+import org.kie.server.services.prometheus.PrometheusKieSessionPoolMetrics;
+import org.kie.server.services.prometheus.PrometheusMetricsDroolsListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -129,6 +134,43 @@ public class DroolsKieServerExtension implements KieServerExtension {
 
         kieContainerInstance.addExtraClasses(extraClasses);
 
+        KieSessionListenerRegistry listenerRegistry = createListenerRegistry(kieContainerInstance);
+        // listeners are attached to each session on its first lookup, sessions are not created upfront
+        kieContainerInstance.addService(listenerRegistry);
+
+        KieSessionPoolManager poolManager = KieSessionPoolManager.fromContainer(kieContainerInstance);
+        if (poolManager != null) {
+            if (registry != null && registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME) != null) {
+                poolManager.setMetrics(new PrometheusKieSessionPoolMetrics(PrometheusKieServerExtension.getMetrics()));
+            }
+            poolManager.warmUp();
+            kieContainerInstance.addService(poolManager);
+        }
+    }
+
+    protected KieSessionListenerRegistry createListenerRegistry(KieContainerInstance kieContainerInstance) {
+        PrometheusKieServerExtension prometheus = registry == null ? null : (PrometheusKieServerExtension) registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME);
+        return new KieSessionListenerRegistry((kieSessionId, ks) -> {
+            if (prometheus != null) {
+                wirePrometheus(prometheus, kieContainerInstance, kieSessionId, (RuleRuntimeEventManager) ks);
+            }
+            rulesExecutionService.applyListeners(ks);
+        });
+    }
+
+    protected void wirePrometheus(PrometheusKieServerExtension extension, KieContainerInstance kieContainerInstance, String kieSessionId, RuleRuntimeEventManager eventManager) {
+        //default handler
+        if (eventManager.getAgendaEventListeners().stream().noneMatch(PrometheusMetricsDroolsListener.class::isInstance)) {
+            eventManager.addEventListener(new PrometheusMetricsDroolsListener(PrometheusKieServerExtension.getMetrics(), kieSessionId, kieContainerInstance));
+        }
+
+        //custom handlers
+        List<AgendaEventListener> droolsListeners = extension.getDroolsListeners(kieSessionId, kieContainerInstance);
+        droolsListeners.forEach(l -> {
+            if (!eventManager.getAgendaEventListeners().contains(l)) {
+                eventManager.addEventListener(l);
+            }
+        });
     }
 
     @Override
@@ -145,7 +187,14 @@ public class DroolsKieServerExtension implements KieServerExtension {
 
     @Override
     public void disposeContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
-
+        KieSessionListenerRegistry listenerRegistry = kieContainerInstance.removeService(KieSessionListenerRegistry.class);
+        if (listenerRegistry != null) {
+            listenerRegistry.clear();
+        }
+        KieSessionPoolManager poolManager = kieContainerInstance.removeService(KieSessionPoolManager.class);
+        if (poolManager != null) {
+            poolManager.shutdown();
+        }
     }
 
     @Override
@@ -15,23 +15,16 @@
 
 package org.kie.server.services.drools;
 
-import java.util.List;
-
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.kie.api.builder.model.KieSessionModel;
-import org.kie.api.event.rule.AgendaEventListener;
 import org.kie.api.event.rule.RuleRuntimeEventManager;
 import org.kie.api.runtime.CommandExecutor;
 import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.KieSessionLookupHandler;
-import org.kie.server.services.prometheus.PrometheusKieServerExtension;
-import org.kie.server.services.prometheus.PrometheusMetricsDroolsListener;
 
 public class DroolsKieSessionLookupHandler implements KieSessionLookupHandler {
 
-    private static final String DEFAULT_KIE_SESSION_ID = "default";
-
     @Override
     public CommandExecutor lookupKieSession(String kieSessionId, KieContainerInstance containerInstance, KieServerRegistry registry) {
         CommandExecutor ks = null;
@@ -52,30 +45,19 @@ public class DroolsKieSessionLookupHandler implements KieSessionLookupHandler {
         return null;
     }
 
+    /**
+     * Listeners are attached to a session of the container on its first lookup, for all other executions
+     * it is a single lock free check.
+     * @see KieSessionListenerRegistry
+     */
     @Override
     public void postLookupKieSession(String kieSessionId, KieContainerInstance containerInstance, CommandExecutor ks, KieServerRegistry registry) {
-        PrometheusKieServerExtension extension = (PrometheusKieServerExtension)registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME);
-        if (extension != null && ks instanceof RuleRuntimeEventManager) {
-            RuleRuntimeEventManager eventManager = (RuleRuntimeEventManager) ks;
-
-            if (kieSessionId == null || kieSessionId.isEmpty()) {
-                kieSessionId = DEFAULT_KIE_SESSION_ID;
-            }
-
-            //default handler
-            if (eventManager.getAgendaEventListeners().stream().noneMatch(PrometheusMetricsDroolsListener.class::isInstance)) {
-                PrometheusMetricsDroolsListener listener = new PrometheusMetricsDroolsListener(PrometheusKieServerExtension.getMetrics(),
-                                                                                               kieSessionId, containerInstance);
-                eventManager.addEventListener(listener);
-            }
-
-            //custom handlers
-            List<AgendaEventListener> droolsListeners = extension.getDroolsListeners(kieSessionId, containerInstance);
-            droolsListeners.forEach(l -> {
-                if (!eventManager.getAgendaEventListeners().contains(l)) {
-                    eventManager.addEventListener(l);
-                }
-            });
+        if (!(ks instanceof RuleRuntimeEventManager)) {
+            return;
+        }
+        KieSessionListenerRegistry listenerRegistry = containerInstance.getService(KieSessionListenerRegistry.class);
+        if (listenerRegistry != null) {
+            listenerRegistry.ensureWired(kieSessionId, ks);
         }
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.drools;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.kie.api.runtime.CommandExecutor;
+
+/**
+ * Attaches listeners to sessions of a single container. Sessions cached by the container are wired on their first lookup,
+ * executions then only verify the session they got is the one already wired - a single lock free map read.
+ * Sessions are wired again only when container replaced the cached session (e.g. after it was disposed by a client).
+ * Registry lives as long as the container - it is created when container is created and dropped when container is disposed.
+ */
+public class KieSessionListenerRegistry {
+
+    static final String DEFAULT_KIE_SESSION = "default";
+
+    private final BiConsumer<String, CommandExecutor> wiring;
+    private final Map<String, CommandExecutor> wired = new ConcurrentHashMap<>();
+
+    /**
+     * @param wiring attaches listeners to given session, receives session name (<code>default</code> for the default session)
+     * and must not add listener that is already attached
+     */
+    public KieSessionListenerRegistry(BiConsumer<String, CommandExecutor> wiring) {
+        this.wiring = wiring;
+    }
+
+    /**
+     * Makes sure listeners are attached to the session cached by the container under given name.
+     * @param sessionName session lookup, null or empty for the default session
+     * @return true if listeners were attached, false if the session was already wired
+     */
+    public boolean ensureWired(String sessionName, CommandExecutor ks) {
+        String key = sessionName == null || sessionName.isEmpty() ? DEFAULT_KIE_SESSION : sessionName;
+        if (wired.get(key) == ks) {
+            return false;
+        }
+        boolean[] applied = new boolean[1];
+        wired.compute(key, (name, current) -> {
+            if (current != ks) {
+                wiring.accept(name, ks);
+                applied[0] = true;
+            }
+            return ks;
+        });
+        return applied[0];
+    }
+
+    /**
+     * Attaches listeners to session that is not cached by the container, e.g. one taken from a session pool.
+     * Such sessions are not tracked, wiring itself skips listeners already attached to the session.
+     */
+    public void wire(String sessionName, CommandExecutor ks) {
+        wiring.accept(sessionName == null || sessionName.isEmpty() ? DEFAULT_KIE_SESSION : sessionName, ks);
+    }
+
+    public boolean isWired(String sessionName, CommandExecutor ks) {
+        return wired.get(sessionName == null || sessionName.isEmpty() ? DEFAULT_KIE_SESSION : sessionName) == ks;
+    }
+
+    public int size() {
+        return wired.size();
+    }
+
+    public void clear() {
+        wired.clear();
+    }
+}
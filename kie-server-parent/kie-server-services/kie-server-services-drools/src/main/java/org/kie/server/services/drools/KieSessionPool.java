@@ -0,0 +1,193 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.drools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieContainerSessionsPool;
+import org.kie.api.runtime.KieSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of stateful sessions of single kie session model. Each batch execution checks out its own session
+ * so concurrent calls on the same container do not serialize on one shared stateful session.
+ */
+public class KieSessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieSessionPool.class);
+
+    public enum ResetStrategy {
+        /**
+         * sessions are reset and reused once returned to the pool
+         */
+        RESET,
+        /**
+         * every checkout creates brand new session that is disposed once returned to the pool
+         */
+        NEW
+    }
+
+    private final String containerId;
+    private final String kieSessionName;
+    private final int size;
+    private final int warmUp;
+    private final ResetStrategy resetStrategy;
+    private final long waitTime;
+
+    private final KieContainer kieContainer;
+    private final KieContainerSessionsPool sessionsPool;
+    private final Semaphore permits;
+
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waitTimeNanos = new LongAdder();
+
+    public KieSessionPool(String containerId, KieContainer kieContainer, String kieSessionName, int size, int warmUp, ResetStrategy resetStrategy, long waitTime) {
+        if (size < 1) {
+            throw new IllegalArgumentException("KieSession pool size must be greater than zero, got " + size);
+        }
+        this.containerId = containerId;
+        this.kieContainer = kieContainer;
+        this.kieSessionName = kieSessionName;
+        this.size = size;
+        this.warmUp = Math.min(Math.max(warmUp, 0), size);
+        this.resetStrategy = resetStrategy;
+        this.waitTime = waitTime;
+        this.permits = new Semaphore(size, true);
+        this.sessionsPool = resetStrategy == ResetStrategy.RESET ? kieContainer.newKieSessionsPool(this.warmUp) : null;
+    }
+
+    /**
+     * Creates sessions configured as warm up count upfront so first requests do not pay for session creation.
+     */
+    public void warmUp() {
+        List<KieSession> sessions = new ArrayList<>();
+        try {
+            for (int i = 0; i < warmUp; i++) {
+                sessions.add(checkout());
+            }
+        } finally {
+            sessions.forEach(this::release);
+        }
+        logger.debug("KieSession pool for session {} on container {} warmed up with {} session(s)", kieSessionName, containerId, sessions.size());
+    }
+
+    /**
+     * Takes session from the pool, waiting at most configured wait time for a session to become available.
+     * @return session that must be given back via {@link #release(KieSession)}
+     * @throws IllegalStateException when no session became available in time
+     */
+    public KieSession checkout() {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitTime, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for session '" + kieSessionName + "' on container '" + containerId + "'", e);
+        }
+        waitTimeNanos.add(System.nanoTime() - start);
+        if (!acquired) {
+            timeouts.increment();
+            throw new IllegalStateException("No pooled session '" + kieSessionName + "' available on container '" + containerId + "' within " + waitTime + " ms");
+        }
+        try {
+            KieSession session = resetStrategy == ResetStrategy.RESET ? sessionsPool.newKieSession(kieSessionName) : kieContainer.newKieSession(kieSessionName);
+            checkouts.increment();
+            return session;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives the session back to the pool - depending on reset strategy it is either reset for reuse or disposed.
+     */
+    public void release(KieSession session) {
+        try {
+            // pooled sessions are reset on dispose instead of being destroyed
+            session.dispose();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void shutdown() {
+        if (sessionsPool != null) {
+            sessionsPool.shutdown();
+        }
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public String getKieSessionName() {
+        return kieSessionName;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWarmUp() {
+        return warmUp;
+    }
+
+    public ResetStrategy getResetStrategy() {
+        return resetStrategy;
+    }
+
+    public long getWaitTime() {
+        return waitTime;
+    }
+
+    public int getInUse() {
+        return size - permits.availablePermits();
+    }
+
+    public long getCheckouts() {
+        return checkouts.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getTotalWaitTimeNanos() {
+        return waitTimeNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "KieSessionPool{" +
+                "containerId='" + containerId + '\'' +
+                ", kieSessionName='" + kieSessionName + '\'' +
+                ", size=" + size +
+                ", warmUp=" + warmUp +
+                ", resetStrategy=" + resetStrategy +
+                ", waitTime=" + waitTime +
+                '}';
+    }
+}
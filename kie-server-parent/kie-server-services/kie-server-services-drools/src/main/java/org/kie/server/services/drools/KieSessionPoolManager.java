@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.drools;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.runtime.KieContainer;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieServerConfig;
+import org.kie.server.services.api.KieContainerInstance;
+import org.kie.server.services.prometheus.PrometheusKieSessionPoolMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds stateful session pools of a single container. Pooling is opt-in and configured via container config items:
+ * <ul>
+ *     <li>{@link KieServerConstants#PCFG_KIE_SESSION_POOL} - comma separated names of stateful sessions to pool,
+ *     <code>default</code> stands for the default stateful session</li>
+ *     <li>{@link KieServerConstants#PCFG_KIE_SESSION_POOL_SIZE} - max number of sessions per pool (number of cpus by default)</li>
+ *     <li>{@link KieServerConstants#PCFG_KIE_SESSION_POOL_WARMUP} - number of sessions created upfront (0 by default)</li>
+ *     <li>{@link KieServerConstants#PCFG_KIE_SESSION_POOL_RESET_STRATEGY} - RESET or NEW (RESET by default)</li>
+ *     <li>{@link KieServerConstants#PCFG_KIE_SESSION_POOL_WAIT_TIME} - max time in ms to wait for a session (30000 by default)</li>
+ * </ul>
+ * Invalid values are logged and replaced by the defaults so a misconfigured pool does not prevent the container from starting.
+ * Requests without session lookup are served from the pool only when <code>default</code> is listed, pooling the default
+ * session under its own name affects only requests that look it up by that name.
+ */
+public class KieSessionPoolManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieSessionPoolManager.class);
+
+    static final String DEFAULT_KIE_SESSION = "default";
+    static final long DEFAULT_WAIT_TIME = 30000;
+
+    private final Map<String, KieSessionPool> pools;
+
+    private PrometheusKieSessionPoolMetrics metrics;
+
+    KieSessionPoolManager(Map<String, KieSessionPool> pools) {
+        this.pools = Collections.unmodifiableMap(pools);
+    }
+
+    /**
+     * Builds pool manager for given container based on its configuration.
+     * @return pool manager or null when no pooling is configured for the container
+     */
+    public static KieSessionPoolManager fromContainer(KieContainerInstance kieContainerInstance) {
+        if (kieContainerInstance.getResource() == null || kieContainerInstance.getResource().getConfigItems() == null) {
+            return null;
+        }
+        KieServerConfig config = new KieServerConfig(kieContainerInstance.getResource().getConfigItems());
+        String pooledSessions = config.getConfigItemValue(KieServerConstants.PCFG_KIE_SESSION_POOL);
+        if (pooledSessions == null || pooledSessions.trim().isEmpty()) {
+            return null;
+        }
+
+        String containerId = kieContainerInstance.getContainerId();
+        int size = parsePositive(config, KieServerConstants.PCFG_KIE_SESSION_POOL_SIZE, Runtime.getRuntime().availableProcessors(), containerId);
+        int warmUp = (int) Math.min(parseNonNegative(config, KieServerConstants.PCFG_KIE_SESSION_POOL_WARMUP, 0, containerId), size);
+        KieSessionPool.ResetStrategy resetStrategy = parseResetStrategy(config, containerId);
+        long waitTime = parseNonNegative(config, KieServerConstants.PCFG_KIE_SESSION_POOL_WAIT_TIME, DEFAULT_WAIT_TIME, containerId);
+
+        KieContainer kieContainer = kieContainerInstance.getKieContainer();
+        Map<String, KieSessionPool> pools = new HashMap<>();
+        for (String name : pooledSessions.split(",")) {
+            String sessionName = name.trim();
+            if (sessionName.isEmpty()) {
+                continue;
+            }
+            String modelName = DEFAULT_KIE_SESSION.equals(sessionName) ? defaultStatefulSessionName(kieContainer) : sessionName;
+            KieSessionModel model = modelName == null ? null : kieContainer.getKieSessionModel(modelName);
+            if (model == null || model.getType() != KieSessionModel.KieSessionType.STATEFUL) {
+                logger.warn("Unable to pool session '{}' on container {} - it is not a stateful session of the container", sessionName, containerId);
+                continue;
+            }
+            KieSessionPool pool = new KieSessionPool(containerId, kieContainer, modelName, size, warmUp, resetStrategy, waitTime);
+            pools.put(sessionName, pool);
+            if (!sessionName.equals(modelName)) {
+                pools.put(modelName, pool);
+            }
+            logger.info("Pooling stateful session {} on container {} with {}", modelName, containerId, pool);
+            if (DEFAULT_KIE_SESSION.equals(sessionName)) {
+                logger.info("Requests without session lookup on container {} are served from pool of session {}", containerId, modelName);
+            }
+        }
+
+        return pools.isEmpty() ? null : new KieSessionPoolManager(pools);
+    }
+
+    private static int parsePositive(KieServerConfig config, String name, int defaultValue, String containerId) {
+        long value = parseNonNegative(config, name, defaultValue, containerId);
+        if (value < 1 || value > Integer.MAX_VALUE) {
+            logger.warn("Invalid value '{}' of {} on container {}, using {} instead", value, name, containerId, defaultValue);
+            return defaultValue;
+        }
+        return (int) value;
+    }
+
+    private static long parseNonNegative(KieServerConfig config, String name, long defaultValue, String containerId) {
+        String value = config.getConfigItemValue(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // logged below
+        }
+        logger.warn("Invalid value '{}' of {} on container {}, using {} instead", value, name, containerId, defaultValue);
+        return defaultValue;
+    }
+
+    private static KieSessionPool.ResetStrategy parseResetStrategy(KieServerConfig config, String containerId) {
+        String value = config.getConfigItemValue(KieServerConstants.PCFG_KIE_SESSION_POOL_RESET_STRATEGY);
+        if (value == null || value.trim().isEmpty()) {
+            return KieSessionPool.ResetStrategy.RESET;
+        }
+        try {
+            return KieSessionPool.ResetStrategy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid value '{}' of {} on container {}, using {} instead", value, KieServerConstants.PCFG_KIE_SESSION_POOL_RESET_STRATEGY,
+                        containerId, KieSessionPool.ResetStrategy.RESET);
+            return KieSessionPool.ResetStrategy.RESET;
+        }
+    }
+
+    private static String defaultStatefulSessionName(KieContainer kieContainer) {
+        KieSessionModel model = ((KieContainerImpl) kieContainer).getKieProject().getDefaultKieSession();
+        return model == null ? null : model.getName();
+    }
+
+    /**
+     * Returns pool for given session lookup or null if the session is not pooled.
+     * Null or empty lookup is served from a pool only when <code>default</code> session was listed explicitly,
+     * as that is the session such requests are executed on otherwise.
+     */
+    public KieSessionPool getPool(String lookup) {
+        if (lookup == null || lookup.isEmpty()) {
+            return pools.get(DEFAULT_KIE_SESSION);
+        }
+        return pools.get(lookup);
+    }
+
+    public Collection<KieSessionPool> getPools() {
+        return pools.values();
+    }
+
+    /**
+     * Metrics recorder, null when Prometheus extension is not enabled
+     */
+    public PrometheusKieSessionPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(PrometheusKieSessionPoolMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void warmUp() {
+        pools.values().stream().distinct().forEach(pool -> {
+            pool.warmUp();
+            if (metrics != null) {
+                metrics.poolCreated(pool.getContainerId(), pool.getKieSessionName(), pool.getSize(), pool.getWarmUp(), pool.getResetStrategy().name());
+            }
+        });
+    }
+
+    public void shutdown() {
+        pools.values().stream().distinct().forEach(pool -> {
+            pool.shutdown();
+            if (metrics != null) {
+                metrics.poolDisposed(pool.getContainerId(), pool.getKieSessionName(), pool.getResetStrategy().name());
+            }
+        });
+    }
+}
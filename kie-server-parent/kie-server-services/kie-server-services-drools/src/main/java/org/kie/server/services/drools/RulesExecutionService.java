@@ -24,10 +24,12 @@ import org.kie.api.event.rule.AgendaEventListener;
 import org.kie.api.event.rule.RuleRuntimeEventListener;
 import org.kie.api.runtime.CommandExecutor;
 import org.kie.api.runtime.ExecutionResults;
+import org.kie.api.runtime.KieSession;
 import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.kie.server.services.impl.util.KieServerUtils;
+import org.kie.server.services.prometheus.PrometheusKieSessionPoolMetrics;
 
 /**
  * Direct rules execution service that allow use of typed objects instead of string only
@@ -48,6 +50,11 @@ public class RulesExecutionService {
         BatchExecutionCommandImpl command = (BatchExecutionCommandImpl) executionCommand;
 
         if (kci != null && kci.getKieContainer() != null) {
+            KieSessionPoolManager poolManager = kci.getService(KieSessionPoolManager.class);
+            KieSessionPool pool = poolManager == null ? null : poolManager.getPool(command.getLookup());
+            if (pool != null) {
+                return callPooled(kci, pool, poolManager.getMetrics(), command);
+            }
             // find the session
             CommandExecutor ks = null;
             if( command.getLookup() != null ) {
@@ -59,7 +66,7 @@ public class RulesExecutionService {
             context.getKieSessionLookupManager().postLookup(command.getLookup(), kci, ks, context);
 
             if (ks != null) {
-                applyListeners(ks);
+                applyListeners(kci, ks);
                 ExecutionResults results = ks.execute(command);
 
                 return results;
@@ -71,14 +78,64 @@ public class RulesExecutionService {
         throw new IllegalStateException("Unable to execute command " + command);
     }
     
+    protected ExecutionResults callPooled(KieContainerInstance kci, KieSessionPool pool, PrometheusKieSessionPoolMetrics metrics, BatchExecutionCommandImpl command) {
+        long start = System.nanoTime();
+        long timeouts = pool.getTimeouts();
+        KieSession ks;
+        try {
+            ks = pool.checkout();
+        } catch (IllegalStateException e) {
+            if (metrics != null && pool.getTimeouts() > timeouts) {
+                metrics.sessionTimedOut(kci.getContainerId(), pool.getKieSessionName());
+            }
+            throw e;
+        }
+        if (metrics != null) {
+            metrics.sessionCheckedOut(kci.getContainerId(), pool.getKieSessionName(), System.nanoTime() - start, pool.getInUse());
+        }
+        try {
+            KieSessionListenerRegistry listenerRegistry = kci.getService(KieSessionListenerRegistry.class);
+            if (listenerRegistry != null) {
+                // pooled sessions are not cached by the container, so they are not tracked by the registry
+                listenerRegistry.wire(command.getLookup(), ks);
+            } else {
+                context.getKieSessionLookupManager().postLookup(command.getLookup(), kci, ks, context);
+                applyListeners(ks);
+            }
+            return ks.execute(command);
+        } finally {
+            pool.release(ks);
+            if (metrics != null) {
+                metrics.sessionReleased(kci.getContainerId(), pool.getKieSessionName(), pool.getInUse());
+            }
+        }
+    }
+
+    /**
+     * Configured listeners are attached by container's {@link KieSessionListenerRegistry} on first lookup of a session,
+     * this only covers containers without the registry.
+     */
+    protected void applyListeners(KieContainerInstance kci, CommandExecutor ks) {
+        if (ruleRuntimeEventListeners == null && agendaEventListeners == null) {
+            return;
+        }
+        if (kci.getService(KieSessionListenerRegistry.class) == null) {
+            applyListeners(ks);
+        }
+    }
+
     protected void applyListeners(CommandExecutor ks) {
-        
+        KieRuntimeEventManager eventManager = (KieRuntimeEventManager) ks;
         if (ruleRuntimeEventListeners != null) {
-            ruleRuntimeEventListeners.forEach( listener ->((KieRuntimeEventManager) ks).addEventListener(listener));
+            ruleRuntimeEventListeners.stream()
+                    .filter(listener -> !eventManager.getRuleRuntimeEventListeners().contains(listener))
+                    .forEach(eventManager::addEventListener);
         }
         
         if (agendaEventListeners != null) {
-            agendaEventListeners.forEach( listener ->((KieRuntimeEventManager) ks).addEventListener(listener));
+            agendaEventListeners.stream()
+                    .filter(listener -> !eventManager.getAgendaEventListeners().contains(listener))
+                    .forEach(eventManager::addEventListener);
         }
     }
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.drools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.command.BatchExecutionCommand;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.internal.command.CommandFactory;
+import org.kie.scanner.KieModuleMetaData;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+import org.kie.server.services.impl.KieServerRegistryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Executes batches on a container from several threads and verifies listeners stay attached exactly once,
+ * reports throughput of the executions.
+ */
+public class KieSessionListenerSoakTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieSessionListenerSoakTest.class);
+
+    private static final String CONTAINER_ID = "soak";
+    private static final int THREADS = 8;
+    private static final int BATCHES_PER_THREAD = 2500;
+
+    private final LongAdder firedRules = new LongAdder();
+    private final AgendaEventListener listener = new DefaultAgendaEventListener() {
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            firedRules.increment();
+        }
+    };
+
+    private DroolsKieServerExtension extension;
+    private KieContainerInstanceImpl kieContainerInstance;
+    private KieContainerImpl kieContainer;
+
+    @Before
+    public void setup() {
+        KieServices kieServices = KieServices.Factory.get();
+        ReleaseId releaseId = kieServices.newReleaseId("org.kie.server.test", "listener-soak", "1.0.0");
+        KieModuleModel kmodule = kieServices.newKieModuleModel();
+        KieBaseModel kbase = kmodule.newKieBaseModel("kbase").setDefault(true);
+        kbase.newKieSessionModel("stateful").setType(KieSessionModel.KieSessionType.STATEFUL).setDefault(true);
+        kbase.newKieSessionModel("stateless").setType(KieSessionModel.KieSessionType.STATELESS).setDefault(true);
+        KieFileSystem kfs = kieServices.newKieFileSystem();
+        kfs.generateAndWritePomXML(releaseId);
+        kfs.writeKModuleXML(kmodule.toXML());
+        kfs.write("src/main/resources/rules/soak.drl", "package rules\n" +
+                "rule \"String inserted\"\n" +
+                "when\n" +
+                "    $s : String()\n" +
+                "then\n" +
+                "    delete($s);\n" +
+                "end\n");
+        assertTrue(kieServices.newKieBuilder(kfs).buildAll().getResults().getMessages().isEmpty());
+        kieContainer = (KieContainerImpl) kieServices.newKieContainer(releaseId);
+        kieContainerInstance = new KieContainerInstanceImpl(CONTAINER_ID, KieContainerStatus.STARTED, kieContainer);
+
+        extension = new DroolsKieServerExtension();
+        extension.init(null, new KieServerRegistryImpl());
+        extension.rulesExecutionService.setAgendaEventListeners(Collections.singletonList(listener));
+
+        KieModuleMetaData metaData = mock(KieModuleMetaData.class);
+        when(metaData.getPackages()).thenReturn(Collections.emptyList());
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(KieServerConstants.KIE_SERVER_PARAM_MODULE_METADATA, metaData);
+        extension.createContainer(CONTAINER_ID, kieContainerInstance, parameters);
+    }
+
+    @After
+    public void cleanup() {
+        extension.disposeContainer(CONTAINER_ID, kieContainerInstance, Collections.emptyMap());
+        kieContainer.dispose();
+    }
+
+    @Test
+    public void testSessionsWiredOnFirstLookup() {
+        KieSessionListenerRegistry listenerRegistry = kieContainerInstance.getService(KieSessionListenerRegistry.class);
+        // sessions are not created when container is created
+        assertEquals(0, listenerRegistry.size());
+
+        extension.rulesExecutionService.call(kieContainerInstance, CommandFactory.newBatchExecution(Arrays.asList(CommandFactory.newInsert("fact"),
+                                                                                                                  CommandFactory.newFireAllRules()), "stateful"));
+
+        assertEquals(1, listenerRegistry.size());
+        assertTrue(listenerRegistry.isWired("stateful", kieContainer.getKieSession("stateful")));
+        assertFalse(listenerRegistry.isWired("stateless", kieContainer.getStatelessKieSession("stateless")));
+        assertFalse(listenerRegistry.ensureWired("stateful", kieContainer.getKieSession("stateful")));
+    }
+
+    @Test(timeout = 120000)
+    public void testListenersAttachedOnceUnderLoad() throws Exception {
+        String[] lookups = {"stateful", "stateless", null};
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String lookup = lookups[t % lookups.length];
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < BATCHES_PER_THREAD; i++) {
+                        BatchExecutionCommand command = CommandFactory.newBatchExecution(Arrays.asList(CommandFactory.newInsert("fact-" + i),
+                                                                                                       CommandFactory.newFireAllRules()), lookup);
+                        extension.rulesExecutionService.call(kieContainerInstance, command);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        int batches = THREADS * BATCHES_PER_THREAD;
+        logger.info("Executed {} batches in {} ms ({} batches/s)", batches, elapsedMillis, batches * 1000L / elapsedMillis);
+
+        KieSession stateful = kieContainer.getKieSession("stateful");
+        // concurrent batches on the shared stateful session might leave matches for the other batch's fire that already returned
+        stateful.fireAllRules();
+        assertEquals(batches, firedRules.sum());
+        assertEquals(1, stateful.getAgendaEventListeners().stream().filter(listener::equals).count());
+        StatelessKieSession stateless = kieContainer.getStatelessKieSession("stateless");
+        assertEquals(1, stateless.getAgendaEventListeners().stream().filter(listener::equals).count());
+        assertEquals(3, kieContainerInstance.getService(KieSessionListenerRegistry.class).size());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.drools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.compiler.kie.builder.impl.KieProject;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.KieServerConfigItem;
+import org.kie.server.services.api.KieContainerInstance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KieSessionPoolManagerTest {
+
+    private static final String CONTAINER_ID = "container";
+
+    private KieContainerImpl kieContainer;
+    private KieContainerInstance kieContainerInstance;
+    private List<KieServerConfigItem> configItems;
+
+    @Before
+    public void setup() {
+        kieContainer = mock(KieContainerImpl.class);
+        KieProject kieProject = mock(KieProject.class);
+        KieSessionModel defaultSession = sessionModel("defaultSession", KieSessionModel.KieSessionType.STATEFUL);
+        KieSessionModel statefulSession = sessionModel("statefulSession", KieSessionModel.KieSessionType.STATEFUL);
+        KieSessionModel statelessSession = sessionModel("statelessSession", KieSessionModel.KieSessionType.STATELESS);
+        when(kieContainer.getKieProject()).thenReturn(kieProject);
+        when(kieProject.getDefaultKieSession()).thenReturn(defaultSession);
+        when(kieContainer.getKieSessionModel("defaultSession")).thenReturn(defaultSession);
+        when(kieContainer.getKieSessionModel("statefulSession")).thenReturn(statefulSession);
+        when(kieContainer.getKieSessionModel("statelessSession")).thenReturn(statelessSession);
+
+        configItems = new ArrayList<>();
+        KieContainerResource resource = new KieContainerResource();
+        resource.setContainerId(CONTAINER_ID);
+        resource.setConfigItems(configItems);
+        kieContainerInstance = mock(KieContainerInstance.class);
+        when(kieContainerInstance.getContainerId()).thenReturn(CONTAINER_ID);
+        when(kieContainerInstance.getResource()).thenReturn(resource);
+        when(kieContainerInstance.getKieContainer()).thenReturn(kieContainer);
+    }
+
+    @Test
+    public void testNoPoolingConfigured() {
+        assertNull(KieSessionPoolManager.fromContainer(kieContainerInstance));
+    }
+
+    @Test
+    public void testPoolingConfigured() {
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL, "statefulSession");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_SIZE, "4");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_WARMUP, "2");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_RESET_STRATEGY, "new");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_WAIT_TIME, "100");
+
+        KieSessionPoolManager manager = KieSessionPoolManager.fromContainer(kieContainerInstance);
+
+        assertNotNull(manager);
+        KieSessionPool pool = manager.getPool("statefulSession");
+        assertNotNull(pool);
+        assertEquals(CONTAINER_ID, pool.getContainerId());
+        assertEquals(4, pool.getSize());
+        assertEquals(2, pool.getWarmUp());
+        assertEquals(KieSessionPool.ResetStrategy.NEW, pool.getResetStrategy());
+        assertEquals(100, pool.getWaitTime());
+    }
+
+    @Test
+    public void testLookupWithoutSessionNotPooledUnlessDefaultListed() {
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL, "defaultSession");
+
+        KieSessionPoolManager manager = KieSessionPoolManager.fromContainer(kieContainerInstance);
+
+        assertNotNull(manager.getPool("defaultSession"));
+        assertNull(manager.getPool(null));
+        assertNull(manager.getPool(""));
+    }
+
+    @Test
+    public void testLookupWithoutSessionPooledWhenDefaultListed() {
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL, "default");
+
+        KieSessionPoolManager manager = KieSessionPoolManager.fromContainer(kieContainerInstance);
+
+        KieSessionPool pool = manager.getPool(null);
+        assertNotNull(pool);
+        assertEquals("defaultSession", pool.getKieSessionName());
+        assertSame(pool, manager.getPool(""));
+        assertSame(pool, manager.getPool("default"));
+        assertSame(pool, manager.getPool("defaultSession"));
+    }
+
+    @Test
+    public void testOnlyStatefulSessionsPooled() {
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL, "statelessSession, missingSession");
+
+        assertNull(KieSessionPoolManager.fromContainer(kieContainerInstance));
+    }
+
+    @Test
+    public void testInvalidValuesFallBackToDefaults() {
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL, "statefulSession");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_SIZE, "0");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_WARMUP, "many");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_RESET_STRATEGY, "RECYCLE");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_WAIT_TIME, "-1");
+
+        KieSessionPoolManager manager = KieSessionPoolManager.fromContainer(kieContainerInstance);
+
+        assertNotNull(manager);
+        KieSessionPool pool = manager.getPool("statefulSession");
+        assertEquals(Runtime.getRuntime().availableProcessors(), pool.getSize());
+        assertEquals(0, pool.getWarmUp());
+        assertEquals(KieSessionPool.ResetStrategy.RESET, pool.getResetStrategy());
+        assertEquals(KieSessionPoolManager.DEFAULT_WAIT_TIME, pool.getWaitTime());
+    }
+
+    @Test
+    public void testWarmUpLimitedByPoolSize() {
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL, "statefulSession");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_SIZE, "2");
+        config(KieServerConstants.PCFG_KIE_SESSION_POOL_WARMUP, "10");
+
+        KieSessionPool pool = KieSessionPoolManager.fromContainer(kieContainerInstance).getPool("statefulSession");
+
+        assertEquals(2, pool.getWarmUp());
+    }
+
+    private void config(String name, String value) {
+        configItems.add(new KieServerConfigItem(name, value, String.class.getName()));
+    }
+
+    private static KieSessionModel sessionModel(String name, KieSessionModel.KieSessionType type) {
+        KieSessionModel model = mock(KieSessionModel.class);
+        when(model.getName()).thenReturn(name);
+        when(model.getType()).thenReturn(type);
+        return model;
+    }
+}
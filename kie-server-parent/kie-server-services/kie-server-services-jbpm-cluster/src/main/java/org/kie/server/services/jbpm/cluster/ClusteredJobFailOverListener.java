@@ -16,7 +16,6 @@
 
 package org.kie.server.services.jbpm.cluster;
 
-import java.util.Arrays;
 import java.util.List;
 
 import org.jbpm.executor.AsynchronousJobEvent;
@@ -33,10 +32,12 @@ public class ClusteredJobFailOverListener implements ClusterListener, Asynchrono
 
     private static final Logger logger = LoggerFactory.getLogger(ClusteredJobFailOverListener.class);
 
-    private ClusterAwareService clusterService;
+    private static final int FAILOVER_CHUNK_SIZE = Integer.parseInt(System.getProperty("org.kie.jbpm.cluster.failover.chunk.size", "1000"));
+
+    private DrainableClusterAwareService clusterService;
     private RequeueAware executorService;
     
-    public ClusteredJobFailOverListener(ClusterAwareService clusterService, RequeueAware executorService) {
+    public ClusteredJobFailOverListener(DrainableClusterAwareService clusterService, RequeueAware executorService) {
         this.clusterService = clusterService;
         this.executorService = executorService;
     }
@@ -48,13 +49,18 @@ public class ClusteredJobFailOverListener implements ClusterListener, Asynchrono
 
     @Override
     public void nodeLeft(ClusterNode node) {
-        // all the jobs belonging to the partition need to be requeued
-        List<Long> jobs = clusterService.getDataFromPartition(ClusterAwareService.CLUSTER_JOBS_KEY, node.toKey());
-        if(jobs == null || jobs.isEmpty()) {
-            return;
+        // all the jobs belonging to the partition need to be requeued, they are taken over in chunks
+        // and dropped from the partition of the node that left once requeued
+        int requeued = clusterService.<Long> drainPartition(ClusterAwareService.CLUSTER_JOBS_KEY, node.toKey(), FAILOVER_CHUNK_SIZE, jobs -> {
+            logger.debug("Node left cluster {}, failing over and requeuing {}", node, jobs);
+            requeue(jobs);
+        });
+        if (requeued > 0) {
+            logger.info("Node left cluster {}, failed over and requeued {} jobs", node, requeued);
         }
+    }
 
-        logger.info("Node left cluster {}, failing over and requeuing {}", node, Arrays.toString(jobs.toArray()));
+    private void requeue(List<Long> jobs) {
         jobs.forEach(jobId -> {
             try {
                 executorService.requeueById(jobId);
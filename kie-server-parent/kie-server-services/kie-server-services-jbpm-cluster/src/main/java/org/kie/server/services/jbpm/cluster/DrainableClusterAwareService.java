@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.kie.api.cluster.ClusterAwareService;
+
+/**
+ * Cluster aware service able to take over data of a partition, e.g. of a node that left the cluster.
+ */
+public interface DrainableClusterAwareService extends ClusterAwareService {
+
+    /**
+     * Hands over data of given partition to the consumer in chunks of at most given size and removes them once each
+     * chunk is consumed. Default implementation reads data of the partition at once, implementations should override
+     * it when they can read the partition in chunks.
+     * @return number of consumed values
+     */
+    default <T> int drainPartition(String key, String partition, int chunkSize, Consumer<List<T>> consumer) {
+        List<T> data = getDataFromPartition(key, partition);
+        if (data == null) {
+            return 0;
+        }
+        for (int i = 0; i < data.size(); i += chunkSize) {
+            List<T> chunk = new ArrayList<>(data.subList(i, Math.min(data.size(), i + chunkSize)));
+            consumer.accept(chunk);
+            chunk.forEach(value -> removeData(key, partition, value));
+        }
+        return data.size();
+    }
+}
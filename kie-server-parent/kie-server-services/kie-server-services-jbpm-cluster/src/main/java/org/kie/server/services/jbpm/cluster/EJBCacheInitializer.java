@@ -16,8 +16,6 @@
 
 package org.kie.server.services.jbpm.cluster;
 
-import java.util.List;
-
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import javax.ejb.Singleton;
@@ -49,7 +47,7 @@ public class EJBCacheInitializer {
     private Cache<Address, ClusterNode> nodesCache;
 
     @Resource(lookup = CACHE_JOBS_NAME_LOOKUP)
-    private Cache<String, List<Long>> jobsCache;
+    private Cache<String, Long> jobsCache;
 
     @PostConstruct
     public void init() {
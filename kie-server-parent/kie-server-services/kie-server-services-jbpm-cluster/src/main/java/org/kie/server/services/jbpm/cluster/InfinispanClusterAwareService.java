@@ -20,13 +20,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
 
+import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
-import org.infinispan.CacheCollection;
 import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
+import org.infinispan.context.Flag;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.Listener.Observation;
@@ -38,7 +42,7 @@ import org.infinispan.notifications.cachemanagerlistener.annotation.ViewChanged;
 import org.infinispan.notifications.cachemanagerlistener.event.Event;
 import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
 import org.infinispan.remoting.transport.Address;
-import org.kie.api.cluster.ClusterAwareService;
+import org.infinispan.util.function.SerializablePredicate;
 import org.kie.api.cluster.ClusterListener;
 import org.kie.api.cluster.ClusterNode;
 import org.kie.server.api.KieServerConstants;
@@ -46,18 +50,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toList;
 
 @Listener(observation = Observation.POST)
-public class InfinispanClusterAwareService implements ClusterAwareService {
+public class InfinispanClusterAwareService implements DrainableClusterAwareService {
 
     private static final Logger logger = LoggerFactory.getLogger(InfinispanClusterAwareService.class);
 
+    private static final String PARTITION_SEPARATOR = "#";
+
     private List<ClusterListener> listeners;
 
     private String kieServerId;
     private String kieServerLocation;
 
+    private volatile EmbeddedCacheManager cacheManager;
+
     public InfinispanClusterAwareService(String kieServerId, String kieServerLocation) {
         this.kieServerId = kieServerId;
         this.kieServerLocation = kieServerLocation;
@@ -68,6 +75,11 @@ public class InfinispanClusterAwareService implements ClusterAwareService {
         this(System.getProperty(KieServerConstants.KIE_SERVER_ID), System.getProperty(KieServerConstants.KIE_SERVER_LOCATION));
     }
 
+    InfinispanClusterAwareService(String kieServerId, String kieServerLocation, EmbeddedCacheManager cacheManager) {
+        this(kieServerId, kieServerLocation);
+        this.cacheManager = cacheManager;
+    }
+
     
     @Override
     public ClusterNode getThisNode() {
@@ -75,12 +87,18 @@ public class InfinispanClusterAwareService implements ClusterAwareService {
     }
 
     private EmbeddedCacheManager lookup () {
-        try {
-            Context context = new InitialContext();
-            return (EmbeddedCacheManager) context.lookup(EJBCacheInitializer.CACHE_NAME_LOOKUP);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        // cache manager lives as long as the server, so it is looked up only once
+        EmbeddedCacheManager manager = cacheManager;
+        if (manager == null) {
+            try {
+                Context context = new InitialContext();
+                manager = (EmbeddedCacheManager) context.lookup(EJBCacheInitializer.CACHE_NAME_LOOKUP);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            cacheManager = manager;
         }
+        return manager;
     }
     
     public void init() {
@@ -151,63 +169,126 @@ public class InfinispanClusterAwareService implements ClusterAwareService {
         return cacheManager.<Address, ClusterNode> getCache(CLUSTER_NODES_KEY).values();
     }
 
+    /*
+     * Data are kept as one cache entry per value, keyed by its partition and the value itself, so adding and removing
+     * a value replicates just that entry instead of the whole list of values of the partition.
+     */
     @Override
     public <T> void removeData(String key, String partition, T value) {
-        EmbeddedCacheManager cacheManager = lookup();
-        if (!cacheManager.cacheExists(key)) {
+        Cache<String, Object> cache = getDataCache(key);
+        if (cache == null) {
             return;
         }
-        Cache<String, List<T>> cache = cacheManager.<String, List<T>> getCache(key);
-
-        synchronized (this) {
-            List<T> values = cache.get(partition);
-            values = (values == null) ? new ArrayList<>() : new ArrayList<>(values);
-            values.remove(value);
-            cache.put(partition, values);
-        }
-
+        cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(toEntryKey(partition, value));
     }
 
     @Override
     public <T> void addData(String key, String partition, T value) {
-        EmbeddedCacheManager cacheManager = lookup();
-        if (!cacheManager.cacheExists(key)) {
+        Cache<String, Object> cache = getDataCache(key);
+        if (cache == null) {
             return;
         }
-
-        Cache<String, List<T>> cache = cacheManager.<String, List<T>> getCache(key);
-
-        synchronized (this) {
-            List<T> values = cache.get(partition);
-            values = (values == null) ? new ArrayList<>() : new ArrayList<>(values);
-            values.add(value);
-            cache.put(partition, values);
-        }
-
+        cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(toEntryKey(partition, value), value);
     }
 
     @Override
     public <T> List<T> getData(String key) {
-        EmbeddedCacheManager cacheManager = lookup();
-        if (!cacheManager.cacheExists(key)) {
+        Cache<String, Object> cache = getDataCache(key);
+        if (cache == null) {
             return emptyList();
         }
-        synchronized (this) {
-            CacheCollection<List<T>> values = cacheManager.<String, List<T>> getCache(key).values();
-            return values.stream().flatMap(Collection::stream).collect(toList());
+        List<T> data = new ArrayList<>();
+        for (Object value : cache.values()) {
+            addValue(data, value);
         }
+        return data;
     }
 
     @Override
     public <T> List<T> getDataFromPartition(String key, String partition) {
-        EmbeddedCacheManager cacheManager = lookup();
-        if (!cacheManager.cacheExists(key)) {
+        Cache<String, Object> cache = getDataCache(key);
+        if (cache == null) {
             return emptyList();
         }
-        synchronized (this) {
-            List<T> values = cacheManager.<String, List<T>> getCache(key).get(partition);
-            return values == null ? emptyList() : values;
+        List<T> data = new ArrayList<>();
+        drainPartition(cache, partition, Integer.MAX_VALUE, false, chunk -> data.addAll(chunk));
+        return data;
+    }
+
+    /**
+     * Entries of the partition are selected by a filter evaluated on the nodes owning them, so only entries of the
+     * partition are transferred to this node, in chunks of at most given size.
+     */
+    @Override
+    public <T> int drainPartition(String key, String partition, int chunkSize, Consumer<List<T>> consumer) {
+        Cache<String, Object> cache = getDataCache(key);
+        if (cache == null) {
+            return 0;
+        }
+        return drainPartition(cache, partition, chunkSize, true, consumer);
+    }
+
+    private <T> int drainPartition(Cache<String, Object> cache, String partition, int chunkSize, boolean remove, Consumer<List<T>> consumer) {
+        List<String> keys = new ArrayList<>();
+        List<T> chunk = new ArrayList<>();
+        int count = 0;
+        SerializablePredicate<Map.Entry<String, Object>> inPartition = entry -> isInPartition(entry.getKey(), partition);
+        try (CacheStream<Map.Entry<String, Object>> entries = cache.entrySet().stream().filter(inPartition)) {
+            Iterator<Map.Entry<String, Object>> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Object> entry = iterator.next();
+                keys.add(entry.getKey());
+                addValue(chunk, entry.getValue());
+                if (chunk.size() >= chunkSize) {
+                    count += consumeChunk(cache, keys, chunk, remove, consumer);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            count += consumeChunk(cache, keys, chunk, remove, consumer);
+        }
+        return count;
+    }
+
+    /*
+     * list of values of the whole partition, as written by older versions, is kept under the partition itself, it is
+     * taken over as well so that jobs of nodes that left before the upgrade completed are not lost
+     */
+    static boolean isInPartition(String entryKey, String partition) {
+        return entryKey.equals(partition) || entryKey.startsWith(partition + PARTITION_SEPARATOR);
+    }
+
+    private <T> int consumeChunk(Cache<String, Object> cache, List<String> keys, List<T> chunk, boolean remove, Consumer<List<T>> consumer) {
+        int size = chunk.size();
+        consumer.accept(new ArrayList<>(chunk));
+        if (remove) {
+            AdvancedCache<String, Object> advancedCache = cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES);
+            keys.forEach(advancedCache::remove);
+        }
+        keys.clear();
+        chunk.clear();
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void addValue(List<T> data, Object value) {
+        if (value instanceof Collection) {
+            data.addAll((Collection<T>) value);
+        } else if (value != null) {
+            data.add((T) value);
+        }
+    }
+
+    private String toEntryKey(String partition, Object value) {
+        return partition + PARTITION_SEPARATOR + value;
+    }
+
+    private Cache<String, Object> getDataCache(String key) {
+        EmbeddedCacheManager cacheManager = lookup();
+        if (!cacheManager.cacheExists(key)) {
+            return null;
         }
+        return cacheManager.<String, Object> getCache(key);
     }
 
     @Override
@@ -51,7 +51,7 @@ public class JBPMClusterKieServerExtension implements KieServerExtension {
     private KieServerRegistry registry;
 
     private ExecutorService jbpmExecutorService;
-    private ClusterAwareService clusterService;
+    private DrainableClusterAwareService clusterService;
 
     @Override
     public boolean isInitialized() {
@@ -100,7 +100,8 @@ public class JBPMClusterKieServerExtension implements KieServerExtension {
             } 
         }
 
-        clusterService = ServiceRegistry.getService(ClusterAwareService.class);
+        // registered implementation supports draining of partitions, see kie.conf of this module
+        clusterService = (DrainableClusterAwareService) ServiceRegistry.getService(ClusterAwareService.class);
     }
     
     @Override
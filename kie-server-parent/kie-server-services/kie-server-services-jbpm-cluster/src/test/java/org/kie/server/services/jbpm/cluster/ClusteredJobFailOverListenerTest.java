@@ -0,0 +1,53 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm.cluster;
+
+import java.util.Arrays;
+
+import org.jbpm.executor.RequeueAware;
+import org.junit.Test;
+import org.kie.api.cluster.ClusterNode;
+
+import static org.kie.api.cluster.ClusterAwareService.CLUSTER_JOBS_KEY;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ClusteredJobFailOverListenerTest {
+
+    @Test
+    public void testJobsOfNodeLeftRequeuedAndRemoved() {
+        ClusterNode node = new ClusterNode("node-2", "http://localhost:8230");
+        // default drainPartition reading partition through getDataFromPartition
+        DrainableClusterAwareService clusterService = mock(DrainableClusterAwareService.class, CALLS_REAL_METHODS);
+        doReturn(Arrays.asList(1L, 2L, 3L)).when(clusterService).getDataFromPartition(CLUSTER_JOBS_KEY, node.toKey());
+        RequeueAware executorService = mock(RequeueAware.class);
+        // already completed job does not stop fail over of the others
+        doThrow(new IllegalArgumentException("completed")).when(executorService).requeueById(2L);
+
+        new ClusteredJobFailOverListener(clusterService, executorService).nodeLeft(node);
+
+        verify(executorService).requeueById(1L);
+        verify(executorService).requeueById(2L);
+        verify(executorService).requeueById(3L);
+        verify(clusterService).removeData(CLUSTER_JOBS_KEY, node.toKey(), 1L);
+        verify(clusterService).removeData(CLUSTER_JOBS_KEY, node.toKey(), 2L);
+        verify(clusterService).removeData(CLUSTER_JOBS_KEY, node.toKey(), 3L);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.kie.api.cluster.ClusterAwareService.CLUSTER_JOBS_KEY;
+
+public class InfinispanClusterAwareServiceTest {
+
+    private EmbeddedCacheManager cacheManager;
+    private InfinispanClusterAwareService clusterService;
+
+    @Before
+    public void setup() {
+        cacheManager = new DefaultCacheManager();
+        cacheManager.defineConfiguration(CLUSTER_JOBS_KEY, new ConfigurationBuilder().build());
+        cacheManager.getCache(CLUSTER_JOBS_KEY);
+        clusterService = new InfinispanClusterAwareService("node-1", "http://localhost:8080", cacheManager);
+    }
+
+    @After
+    public void cleanup() {
+        cacheManager.stop();
+    }
+
+    @Test
+    public void testDataKeptPerPartition() {
+        clusterService.addData(CLUSTER_JOBS_KEY, "node-1", 1L);
+        clusterService.addData(CLUSTER_JOBS_KEY, "node-1", 2L);
+        // partition sharing the prefix of another one is kept apart
+        clusterService.addData(CLUSTER_JOBS_KEY, "node-10", 3L);
+        clusterService.removeData(CLUSTER_JOBS_KEY, "node-1", 1L);
+
+        assertEquals(Arrays.asList(2L), clusterService.getDataFromPartition(CLUSTER_JOBS_KEY, "node-1"));
+        assertEquals(Arrays.asList(3L), clusterService.getDataFromPartition(CLUSTER_JOBS_KEY, "node-10"));
+        assertEquals(new HashSet<>(Arrays.asList(2L, 3L)), new HashSet<>(clusterService.getData(CLUSTER_JOBS_KEY)));
+        // reading partition does not remove its data
+        assertEquals(Arrays.asList(2L), clusterService.getDataFromPartition(CLUSTER_JOBS_KEY, "node-1"));
+    }
+
+    @Test
+    public void testDrainPartitionInChunks() {
+        for (long job = 1; job <= 5; job++) {
+            clusterService.addData(CLUSTER_JOBS_KEY, "node-1", job);
+        }
+        clusterService.addData(CLUSTER_JOBS_KEY, "node-10", 6L);
+
+        List<List<Long>> chunks = new ArrayList<>();
+        int drained = clusterService.<Long> drainPartition(CLUSTER_JOBS_KEY, "node-1", 2, chunks::add);
+
+        assertEquals(5, drained);
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.size() <= 2));
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L, 4L, 5L)), chunks.stream().collect(HashSet::new, HashSet::addAll, HashSet::addAll));
+        assertTrue(clusterService.getDataFromPartition(CLUSTER_JOBS_KEY, "node-1").isEmpty());
+        assertEquals(Arrays.asList(6L), clusterService.getDataFromPartition(CLUSTER_JOBS_KEY, "node-10"));
+    }
+
+    @Test
+    public void testDrainPartitionWrittenByOlderVersion() {
+        // older versions keep list of all values of the partition under the partition itself
+        cacheManager.getCache(CLUSTER_JOBS_KEY).put("node-1", new ArrayList<>(Arrays.asList(1L, 2L)));
+        clusterService.addData(CLUSTER_JOBS_KEY, "node-1", 3L);
+
+        List<Long> jobs = new ArrayList<>();
+        int drained = clusterService.<Long> drainPartition(CLUSTER_JOBS_KEY, "node-1", 10, jobs::addAll);
+
+        assertEquals(3, drained);
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L, 3L)), new HashSet<>(jobs));
+        assertFalse(cacheManager.getCache(CLUSTER_JOBS_KEY).containsKey("node-1"));
+    }
+
+    @Test
+    public void testDrainMissingCache() {
+        assertEquals(0, clusterService.<Long> drainPartition("missing", "node-1", 10, jobs -> {
+            throw new IllegalStateException("No data expected");
+        }));
+    }
+}
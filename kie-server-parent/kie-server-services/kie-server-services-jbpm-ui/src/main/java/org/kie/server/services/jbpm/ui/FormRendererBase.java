@@ -26,6 +26,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.jbpm.casemgmt.api.CaseDefinitionNotFoundException;
@@ -44,6 +45,7 @@ import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.jbpm.locator.ByTaskIdContainerLocator;
 import org.kie.server.services.jbpm.ui.form.render.FormReader;
+import org.kie.server.services.jbpm.ui.form.render.FormRenderCache;
 import org.kie.server.services.jbpm.ui.form.render.FormRenderer;
 import org.kie.server.services.jbpm.ui.form.render.model.FormField;
 import org.kie.server.services.jbpm.ui.form.render.model.FormInstance;
@@ -52,11 +54,19 @@ import org.kie.server.services.jbpm.ui.form.render.model.FormModel;
 import org.kie.server.services.jbpm.ui.form.render.model.LayoutColumn;
 import org.kie.server.services.jbpm.ui.form.render.model.LayoutItem;
 import org.kie.server.services.jbpm.ui.form.render.model.LayoutRow;
+import org.kie.server.services.prometheus.PrometheusFormRenderCacheMetrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 public class FormRendererBase {
     
     private static final String SUPPORTED_FORM_SUFFIX = "-taskform.frm";
     private static final String ENDPOINT = "/files";
+
+    private static final String FORM_CACHE = "form";
+    private static final String NESTED_FORM_CACHE = "nested-form";
+    private static final String TASK_INPUTS_CACHE = "task-inputs";
+    private static final String TASK_OUTPUTS_CACHE = "task-outputs";
     
     private static final ServiceLoader<FormRenderer> formRenderers = ServiceLoader.load(FormRenderer.class);
 
@@ -71,15 +81,21 @@ public class FormRendererBase {
     private FormReader formReader = new FormReader();
     
     private Map<String, Map<String, String>> indexedForms = new ConcurrentHashMap<>();
-            
+
+    private final FormRenderCache formCache;
     
     public FormRendererBase(DefinitionService definitionService, UserTaskService userTaskService, FormManagerService formManagerService, CaseRuntimeDataService caseRuntimeDataService, KieServerRegistry registry) {
+        this(definitionService, userTaskService, formManagerService, caseRuntimeDataService, registry, null);
+    }
+
+    public FormRendererBase(DefinitionService definitionService, UserTaskService userTaskService, FormManagerService formManagerService, CaseRuntimeDataService caseRuntimeDataService, KieServerRegistry registry, PrometheusFormRenderCacheMetrics cacheMetrics) {
         super();
         this.definitionService = definitionService;
         this.userTaskService = userTaskService;
         this.formManagerService = formManagerService;
         this.caseRuntimeDataService = caseRuntimeDataService;
         this.registry = registry;
+        this.formCache = new FormRenderCache(cacheMetrics);
         
         for (FormRenderer renderer : formRenderers) {
             
@@ -112,6 +128,11 @@ public class FormRendererBase {
     
     public void dropDeploymentForms(String containerId) {
         indexedForms.remove(containerId);
+        formCache.evict(containerId);
+    }
+
+    public FormRenderCache getFormCache() {
+        return formCache;
     }
 
     public String getProcessRenderedForm(String renderer, String containerId, String processId) {
@@ -122,9 +143,7 @@ public class FormRendererBase {
             throw new ProcessDefinitionNotFoundException("Process definition " + resolvedContainerId + " : " + processId + " not found");
         }
         
-        String formStructure = formManagerService.getFormByKey(resolvedContainerId, processId + SUPPORTED_FORM_SUFFIX);   
-        
-        FormInstance form = formReader.readFromString(formStructure);
+        FormInstance form = readForm(resolvedContainerId, processId + SUPPORTED_FORM_SUFFIX);
         
         if (form == null) {
             // generate default form as there is none existing
@@ -132,11 +151,7 @@ public class FormRendererBase {
             form = generateDefaultProcessForm(processDesc);
         }
         
-        form.setNestedFormsLookup(formId -> {
-            Map<String, String> forms = indexedForms.get(resolvedContainerId);
-            String formStructureNested = forms.get(formId);
-            return formReader.readFromString(formStructureNested);
-        });
+        form.setNestedFormsLookup(nestedFormsLookup(resolvedContainerId));
         FormRenderer formRenderer = renderers.get(renderer);
         if (formRenderer == null) {
             throw new IllegalArgumentException("Form renderer with name " + renderer + " not found");
@@ -155,20 +170,18 @@ public class FormRendererBase {
         }
         String name = getTaskFormName(task);
 
-        String formStructure = formManagerService.getFormByKey(resolvedContainerId, name);
-
-        FormInstance form = formReader.readFromString(formStructure);
+        FormInstance form = readForm(resolvedContainerId, name);
         if (form == null) {
             // generate default form as there is none existing
-            Map<String, String> inputs = definitionService.getTaskInputMappings(resolvedContainerId, task.getTaskData().getProcessId(), task.getName());
-            Map<String, String> outputs = definitionService.getTaskOutputMappings(resolvedContainerId, task.getTaskData().getProcessId(), task.getName());
+            String processId = task.getTaskData().getProcessId();
+            String mappingsKey = processId + ":" + task.getName();
+            Map<String, String> inputs = formCache.get(resolvedContainerId, TASK_INPUTS_CACHE, mappingsKey,
+                                                       () -> definitionService.getTaskInputMappings(resolvedContainerId, processId, task.getName()));
+            Map<String, String> outputs = formCache.get(resolvedContainerId, TASK_OUTPUTS_CACHE, mappingsKey,
+                                                        () -> definitionService.getTaskOutputMappings(resolvedContainerId, processId, task.getName()));
             form = generateDefaultTaskForm(task, inputs, outputs);
         }
-        form.setNestedFormsLookup(formId -> {
-            Map<String, String> forms = indexedForms.get(resolvedContainerId);
-            String formStructureNested = forms.get(formId);
-            return formReader.readFromString(formStructureNested);
-        });
+        form.setNestedFormsLookup(nestedFormsLookup(resolvedContainerId));
         
         Map<String, Object> inputData = userTaskService.getTaskInputContentByTaskId(resolvedContainerId, taskId);        
         Map<String, Object> outputData = userTaskService.getTaskOutputContentByTaskId(resolvedContainerId, taskId);        
@@ -193,16 +206,9 @@ public class FormRendererBase {
             throw new CaseDefinitionNotFoundException("Case definition " + resolvedContainerId + " : " + caseDefinitionId + " not found");
         }
         
-        String formStructure = formManagerService.getFormByKey(resolvedContainerId, caseDefinitionId + SUPPORTED_FORM_SUFFIX);
-        
-        
-        FormInstance form = formReader.readFromString(formStructure);
+        FormInstance form = readForm(resolvedContainerId, caseDefinitionId + SUPPORTED_FORM_SUFFIX);
         if (form != null) {
-            form.setNestedFormsLookup(formId -> {
-                Map<String, String> forms = indexedForms.get(resolvedContainerId);
-                String formStructureNested = forms.get(formId);
-                return formReader.readFromString(formStructureNested);
-            });
+            form.setNestedFormsLookup(nestedFormsLookup(resolvedContainerId));
         }
         FormRenderer formRenderer = renderers.get(renderer);
         if (formRenderer == null) {
@@ -213,6 +219,26 @@ public class FormRendererBase {
         return output;
     }
     
+    /**
+     * Reads form of given key from its cached structure, form instance is always a new one as it is modified
+     * by renderers with data of the rendered instance.
+     */
+    protected FormInstance readForm(String containerId, String formKey) {
+        JsonNode formStructure = formCache.get(containerId, FORM_CACHE, formKey,
+                                               () -> formReader.readTree(formManagerService.getFormByKey(containerId, formKey)));
+        return formReader.readFromTree(formStructure);
+    }
+
+    protected Function<String, FormInstance> nestedFormsLookup(String containerId) {
+        return formId -> {
+            JsonNode formStructure = formCache.get(containerId, NESTED_FORM_CACHE, formId, () -> {
+                Map<String, String> forms = indexedForms.get(containerId);
+                return formReader.readTree(forms.get(formId));
+            });
+            return formReader.readFromTree(formStructure);
+        };
+    }
+
     public InputStream readResources(String resourcePath) {
         return this.getClass().getResourceAsStream("/form-templates-providers" + resourcePath);
     }
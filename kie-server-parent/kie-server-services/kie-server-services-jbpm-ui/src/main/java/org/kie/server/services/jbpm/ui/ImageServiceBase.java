@@ -15,16 +15,20 @@
 
 package org.kie.server.services.jbpm.ui;
 
-import java.io.ByteArrayInputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.jbpm.process.svg.SVGImageProcessor;
+import org.jbpm.process.svg.SVGTemplate;
+import org.jbpm.process.svg.SVGTemplateCache;
 import org.jbpm.process.svg.processor.SVGProcessor;
 import org.jbpm.services.api.ProcessInstanceNotFoundException;
 import org.jbpm.services.api.RuntimeDataService;
@@ -39,7 +43,6 @@ import org.kie.server.services.impl.locator.ContainerLocatorProvider;
 import org.kie.server.services.jbpm.ui.img.ImageReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.jbpm.services.api.RuntimeDataService.EntryType;
 
 import static org.jbpm.process.svg.processor.SVGProcessor.ACTIVE_BORDER_COLOR;
 import static org.jbpm.process.svg.processor.SVGProcessor.COMPLETED_BORDER_COLOR;
@@ -60,6 +63,7 @@ public class ImageServiceBase {
 
     private RuntimeDataService dataService;
     private Map<String, ImageReference> imageReferenceMap;
+    private SVGTemplateCache templateCache = new SVGTemplateCache();
 
     private String kieServerLocation;
     private String processInstanceImageLink = "containers/{0}/images/processes/instances/{1}";
@@ -107,10 +111,9 @@ public class ImageServiceBase {
         containerId = registry.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
 
         String imageSVGString = null;
-        byte[] imageSVG = getProcessImageAsBytes(containerId, processId);
-        if (imageSVG != null) {
-            ByteArrayInputStream svgStream = new ByteArrayInputStream(imageSVG);
-            SVGProcessor processor = new SVGImageProcessor(svgStream).getProcessor();
+        SVGTemplate template = getProcessImageTemplate(containerId, processId);
+        if (template != null) {
+            SVGProcessor processor = new SVGImageProcessor(template, null, null).getProcessor();
             imageSVGString = processor.getSVG();
         }
 
@@ -129,36 +132,72 @@ public class ImageServiceBase {
             throw new ProcessInstanceNotFoundException("No instance found for process instance id " + procInstId);
         }
         String imageSVGString = null;
-        // get SVG String
-        byte[] imageSVG = getProcessImageAsBytes(instance.getDeploymentId(), instance.getProcessId());
-        if (imageSVG != null) {
-            // find active nodes and modify image
-            Map<String, String> subProcessLinks = new HashMap<>();
+        // get parsed SVG
+        SVGTemplate template = getProcessImageTemplate(instance.getDeploymentId(), instance.getProcessId());
+        if (template != null) {
+            // single history query, active and completed nodes are classified by log type of every node instance
+            // unless the history is longer than max nodes
             QueryContext qc = MAX_NODES > 0 ? new QueryContext(0, MAX_NODES) : null;
-            Collection<NodeInstanceDesc> activeLogs = dataService.getProcessInstanceHistoryActive(procInstId, qc);
-            Collection<NodeInstanceDesc> completedLogs = dataService.getProcessInstanceHistoryCompleted(procInstId, qc);
             Collection<NodeInstanceDesc> fullLogs = dataService.getProcessInstanceFullHistory(procInstId, qc);
 
-            // Async active nodes don't have any related completed node instance
-            List<String> activeAsyncNodes =
-                    fullLogs.stream()
-                            .filter(nodeInstanceDesc ->
-                                            (((org.jbpm.kie.services.impl.model.NodeInstanceDesc) nodeInstanceDesc).getType() == NodeInstanceLog.TYPE_ASYNC_ENTER) &&
-                                                    fullLogs.stream().noneMatch(nodeInst -> nodeInstanceDesc.getNodeId().equals(nodeInst.getNodeId())
-                                                            && (((org.jbpm.kie.services.impl.model.NodeInstanceDesc) nodeInst).getType() == NodeInstanceLog.TYPE_EXIT)))
-                            .map(NodeInstanceDesc::getNodeId).collect(Collectors.toList());
-
-            Map<Long, String> active = new HashMap<Long, String>();
-            List<String> completed = new ArrayList<String>();
+            List<NodeInstanceDesc> completedLogs = new ArrayList<>();
+            List<NodeInstanceDesc> otherLogs = new ArrayList<>();
+            Map<Long, List<NodeInstanceDesc>> enteredNodeInstances = new LinkedHashMap<>();
+            Set<Long> leftNodeInstances = new HashSet<>();
+            Set<String> exitedNodes = new HashSet<>();
+            List<NodeInstanceDesc> asyncLogs = new ArrayList<>();
+
+            for (NodeInstanceDesc node : fullLogs) {
+                int type = ((org.jbpm.kie.services.impl.model.NodeInstanceDesc) node).getType();
+                if (type == NodeInstanceLog.TYPE_ENTER) {
+                    enteredNodeInstances.computeIfAbsent(node.getId(), id -> new ArrayList<>()).add(node);
+                    continue;
+                }
+                leftNodeInstances.add(node.getId());
+                if (type == NodeInstanceLog.TYPE_EXIT) {
+                    completedLogs.add(node);
+                    exitedNodes.add(node.getNodeId());
+                } else {
+                    otherLogs.add(node);
+                    if (type == NodeInstanceLog.TYPE_ASYNC_ENTER) {
+                        asyncLogs.add(node);
+                    }
+                }
+            }
 
-            for (NodeInstanceDesc activeNode : activeLogs) {
-                active.put(activeNode.getId(), activeNode.getNodeId());
+            List<NodeInstanceDesc> activeLogs = new ArrayList<>();
+            Map<Long, String> active = new LinkedHashMap<>();
+            if (MAX_NODES > 0 && fullLogs.size() >= MAX_NODES) {
+                // history does not fit into single page and the latest logs are missing from it, active and completed
+                // node instances are queried on their own so that the current state of the instance is shown
+                for (NodeInstanceDesc node : dataService.getProcessInstanceHistoryActive(procInstId, qc)) {
+                    activeLogs.add(node);
+                    active.put(node.getId(), node.getNodeId());
+                }
+                completedLogs = new ArrayList<>(dataService.getProcessInstanceHistoryCompleted(procInstId, qc));
+                completedLogs.forEach(node -> exitedNodes.add(node.getNodeId()));
+            } else {
+                // node instances that have been entered and have no other log yet
+                enteredNodeInstances.forEach((id, logs) -> {
+                    if (!leftNodeInstances.contains(id)) {
+                        activeLogs.addAll(logs);
+                        active.put(id, logs.get(0).getNodeId());
+                    }
+                });
             }
 
+            // Async active nodes don't have any related completed node instance
+            List<String> activeAsyncNodes = new ArrayList<>();
+            for (NodeInstanceDesc node : asyncLogs) {
+                if (!exitedNodes.contains(node.getNodeId())) {
+                    activeAsyncNodes.add(node.getNodeId());
+                }
+            }
+
+            List<String> completed = new ArrayList<String>();
+            Map<String, String> subProcessLinks = new HashMap<>();
             for (NodeInstanceDesc completeNode : completedLogs) {
                 completed.add(completeNode.getNodeId());
-
-                active.remove(completeNode.getId());
                 populateSubProcessLink(containerId, completeNode, subProcessLinks);
             }
             // The code related to JBPM-9740 and JBPM-9821 and JBPM-5304
@@ -166,8 +205,7 @@ public class ImageServiceBase {
                 populateSubProcessLink(containerId, activeNode, subProcessLinks);
             });
 
-            fullLogs.stream().filter(node -> ((org.jbpm.kie.services.impl.model.NodeInstanceDesc) node).getType() != EntryType.START.getValue() && ((org.jbpm.kie.services.impl.model.NodeInstanceDesc) node).getType() != EntryType.END.getValue())
-                    .forEach(node -> populateSubProcessLink(containerId, node, subProcessLinks));
+            otherLogs.forEach(node -> populateSubProcessLink(containerId, node, subProcessLinks));
             Map<String, Long> badges = null;
             if (showBadges) {
                 Collection<NodeInstanceDesc> allNodes = new ArrayList<>();
@@ -177,9 +215,7 @@ public class ImageServiceBase {
                 badges = allNodes.stream().collect(Collectors.groupingBy(NodeInstanceDesc::getNodeId, Collectors.counting()));
             }
 
-            ByteArrayInputStream svgStream = new ByteArrayInputStream(imageSVG);
-
-            imageSVGString = SVGImageProcessor.transform(svgStream, completed, new ArrayList<String>(active.values()), activeAsyncNodes,
+            imageSVGString = SVGImageProcessor.transform(template, completed, new ArrayList<String>(active.values()), activeAsyncNodes,
                                                          subProcessLinks, completedNodeColor, completedNodeBorderColor,
                                                          activeNodeBorderColor, activeAsyncNodeBorderColor, badges);
 
@@ -188,6 +224,17 @@ public class ImageServiceBase {
         throw new IllegalArgumentException("No process found for " + instance.getProcessId() + " within container " + containerId);
     }
 
+    /**
+     * Drops parsed images of the given container, to be called when the container is disposed or updated.
+     */
+    public void dropDeploymentImages(String containerId) {
+        templateCache.evict(containerId);
+    }
+
+    private SVGTemplate getProcessImageTemplate(String containerId, String processId) {
+        return templateCache.getTemplate(containerId, processId, () -> getProcessImageAsBytes(containerId, processId));
+    }
+
     protected void populateSubProcessLink(String containerId, NodeInstanceDesc node, Map<String, String> subProcessLinks) {
         if (node.getReferenceId() != null && node.getNodeType().endsWith("SubProcessNode")) {
 
@@ -42,6 +42,8 @@ import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.SupportedTransports;
 import org.kie.server.services.impl.KieServerImpl;
 import org.kie.server.services.jbpm.ui.img.ImageReference;
+import org.kie.server.services.prometheus.PrometheusFormRenderCacheMetrics;
+import org.kie.server.services.prometheus.PrometheusKieServerExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -166,6 +168,7 @@ public class JBPMUIKieServerExtension implements KieServerExtension {
             return;
         }
         List<Message> messages = (List<Message>) parameters.get(KieServerConstants.KIE_SERVER_PARAM_MESSAGES);
+        enableFormCacheMetrics();
         try {
 
             DeployedUnit deployedUnit = deploymentService.getDeployedUnit(id);
@@ -185,6 +188,15 @@ public class JBPMUIKieServerExtension implements KieServerExtension {
 
     }
 
+    /*
+     * Prometheus extension is initialized after this one, so it is looked up once containers are created.
+     */
+    private void enableFormCacheMetrics() {
+        if (!formRendererBase.getFormCache().isMetricsEnabled() && registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME) != null) {
+            formRendererBase.getFormCache().enableMetrics(new PrometheusFormRenderCacheMetrics(PrometheusKieServerExtension.getMetrics()));
+        }
+    }
+
     @Override
     public void updateContainer(String id, KieContainerInstance kieContainerInstance, Map<String, Object> parameters) {
         // recreate configuration for updated container
@@ -204,6 +216,7 @@ public class JBPMUIKieServerExtension implements KieServerExtension {
         }
 
         imageReferences.remove(id);
+        imageServiceBase.dropDeploymentImages(id);
         formRendererBase.dropDeploymentForms(id);
     }
 
@@ -37,6 +37,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import org.jbpm.casemgmt.api.model.CaseDefinition;
@@ -84,12 +86,15 @@ public abstract class AbstractFormRenderer implements FormRenderer {
 
     }
 
+    private static final int MAX_FIELD_LEVEL_TEMPLATES = 1000;
+
     private Map<String, String> inputTypes;
     private StringTemplateLoader stringLoader = new StringTemplateLoader();
     private Configuration cfg;
     
-    private StringTemplateLoader fieldLevelStringLoader = new StringTemplateLoader();
     private Configuration fieldLevelCfg;
+    // compiled templates of HTML items keyed by their source, they are the same for every rendered instance of a form
+    private final ConcurrentMap<String, Template> fieldLevelTemplates = new ConcurrentHashMap<>();
     
     private FormReader reader = new FormReader();
     
@@ -120,7 +125,6 @@ public abstract class AbstractFormRenderer implements FormRenderer {
         cfg.setDefaultEncoding("UTF-8");
         
         fieldLevelCfg = new Configuration(Configuration.VERSION_2_3_26);
-        fieldLevelCfg.setTemplateLoader(fieldLevelStringLoader);
         fieldLevelCfg.setDefaultEncoding("UTF-8");
         
         loadTemplates();
@@ -368,15 +372,10 @@ public abstract class AbstractFormRenderer implements FormRenderer {
                     if (item.getValue() != null) {
                         String output = (String) item.getValue();
                         if (output.contains("${")) {
-                            String uuid = UUID.randomUUID().toString();;
-                            loadTemplate(fieldLevelStringLoader, uuid, new ByteArrayInputStream(output.getBytes(Charset.forName("UTF-8"))));
                             Map<String, Object> parameters = new HashMap<>();
                             parameters.putAll(inputs);
                             parameters.putAll(outputs);                        
-                            output = renderTemplate(fieldLevelCfg, uuid, parameters);
-                            
-                            
-                            fieldLevelStringLoader.removeTemplate(uuid);
+                            output = renderTemplate(getFieldLevelTemplate(output), parameters);
                         }
                         content.append(output);
                         
@@ -717,6 +716,39 @@ public abstract class AbstractFormRenderer implements FormRenderer {
         return out.toString();
     }
     
+    protected String renderTemplate(Template template, Map<String, Object> parameters) {
+        StringWriter out = new StringWriter();
+        try {
+            template.process(parameters, out);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Template " + template.getName() + " could not be rendered", e);
+        }
+        return out.toString();
+    }
+    
+    /*
+     * Compiles given HTML item content only once, the template is then reused by all rendered instances of the form.
+     */
+    protected Template getFieldLevelTemplate(String content) {
+        Template template = fieldLevelTemplates.get(content);
+        if (template == null) {
+            if (fieldLevelTemplates.size() >= MAX_FIELD_LEVEL_TEMPLATES) {
+                fieldLevelTemplates.clear();
+            }
+            try {
+                String source = read(new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8"))));
+                template = new Template(UUID.randomUUID().toString(), source, fieldLevelCfg);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Template " + content + " could not be compiled", e);
+            }
+            Template existing = fieldLevelTemplates.putIfAbsent(content, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+    
     /*
      * json processing utilities     
      */
@@ -27,6 +27,7 @@ import org.kie.server.services.jbpm.ui.form.render.model.LayoutRow;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
@@ -52,6 +53,33 @@ public class FormReader {
         }
     }
     
+    /**
+     * Parses the form structure into a tree that can be cached and bound to new form instances by
+     * {@link #readFromTree(JsonNode)} without parsing the structure again.
+     */
+    public JsonNode readTree(String formStructure) {
+        if (formStructure == null) {
+            return null;
+        }
+        try {
+            return this.mapper.readTree(formStructure);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public FormInstance readFromTree(JsonNode formStructure) {
+        if (formStructure == null) {
+            return null;
+        }
+        try {
+            FormInstance formInstance = this.mapper.treeToValue(formStructure, FormInstance.class);
+            return flatColumnData(formInstance);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public FormInstance readFromStream(InputStream formStructure) {
         
         try {
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.jbpm.ui.form.render;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.kie.server.services.prometheus.PrometheusFormRenderCacheMetrics;
+
+/**
+ * Per container cache of data needed to render forms that does not depend on the rendered instance, like parsed
+ * form structures or task data mappings. Missing values are cached as well. Entries of a container are expected
+ * to be dropped when the container is disposed or updated.
+ * <p>
+ * Keys carry no locale: rendered form endpoints take no language, and form definitions and task mappings are stored
+ * once per container, not per language. Only parsed structures are cached, binding them to a form instance and
+ * building the layout still happen per request as both carry data of the rendered instance.
+ */
+public class FormRenderCache {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Optional<Object>>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile PrometheusFormRenderCacheMetrics metrics;
+
+    public FormRenderCache() {
+        this(null);
+    }
+
+    public FormRenderCache(PrometheusFormRenderCacheMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param type type of the cached data, used to separate keys and to label metrics
+     * @param loader provides the value when it is not cached yet, might return null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String containerId, String type, String key, Supplier<T> loader) {
+        ConcurrentMap<String, Optional<Object>> containerEntries = entries.computeIfAbsent(containerId, id -> new ConcurrentHashMap<>());
+        String entryKey = type + ":" + key;
+        Optional<Object> entry = containerEntries.get(entryKey);
+        PrometheusFormRenderCacheMetrics metrics = this.metrics;
+        if (entry != null) {
+            hits.incrementAndGet();
+            if (metrics != null) {
+                metrics.hit(containerId, type);
+            }
+        } else {
+            misses.incrementAndGet();
+            if (metrics != null) {
+                metrics.miss(containerId, type);
+            }
+            entry = Optional.ofNullable(loader.get());
+            Optional<Object> existing = containerEntries.putIfAbsent(entryKey, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return (T) entry.orElse(null);
+    }
+
+    /**
+     * Starts exporting hits and misses, might be called after the cache is already in use.
+     */
+    public void enableMetrics(PrometheusFormRenderCacheMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+
+    public void evict(String containerId) {
+        entries.remove(containerId);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
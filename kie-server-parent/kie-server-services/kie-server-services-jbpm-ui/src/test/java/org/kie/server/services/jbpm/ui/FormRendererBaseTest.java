@@ -20,9 +20,12 @@ import org.jbpm.casemgmt.api.CaseRuntimeDataService;
 import org.jbpm.kie.services.impl.FormManagerService;
 import org.jbpm.services.api.DefinitionService;
 import org.jbpm.services.api.UserTaskService;
+import io.prometheus.client.CollectorRegistry;
 import org.jbpm.services.api.model.ProcessDefinition;
 import org.junit.Test;
 import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.prometheus.PrometheusFormRenderCacheMetrics;
+import org.kie.server.services.prometheus.PrometheusKieServerExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -132,4 +135,67 @@ public class FormRendererBaseTest {
         // it has start process button
         assertThat(result).contains("<button type=\"button\" class=\"btn btn-primary\" onclick=\"startProcess(this);\">Submit</button>");
     }
+
+    @Test
+    public void testFormStructureCachedPerContainer() {
+        DefinitionService definitionService = mock(DefinitionService.class);
+        UserTaskService userTaskService = mock(UserTaskService.class);
+        FormManagerService formManagerService = mock(FormManagerService.class);
+        CaseRuntimeDataService caseRuntimeDataService = mock(CaseRuntimeDataService.class);
+        KieServerRegistry registry = mock(KieServerRegistry.class);
+
+        ProcessDefinition processDefinition = mock(ProcessDefinition.class);
+        when(processDefinition.getId()).thenReturn("testprocess");
+        when(processDefinition.getName()).thenReturn("Test Process");
+
+        FormRendererBase rendererBase = new FormRendererBase(definitionService, userTaskService, formManagerService, caseRuntimeDataService, registry);
+
+        when(registry.getContainerId(any(), any())).thenReturn("test");
+        when(definitionService.getProcessDefinition(eq("test"), eq("test-process"))).thenReturn(processDefinition);
+
+        String result = rendererBase.getProcessRenderedForm("patternfly", "test", "test-process");
+        assertThat(rendererBase.getProcessRenderedForm("patternfly", "test", "test-process")).isEqualTo(result);
+        verify(formManagerService, times(1)).getFormByKey("test", "test-process-taskform.frm");
+        assertThat(rendererBase.getFormCache().getHits()).isEqualTo(1);
+        assertThat(rendererBase.getFormCache().getMisses()).isEqualTo(1);
+
+        // dropped container forms are read again
+        rendererBase.dropDeploymentForms("test");
+        rendererBase.getProcessRenderedForm("patternfly", "test", "test-process");
+        verify(formManagerService, times(2)).getFormByKey("test", "test-process-taskform.frm");
+    }
+
+    @Test
+    public void testFormCacheMetricsEnabledAfterCreation() {
+        DefinitionService definitionService = mock(DefinitionService.class);
+        UserTaskService userTaskService = mock(UserTaskService.class);
+        FormManagerService formManagerService = mock(FormManagerService.class);
+        CaseRuntimeDataService caseRuntimeDataService = mock(CaseRuntimeDataService.class);
+        KieServerRegistry registry = mock(KieServerRegistry.class);
+
+        ProcessDefinition processDefinition = mock(ProcessDefinition.class);
+        when(processDefinition.getId()).thenReturn("testprocess");
+        when(processDefinition.getName()).thenReturn("Test Process");
+
+        FormRendererBase rendererBase = new FormRendererBase(definitionService, userTaskService, formManagerService, caseRuntimeDataService, registry);
+
+        when(registry.getContainerId(any(), any())).thenReturn("metrics-test");
+        when(definitionService.getProcessDefinition(eq("metrics-test"), eq("test-process"))).thenReturn(processDefinition);
+
+        // as done by the extension once Prometheus extension is available
+        rendererBase.getFormCache().enableMetrics(new PrometheusFormRenderCacheMetrics(PrometheusKieServerExtension.getMetrics()));
+        double hits = cacheCounter("form_render_cache_hits_total");
+        double misses = cacheCounter("form_render_cache_misses_total");
+
+        rendererBase.getProcessRenderedForm("patternfly", "metrics-test", "test-process");
+        rendererBase.getProcessRenderedForm("patternfly", "metrics-test", "test-process");
+
+        assertThat(cacheCounter("form_render_cache_hits_total")).isEqualTo(hits + 1);
+        assertThat(cacheCounter("form_render_cache_misses_total")).isEqualTo(misses + 1);
+    }
+
+    private static double cacheCounter(String name) {
+        Double value = CollectorRegistry.defaultRegistry.getSampleValue(name, new String[]{"container_id", "type"}, new String[]{"metrics-test", "form"});
+        return value == null ? 0 : value;
+    }
 }
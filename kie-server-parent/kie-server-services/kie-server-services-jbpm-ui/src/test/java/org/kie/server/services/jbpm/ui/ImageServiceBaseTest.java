@@ -24,14 +24,17 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -173,11 +176,7 @@ public class ImageServiceBaseTest {
         NodeInstanceDesc nodeInstanceDescActive2 = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("4", nodeId, "", "", "", 1L, null,
                                                                                                          "", 0, 1L, 1L, "", null, 1);
 
-        List<NodeInstanceDesc> activeNodes = Arrays.asList(nodeInstanceDescActive1, nodeInstanceDescActive2);
-        List<NodeInstanceDesc> completedNodes = Arrays.asList(nodeInstanceDescCompleted1, nodeInstanceDescCompleted2);
         List<NodeInstanceDesc> fullLogs = Arrays.asList(nodeInstanceDescCompleted1, nodeInstanceDescCompleted2, nodeInstanceDescActive1, nodeInstanceDescActive2);
-        when(dataService.getProcessInstanceHistoryCompleted(anyLong(), any())).thenReturn(completedNodes);
-        when(dataService.getProcessInstanceHistoryActive(anyLong(), any())).thenReturn(activeNodes);
         when(dataService.getProcessInstanceFullHistory(anyLong(), any())).thenReturn(fullLogs);
         Map<String, ImageReference> imageReferenceMap = new HashMap<>();
         imageReferenceMap.put(containerId, imageReference);
@@ -221,19 +220,15 @@ public class ImageServiceBaseTest {
                                                                                                         "", 0, 1L, 3L, "", null, 1);
 
         NodeInstanceDesc nodeInstanceDescCompleted1 = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("2", oneScriptNode, "", "ScriptNode", "", 1L, null,
-                                                                                                            "", 0, 1L, 1L, "", null, 1);
+                                                                                                            "", 1, 1L, 1L, "", null, 1);
 
         NodeInstanceDesc nodeInstanceDescCompleted2 = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("3", twoScriptNode, "", "ScriptNode", "", 1L, null,
-                                                                                                            "", 0, 1L, 4L, "", null, 1);
+                                                                                                            "", 1, 1L, 4L, "", null, 1);
 
         NodeInstanceDesc nodeInstanceDescError = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("4", threeScriptNode, "", "ScriptNode", "", 1L, null,
                                                                                                        "", 6, 1L, 1L, "", null, 1);
 
-        List<NodeInstanceDesc> activeNodes = Arrays.asList(nodeInstanceDescActive);
-        List<NodeInstanceDesc> completedNodes = Arrays.asList(nodeInstanceDescCompleted1, nodeInstanceDescCompleted2);
         List<NodeInstanceDesc> fullLogs = Arrays.asList(nodeInstanceDescActive, nodeInstanceDescCompleted1, nodeInstanceDescCompleted2, nodeInstanceDescError);
-        when(dataService.getProcessInstanceHistoryCompleted(anyLong(), any())).thenReturn(completedNodes);
-        when(dataService.getProcessInstanceHistoryActive(anyLong(), any())).thenReturn(activeNodes);
         when(dataService.getProcessInstanceFullHistory(anyLong(), any())).thenReturn(fullLogs);
         Map<String, ImageReference> imageReferenceMap = new HashMap<>();
         imageReferenceMap.put(containerId, imageReference);
@@ -266,6 +261,83 @@ public class ImageServiceBaseTest {
         checkStrokeAttributeAtNode(svgDocument, oneScriptNode, completedNodeBorderColor);
         checkStrokeAttributeAtNode(svgDocument, twoScriptNode, completedNodeBorderColor);
         checkStrokeAttributeAtNode(svgDocument, threeScriptNode, activeAsyncNodeBorderColor);
+
+        // history is read with single query and the diagram is parsed only once
+        verify(dataService, times(2)).getProcessInstanceFullHistory(anyLong(), any());
+        verify(dataService, never()).getProcessInstanceHistoryActive(anyLong(), any());
+        verify(dataService, never()).getProcessInstanceHistoryCompleted(anyLong(), any());
+        verify(imageReference, times(1)).getImageContent(anyString(), anyString());
+    }
+
+    @Test
+    public void testHistoryLongerThanMaxNodes() throws Exception {
+        String containerId = "test-container";
+        String processId = "test-processId";
+        long processInstanceId = 10;
+        String humanTaskOne = "_C8E8A0C7-ECC6-4C28-B1FE-D6DE5999239E";
+        String oneScriptNode = "_BA99E908-87C6-46C9-99ED-901DFCD1A2AA";
+        String twoScriptNode = "_1C98770B-2C62-41F1-AFBF-7B138EE5270E";
+        byte[] byteArray = getInputStreamAsByteArray(ImageServiceBaseTest.class.getResourceAsStream("/testProcess.svg"));
+
+        when(dataService.getProcessesByDeploymentIdProcessId(containerId, processId)).thenReturn(mock(ProcessDefinition.class));
+        when(imageReference.getImageContent(anyString(), anyString())).thenReturn(byteArray);
+        when(kieServerRegistry.getConfig()).thenReturn(config);
+        when(config.getConfigItemValue(anyString(), anyString())).thenReturn("");
+
+        // first page of the history is full of a looping node, later logs are not part of it
+        List<NodeInstanceDesc> fullLogs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            fullLogs.add(new org.jbpm.kie.services.impl.model.NodeInstanceDesc(String.valueOf(i), oneScriptNode, "", "ScriptNode", "", 1L, null,
+                                                                               "", 1, 1L, 1L, "", null, 1));
+        }
+        NodeInstanceDesc nodeInstanceDescActive = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("1001", humanTaskOne, "", "HumanTask", "", 1L, null,
+                                                                                                        "", 0, 1L, 3L, "", null, 1);
+        NodeInstanceDesc nodeInstanceDescCompleted = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("1000", twoScriptNode, "", "ScriptNode", "", 1L, null,
+                                                                                                           "", 1, 1L, 4L, "", null, 1);
+        when(dataService.getProcessInstanceFullHistory(anyLong(), any())).thenReturn(fullLogs);
+        when(dataService.getProcessInstanceHistoryActive(anyLong(), any())).thenReturn(Arrays.asList(nodeInstanceDescActive));
+        when(dataService.getProcessInstanceHistoryCompleted(anyLong(), any())).thenReturn(Arrays.asList(fullLogs.get(0), nodeInstanceDescCompleted));
+        Map<String, ImageReference> imageReferenceMap = new HashMap<>();
+        imageReferenceMap.put(containerId, imageReference);
+
+        ProcessInstanceDesc processInstanceDesc = new org.jbpm.kie.services.impl.model.ProcessInstanceDesc(processInstanceId, processId, "", "", 1, containerId, null
+                , "", "", "");
+
+        when(dataService.getProcessInstanceById(processInstanceId)).thenReturn(processInstanceDesc);
+
+        ImageServiceBase imageServiceBase = new ImageServiceBase(dataService, imageReferenceMap, kieServerRegistry);
+        Document svgDocument = readSVG(imageServiceBase.getActiveProcessImage(containerId, processInstanceId));
+
+        checkStrokeAttributeAtNode(svgDocument, humanTaskOne, ACTIVE_BORDER_COLOR);
+        checkStrokeAttributeAtNode(svgDocument, oneScriptNode, COMPLETED_BORDER_COLOR);
+        checkStrokeAttributeAtNode(svgDocument, twoScriptNode, COMPLETED_BORDER_COLOR);
+        verify(dataService, times(1)).getProcessInstanceHistoryActive(anyLong(), any());
+        verify(dataService, times(1)).getProcessInstanceHistoryCompleted(anyLong(), any());
+    }
+
+    @Test
+    public void testDropDeploymentImages() throws Exception {
+        String containerId = "test-container";
+        String processId = "test-processId";
+        byte[] byteArray = getInputStreamAsByteArray(ImageServiceBaseTest.class.getResourceAsStream("/evaluation-svg.svg"));
+
+        when(dataService.getProcessesByDeploymentIdProcessId(containerId, processId)).thenReturn(mock(ProcessDefinition.class));
+        when(imageReference.getImageContent(anyString(), anyString())).thenReturn(byteArray);
+        when(kieServerRegistry.getContainerId(anyString(), any(ContainerLocator.class))).thenReturn(containerId);
+        when(kieServerRegistry.getConfig()).thenReturn(config);
+        when(config.getConfigItemValue(anyString(), anyString())).thenReturn("");
+
+        Map<String, ImageReference> imageReferenceMap = new HashMap<>();
+        imageReferenceMap.put(containerId, imageReference);
+
+        ImageServiceBase imageServiceBase = new ImageServiceBase(dataService, imageReferenceMap, kieServerRegistry);
+        String first = imageServiceBase.getProcessImage(containerId, processId);
+        assertEquals(first, imageServiceBase.getProcessImage(containerId, processId));
+        verify(imageReference, times(1)).getImageContent(anyString(), anyString());
+
+        imageServiceBase.dropDeploymentImages(containerId);
+        assertEquals(first, imageServiceBase.getProcessImage(containerId, processId));
+        verify(imageReference, times(2)).getImageContent(anyString(), anyString());
     }
 
     @Test
@@ -288,8 +360,6 @@ public class ImageServiceBaseTest {
         NodeInstanceDesc nodeInstanceDescAbort = new org.jbpm.kie.services.impl.model.NodeInstanceDesc("2", abortNodeId, "", "SubProcessNode", "", 1L, null,
                                                                                                        "", 2, 1L, 3L, "", null, 1);
 
-        when(dataService.getProcessInstanceHistoryCompleted(anyLong(), any())).thenReturn(Arrays.asList(nodeInstanceDescCompleted1));
-        when(dataService.getProcessInstanceHistoryActive(anyLong(), any())).thenReturn(Collections.EMPTY_LIST);
         List<NodeInstanceDesc> fullLogs = Arrays.asList(nodeInstanceDescAbort, nodeInstanceDescCompleted1);
         when(dataService.getProcessInstanceFullHistory(anyLong(), any())).thenReturn(fullLogs);
 
@@ -383,16 +453,11 @@ public class ImageServiceBaseTest {
                 ("0", node_start, "", "StartNode", "evaluation_1.0.0-SNAPSHOT", processInstanceId, null,
                  "", 0, null, null, "evaluation_1.0.0-SNAPSHOT", null, 1);
 
-        List<NodeInstanceDesc> activeNodes = Arrays.asList(nodeInstance7_start);
-        List<NodeInstanceDesc> completedNodes = Arrays.asList(nodeInstance0_end, nodeInstance1_end, nodeInstance3_end,
-                                                              nodeInstance5_end, nodeInstance5_end2, nodeInstance6_end);
         List<NodeInstanceDesc> fullLogs = Arrays.asList(nodeInstance0_end, nodeInstance0_start, nodeInstance1_start,
                                                         nodeInstance1_end, nodeInstance2, nodeInstance3_end,
                                                         nodeInstance3_start, nodeInstance5_end, nodeInstance5_end2,
                                                         nodeInstance5_start, nodeInstance6_end, nodeInstance6_start,
                                                         nodeInstance7_start, nodeInstance8, nodeInstance8_2);
-        when(dataService.getProcessInstanceHistoryCompleted(anyLong(), any())).thenReturn(completedNodes);
-        when(dataService.getProcessInstanceHistoryActive(anyLong(), any())).thenReturn(activeNodes);
         when(dataService.getProcessInstanceFullHistory(anyLong(), any())).thenReturn(fullLogs);
         Map<String, ImageReference> imageReferenceMap = new HashMap<>();
         imageReferenceMap.put(containerId, imageReference);
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+
+/**
+ * Content of a stored document together with the metadata needed to transfer it, either backed by the file
+ * of the document storage or by content already loaded by the storage.
+ */
+public class DocumentContent {
+
+    private final String name;
+    private final long size;
+    private final Date lastModified;
+    private final File file;
+    private final byte[] content;
+
+    public DocumentContent(String name, long size, Date lastModified, File file) {
+        this(name, size, lastModified, file, null);
+    }
+
+    public DocumentContent(String name, long size, Date lastModified, byte[] content) {
+        this(name, size, lastModified, null, content);
+    }
+
+    private DocumentContent(String name, long size, Date lastModified, File file, byte[] content) {
+        this.name = name;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.file = file;
+        this.content = content;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Opens stream of the content starting at given offset, file backed content is positioned directly
+     * without reading the skipped part.
+     */
+    public InputStream openStream(long offset) throws IOException {
+        if (offset < 0 || offset > size) {
+            throw new IllegalArgumentException("Offset " + offset + " is out of content of size " + size);
+        }
+        if (file != null) {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                channel.position(offset);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return Channels.newInputStream(channel);
+        }
+        return new ByteArrayInputStream(content, (int) offset, content.length - (int) offset);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentContent{name=" + name + ", size=" + size + ", file=" + file + "}";
+    }
+}
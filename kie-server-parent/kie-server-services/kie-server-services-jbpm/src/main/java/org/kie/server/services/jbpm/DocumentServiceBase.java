@@ -15,14 +15,21 @@
 
 package org.kie.server.services.jbpm;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 
 import org.jbpm.document.Document;
 import org.jbpm.document.service.DocumentStorageService;
 import org.jbpm.document.service.DocumentStorageServiceProvider;
+import org.jbpm.document.service.impl.DocumentImpl;
+import org.kie.server.api.KieServerConstants;
 import org.kie.server.api.model.instance.DocumentInstance;
 import org.kie.server.api.model.instance.DocumentInstance.Builder;
 import org.kie.server.api.model.instance.DocumentInstanceList;
@@ -36,6 +43,14 @@ public class DocumentServiceBase {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentServiceBase.class);
 
+    /**
+     * Maximum number of bytes of document content accepted from a stream, 100MB unless configured otherwise
+     */
+    public static final long MAX_CONTENT_SIZE = Long.getLong(KieServerConstants.CFG_DOCUMENT_MAX_SIZE, 100L * 1024 * 1024);
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_INITIAL_CAPACITY = 1024 * 1024;
+
     private DocumentStorageService documentStorageService = DocumentStorageServiceProvider.get().getStorageService();
     private MarshallerHelper marshallerHelper;
 
@@ -58,6 +73,58 @@ public class DocumentServiceBase {
         return convertDocument(document, true);
     }
 
+    /**
+     * Returns content of the document without converting it to DocumentInstance, so it can be streamed to the caller.
+     * Content is served directly from the file of the storage when it provides one, resolved by document identifier
+     * only so the content is not loaded. Otherwise the document is loaded together with its content by the storage.
+     */
+    public DocumentContent getDocumentContent(String documentId) {
+        logger.debug("About to load content of document with id {}", documentId);
+        DocumentImpl reference = new DocumentImpl();
+        reference.setIdentifier(documentId);
+        File file = documentStorageService.getDocumentContent(reference);
+        if (file != null && file.isFile()) {
+            logger.debug("Document {} content served from file {}", documentId, file);
+            return new DocumentContent(file.getName(), file.length(), new Date(file.lastModified()), file);
+        }
+        final Document document = documentStorageService.getDocument(documentId);
+        if (document == null) {
+            throw new KieServerRuntimeException("No document found with id " + documentId);
+        }
+        byte[] content = document.getContent() == null ? new byte[0] : document.getContent();
+        return new DocumentContent(document.getName(), content.length, document.getLastModified(), content);
+    }
+
+    /**
+     * Stores new document with content read from given stream, avoiding unmarshalling of DocumentInstance with encoded content.
+     * @param size number of bytes of the content or -1 when not known
+     */
+    public String storeDocument(String name, long size, Date lastModified, InputStream contentStream) {
+        byte[] content = readContent(contentStream, size);
+        Document document = documentStorageService.buildDocument(name, content.length, lastModified == null ? new Date() : lastModified, new HashMap<String, String>());
+        logger.debug("Document created by the service {}", document);
+        documentStorageService.saveDocument(document, content);
+
+        logger.debug("Document {} stored successfully", document);
+
+        return document.getIdentifier();
+    }
+
+    /**
+     * Replaces content of the document with content read from given stream.
+     * @param size number of bytes of the content or -1 when not known
+     */
+    public void updateDocument(String documentId, long size, InputStream contentStream) {
+        Document document = documentStorageService.getDocument(documentId);
+        logger.debug("Document found {}", document != null);
+        if (document == null) {
+            throw new KieServerRuntimeException("No document found with id " + documentId);
+        }
+
+        documentStorageService.saveDocument(document, readContent(contentStream, size));
+        logger.debug("Document {} updated successfully", document);
+    }
+
     public String storeDocument(String documentPayload, String marshallingType) {
         logger.debug("About to unmarshal document payload '{}' with marshaling type {}", documentPayload, marshallingType);
         DocumentInstance documentInstance = marshallerHelper.unmarshal(documentPayload, marshallingType, DocumentInstance.class);
@@ -113,6 +180,35 @@ public class DocumentServiceBase {
         return result;
     }
 
+    /*
+     * storage service accepts content only as byte array, content is read incrementally so that the declared size
+     * is only a hint for the initial buffer and neither the declared nor the actual size can exceed MAX_CONTENT_SIZE
+     */
+    protected byte[] readContent(InputStream contentStream, long size) {
+        try (InputStream input = contentStream) {
+            if (size > MAX_CONTENT_SIZE) {
+                throw new IllegalArgumentException("Document content of " + size + " bytes exceeds limit of " + MAX_CONTENT_SIZE + " bytes");
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream(size >= 0 ? (int) Math.min(size, MAX_INITIAL_CAPACITY) : BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                total += read;
+                if (total > MAX_CONTENT_SIZE) {
+                    throw new IllegalArgumentException("Document content exceeds limit of " + MAX_CONTENT_SIZE + " bytes");
+                }
+                content.write(buffer, 0, read);
+            }
+            if (size >= 0 && total != size) {
+                throw new IllegalArgumentException("Document content has " + total + " bytes, expected " + size);
+            }
+            return content.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read document content", e);
+        }
+    }
+
     protected List<DocumentInstance> convertDocumentList(List<Document> documents) {
 
         List<DocumentInstance> list = new ArrayList<DocumentInstance>();
@@ -15,11 +15,13 @@
 
 package org.kie.server.services.jbpm;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.jbpm.services.api.DefinitionService;
@@ -104,12 +106,24 @@ public class ProcessServiceBase {
 
 
     public String startProcess(String containerId, String processId, String payload, String marshallingType) {
+        logger.debug("About to unmarshal parameters from payload: '{}'", payload);
+        return startProcess(containerId, processId, marshallingType, id -> marshallerHelper.unmarshal(id, payload, marshallingType, Map.class));
+    }
+
+    /**
+     * Starts process instance with parameters decoded straight from the given stream.
+     */
+    public String startProcess(String containerId, String processId, InputStream payload, String marshallingType) {
+        return startProcess(containerId, processId, marshallingType,
+                            id -> marshallerHelper.unmarshal(id, payload, marshallingType, Map.class, ContainerLocatorProvider.get().getLocator()));
+    }
+
+    private String startProcess(String containerId, String processId, String marshallingType, Function<String, Map<String, Object>> payload) {
         containerId = context.getContainerId(containerId, ContainerLocatorProvider.get().getLocator());
         // check validity of deployment and process id
         definitionService.getProcessDefinition(containerId, processId);
 
-        logger.debug("About to unmarshal parameters from payload: '{}'", payload);
-        Map<String, Object> parameters = marshallerHelper.unmarshal(containerId, payload, marshallingType, Map.class);
+        Map<String, Object> parameters = payload.apply(containerId);
 
         logger.debug("Calling start process with id {} on container {} and parameters {}", processId, containerId, parameters);
         Long processInstanceId = processService.startProcess(containerId, processId, parameters);
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.server.services.jbpm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.jbpm.document.Document;
+import org.jbpm.document.service.DocumentStorageService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.server.api.model.instance.DocumentInstanceList;
+import org.kie.server.services.api.KieServerRegistry;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DocumentServiceBaseTest {
+
+    private static final byte[] CONTENT = "just text content".getBytes();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private DocumentStorageService documentStorageService;
+
+    @Mock
+    private KieServerRegistry context;
+
+    @Mock
+    private Document document;
+
+    private DocumentServiceBase documentServiceBase;
+
+    @Before
+    public void setup() {
+        documentServiceBase = new DocumentServiceBase(documentStorageService, context);
+    }
+
+    @Test
+    public void testStoreDocumentFromStream() {
+        when(documentStorageService.buildDocument(eq("doc.txt"), eq((long) CONTENT.length), any(Date.class), anyMap())).thenReturn(document);
+        when(document.getIdentifier()).thenReturn("doc-id");
+
+        String identifier = documentServiceBase.storeDocument("doc.txt", CONTENT.length, new Date(), new ByteArrayInputStream(CONTENT));
+        assertEquals("doc-id", identifier);
+
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(documentStorageService).saveDocument(eq(document), content.capture());
+        assertArrayEquals(CONTENT, content.getValue());
+    }
+
+    @Test
+    public void testUpdateDocumentFromStreamOfUnknownSize() {
+        when(documentStorageService.getDocument("doc-id")).thenReturn(document);
+
+        documentServiceBase.updateDocument("doc-id", -1, new ByteArrayInputStream(CONTENT));
+
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(documentStorageService).saveDocument(eq(document), content.capture());
+        assertArrayEquals(CONTENT, content.getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStoreDocumentFromTruncatedStream() {
+        documentServiceBase.storeDocument("doc.txt", CONTENT.length + 1, new Date(), new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStoreDocumentFromLongerStream() {
+        documentServiceBase.storeDocument("doc.txt", CONTENT.length - 1, new Date(), new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test
+    public void testStoreDocumentOverLimitRejected() {
+        InputStream contentStream = mock(InputStream.class);
+        try {
+            documentServiceBase.storeDocument("doc.txt", DocumentServiceBase.MAX_CONTENT_SIZE + 1, new Date(), contentStream);
+            fail("Content over limit should be rejected");
+        } catch (IllegalArgumentException e) {
+            // declared size is rejected before anything is allocated or read
+            verifyZeroInteractions(documentStorageService);
+        }
+    }
+
+    @Test
+    public void testGetDocumentContentFromFile() throws IOException {
+        File file = temporaryFolder.newFile("doc.txt");
+        Files.write(file.toPath(), CONTENT);
+        when(documentStorageService.getDocumentContent(any(Document.class))).thenReturn(file);
+
+        DocumentContent content = documentServiceBase.getDocumentContent("doc-id");
+        assertEquals("doc.txt", content.getName());
+        assertEquals(CONTENT.length, content.getSize());
+        try (InputStream stream = content.openStream(5)) {
+            assertArrayEquals(Arrays.copyOfRange(CONTENT, 5, CONTENT.length), read(stream));
+        }
+        // file is resolved by identifier only, without loading the document with its content
+        ArgumentCaptor<Document> reference = ArgumentCaptor.forClass(Document.class);
+        verify(documentStorageService).getDocumentContent(reference.capture());
+        assertEquals("doc-id", reference.getValue().getIdentifier());
+        verify(documentStorageService, never()).getDocument(any());
+    }
+
+    @Test
+    public void testGetDocumentContentLoadedByStorage() throws IOException {
+        when(documentStorageService.getDocument("doc-id")).thenReturn(document);
+        when(document.getContent()).thenReturn(CONTENT);
+
+        DocumentContent content = documentServiceBase.getDocumentContent("doc-id");
+        assertEquals(CONTENT.length, content.getSize());
+        try (InputStream stream = content.openStream(0)) {
+            assertArrayEquals(CONTENT, read(stream));
+        }
+    }
+
+    @Test
+    public void testListDocumentsWithoutContent() {
+        when(documentStorageService.listDocuments(0, 10)).thenReturn(Arrays.asList(document));
+        when(document.getIdentifier()).thenReturn("doc-id");
+
+        DocumentInstanceList documents = documentServiceBase.listDocuments(0, 10);
+        assertEquals(1, documents.getItems().size());
+        assertEquals("doc-id", documents.getItems().get(0).getIdentifier());
+        verify(document, never()).getContent();
+        verify(documentStorageService, never()).getDocumentContent(any(Document.class));
+    }
+
+    private byte[] read(InputStream stream) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            content.write(buffer, 0, read);
+        }
+        return content.toByteArray();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.server.services.jbpm.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches polled records to a fixed number of lanes, each of them served by a single thread. Records are assigned
+ * to lanes by key (or by topic partition when the key is empty), so records with the same key are processed in the
+ * order they were polled while different lanes run in parallel. Every lane receives the records of one poll as a
+ * single batch.
+ */
+class KafkaEventDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaEventDispatcher.class);
+
+    private final ExecutorService[] lanes;
+    private final AtomicInteger[] pending;
+    private final int maxPending;
+    private final Consumer<List<ConsumerRecord<String, byte[]>>> processor;
+
+    /**
+     * @param numberOfLanes number of lanes (threads) processing records
+     * @param maxPending number of records waiting in a lane that marks it as saturated
+     * @param processor processes batch of records of a lane, records are in the order they were polled
+     */
+    KafkaEventDispatcher(int numberOfLanes, int maxPending, Consumer<List<ConsumerRecord<String, byte[]>>> processor) {
+        if (numberOfLanes < 1) {
+            throw new IllegalArgumentException("Number of lanes must be greater than zero, got " + numberOfLanes);
+        }
+        this.maxPending = Math.max(maxPending, 1);
+        this.processor = processor;
+        this.lanes = new ExecutorService[numberOfLanes];
+        this.pending = new AtomicInteger[numberOfLanes];
+        for (int i = 0; i < numberOfLanes; i++) {
+            final String threadName = "jbpm-kafka-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            pending[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Splits records into per lane batches and submits them.
+     * @return future completed once all the records have been processed, completed exceptionally when processing
+     * of any batch failed
+     */
+    CompletableFuture<Void> dispatch(Iterable<ConsumerRecord<String, byte[]>> records) {
+        List<List<ConsumerRecord<String, byte[]>>> batches = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (ConsumerRecord<String, byte[]> record : records) {
+            batches.get(laneOf(record, lanes.length)).add(record);
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < lanes.length; i++) {
+            List<ConsumerRecord<String, byte[]>> batch = batches.get(i);
+            if (!batch.isEmpty()) {
+                futures.add(submit(i, batch));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
+    private CompletableFuture<Void> submit(int lane, List<ConsumerRecord<String, byte[]>> batch) {
+        AtomicInteger lanePending = pending[lane];
+        lanePending.addAndGet(batch.size());
+        try {
+            return CompletableFuture.runAsync(() -> processBatch(lane, batch), lanes[lane])
+                    .whenComplete((v, ex) -> lanePending.addAndGet(-batch.size()));
+        } catch (RejectedExecutionException ex) {
+            lanePending.addAndGet(-batch.size());
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            result.completeExceptionally(ex);
+            return result;
+        }
+    }
+
+    private void processBatch(int lane, List<ConsumerRecord<String, byte[]>> batch) {
+        try {
+            logger.trace("Processing batch of {} events on lane {}", batch.size(), lane);
+            processor.accept(batch);
+        } catch (RuntimeException ex) {
+            logger.error("Error processing batch of {} events on lane {}, events will be redelivered", batch.size(), lane, ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * @return true when at least one lane has reached the max number of pending records
+     */
+    boolean isSaturated() {
+        for (AtomicInteger lanePending : pending) {
+            if (lanePending.get() >= maxPending) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true when all lanes are at most half full, used to resume polling after saturation
+     */
+    boolean hasCapacity() {
+        for (AtomicInteger lanePending : pending) {
+            if (lanePending.get() > maxPending / 2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getPending() {
+        int result = 0;
+        for (AtomicInteger lanePending : pending) {
+            result += lanePending.get();
+        }
+        return result;
+    }
+
+    void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    static int laneOf(ConsumerRecord<String, ?> record, int numberOfLanes) {
+        int hash = record.key() == null || record.key().isEmpty() ? 31 * record.topic().hashCode() + record.partition() : record.key().hashCode();
+        return Math.floorMod(hash, numberOfLanes);
+    }
+}
@@ -18,14 +18,20 @@ import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.KAFKA_EXTENSIO
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -33,8 +39,11 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.jbpm.kie.services.impl.KModuleDeploymentUnit;
 import org.jbpm.services.api.DeploymentEvent;
@@ -45,14 +54,30 @@ import org.jbpm.services.api.model.SignalDescBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Polls registered topics and dispatches received events to jbpm core. Events are processed on a configurable number
+ * of lanes ({@code maxNotifyThreads}), events with the same key always go to the same lane and are processed in order.
+ * Offsets are committed once the events of a poll have been processed and polling of assigned partitions is paused
+ * while any lane holds more than {@code maxPendingEvents} unprocessed events. Before partitions are revoked, events
+ * in flight are given {@code drain.timeout} seconds to be processed and committed. An event that cannot be signalled
+ * is redelivered at most {@code maxDeliveryAttempts} times before it is skipped, events that cannot be deserialized
+ * are skipped right away.
+ */
 class KafkaServerConsumer implements Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaServerConsumer.class);
 
+    // poll interval used while there are events being processed, so offsets are committed timely
+    private static final Duration BUSY_POLL_INTERVAL = Duration.ofMillis(100);
+    // time given to lanes to process events of a poll before partitions are revoked
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(Long.getLong(KAFKA_EXTENSION_PREFIX + "drain.timeout", 30L));
+
     // Kafka consumer
     private Consumer<String, byte[]> consumer;
-    // Executor thread for dispatching signals to jbpm core
-    private AtomicReference<ExecutorService> notifyService = new AtomicReference<>();
+    // Lanes dispatching signals to jbpm core
+    private AtomicReference<KafkaEventDispatcher> dispatcher = new AtomicReference<>();
+    // offsets to be committed once processing of polled events completes, in poll order
+    private Queue<PendingCommit> pendingCommits = new ConcurrentLinkedQueue<>();
     private ProcessService processService;
     // classes information
     private Map<String, ClassLoader> classLoaders = new ConcurrentHashMap<>();
@@ -65,12 +90,45 @@ class KafkaServerConsumer implements Runnable {
    
     private Supplier<Consumer<String, byte[]>> consumerSupplier;
     private KafkaEventProcessorFactory factory;
+    // number of times an event is delivered to a deployment before it is skipped
+    private final int maxDeliveryAttempts;
+    // failed deliveries of events being redelivered, keyed by event offset, deployment and signal
+    private Map<String, Integer> failedDeliveries = new ConcurrentHashMap<>();
+
+    private ConsumerRebalanceListener rebalanceListener = new ConsumerRebalanceListener() {
+
+        /**
+         * Called from poll or unsubscribe, holding consumer lock. Waits for events in flight and commits their offsets,
+         * so the consumer taking over revoked partitions does not process them again.
+         */
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            if (consumer == null || pendingCommits.isEmpty()) {
+                return;
+            }
+            logger.debug("Partitions {} revoked, draining {} pending polls", partitions, pendingCommits.size());
+            awaitProcessed(DRAIN_TIMEOUT);
+            commitProcessed(DRAIN_TIMEOUT);
+            // offsets of events still in flight cannot be committed anymore for revoked partitions
+            pendingCommits.forEach(pendingCommit -> {
+                pendingCommit.offsets.keySet().removeAll(partitions);
+                pendingCommit.firstOffsets.keySet().removeAll(partitions);
+            });
+            failedDeliveries.clear();
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            logger.debug("Partitions {} assigned", partitions);
+        }
+    };
 
     public KafkaServerConsumer(KafkaEventProcessorFactory factory, Supplier<Consumer<String, byte[]>> consumerSupplier,
                                ProcessService processService) {
         this.factory = factory;
         this.consumerSupplier = consumerSupplier;
         this.processService = processService;
+        this.maxDeliveryAttempts = Math.max(1, Integer.getInteger(KAFKA_EXTENSION_PREFIX + "maxDeliveryAttempts", 3));
     }
 
     void addRegistration(DeploymentEvent event) {
@@ -89,12 +147,15 @@ class KafkaServerConsumer implements Runnable {
         consumerLock.lock();
         try {
             if (consumer != null) {
+                commitProcessed(duration);
                 consumer.wakeup();
                 isSubscribedCond.signal();
                 consumer.unsubscribe();
                 consumer.close(duration);
                 consumer = null;
-                notifyService.getAndSet(null).shutdownNow();
+                dispatcher.getAndSet(null).shutdown();
+                pendingCommits.clear();
+                failedDeliveries.clear();
             }
         } finally {
             consumerLock.unlock();
@@ -110,12 +171,11 @@ class KafkaServerConsumer implements Runnable {
             if (consumer == null) {
                 if (shouldInitialize) { 
                     consumer = consumerSupplier.get();
-                    consumer.subscribe(topics2Register);
+                    consumer.subscribe(topics2Register, rebalanceListener);
                     logger.debug("Created kafka consumer with these topics registered {}", topics2Register);
-                    notifyService.set(
-                            new ThreadPoolExecutor(1, Integer.getInteger(KAFKA_EXTENSION_PREFIX + "maxNotifyThreads", 10),
-                                60L,
-                                TimeUnit.SECONDS, new LinkedBlockingQueue<>()));
+                    dispatcher.set(new KafkaEventDispatcher(Integer.getInteger(KAFKA_EXTENSION_PREFIX + "maxNotifyThreads", 10),
+                            Integer.getInteger(KAFKA_EXTENSION_PREFIX + "maxPendingEvents", 1000),
+                            this::processBatch));
                     new Thread(this).start();
                 }
             } else {
@@ -124,7 +184,7 @@ class KafkaServerConsumer implements Runnable {
                 if (topics2Register.isEmpty()) {
                     consumer.unsubscribe();
                 } else {
-                    consumer.subscribe(topics2Register);
+                    consumer.subscribe(topics2Register, rebalanceListener);
                     isSubscribedCond.signal();
                 }
             }
@@ -170,7 +230,9 @@ class KafkaServerConsumer implements Runnable {
                 isSubscribedCond.await();
             }
             if (consumer != null) {
-                return consumer.poll(duration);
+                commitProcessed(null);
+                applyBackPressure();
+                return consumer.poll(pendingCommits.isEmpty() ? duration : BUSY_POLL_INTERVAL);
             }
         } catch (WakeupException ex) {
             logger.trace("Kafka wait interrupted", ex);
@@ -187,15 +249,123 @@ class KafkaServerConsumer implements Runnable {
             if (logger.isDebugEnabled()) {
                 printEventsLog(events);
             }
-            for (ConsumerRecord<String, byte[]> event : events) {
-                ExecutorService service = notifyService.get();
-                if (service != null) {
-                    service.submit(() -> processEvent(event));
+            KafkaEventDispatcher lanes = dispatcher.get();
+            if (lanes != null) {
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+                for (TopicPartition partition : events.partitions()) {
+                    List<ConsumerRecord<String, byte[]>> records = events.records(partition);
+                    offsets.put(partition, new OffsetAndMetadata(records.get(records.size() - 1).offset() + 1));
+                    firstOffsets.put(partition, records.get(0).offset());
                 }
+                pendingCommits.add(new PendingCommit(lanes.dispatch(events), offsets, firstOffsets));
             }
         }
     }
-    
+
+    /**
+     * Commits offsets of polls whose events have been processed. Polls are committed in order, so an offset is never
+     * committed while events of an earlier poll are still being processed. When processing of a poll failed, its
+     * offsets are not committed and the consumer is rewound so its events (and events of the following polls) are
+     * redelivered. Must be called holding consumer lock.
+     * @param timeout when not null offsets are committed synchronously, waiting at most given time
+     */
+    private void commitProcessed(Duration timeout) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        PendingCommit pendingCommit;
+        while ((pendingCommit = pendingCommits.peek()) != null && pendingCommit.processed.isDone()) {
+            if (pendingCommit.processed.isCompletedExceptionally()) {
+                rewind();
+                break;
+            }
+            offsets.putAll(pendingCommit.offsets);
+            pendingCommits.poll();
+        }
+        if (offsets.isEmpty()) {
+            return;
+        }
+        try {
+            if (timeout != null) {
+                consumer.commitSync(offsets, timeout);
+            } else {
+                consumer.commitAsync(offsets, (committed, ex) -> {
+                    if (ex != null) {
+                        logger.warn("Error committing offsets {}", committed, ex);
+                    }
+                });
+            }
+            logger.trace("Committed offsets {}", offsets);
+        } catch (RuntimeException ex) {
+            logger.warn("Error committing offsets {}", offsets, ex);
+        }
+    }
+
+    /**
+     * Seeks assigned partitions back to the first offset not yet committed and drops pending commits, the events
+     * are polled again. Events of later polls still being processed are delivered twice. Must be called holding
+     * consumer lock.
+     */
+    private void rewind() {
+        Map<TopicPartition, Long> positions = new HashMap<>();
+        pendingCommits.forEach(pendingCommit -> pendingCommit.firstOffsets.forEach((partition, offset) -> positions.merge(partition, offset, Math::min)));
+        pendingCommits.clear();
+        try {
+            Set<TopicPartition> assignment = consumer.assignment();
+            positions.forEach((partition, offset) -> {
+                if (assignment.contains(partition)) {
+                    consumer.seek(partition, offset);
+                }
+            });
+            logger.warn("Processing of events failed, redelivering events from offsets {}", positions);
+        } catch (RuntimeException ex) {
+            logger.warn("Error rewinding kafka consumer to offsets {}", positions, ex);
+        }
+    }
+
+    /**
+     * Waits until events of all pending polls have been processed, at most given time. Must be called holding
+     * consumer lock.
+     */
+    private void awaitProcessed(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (PendingCommit pendingCommit : pendingCommits) {
+            try {
+                pendingCommit.processed.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                logger.warn("Events of {} polls not processed within {} ms", pendingCommits.size(), timeout.toMillis());
+                return;
+            } catch (ExecutionException ex) {
+                // failed poll is redelivered by commitProcessed
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pauses assigned partitions while any lane is saturated and resumes them once all lanes drained to half of
+     * their capacity. Paused consumer keeps polling so it stays member of the group. Must be called holding consumer
+     * lock.
+     */
+    private void applyBackPressure() {
+        KafkaEventDispatcher lanes = dispatcher.get();
+        if (lanes == null) {
+            return;
+        }
+        if (lanes.isSaturated()) {
+            Set<TopicPartition> assignment = consumer.assignment();
+            if (!consumer.paused().containsAll(assignment)) {
+                logger.debug("Pausing kafka consumer, {} events pending", lanes.getPending());
+                consumer.pause(assignment);
+            }
+        } else if (!consumer.paused().isEmpty() && lanes.hasCapacity()) {
+            logger.debug("Resuming kafka consumer, {} events pending", lanes.getPending());
+            consumer.resume(consumer.paused());
+        }
+    }
+
 
     private void printEventsLog(ConsumerRecords<String, byte[]> events) {
         Map<String, Integer> eventsPerTopic = new HashMap<>();
@@ -219,9 +389,23 @@ class KafkaServerConsumer implements Runnable {
         processService.signalEvent(deployment, signalName, data);
     }
 
-    private void processEvent(ConsumerRecord<String, byte[]> event) {
-        registration.forEachSignal(event, this::processSignal);
-        registration.forEachMessage(event, this::processMessage);
+    /**
+     * Processes batch of events of a single lane. Events are grouped by deployment, every deployment receives its
+     * events in a row and in the order they were polled. Processing stops at the first event that could not be
+     * signalled, failing the batch so its poll is redelivered.
+     */
+    private void processBatch(List<ConsumerRecord<String, byte[]>> events) {
+        Map<String, List<Runnable>> deploymentEvents = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> event : events) {
+            registration.forEachSignal(event, (e, deploymentId, signal) -> deploymentEvents.computeIfAbsent(deploymentId,
+                    k -> new ArrayList<>()).add(() -> processSignal(e, deploymentId, signal)));
+            registration.forEachMessage(event, (e, deploymentId, message) -> deploymentEvents.computeIfAbsent(deploymentId,
+                    k -> new ArrayList<>()).add(() -> processMessage(e, deploymentId, message)));
+        }
+        deploymentEvents.forEach((deploymentId, signals) -> {
+            logger.trace("Sending {} events to deployment {}", signals.size(), deploymentId);
+            signals.forEach(Runnable::run);
+        });
     }
 
     private void processSignal(ConsumerRecord<String, byte[]> event,
@@ -236,29 +420,63 @@ class KafkaServerConsumer implements Runnable {
         processEvent(event, deploymentId, message, messageSignaller);
     }
 
+    /**
+     * Deserializes the event and signals it to the deployment. Events that cannot be deserialized are skipped, as
+     * redelivering them would fail again. Signalling failures are rethrown so the event is redelivered, until it
+     * failed {@code maxDeliveryAttempts} times and is skipped.
+     */
     private void processEvent(ConsumerRecord<String, byte[]> event,
                               String deploymentId,
                               SignalDescBase signal,
                               Signaller signaller) {
+        String signalName = signal.getName();
+        Object value;
         try {
-            String signalName = signal.getName();
             ClassLoader cl = classLoaders.get(deploymentId);
             Class<?> valueType = Object.class;
             String className = signal.getStructureRef();
             if (className != null) {
                 valueType = cl.loadClass(className.contains(".") ? className : "java.lang." + className);
             }
-            Object value = factory.getEventReader(event.topic(), cl).readEvent(event
+            value = factory.getEventReader(event.topic(), cl).readEvent(event
                     .value(), valueType);
+        } catch (ClassNotFoundException ex) {
+            logger.error("Class not found in deployment id {}, skipping event {}", deploymentId, event, ex);
+            return;
+        } catch (RuntimeException | IOException ex) {
+            logger.error("Exception deserializing event, skipping event {}", event, ex);
+            return;
+        }
+        String deliveryKey = event.topic() + "-" + event.partition() + "@" + event.offset() + "/" + deploymentId + "/" + signalName;
+        try {
             logger.debug("Sending event with name {} to deployment {} with data {}", signalName,
                     deploymentId, value);
             signaller.signalEvent(deploymentId, signalName, value);
             logger.trace("Event with name {} to deployment {} with data {} has been sent", signalName,
                     deploymentId, value);
-        } catch (ClassNotFoundException ex) {
-            logger.error("Class not found in deployment id {}", deploymentId, ex);
-        } catch (RuntimeException | IOException ex) {
-            logger.error("Exception deserializing event", ex);
+        } catch (RuntimeException ex) {
+            int attempts = failedDeliveries.merge(deliveryKey, 1, Integer::sum);
+            if (attempts < maxDeliveryAttempts) {
+                logger.warn("Error sending event with name {} to deployment {}, attempt {} of {}", signalName,
+                        deploymentId, attempts, maxDeliveryAttempts);
+                throw ex;
+            }
+            logger.error("Event with name {} could not be sent to deployment {} in {} attempts, skipping event {}",
+                    signalName, deploymentId, attempts, event, ex);
+        }
+        failedDeliveries.remove(deliveryKey);
+    }
+
+    private static class PendingCommit {
+
+        private final CompletableFuture<Void> processed;
+        private final Map<TopicPartition, OffsetAndMetadata> offsets;
+        private final Map<TopicPartition, Long> firstOffsets;
+
+        PendingCommit(CompletableFuture<Void> processed, Map<TopicPartition, OffsetAndMetadata> offsets, Map<TopicPartition, Long> firstOffsets) {
+            this.processed = processed;
+            this.offsets = offsets;
+            this.firstOffsets = firstOffsets;
         }
     }
 }
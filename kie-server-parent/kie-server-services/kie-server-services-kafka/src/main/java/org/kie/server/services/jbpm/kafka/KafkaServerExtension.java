@@ -45,6 +45,8 @@ import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.api.SupportedTransports;
 import org.kie.server.services.impl.KieServerImpl;
 import org.kie.server.services.jbpm.JbpmKieServerExtension;
+import org.kie.server.services.prometheus.PrometheusKafkaProducerMetrics;
+import org.kie.server.services.prometheus.PrometheusKieServerExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +64,7 @@ public class KafkaServerExtension implements KieServerExtension, DeploymentEvent
     private KafkaEventProcessorFactory factory;
 
     private AtomicBoolean initialized = new AtomicBoolean();
+    private KieServerRegistry registry;
     // JBPM services
     private ListenerSupport deploymentService;
 
@@ -87,7 +90,9 @@ public class KafkaServerExtension implements KieServerExtension, DeploymentEvent
 
         initProperties();
         factory = buildEventProcessorFactory();
-        KafkaServerProducer.init(factory, this::getKafkaProducer);
+        this.registry = registry;
+        KafkaServerProducer.init(factory, this::getKafkaProducer, this::getTransactionalKafkaProducer,
+                producerProperties.containsKey(ProducerConfig.TRANSACTIONAL_ID_CONFIG));
 
         DeploymentDescriptorManager.addDescriptorLocation(
                 "classpath:/META-INF/kafka-deployment-descriptor-defaults.xml");
@@ -131,6 +136,7 @@ public class KafkaServerExtension implements KieServerExtension, DeploymentEvent
         factory.close();
         factory = null;
         deploymentService = null;
+        registry = null;
         initialized.set(false);
         consumerProperties.clear();
         producerProperties.clear();
@@ -142,13 +148,31 @@ public class KafkaServerExtension implements KieServerExtension, DeploymentEvent
         consumerProperties.putIfAbsent(ConsumerConfig.ISOLATION_LEVEL_CONFIG, IsolationLevel.READ_COMMITTED.toString()
                 .toLowerCase());
         consumerProperties.putIfAbsent(ConsumerConfig.GROUP_ID_CONFIG, "jbpm-consumer");
+        // offsets are committed once the events have been processed
+        consumerProperties.putIfAbsent(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         return new KafkaConsumer<>(consumerProperties, new StringDeserializer(), new ByteArrayDeserializer());
     }
 
     protected Producer<String, byte[]> getKafkaProducer() {
+        return new KafkaProducer<>(getProducerConfig(), new StringSerializer(), new ByteArraySerializer());
+    }
+
+    /**
+     * Creates producer of the transactional producers pool. Every producer of the pool has a transactional id of its
+     * own, the configured one suffixed with the index of the producer, so producers do not fence each other.
+     */
+    protected Producer<String, byte[]> getTransactionalKafkaProducer(int index) {
+        Map<String, Object> properties = new HashMap<>(getProducerConfig());
+        properties.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, properties.get(ProducerConfig.TRANSACTIONAL_ID_CONFIG) + "-" + index);
+        return new KafkaProducer<>(properties, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    private Map<String, Object> getProducerConfig() {
         producerProperties.putIfAbsent(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, DEFAULT_HOST);
         producerProperties.putIfAbsent(ProducerConfig.MAX_BLOCK_MS_CONFIG, 2000L);
-        return new KafkaProducer<>(producerProperties, new StringSerializer(), new ByteArraySerializer());
+        // let the producer batch events published by concurrent transactions
+        producerProperties.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 5);
+        return producerProperties;
     }
 
     @Override
@@ -206,6 +230,10 @@ public class KafkaServerExtension implements KieServerExtension, DeploymentEvent
     @Override
     public void serverStarted() {
         // will use lazy initialization for consumer
+        // prometheus extension starts after this one, so it can only be looked up once all extensions are initialized
+        if (registry != null && registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME) != null) {
+            KafkaServerProducer.enableMetrics(new PrometheusKafkaProducerMetrics(PrometheusKieServerExtension.getMetrics()));
+        }
     }
 
     @Override
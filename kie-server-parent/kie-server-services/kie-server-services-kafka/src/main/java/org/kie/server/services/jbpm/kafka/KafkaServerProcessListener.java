@@ -26,14 +26,14 @@ public class KafkaServerProcessListener extends DefaultProcessEventListener {
     @Override
     public void onMessage(MessageEvent event) {
         if (processMessages()) {
-            KafkaServerProducer.publish(event.getProcessInstance(), event.getMessageName(), event.getMessage());
+            KafkaServerProducer.publish(event.getKieRuntime(), event.getProcessInstance(), event.getMessageName(), event.getMessage());
         }
     }
 
     @Override
     public void onSignal(SignalEvent event) {
         if (processSignals(event)) {
-            KafkaServerProducer.publish(event.getProcessInstance(), event.getSignalName(), event.getSignal());
+            KafkaServerProducer.publish(event.getKieRuntime(), event.getProcessInstance(), event.getSignalName(), event.getSignal());
         }
     }
 }
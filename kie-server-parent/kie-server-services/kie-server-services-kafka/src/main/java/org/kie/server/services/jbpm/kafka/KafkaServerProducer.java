@@ -19,27 +19,69 @@ import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.topicFromSigna
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.KafkaException;
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionSynchronization;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
+import org.kie.api.runtime.KieRuntime;
 import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.server.services.prometheus.PrometheusKafkaProducerMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-
+/**
+ * Publishes process events to Kafka. Events emitted within a jBPM transaction are buffered and published together
+ * once the transaction completes, so events of rolled back transactions are never published:
+ * <ul>
+ *     <li>by default events are handed to the producer after commit without blocking the engine thread, batching
+ *     is then driven by producer <code>linger.ms</code> and <code>batch.size</code></li>
+ *     <li>in <code>sync</code> mode events are sent before commit and the transaction waits once for all of them,
+ *     failure to publish rolls the transaction back</li>
+ *     <li>when <code>transactional.id</code> is configured events are sent within a Kafka transaction that is
+ *     committed or aborted together with the jBPM transaction. Kafka transaction is committed after the jBPM one,
+ *     acting as last resource. Every Kafka transaction runs on a producer of its own taken from a pool of at most
+ *     <code>producer.poolSize</code> transactional producers, transactions wait for a producer when all of them are
+ *     in use</li>
+ * </ul>
+ * Events emitted outside of a transaction are published right away.
+ */
 class KafkaServerProducer {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaServerProducer.class);
+    private static final String BATCH_RESOURCE = KafkaServerProducer.class.getName() + ".batch";
     private static KafkaServerProducer instance;
 
     public static void init(KafkaEventProcessorFactory factory,
-                            Supplier<Producer<String, byte[]>> producerSupplier) {
-        instance = new KafkaServerProducer(factory, producerSupplier);
+                            Supplier<Producer<String, byte[]>> producerSupplier,
+                            IntFunction<Producer<String, byte[]>> transactionalProducerSupplier,
+                            boolean transactional) {
+        instance = new KafkaServerProducer(factory, producerSupplier, transactionalProducerSupplier, transactional);
+    }
+
+    /**
+     * Starts recording metrics of published events, called once the server has started as the metrics are provided
+     * by another extension.
+     */
+    public static void enableMetrics(PrometheusKafkaProducerMetrics metrics) {
+        if (instance != null) {
+            instance.metrics = metrics;
+        }
     }
 
     public static void cleanup(Duration duration) {
@@ -49,27 +91,49 @@ class KafkaServerProducer {
         }
     }
 
-    public static void publish(ProcessInstance processInstance,
+    public static void publish(KieRuntime kieRuntime,
+                               ProcessInstance processInstance,
                                String name,
                                Object value) {
         if (instance != null) {
-            instance.sendEvent(processInstance, name, value);
+            instance.sendEvent(kieRuntime, processInstance, name, value);
         }
     }
 
     // Kafka producer
-    private Producer<String, byte[]> producer;
+    private volatile Producer<String, byte[]> producer;
     private Supplier<Producer<String, byte[]>> producerSupplier;
     private KafkaEventProcessorFactory factory;
-    private KafkaSender kafkaSender;
+    private volatile PrometheusKafkaProducerMetrics metrics;
+    private final boolean sync;
+    private final boolean transactional;
 
     private Lock producerLock = new ReentrantLock();
+    // a producer supports a single open kafka transaction, transactional producers are taken from the pool for the
+    // duration of a kafka transaction. Most recently used producers are taken first, so producers are only created
+    // when transactions publish concurrently
+    private IntFunction<Producer<String, byte[]>> transactionalProducerSupplier;
+    private TransactionalProducer[] transactionalProducers;
+    private BlockingDeque<TransactionalProducer> idleTransactionalProducers;
 
     private KafkaServerProducer(KafkaEventProcessorFactory factory,
-                                Supplier<Producer<String, byte[]>> producerSupplier) {
+                                Supplier<Producer<String, byte[]>> producerSupplier,
+                                IntFunction<Producer<String, byte[]>> transactionalProducerSupplier,
+                                boolean transactional) {
         this.factory = factory;
         this.producerSupplier = producerSupplier;
-        this.kafkaSender = Boolean.getBoolean(KAFKA_EXTENSION_PREFIX + "sync") ? this::sendSync : this::sendAsync;
+        this.transactionalProducerSupplier = transactionalProducerSupplier;
+        this.transactional = transactional;
+        this.sync = Boolean.getBoolean(KAFKA_EXTENSION_PREFIX + "sync");
+        if (transactional) {
+            int poolSize = Math.max(1, Integer.getInteger(KAFKA_EXTENSION_PREFIX + "producer.poolSize", 10));
+            this.transactionalProducers = new TransactionalProducer[poolSize];
+            this.idleTransactionalProducers = new LinkedBlockingDeque<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                transactionalProducers[i] = new TransactionalProducer(i);
+                idleTransactionalProducers.add(transactionalProducers[i]);
+            }
+        }
     }
 
     private void close(Duration duration) {
@@ -79,49 +143,129 @@ class KafkaServerProducer {
                 producer.close(duration);
                 producer = null;
             }
+            if (transactionalProducers != null) {
+                for (TransactionalProducer transactionalProducer : transactionalProducers) {
+                    transactionalProducer.close(duration);
+                }
+            }
         } finally {
             producerLock.unlock();
         }
     }
 
-    private void sendEvent(ProcessInstance processInstance,
+    private Producer<String, byte[]> getProducer() {
+        Producer<String, byte[]> result = producer;
+        if (result == null) {
+            producerLock.lock();
+            try {
+                result = producer;
+                if (result == null) {
+                    result = producerSupplier.get();
+                    producer = result;
+                }
+            } finally {
+                producerLock.unlock();
+            }
+        }
+        return result;
+    }
+
+    private void sendEvent(KieRuntime kieRuntime,
+                           ProcessInstance processInstance,
                            String name,
                            Object value) {
-        producerLock.lock();
+        String topic = topicFromSignal(name);
+        logger.debug("Publishing event {}  to topic {}", value, topic);
+        ProducerRecord<String, byte[]> record;
         try {
-            if (producer == null) {
-                producer = producerSupplier.get();
+            record = new ProducerRecord<>(topic, marshall(topic, value, processInstance));
+        } catch (IOException e) {
+            if (sync || transactional) {
+                throw new IllegalArgumentException(e);
             }
-        } finally {
-            producerLock.unlock();
+            logError(value, e);
+            return;
+        }
+        EventBatch batch = getBatch(kieRuntime);
+        if (batch != null) {
+            batch.add(record);
+        } else {
+            publish(Collections.singletonList(record));
         }
-        String topic = topicFromSignal(name);
-        logger.debug("Publishing event {}  to topic {}", value, topic);
-        kafkaSender.send(topic, value, processInstance);
     }
 
-    private interface KafkaSender {
+    /**
+     * Returns batch of the active jBPM transaction, registering a new one on first event of the transaction.
+     * @return batch or null when there is no active transaction events could be bound to
+     */
+    private EventBatch getBatch(KieRuntime kieRuntime) {
+        Environment environment = kieRuntime == null ? null : kieRuntime.getEnvironment();
+        Object tm = environment == null ? null : environment.get(EnvironmentName.TRANSACTION_MANAGER);
+        if (!(tm instanceof TransactionManager)) {
+            return null;
+        }
+        TransactionManager transactionManager = (TransactionManager) tm;
+        try {
+            if (transactionManager.getStatus() != TransactionManager.STATUS_ACTIVE) {
+                return null;
+            }
+            EventBatch batch = (EventBatch) transactionManager.getResource(BATCH_RESOURCE);
+            if (batch == null) {
+                batch = new EventBatch();
+                transactionManager.registerTransactionSynchronization(batch);
+                transactionManager.putResource(BATCH_RESOURCE, batch);
+            }
+            return batch;
+        } catch (RuntimeException e) {
+            logger.debug("Unable to bind kafka events to transaction, publishing them right away", e);
+            return null;
+        }
+    }
 
-        void send(String topic, Object value, ProcessInstance processInstance);
+    /**
+     * Publishes events outside of a jBPM transaction, each call being a Kafka transaction on its own in transactional
+     * mode.
+     */
+    private void publish(List<ProducerRecord<String, byte[]>> records) {
+        if (transactional) {
+            TransactionalProducer transactionalProducer = beginKafkaTransaction();
+            boolean committed = false;
+            try {
+                sendAndWait(transactionalProducer.producer, records);
+                committed = true;
+            } finally {
+                completeKafkaTransaction(transactionalProducer, committed);
+            }
+        } else if (sync) {
+            sendAndWait(getProducer(), records);
+        } else {
+            for (ProducerRecord<String, byte[]> record : records) {
+                sendAsync(record);
+            }
+        }
     }
 
-    private void sendAsync(String topic, Object value, ProcessInstance processInstance) {
+    private void sendAsync(ProducerRecord<String, byte[]> record) {
         try {
-
-            producer.send(new ProducerRecord<>(topic, marshall(topic, value, processInstance)),
-                          (m, e) -> {
-                              if (e != null) {
-                                  logError(value, e);
-                              }
-                          });
+            send(getProducer(), record);
         } catch (Exception e) {
-            logError(value, e);
+            logger.error("Error publishing event to topic {}", record.topic(), e);
         }
     }
 
-    private void sendSync(String topic, Object value, ProcessInstance processInstance) {
+    /**
+     * Hands all the records to the producer first and then waits for their acknowledgements, so the caller blocks
+     * once per batch rather than once per record.
+     */
+    private void sendAndWait(Producer<String, byte[]> producer, List<ProducerRecord<String, byte[]>> records) {
+        List<Future<RecordMetadata>> futures = new ArrayList<>(records.size());
+        for (ProducerRecord<String, byte[]> record : records) {
+            futures.add(send(producer, record));
+        }
         try {
-            producer.send(new ProducerRecord<>(topic, marshall(topic, value, processInstance))).get();
+            for (Future<RecordMetadata> future : futures) {
+                future.get();
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException(e);
@@ -131,8 +275,69 @@ class KafkaServerProducer {
             } else {
                 throw new KafkaException(e.getCause());
             }
-        } catch (IOException e) {
-            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private Future<RecordMetadata> send(Producer<String, byte[]> producer, ProducerRecord<String, byte[]> record) {
+        PrometheusKafkaProducerMetrics metrics = this.metrics;
+        long start = System.nanoTime();
+        try {
+            return producer.send(record, (m, e) -> {
+                if (e != null) {
+                    logger.error("Error publishing event to topic {}", record.topic(), e);
+                    if (metrics != null) {
+                        metrics.eventFailed(record.topic());
+                    }
+                } else if (metrics != null) {
+                    metrics.eventSent(record.topic(), System.nanoTime() - start);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (metrics != null) {
+                metrics.eventFailed(record.topic());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Takes an idle producer from the pool, waiting while all of them are in use, and begins a kafka transaction on
+     * it. The producer is returned to the pool by {@link #completeKafkaTransaction(TransactionalProducer, boolean)}.
+     */
+    private TransactionalProducer beginKafkaTransaction() {
+        TransactionalProducer transactionalProducer;
+        try {
+            transactionalProducer = idleTransactionalProducers.takeFirst();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        try {
+            transactionalProducer.init().beginTransaction();
+            return transactionalProducer;
+        } catch (RuntimeException e) {
+            transactionalProducer.discard();
+            idleTransactionalProducers.addFirst(transactionalProducer);
+            throw e;
+        }
+    }
+
+    private void completeKafkaTransaction(TransactionalProducer transactionalProducer, boolean commit) {
+        try {
+            if (commit) {
+                transactionalProducer.producer.commitTransaction();
+            } else {
+                transactionalProducer.producer.abortTransaction();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error completing kafka transaction, events might not have been published", e);
+            // state of the transaction is unknown, producer is replaced before its next transaction
+            transactionalProducer.discard();
+            if (commit) {
+                throw e;
+            }
+        } finally {
+            idleTransactionalProducers.addFirst(transactionalProducer);
         }
     }
 
@@ -143,4 +348,91 @@ class KafkaServerProducer {
     private void logError(Object value, Exception e) {
         logger.error("Error publishing event {}", value, e);
     }
+
+    /**
+     * Transactional producer of the pool, created on first use. Its transactional id is derived from its index, so a
+     * replaced producer fences the one it replaces.
+     */
+    private class TransactionalProducer {
+
+        private final int index;
+        private Producer<String, byte[]> producer;
+
+        TransactionalProducer(int index) {
+            this.index = index;
+        }
+
+        Producer<String, byte[]> init() {
+            if (producer == null) {
+                Producer<String, byte[]> created = transactionalProducerSupplier.apply(index);
+                try {
+                    created.initTransactions();
+                } catch (RuntimeException e) {
+                    created.close(Duration.ZERO);
+                    throw e;
+                }
+                producer = created;
+            }
+            return producer;
+        }
+
+        void discard() {
+            close(Duration.ZERO);
+        }
+
+        void close(Duration duration) {
+            if (producer != null) {
+                try {
+                    producer.close(duration);
+                } catch (RuntimeException e) {
+                    logger.warn("Error closing transactional kafka producer {}", index, e);
+                }
+                producer = null;
+            }
+        }
+    }
+
+    /**
+     * Events emitted within single jBPM transaction, published when the transaction completes
+     */
+    private class EventBatch implements TransactionSynchronization {
+
+        private final List<ProducerRecord<String, byte[]>> records = new ArrayList<>();
+        private TransactionalProducer kafkaTransaction;
+
+        void add(ProducerRecord<String, byte[]> record) {
+            records.add(record);
+        }
+
+        @Override
+        public void beforeCompletion() {
+            if (records.isEmpty()) {
+                return;
+            }
+            if (transactional) {
+                kafkaTransaction = beginKafkaTransaction();
+                sendAndWait(kafkaTransaction.producer, records);
+            } else if (sync) {
+                // failure is propagated so the transaction is rolled back
+                sendAndWait(getProducer(), records);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            boolean committed = status == TransactionManager.STATUS_COMMITTED;
+            if (kafkaTransaction != null) {
+                completeKafkaTransaction(kafkaTransaction, committed);
+                kafkaTransaction = null;
+            } else if (committed && !sync) {
+                records.forEach(KafkaServerProducer.this::sendAsync);
+            } else if (!committed) {
+                logger.debug("Transaction not committed, discarding {} kafka event(s)", records.size());
+            }
+            PrometheusKafkaProducerMetrics current = metrics;
+            if (committed && current != null && !records.isEmpty()) {
+                current.batchPublished(records.size());
+            }
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.services.jbpm.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.After;
+import org.junit.Test;
+
+public class KafkaEventDispatcherTest {
+
+    private KafkaEventDispatcher dispatcher;
+
+    @After
+    public void cleanup() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testSameKeySameLane() {
+        for (int i = 0; i < 100; i++) {
+            ConsumerRecord<String, byte[]> first = new ConsumerRecord<>("topic", i % 3, i, "key-" + i, new byte[0]);
+            ConsumerRecord<String, byte[]> second = new ConsumerRecord<>("other", 0, i, "key-" + i, new byte[0]);
+            assertEquals(KafkaEventDispatcher.laneOf(first, 7), KafkaEventDispatcher.laneOf(second, 7));
+        }
+        ConsumerRecord<String, byte[]> noKey = new ConsumerRecord<>("topic", 2, 0L, "", new byte[0]);
+        ConsumerRecord<String, byte[]> noKeyLater = new ConsumerRecord<>("topic", 2, 10L, null, new byte[0]);
+        assertEquals(KafkaEventDispatcher.laneOf(noKey, 7), KafkaEventDispatcher.laneOf(noKeyLater, 7));
+    }
+
+    @Test
+    public void testOrderPerKey() throws Exception {
+        Map<String, List<Long>> processed = new ConcurrentHashMap<>();
+        dispatcher = new KafkaEventDispatcher(4, 1000, batch -> batch.forEach(record -> processed.computeIfAbsent(
+                record.key(), k -> new ArrayList<>()).add(record.offset())));
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            records.add(new ConsumerRecord<>("topic", 0, i, "key-" + (i % 10), new byte[0]));
+        }
+        dispatcher.dispatch(records.subList(0, 500)).get(10, TimeUnit.SECONDS);
+        dispatcher.dispatch(records.subList(500, 1000)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(10, processed.size());
+        for (List<Long> offsets : processed.values()) {
+            assertEquals(100, offsets.size());
+            for (int i = 1; i < offsets.size(); i++) {
+                assertTrue(offsets.get(i - 1) < offsets.get(i));
+            }
+        }
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    public void testSaturation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = new KafkaEventDispatcher(2, 4, batch -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        for (long i = 0; i < 4; i++) {
+            records.add(new ConsumerRecord<>("topic", 0, i, "same-key", new byte[0]));
+        }
+        assertFalse(dispatcher.isSaturated());
+        assertTrue(dispatcher.hasCapacity());
+
+        CompletableFuture<Void> processed = dispatcher.dispatch(records);
+        assertTrue(dispatcher.isSaturated());
+        assertFalse(dispatcher.hasCapacity());
+
+        release.countDown();
+        processed.get(10, TimeUnit.SECONDS);
+        assertFalse(dispatcher.isSaturated());
+        assertTrue(dispatcher.hasCapacity());
+    }
+
+    @Test
+    public void testFailedBatchFailsDispatch() throws Exception {
+        dispatcher = new KafkaEventDispatcher(2, 1000, batch -> {
+            throw new IllegalStateException("signal failed");
+        });
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        records.add(new ConsumerRecord<>("topic", 0, 0, "key", new byte[0]));
+
+        CompletableFuture<Void> processed = dispatcher.dispatch(records);
+        try {
+            processed.get(10, TimeUnit.SECONDS);
+            fail("Failed batch should not be reported as processed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(0, dispatcher.getPending());
+    }
+}
@@ -19,11 +19,13 @@ import static org.hamcrest.CoreMatchers.anyOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.KAFKA_EXTENSION_PREFIX;
 import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.MESSAGE_MAPPING_PROPERTY;
 import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.SIGNAL_MAPPING_PROPERTY;
 import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.TOPIC_PREFIX;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -206,6 +208,55 @@ public class KafkaServerExtensionConsumerTest {
         verify(processService, getTimeout()).signalEvent("test:MyDeploy1:1_0", "MySignal", new Person("javierito"));
     }
 
+    @Test
+    public void testOffsetCommittedAfterProcessing() throws InterruptedException {
+        when(processDefinition.getSignalsDesc()).thenReturn(Collections.singletonList(createSignal("MySignal",
+                "String")));
+        extension.onDeploy(getDeploymentEvent("test", "MyDeploy1", "1_0"));
+        publishEvent("MySignal", "{\"id\":\"javi\",\"type\":\"one\",\"source\":\"pepe\",\"data\":\"javierito\"}");
+        verify(processService, getTimeout()).signalEvent("test:MyDeploy1:1_0", "MySignal", "javierito");
+        TopicPartition partition = new TopicPartition("MySignal", 0);
+        long deadline = System.currentTimeMillis() + TIMEOUT * 5000;
+        while (mockConsumer.committed(partition) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1L, mockConsumer.committed(partition).offset());
+    }
+
+    @Test
+    public void testFailedSignalRedeliveredThenSkipped() throws InterruptedException {
+        System.setProperty(KAFKA_EXTENSION_PREFIX + "maxDeliveryAttempts", "2");
+        try {
+            extension.destroy(server, registry);
+            extension.init(server, registry);
+            extension.serverStarted();
+            doThrow(new IllegalStateException("database down")).when(processService).signalEvent("MyDeploy1", "MySignal", "javierito");
+            when(processDefinition.getSignalsDesc()).thenReturn(Collections.singletonList(createSignal("MySignal",
+                    "String")));
+            extension.onDeploy(getDeploymentEvent("MyDeploy1"));
+            String cloudEventText = "{\"id\":\"javi\",\"type\":\"one\",\"source\":\"pepe\",\"data\":\"javierito\"}";
+            publishEvent("MySignal", cloudEventText);
+            verify(processService, getTimeout()).signalEvent("MyDeploy1", "MySignal", "javierito");
+            // failed event is only polled again once the consumer has been rewound to its offset
+            TopicPartition partition = new TopicPartition("MySignal", 0);
+            long deadline = System.currentTimeMillis() + TIMEOUT * 5000;
+            while (mockConsumer.position(partition) != 0L && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0L, mockConsumer.position(partition));
+            assertNull(mockConsumer.committed(partition));
+            mockConsumer.addRecord(new ConsumerRecord<>("MySignal", 0, 0L, "", cloudEventText.getBytes()));
+            verify(processService, getTimeout(2)).signalEvent("MyDeploy1", "MySignal", "javierito");
+            // second failure exhausts the attempts, event is skipped and its offset committed
+            while (mockConsumer.committed(partition) == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1L, mockConsumer.committed(partition).offset());
+        } finally {
+            System.clearProperty(KAFKA_EXTENSION_PREFIX + "maxDeliveryAttempts");
+        }
+    }
+
     @Test
     public void testKafkaServerExecutorSignalWithClassType() {
         testStructRefEvent(Person.class.getTypeName());
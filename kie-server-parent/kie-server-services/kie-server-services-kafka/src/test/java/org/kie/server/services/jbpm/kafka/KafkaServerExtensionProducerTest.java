@@ -17,9 +17,12 @@ package org.kie.server.services.jbpm.kafka;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -28,6 +31,8 @@ import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.drools.core.event.MessageEventImpl;
 import org.drools.core.event.SignalEventImpl;
+import org.drools.persistence.api.TransactionManager;
+import org.drools.persistence.api.TransactionSynchronization;
 import org.jbpm.runtime.manager.impl.SimpleRegisterableItemsFactory;
 import org.jbpm.services.api.DeploymentService;
 import org.jbpm.services.api.ListenerSupport;
@@ -36,6 +41,8 @@ import org.jbpm.workflow.core.Node;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.EnvironmentName;
 import org.kie.api.runtime.KieRuntime;
 import org.kie.api.runtime.manager.RuntimeEngine;
 import org.kie.api.runtime.process.NodeInstance;
@@ -44,15 +51,24 @@ import org.kie.internal.runtime.manager.InternalRegisterableItemsFactory;
 import org.kie.server.services.api.KieServerExtension;
 import org.kie.server.services.api.KieServerRegistry;
 import org.kie.server.services.impl.KieServerImpl;
+import org.kie.server.services.jbpm.JbpmKieServerExtension;
 import org.kie.server.services.jbpm.kafka.KafkaServerUtils.Mapping;
+import org.kie.server.services.prometheus.PrometheusKieServerExtension;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import io.prometheus.client.CollectorRegistry;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.KAFKA_EXTENSION_PREFIX;
 import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.MESSAGE_MAPPING_PROPERTY;
 import static org.kie.server.services.jbpm.kafka.KafkaServerUtils.SIGNAL_MAPPING_PROPERTY;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -61,6 +77,7 @@ public class KafkaServerExtensionProducerTest {
     private static class MockKafkaServerExtension extends KafkaServerExtension {
 
         private MockProducer<String, byte[]> producer;
+        private List<MockProducer<String, byte[]>> transactionalProducers = new ArrayList<>();
 
         public MockKafkaServerExtension(MockProducer<String, byte[]> producer) {
             this.producer = producer;
@@ -70,6 +87,13 @@ public class KafkaServerExtensionProducerTest {
         protected Producer<String, byte[]> getKafkaProducer() {
             return producer;
         }
+
+        @Override
+        protected Producer<String, byte[]> getTransactionalKafkaProducer(int index) {
+            MockProducer<String, byte[]> transactionalProducer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+            transactionalProducers.add(transactionalProducer);
+            return transactionalProducer;
+        }
     }
 
     private ProcessService processService;
@@ -170,4 +194,110 @@ public class KafkaServerExtensionProducerTest {
                 pInstance, runtime, nInstance, "MyMessage", "Javierito")));
         assertTrue(mockProducer.history().isEmpty());
     }
+
+    @Test
+    public void testEventsPublishedOnCommit() throws IOException, ClassNotFoundException {
+        TransactionSynchronization synchronization = signalWithinTransaction("MySignal", "first", "second");
+        assertTrue(mockProducer.history().isEmpty());
+
+        synchronization.beforeCompletion();
+        synchronization.afterCompletion(TransactionManager.STATUS_COMMITTED);
+        List<ProducerRecord<String, byte[]>> events = mockProducer.history();
+        assertEquals(2, events.size());
+        assertEquals("first", eventReader.readEvent(events.get(0).value(), String.class));
+        assertEquals("second", eventReader.readEvent(events.get(1).value(), String.class));
+    }
+
+    @Test
+    public void testConcurrentKafkaTransactionsUseDistinctProducers() throws IOException, ClassNotFoundException {
+        extension.destroy(server, registry);
+        System.setProperty(KAFKA_EXTENSION_PREFIX + "transactional.id", "jbpm");
+        try {
+            extension.init(server, registry);
+            TransactionSynchronization first = signalWithinTransaction("MySignal", "first");
+            TransactionSynchronization second = signalWithinTransaction("MySignal", "second");
+            // kafka transactions of both jBPM transactions are open at the same time
+            first.beforeCompletion();
+            second.beforeCompletion();
+            second.afterCompletion(TransactionManager.STATUS_COMMITTED);
+            first.afterCompletion(TransactionManager.STATUS_ROLLEDBACK);
+
+            assertEquals(2, extension.transactionalProducers.size());
+            MockProducer<String, byte[]> firstProducer = extension.transactionalProducers.get(0);
+            MockProducer<String, byte[]> secondProducer = extension.transactionalProducers.get(1);
+            assertTrue(firstProducer.transactionAborted());
+            assertTrue(firstProducer.history().isEmpty());
+            assertTrue(secondProducer.transactionCommitted());
+            assertEquals(1, secondProducer.history().size());
+            assertEquals("second", eventReader.readEvent(secondProducer.history().get(0).value(), String.class));
+            assertTrue(mockProducer.history().isEmpty());
+
+            // producers are returned to the pool and reused
+            TransactionSynchronization third = signalWithinTransaction("MySignal", "third");
+            third.beforeCompletion();
+            third.afterCompletion(TransactionManager.STATUS_COMMITTED);
+            assertEquals(2, extension.transactionalProducers.size());
+        } finally {
+            System.clearProperty(KAFKA_EXTENSION_PREFIX + "transactional.id");
+        }
+    }
+
+    @Test
+    public void testEventsDiscardedOnRollback() {
+        TransactionSynchronization synchronization = signalWithinTransaction("MySignal", "first", "second");
+
+        synchronization.beforeCompletion();
+        synchronization.afterCompletion(TransactionManager.STATUS_ROLLEDBACK);
+        assertTrue(mockProducer.history().isEmpty());
+    }
+
+    @Test
+    public void testMetricsEnabledOnServerStarted() {
+        extension.destroy(server, registry);
+        // prometheus extension is initialized after kafka one
+        KieServerExtension jbpmExtension = registry.getServerExtension(JbpmKieServerExtension.EXTENSION_NAME);
+        when(registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME)).thenReturn(null);
+        extension.init(server, registry);
+        when(registry.getServerExtension(PrometheusKieServerExtension.EXTENSION_NAME)).thenReturn(jbpmExtension);
+
+        double sentBefore = sentEvents("MetricsMessage");
+        publishMessage("MetricsMessage");
+        assertEquals(sentBefore, sentEvents("MetricsMessage"), 0);
+
+        extension.serverStarted();
+        publishMessage("MetricsMessage");
+        assertEquals(sentBefore + 1, sentEvents("MetricsMessage"), 0);
+    }
+
+    private void publishMessage(String message) {
+        itemsFactory.getProcessEventListeners(runtimeEngine).forEach(l -> l.onMessage(new MessageEventImpl(
+                pInstance, runtime, nInstance, message, "Javierito")));
+        mockProducer.completeNext();
+    }
+
+    private static double sentEvents(String topic) {
+        Double value = CollectorRegistry.defaultRegistry.getSampleValue("kafka_producer_events_sent_total",
+                                                                        new String[]{"topic"}, new String[]{topic});
+        return value == null ? 0 : value;
+    }
+
+    private TransactionSynchronization signalWithinTransaction(String signal, String... values) {
+        Map<Object, Object> resources = new HashMap<>();
+        TransactionManager transactionManager = mock(TransactionManager.class);
+        when(transactionManager.getStatus()).thenReturn(TransactionManager.STATUS_ACTIVE);
+        when(transactionManager.getResource(Mockito.any())).thenAnswer(invocation -> resources.get(invocation.getArguments()[0]));
+        doAnswer(invocation -> resources.put(invocation.getArguments()[0], invocation.getArguments()[1]))
+                .when(transactionManager).putResource(Mockito.any(), Mockito.any());
+        Environment environment = mock(Environment.class);
+        when(environment.get(EnvironmentName.TRANSACTION_MANAGER)).thenReturn(transactionManager);
+        when(runtime.getEnvironment()).thenReturn(environment);
+
+        for (String value : values) {
+            itemsFactory.getProcessEventListeners(runtimeEngine).forEach(l -> l.onSignal(new SignalEventImpl(
+                    pInstance, runtime, nInstance, signal, value)));
+        }
+        ArgumentCaptor<TransactionSynchronization> captor = ArgumentCaptor.forClass(TransactionSynchronization.class);
+        verify(transactionManager, times(1)).registerTransactionSynchronization(captor.capture());
+        return captor.getValue();
+    }
 }
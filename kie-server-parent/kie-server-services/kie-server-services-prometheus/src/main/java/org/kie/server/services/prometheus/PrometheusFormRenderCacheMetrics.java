@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.services.prometheus;
+
+/**
+ * Records hits and misses of the cache used by jBPM UI form renderers, per container and type of cached data.
+ */
+public class PrometheusFormRenderCacheMetrics {
+
+    private final PrometheusMetrics metrics;
+
+    public PrometheusFormRenderCacheMetrics(PrometheusMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void hit(String containerId, String type) {
+        metrics.getFormRenderCacheHits().labels(containerId, type).inc();
+    }
+
+    public void miss(String containerId, String type) {
+        metrics.getFormRenderCacheMisses().labels(containerId, type).inc();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.services.prometheus;
+
+/**
+ * Records metrics of process events published to Kafka - number of acknowledged and failed events, latency of
+ * acknowledgement and number of events published per transaction.
+ */
+public class PrometheusKafkaProducerMetrics {
+
+    private static final double NANOSECONDS_PER_SECOND = 1_000_000_000.0;
+
+    private final PrometheusMetrics metrics;
+
+    public PrometheusKafkaProducerMetrics(PrometheusMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void eventSent(String topic, long latencyNanos) {
+        metrics.getKafkaProducerEventsSent().labels(topic).inc();
+        metrics.getKafkaProducerSendLatency().labels(topic).observe(latencyNanos / NANOSECONDS_PER_SECOND);
+    }
+
+    public void eventFailed(String topic) {
+        metrics.getKafkaProducerEventsFailed().labels(topic).inc();
+    }
+
+    public void batchPublished(int size) {
+        metrics.getKafkaProducerBatchSize().observe(size);
+    }
+}
@@ -18,10 +18,12 @@ package org.kie.server.services.prometheus;
 
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
 import org.kie.server.api.model.KieServerInfo;
 import org.kie.server.services.api.KieContainerInstance;
 import org.kie.server.services.api.KieServer;
 import org.kie.server.services.api.KieServerEventListener;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +64,13 @@ public class PrometheusKieServerEventListener implements KieServerEventListener
             .labelNames("name", "server_id", "location", "version")
             .register();
 
+    protected static final Histogram containerStartDuration = Histogram.build()
+            .name("kie_server_container_start_duration_seconds")
+            .help("Kie Server Container start duration in seconds")
+            .labelNames("container_id")
+            .buckets(0.1, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300)
+            .register();
+
     @Override
     public void beforeServerStarted(KieServer kieServer) {
     }
@@ -98,6 +107,14 @@ public class PrometheusKieServerEventListener implements KieServerEventListener
         runningContainersTotal.inc();
 
         numberOfContainersStartedSinceBoot.inc();
+
+        // measured by the server so that it includes preparation of the kie container ahead of the start
+        if (containerInstance instanceof KieContainerInstanceImpl) {
+            long startDuration = ((KieContainerInstanceImpl) containerInstance).getStartDuration();
+            if (startDuration > 0) {
+                containerStartDuration.labels(containerInstance.getContainerId()).observe(startDuration / 1_000_000_000.0);
+            }
+        }
     }
 
     @Override
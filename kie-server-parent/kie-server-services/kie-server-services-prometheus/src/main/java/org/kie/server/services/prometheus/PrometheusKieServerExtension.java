@@ -92,6 +92,7 @@ public class PrometheusKieServerExtension implements KieServerExtension {
 
         customMetrics = new PrometheusCustomMetricsSupport(this);
         registerDefaultDescriptor();
+        PrometheusMarshallerMetrics.bind(registry);
 
         //Prometheus Monitoring
         KieServerExtension jBPMExtension = context.getServerExtension(JbpmKieServerExtension.EXTENSION_NAME);
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.server.services.prometheus;
+
+/**
+ * Records metrics of pooled stateful KieSessions - pool size, warm up count, sessions in use,
+ * time spent waiting for a session and number of timed out requests.
+ */
+public class PrometheusKieSessionPoolMetrics {
+
+    private static final double NANOSECONDS_PER_SECOND = 1_000_000_000.0;
+
+    private final PrometheusMetrics metrics;
+
+    public PrometheusKieSessionPoolMetrics(PrometheusMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void poolCreated(String containerId, String kieSessionId, int size, int warmUp, String resetStrategy) {
+        metrics.getKieSessionPoolSize().labels(containerId, kieSessionId, resetStrategy).set(size);
+        metrics.getKieSessionPoolWarmUp().labels(containerId, kieSessionId).set(warmUp);
+        metrics.getKieSessionPoolInUse().labels(containerId, kieSessionId).set(0);
+    }
+
+    public void poolDisposed(String containerId, String kieSessionId, String resetStrategy) {
+        metrics.getKieSessionPoolSize().remove(containerId, kieSessionId, resetStrategy);
+        metrics.getKieSessionPoolWarmUp().remove(containerId, kieSessionId);
+        metrics.getKieSessionPoolInUse().remove(containerId, kieSessionId);
+    }
+
+    public void sessionCheckedOut(String containerId, String kieSessionId, long waitTimeNanos, int inUse) {
+        metrics.getKieSessionPoolWaitTime().labels(containerId, kieSessionId).observe(waitTimeNanos / NANOSECONDS_PER_SECOND);
+        metrics.getKieSessionPoolInUse().labels(containerId, kieSessionId).set(inUse);
+    }
+
+    public void sessionReleased(String containerId, String kieSessionId, int inUse) {
+        metrics.getKieSessionPoolInUse().labels(containerId, kieSessionId).set(inUse);
+    }
+
+    public void sessionTimedOut(String containerId, String kieSessionId) {
+        metrics.getKieSessionPoolTimeouts().labels(containerId, kieSessionId).inc();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.services.prometheus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+import org.kie.server.services.api.KieServerRegistry;
+import org.kie.server.services.impl.KieContainerInstanceImpl;
+
+/**
+ * Exports marshaller registry counters of all containers. Values are read from the containers when metrics
+ * are scraped, so lookups themselves do not touch any Prometheus collector.
+ */
+public class PrometheusMarshallerMetrics extends Collector {
+
+    private static final List<String> CONTAINER_LABEL = Collections.singletonList("container_id");
+
+    private static final PrometheusMarshallerMetrics INSTANCE = new PrometheusMarshallerMetrics().register();
+
+    private volatile KieServerRegistry registry;
+
+    public static void bind(KieServerRegistry registry) {
+        INSTANCE.registry = registry;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        KieServerRegistry current = registry;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        CounterMetricFamily lookups = new CounterMetricFamily("kie_server_marshaller_lookups_total",
+                                                              "Marshaller lookups served from built marshallers (hit) or building a new one under lock (miss)",
+                                                              Arrays.asList("container_id", "result"));
+        CounterMetricFamily swaps = new CounterMetricFamily("kie_server_marshaller_swaps_total",
+                                                            "Marshaller sets rebuilt due to change of extra classes",
+                                                            CONTAINER_LABEL);
+        GaugeMetricFamily retired = new GaugeMetricFamily("kie_server_marshaller_retired",
+                                                          "Replaced marshallers waiting to be disposed until requests stop using them",
+                                                          CONTAINER_LABEL);
+        for (KieContainerInstanceImpl container : current.getContainers()) {
+            List<String> labels = Collections.singletonList(container.getContainerId());
+            lookups.addMetric(Arrays.asList(container.getContainerId(), "hit"), container.getMarshallerCacheHits());
+            lookups.addMetric(Arrays.asList(container.getContainerId(), "miss"), container.getMarshallerCacheMisses());
+            swaps.addMetric(labels, container.getMarshallerSwaps());
+            retired.addMetric(labels, container.getRetiredMarshallers());
+        }
+        List<MetricFamilySamples> samples = new ArrayList<>();
+        samples.add(lookups);
+        samples.add(swaps);
+        samples.add(retired);
+        return samples;
+    }
+}
@@ -122,4 +122,113 @@ public class PrometheusMetrics {
         return optaPlannerSolverCount;
     }
 
+    private static final Gauge kieSessionPoolSize = Gauge.build()
+            .name("ksession_pool_size")
+            .help("Max number of sessions of a stateful KieSession pool")
+            .labelNames("container_id", "ksession_id", "reset_strategy")
+            .register();
+
+    Gauge getKieSessionPoolSize() {
+        return kieSessionPoolSize;
+    }
+
+    private static final Gauge kieSessionPoolWarmUp = Gauge.build()
+            .name("ksession_pool_warmup")
+            .help("Number of sessions created upfront in a stateful KieSession pool")
+            .labelNames("container_id", "ksession_id")
+            .register();
+
+    Gauge getKieSessionPoolWarmUp() {
+        return kieSessionPoolWarmUp;
+    }
+
+    private static final Gauge kieSessionPoolInUse = Gauge.build()
+            .name("ksession_pool_in_use")
+            .help("Number of sessions currently checked out of a stateful KieSession pool")
+            .labelNames("container_id", "ksession_id")
+            .register();
+
+    Gauge getKieSessionPoolInUse() {
+        return kieSessionPoolInUse;
+    }
+
+    private static final Summary kieSessionPoolWaitTime = Summary.build()
+            .name("ksession_pool_wait_seconds")
+            .help("Time spent waiting for a session from a stateful KieSession pool")
+            .labelNames("container_id", "ksession_id")
+            .register();
+
+    Summary getKieSessionPoolWaitTime() {
+        return kieSessionPoolWaitTime;
+    }
+
+    private static final Counter kieSessionPoolTimeouts = Counter.build()
+            .name("ksession_pool_timeouts_total")
+            .help("Number of requests that did not get a session from a stateful KieSession pool in time")
+            .labelNames("container_id", "ksession_id")
+            .register();
+
+    Counter getKieSessionPoolTimeouts() {
+        return kieSessionPoolTimeouts;
+    }
+
+    private static final Counter kafkaProducerEventsSent = Counter.build()
+            .name("kafka_producer_events_sent_total")
+            .help("Number of process events acknowledged by Kafka")
+            .labelNames("topic")
+            .register();
+
+    Counter getKafkaProducerEventsSent() {
+        return kafkaProducerEventsSent;
+    }
+
+    private static final Counter kafkaProducerEventsFailed = Counter.build()
+            .name("kafka_producer_events_failed_total")
+            .help("Number of process events that could not be published to Kafka")
+            .labelNames("topic")
+            .register();
+
+    Counter getKafkaProducerEventsFailed() {
+        return kafkaProducerEventsFailed;
+    }
+
+    private static final Histogram kafkaProducerSendLatency = Histogram.build()
+            .name("kafka_producer_send_latency_seconds")
+            .help("Time between handing a process event to the Kafka producer and its acknowledgement")
+            .labelNames("topic")
+            .buckets(0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10)
+            .register();
+
+    Histogram getKafkaProducerSendLatency() {
+        return kafkaProducerSendLatency;
+    }
+
+    private static final Summary kafkaProducerBatchSize = Summary.build()
+            .name("kafka_producer_batch_size")
+            .help("Number of process events published together on commit of a transaction")
+            .register();
+
+    Summary getKafkaProducerBatchSize() {
+        return kafkaProducerBatchSize;
+    }
+
+    private static final Counter formRenderCacheHits = Counter.build()
+            .name("form_render_cache_hits_total")
+            .help("Number of form rendering lookups served from the form render cache")
+            .labelNames("container_id", "type")
+            .register();
+
+    Counter getFormRenderCacheHits() {
+        return formRenderCacheHits;
+    }
+
+    private static final Counter formRenderCacheMisses = Counter.build()
+            .name("form_render_cache_misses_total")
+            .help("Number of form rendering lookups that had to load data into the form render cache")
+            .labelNames("container_id", "type")
+            .register();
+
+    Counter getFormRenderCacheMisses() {
+        return formRenderCacheMisses;
+    }
 }
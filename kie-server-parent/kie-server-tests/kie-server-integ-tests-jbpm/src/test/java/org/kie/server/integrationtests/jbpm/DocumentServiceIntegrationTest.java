@@ -15,6 +15,10 @@
 
 package org.kie.server.integrationtests.jbpm;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +38,7 @@ import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.integrationtests.category.Smoke;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
 import org.kie.server.integrationtests.shared.KieServerDeployer;
 import org.kie.server.integrationtests.shared.KieServerUtil;
 
@@ -211,6 +216,34 @@ public class DocumentServiceIntegrationTest extends JbpmKieServerBaseIntegration
         assertDocumentInstances(document, fromServer, false);
     }
 
+    @Test
+    public void testCreateLoadUpdateDocumentContentStream() throws Exception {
+        assumeFalse(configuration.isJms());
+
+        String documentId = documentClient.createDocument(document.getName(), new ByteArrayInputStream(contentBytes), contentBytes.length);
+        assertNotNull(documentId);
+
+        DocumentInstance fromServer = documentClient.getDocument(documentId);
+        assertEquals(documentId, fromServer.getIdentifier());
+        assertDocumentInstances(document, fromServer, true);
+
+        try (InputStream stream = documentClient.getDocumentContent(documentId)) {
+            assertEquals(content, readContent(stream));
+        }
+        try (InputStream stream = documentClient.getDocumentContent(documentId, 5, 4)) {
+            assertEquals(content.substring(5, 9), readContent(stream));
+        }
+        try (InputStream stream = documentClient.getDocumentContent(documentId, 5, -1)) {
+            assertEquals(content.substring(5), readContent(stream));
+        }
+
+        byte[] updatedContent = "updated text content".getBytes();
+        documentClient.updateDocumentContent(documentId, new ByteArrayInputStream(updatedContent), -1);
+        try (InputStream stream = documentClient.getDocumentContent(documentId)) {
+            assertEquals("updated text content", readContent(stream));
+        }
+    }
+
     @Test
     public void testDocumentProcess() {
 
@@ -319,6 +352,16 @@ public class DocumentServiceIntegrationTest extends JbpmKieServerBaseIntegration
 
     }
 
+    private String readContent(InputStream stream) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            content.write(buffer, 0, read);
+        }
+        return new String(content.toByteArray());
+    }
+
     private void assertDocumentInstances(DocumentInstance expected, DocumentInstance actual, boolean assertContent) {
         assertNotNull(actual);
         assertNotNull(actual.getIdentifier());
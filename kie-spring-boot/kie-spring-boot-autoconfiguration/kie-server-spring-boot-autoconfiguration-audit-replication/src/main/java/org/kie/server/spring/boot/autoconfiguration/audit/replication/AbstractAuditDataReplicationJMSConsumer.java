@@ -16,22 +16,41 @@
 
 package org.kie.server.spring.boot.autoconfiguration.audit.replication;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.TextMessage;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
 
 import com.thoughtworks.xstream.XStream;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import static org.kie.server.spring.boot.autoconfiguration.audit.replication.MessageType.BATCH_EVENT_TYPE;
+
 public abstract class AbstractAuditDataReplicationJMSConsumer {
 
     private static Logger logger = LoggerFactory.getLogger(AbstractAuditDataReplicationJMSConsumer.class);
 
+    // keeps IN clauses of the existing entities lookup within limits of all supported databases
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     @Autowired
     private XStream xstream;
 
@@ -39,12 +58,29 @@ public abstract class AbstractAuditDataReplicationJMSConsumer {
 
     private AtomicLong processedMessages = new AtomicLong();
 
+    private AtomicLong replicationLag = new AtomicLong();
+
+    private AtomicLong maxReplicationLag = new AtomicLong();
+
     public Long get() {
         return processedMessages.get();
     }
+
+    /**
+     * @return time in milliseconds between producing and applying of the oldest event of the last processed message
+     */
+    public Long getReplicationLag() {
+        return replicationLag.get();
+    }
+
+    public Long getMaxReplicationLag() {
+        return maxReplicationLag.get();
+    }
     
     public void reset () {
         processedMessages.set(0);
+        replicationLag.set(0);
+        maxReplicationLag.set(0);
     }
 
     public AbstractAuditDataReplicationJMSConsumer(EntityManagerFactory emf) {
@@ -64,13 +100,105 @@ public abstract class AbstractAuditDataReplicationJMSConsumer {
                 Object event = xstream.fromXML(messageContent);
                 em.merge(event);
                 processedMessages.incrementAndGet();
+                updateReplicationLag(textMessage.getJMSTimestamp());
             } catch (JMSException e) {
                 throw new RuntimeException("Something went wrong while consuming an event", e);
             } finally {
                 em.close();
             }
+        } else if (message instanceof BytesMessage) {
+            BytesMessage bytesMessage = (BytesMessage) message;
+            try {
+                if (bytesMessage.getIntProperty("EventType") != BATCH_EVENT_TYPE) {
+                    logger.warn("Message type {} is not supported as bytes message, ignoring it", bytesMessage.getIntProperty("EventType"));
+                    return;
+                }
+                byte[] content = new byte[(int) bytesMessage.getBodyLength()];
+                bytesMessage.readBytes(content);
+                AuditEventBatch batch = AuditEventBatch.fromBytes(content);
+                logger.debug("Batch of {} events received", batch.size());
+                List<Object> events = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    events.add(xstream.fromXML(batch.getEvent(i)));
+                }
+                applyEvents(events);
+                processedMessages.addAndGet(batch.size());
+                updateReplicationLag(batch.getFirstEventTime());
+            } catch (JMSException e) {
+                throw new RuntimeException("Something went wrong while consuming a batch of events", e);
+            }
+        }
+
+    }
+
+    /**
+     * Applies events in one persistence context so that inserts are flushed as JDBC batches. Entities already
+     * replicated are loaded upfront with a query per entity type and updated, so redelivered batches are
+     * applied again without duplicates, new entities are inserted keeping their original identifiers.
+     */
+    protected void applyEvents(List<Object> events) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            PersistenceUnitUtil persistenceUnitUtil = emf.getPersistenceUnitUtil();
+            // the same entity might be updated several times within a batch, only its last state is applied
+            Map<Class<?>, Map<Object, Object>> eventsByType = new LinkedHashMap<>();
+            for (Object event : events) {
+                Object id = persistenceUnitUtil.getIdentifier(event);
+                if (id == null) {
+                    em.merge(event);
+                    continue;
+                }
+                eventsByType.computeIfAbsent(event.getClass(), type -> new LinkedHashMap<>()).put(id, event);
+            }
+
+            Session session = em.unwrap(Session.class);
+            for (Map.Entry<Class<?>, Map<Object, Object>> entry : eventsByType.entrySet()) {
+                Set<Object> existing = loadExisting(em, entry.getKey(), entry.getValue().keySet());
+                for (Map.Entry<Object, Object> event : entry.getValue().entrySet()) {
+                    if (existing.contains(event.getKey())) {
+                        em.merge(event.getValue());
+                    } else {
+                        session.save(event.getValue());
+                    }
+                }
+            }
+            em.flush();
+        } finally {
+            em.close();
         }
+    }
+
+    /**
+     * Loads already replicated entities into the persistence context, so merging them does not query them again.
+     * @return identifiers of the loaded entities
+     */
+    private Set<Object> loadExisting(EntityManager em, Class<?> type, Collection<Object> ids) {
+        EntityType<?> entityType = em.getMetamodel().entity(type);
+        String idAttribute = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        PersistenceUnitUtil persistenceUnitUtil = emf.getPersistenceUnitUtil();
+
+        Set<Object> existing = new HashSet<>();
+        List<Object> idList = new ArrayList<>(ids);
+        for (int i = 0; i < idList.size(); i += LOOKUP_CHUNK_SIZE) {
+            List<Object> chunk = idList.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, idList.size()));
+            CriteriaBuilder builder = em.getCriteriaBuilder();
+            CriteriaQuery<Object> query = builder.createQuery(Object.class);
+            Root<?> root = query.from(type);
+            query.select(root).where(root.get(idAttribute).in(chunk));
+            for (Object entity : em.createQuery(query).getResultList()) {
+                existing.add(persistenceUnitUtil.getIdentifier(entity));
+            }
+        }
+        return existing;
+    }
 
+    private void updateReplicationLag(long producedTime) {
+        if (producedTime <= 0) {
+            return;
+        }
+        long lag = Math.max(0, System.currentTimeMillis() - producedTime);
+        replicationLag.set(lag);
+        maxReplicationLag.accumulateAndGet(lag, Math::max);
     }
 
 }
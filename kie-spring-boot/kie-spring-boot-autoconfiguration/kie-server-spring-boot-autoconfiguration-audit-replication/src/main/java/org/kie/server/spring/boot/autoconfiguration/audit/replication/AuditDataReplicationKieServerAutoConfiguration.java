@@ -63,12 +63,14 @@ public class AuditDataReplicationKieServerAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "jmsSender")
     public JMSSender createAuditDataReplicationSender() {
+        boolean batchEnabled = env.getProperty("kieserver.audit-replication.batch.enabled", Boolean.class, false);
+        int batchSize = env.getProperty("kieserver.audit-replication.batch.size", Integer.class, JMSSender.DEFAULT_BATCH_SIZE);
         if (env.containsProperty("kieserver.audit-replication.queue")) {
             String endpointName = env.getProperty("kieserver.audit-replication.queue");
-            return new JMSSender(endpointName);
+            return new JMSSender(endpointName, batchEnabled, batchSize);
         } else {
             String endpointName = env.getProperty("kieserver.audit-replication.topic");
-            return new JMSSender(endpointName);
+            return new JMSSender(endpointName, batchEnabled, batchSize);
         }
     }
 
@@ -135,4 +137,17 @@ public class AuditDataReplicationKieServerAutoConfiguration {
         return new OverrideIdJBPMPersistenceUnitPostProcessor();
     }
 
+    @Configuration
+    @ConditionalOnClass(name = "io.prometheus.client.Collector")
+    @ConditionalOnProperty(name = {"kieserver.audit-replication.consumer", "kieserver.prometheus.enabled"}, havingValue = "true")
+    static class AuditDataReplicationMetricsConfiguration {
+
+        @Bean(destroyMethod = "unregister")
+        @ConditionalOnMissingBean(name = "auditDataReplicationMetrics")
+        public AuditDataReplicationMetrics auditDataReplicationMetrics(@Qualifier("auditDataReplicationConsumer") AbstractAuditDataReplicationJMSConsumer consumer) {
+            logger.info("Adding auditDataReplicationMetrics to Prometheus metrics");
+            return new AuditDataReplicationMetrics(consumer).register();
+        }
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.spring.boot.autoconfiguration.audit.replication;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+/**
+ * Exports replication lag and number of replicated events of the consumer. Values are read from the consumer when
+ * metrics are scraped, so consuming messages does not touch any Prometheus collector.
+ */
+public class AuditDataReplicationMetrics extends Collector {
+
+    private final AbstractAuditDataReplicationJMSConsumer consumer;
+
+    public AuditDataReplicationMetrics(AbstractAuditDataReplicationJMSConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        GaugeMetricFamily lag = new GaugeMetricFamily("kie_server_audit_replication_lag_seconds",
+                                                      "Time between producing and applying of the oldest event of the last replicated message",
+                                                      consumer.getReplicationLag() / MILLISECONDS_PER_SECOND);
+        GaugeMetricFamily maxLag = new GaugeMetricFamily("kie_server_audit_replication_max_lag_seconds",
+                                                         "Maximum replication lag since start or reset of the consumer",
+                                                         consumer.getMaxReplicationLag() / MILLISECONDS_PER_SECOND);
+        CounterMetricFamily events = new CounterMetricFamily("kie_server_audit_replication_events_total",
+                                                             "Audit events replicated by the consumer",
+                                                             consumer.get());
+        return Arrays.asList(lag, maxLag, events);
+    }
+
+    public void unregister() {
+        CollectorRegistry.defaultRegistry.unregister(this);
+    }
+}
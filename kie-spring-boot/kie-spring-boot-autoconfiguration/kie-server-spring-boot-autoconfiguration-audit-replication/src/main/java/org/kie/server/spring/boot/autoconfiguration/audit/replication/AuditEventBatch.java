@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.spring.boot.autoconfiguration.audit.replication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Audit events replicated together in one message. Events are kept in their serialized form, so the batch
+ * captures the state of each event at the time it was produced, and the whole batch is gzip compressed
+ * on the wire as consecutive events share most of their content.
+ */
+public class AuditEventBatch {
+
+    private final List<Integer> eventTypes = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private long firstEventTime;
+
+    public void add(int eventType, String event) {
+        if (events.isEmpty()) {
+            firstEventTime = System.currentTimeMillis();
+        }
+        eventTypes.add(eventType);
+        events.add(event);
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    public int getEventType(int index) {
+        return eventTypes.get(index);
+    }
+
+    public String getEvent(int index) {
+        return events.get(index);
+    }
+
+    /**
+     * @return time when the oldest event of the batch was produced
+     */
+    public long getFirstEventTime() {
+        return firstEventTime;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(content))) {
+            output.writeLong(firstEventTime);
+            output.writeInt(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                byte[] event = events.get(i).getBytes(StandardCharsets.UTF_8);
+                output.writeInt(eventTypes.get(i));
+                output.writeInt(event.length);
+                output.write(event);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write batch of audit events", e);
+        }
+        return content.toByteArray();
+    }
+
+    public static AuditEventBatch fromBytes(byte[] content) {
+        AuditEventBatch batch = new AuditEventBatch();
+        try (DataInputStream input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(content)))) {
+            batch.firstEventTime = input.readLong();
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                int eventType = input.readInt();
+                byte[] event = new byte[input.readInt()];
+                input.readFully(event);
+                batch.eventTypes.add(eventType);
+                batch.events.add(new String(event, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read batch of audit events", e);
+        }
+        return batch;
+    }
+}
@@ -16,17 +16,24 @@
 
 package org.kie.server.spring.boot.autoconfiguration.audit.replication;
 
+import javax.jms.BytesMessage;
 import javax.jms.TextMessage;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.thoughtworks.xstream.XStream;
 
+import static org.kie.server.spring.boot.autoconfiguration.audit.replication.MessageType.BATCH_EVENT_TYPE;
+
 public class JMSSender {
 
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
     private static Logger logger = LoggerFactory.getLogger(JMSSender.class);
 
     @Autowired
@@ -37,8 +44,24 @@ public class JMSSender {
 
     private String endpointName;
 
+    private boolean batchEnabled;
+
+    private int batchSize;
+
     public JMSSender(String endpointName) {
+        this(endpointName, false, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchEnabled when true events produced within a transaction are sent as one compressed batch message
+     * right before the transaction commits instead of a message per event
+     * @param batchSize maximum number of events sent in one batch message, bigger transactions are split
+     * into several messages
+     */
+    public JMSSender(String endpointName, boolean batchEnabled, int batchSize) {
         this.endpointName = endpointName;
+        this.batchEnabled = batchEnabled;
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
     }
 
     protected void sendMessage(Object messageContent, Integer eventType) {
@@ -47,6 +70,23 @@ public class JMSSender {
 
         logger.debug("XML Event: \n {}", eventXml);
 
+        if (batchEnabled) {
+            AuditEventBatch batch = getTransactionBatch();
+            if (batch == null) {
+                batch = new AuditEventBatch();
+                batch.add(eventType, eventXml);
+                sendBatch(batch);
+            } else {
+                batch.add(eventType, eventXml);
+                if (batch.size() >= batchSize) {
+                    sendBatch(batch);
+                    TransactionSynchronizationManager.unbindResource(this);
+                    TransactionSynchronizationManager.bindResource(this, new AuditEventBatch());
+                }
+            }
+            return;
+        }
+
         jmsTemplate.send(endpointName, messageCreator -> {
             TextMessage message = messageCreator.createTextMessage(eventXml);
             message.setIntProperty("EventType", eventType);
@@ -55,4 +95,83 @@ public class JMSSender {
 
     }
 
+    protected void sendBatch(AuditEventBatch batch) {
+        byte[] content = batch.toBytes();
+
+        logger.debug("Sending batch of {} events compressed to {} bytes", batch.size(), content.length);
+
+        jmsTemplate.send(endpointName, messageCreator -> {
+            BytesMessage message = messageCreator.createBytesMessage();
+            message.writeBytes(content);
+            message.setIntProperty("EventType", BATCH_EVENT_TYPE);
+            message.setIntProperty("EventCount", batch.size());
+            message.setLongProperty("FirstEventTime", batch.getFirstEventTime());
+            return message;
+        });
+    }
+
+    /**
+     * Batch collecting events of the current transaction, registered on the first event of the transaction.
+     * @return null when there is no transaction with synchronization the events could be collected in
+     */
+    private AuditEventBatch getTransactionBatch() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        AuditEventBatch batch = (AuditEventBatch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new AuditEventBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new BatchSynchronization());
+        }
+        return batch;
+    }
+
+    /**
+     * Sends collected events before the commit so the message is still part of the transaction when the
+     * connection factory takes part in it, events of a rolled back transaction are discarded.
+     */
+    private class BatchSynchronization implements TransactionSynchronization {
+
+        private AuditEventBatch suspended;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            AuditEventBatch batch = (AuditEventBatch) TransactionSynchronizationManager.getResource(JMSSender.this);
+            if (batch != null && !batch.isEmpty()) {
+                sendBatch(batch);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JMSSender.this);
+        }
+
+        @Override
+        public void suspend() {
+            suspended = (AuditEventBatch) TransactionSynchronizationManager.unbindResourceIfPossible(JMSSender.this);
+        }
+
+        @Override
+        public void resume() {
+            if (suspended != null) {
+                TransactionSynchronizationManager.bindResource(JMSSender.this, suspended);
+                suspended = null;
+            }
+        }
+
+        @Override
+        public void beforeCompletion() {
+        }
+
+        @Override
+        public void afterCommit() {
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
 }
@@ -54,4 +54,6 @@ public final class MessageType {
 
     public static final int BAM_TASK_EVENT = 301;
 
+    public static final int BATCH_EVENT_TYPE = 400;
+
 }
@@ -2,11 +2,15 @@ package org.kie.server.spring.boot.autoconfiguration.audit.replication;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.List;
 
+import javax.jms.BytesMessage;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
@@ -26,6 +30,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.api.runtime.manager.audit.ProcessInstanceLog;
+import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.KieServerConfigItem;
 import org.kie.server.api.model.ReleaseId;
@@ -36,6 +41,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.thoughtworks.xstream.XStream;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, classes = ApplicationSender.class)
 @TestPropertySource(locations = "classpath:application-integrationtest.properties")
@@ -77,6 +84,9 @@ public class AuditDataReplicationKieServerTest {
     @Qualifier("auditDataReplicationConsumer")
     private  AuditDataReplicationJMSQueueConsumer consumer;
 
+    @Autowired
+    private XStream xstream;
+
     @BeforeClass
     public static void startUp() throws Exception {
         KieJarBuildHelper.createKieJar("src/test/resources/kjar/");
@@ -158,6 +168,87 @@ public class AuditDataReplicationKieServerTest {
         compareData();
     }
 
+    @Test
+    public void testRedeliveredBatchAppliedOnce() throws Exception {
+        BytesMessage message = batchMessage(processInstanceLog(1000L, ProcessInstance.STATE_ACTIVE), nodeInstanceLog(2000L, 1000L));
+
+        consumer.receiveMessage(message);
+        // the same message delivered again
+        consumer.receiveMessage(message);
+
+        Assertions.assertThat(replicatedProcessInstanceLogs(1000L)).hasSize(1);
+        Assertions.assertThat(replicatedNodeInstanceLogs(1000L)).extracting(NodeInstanceLog::getId).containsExactly(2000L);
+    }
+
+    @Test
+    public void testBatchUpdatingReplicatedAndInsertingNewEvents() throws Exception {
+        consumer.receiveMessage(batchMessage(processInstanceLog(1001L, ProcessInstance.STATE_ACTIVE)));
+
+        // replicated log is merged and new one saved with its original id, of repeated updates only the last one applies
+        consumer.receiveMessage(batchMessage(processInstanceLog(1001L, ProcessInstance.STATE_SUSPENDED),
+                                             nodeInstanceLog(2001L, 1001L),
+                                             processInstanceLog(1001L, ProcessInstance.STATE_COMPLETED)));
+
+        List<org.jbpm.process.audit.ProcessInstanceLog> processInstanceLogs = replicatedProcessInstanceLogs(1001L);
+        Assertions.assertThat(processInstanceLogs).hasSize(1);
+        Assertions.assertThat(processInstanceLogs.get(0).getId()).isEqualTo(1001L);
+        Assertions.assertThat(processInstanceLogs.get(0).getStatus()).isEqualTo(ProcessInstance.STATE_COMPLETED);
+        Assertions.assertThat(replicatedNodeInstanceLogs(1001L)).extracting(NodeInstanceLog::getId).containsExactly(2001L);
+        Assertions.assertThat(consumer.get()).isEqualTo(4);
+    }
+
+    private org.jbpm.process.audit.ProcessInstanceLog processInstanceLog(long processInstanceId, int status) {
+        org.jbpm.process.audit.ProcessInstanceLog log = new org.jbpm.process.audit.ProcessInstanceLog(processInstanceId, "kjar.simple-process");
+        log.setId(processInstanceId);
+        log.setStatus(status);
+        return log;
+    }
+
+    private NodeInstanceLog nodeInstanceLog(long id, long processInstanceId) {
+        NodeInstanceLog log = new NodeInstanceLog(NodeInstanceLog.TYPE_ENTER, processInstanceId, "kjar.simple-process", "1", "_1", "Start");
+        log.setId(id);
+        return log;
+    }
+
+    private BytesMessage batchMessage(Object... events) throws Exception {
+        AuditEventBatch batch = new AuditEventBatch();
+        for (Object event : events) {
+            int eventType = event instanceof NodeInstanceLog ? MessageType.NODE_ENTER_EVENT_TYPE : MessageType.PROCESS_START_EVENT_TYPE;
+            batch.add(eventType, xstream.toXML(event));
+        }
+        byte[] content = batch.toBytes();
+
+        BytesMessage message = mock(BytesMessage.class);
+        when(message.getIntProperty("EventType")).thenReturn(MessageType.BATCH_EVENT_TYPE);
+        when(message.getBodyLength()).thenReturn((long) content.length);
+        when(message.readBytes(any(byte[].class))).thenAnswer(invocation -> {
+            byte[] target = invocation.getArgument(0);
+            System.arraycopy(content, 0, target, 0, content.length);
+            return content.length;
+        });
+        return message;
+    }
+
+    private List<org.jbpm.process.audit.ProcessInstanceLog> replicatedProcessInstanceLogs(long processInstanceId) {
+        EntityManager audit = auditEntityManagerFactory.createEntityManager();
+        try {
+            return audit.createQuery("SELECT o FROM ProcessInstanceLog o WHERE o.processInstanceId = :id", org.jbpm.process.audit.ProcessInstanceLog.class)
+                    .setParameter("id", processInstanceId).getResultList();
+        } finally {
+            audit.close();
+        }
+    }
+
+    private List<NodeInstanceLog> replicatedNodeInstanceLogs(long processInstanceId) {
+        EntityManager audit = auditEntityManagerFactory.createEntityManager();
+        try {
+            return audit.createQuery("SELECT o FROM NodeInstanceLog o WHERE o.processInstanceId = :id", NodeInstanceLog.class)
+                    .setParameter("id", processInstanceId).getResultList();
+        } finally {
+            audit.close();
+        }
+    }
+
     private boolean compareData() {
         EntityManager original = originalEntityManagerFactory.createEntityManager();
         EntityManager audit = auditEntityManagerFactory.createEntityManager();
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.spring.boot.autoconfiguration.audit.replication;
+
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AuditDataReplicationMetricsTest {
+
+    @Test
+    public void testMetricsReadFromConsumer() {
+        AbstractAuditDataReplicationJMSConsumer consumer = mock(AbstractAuditDataReplicationJMSConsumer.class);
+        when(consumer.getReplicationLag()).thenReturn(1500L);
+        when(consumer.getMaxReplicationLag()).thenReturn(4000L);
+        when(consumer.get()).thenReturn(42L);
+
+        CollectorRegistry registry = new CollectorRegistry();
+        new AuditDataReplicationMetrics(consumer).register(registry);
+
+        assertThat(registry.getSampleValue("kie_server_audit_replication_lag_seconds")).isEqualTo(1.5);
+        assertThat(registry.getSampleValue("kie_server_audit_replication_max_lag_seconds")).isEqualTo(4.0);
+        assertThat(registry.getSampleValue("kie_server_audit_replication_events_total")).isEqualTo(42.0);
+
+        // values are taken when scraped
+        when(consumer.getReplicationLag()).thenReturn(250L);
+        assertThat(registry.getSampleValue("kie_server_audit_replication_lag_seconds")).isEqualTo(0.25);
+    }
+}
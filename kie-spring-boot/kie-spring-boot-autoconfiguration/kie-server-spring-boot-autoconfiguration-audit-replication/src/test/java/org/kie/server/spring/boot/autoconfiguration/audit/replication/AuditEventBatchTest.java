@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.spring.boot.autoconfiguration.audit.replication;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.server.spring.boot.autoconfiguration.audit.replication.MessageType.NODE_ENTER_EVENT_TYPE;
+import static org.kie.server.spring.boot.autoconfiguration.audit.replication.MessageType.PROCESS_START_EVENT_TYPE;
+
+public class AuditEventBatchTest {
+
+    @Test
+    public void testBatchRoundTrip() {
+        AuditEventBatch batch = new AuditEventBatch();
+        batch.add(PROCESS_START_EVENT_TYPE, "<org.jbpm.process.audit.ProcessInstanceLog><id>1</id></org.jbpm.process.audit.ProcessInstanceLog>");
+        batch.add(NODE_ENTER_EVENT_TYPE, "<org.jbpm.process.audit.NodeInstanceLog><nodeName>\u017b\u00f3\u0142w</nodeName></org.jbpm.process.audit.NodeInstanceLog>");
+
+        AuditEventBatch read = AuditEventBatch.fromBytes(batch.toBytes());
+
+        assertThat(read.size()).isEqualTo(2);
+        assertThat(read.getFirstEventTime()).isEqualTo(batch.getFirstEventTime());
+        for (int i = 0; i < batch.size(); i++) {
+            assertThat(read.getEventType(i)).isEqualTo(batch.getEventType(i));
+            assertThat(read.getEvent(i)).isEqualTo(batch.getEvent(i));
+        }
+    }
+
+    @Test
+    public void testBatchIsCompressed() {
+        AuditEventBatch batch = new AuditEventBatch();
+        int size = 0;
+        for (int i = 0; i < 100; i++) {
+            String event = "<org.jbpm.process.audit.VariableInstanceLog><id>" + i + "</id><variableId>var</variableId>"
+                    + "<processId>evaluation</processId></org.jbpm.process.audit.VariableInstanceLog>";
+            batch.add(MessageType.VAR_CHANGE_EVENT_TYPE, event);
+            size += event.length();
+        }
+
+        assertThat(batch.toBytes().length).isLessThan(size / 4);
+    }
+}